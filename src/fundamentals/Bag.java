@@ -3,28 +3,53 @@ package fundamentals;
 import libs.StdIn;
 import libs.StdOut;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  *  The {@code Bag} class represents a bag (or multiset) of
  *  generic items. It supports insertion and iterating over the
  *  items in arbitrary order.
  *  <p>
- *  This implementation uses a singly-linked list with a static nested class Node.
+ *  This implementation uses an unrolled linked list: a singly-linked list of
+ *  array chunks (a static nested class Chunk), with the newest chunk first.
+ *  Chunk capacities start at 4 and double up to 1024, so small bags stay small
+ *  and large bags need one node per 1024 items. Iteration returns the items in
+ *  reverse order of insertion.
  *  The <em>add</em>, <em>isEmpty</em>, and <em>size</em> operations
- *  take constant time. Iteration takes time proportional to the number of items.
+ *  take constant (amortized) time. Iteration takes time proportional to the number of items.
+ *  The {@link #spliterator} splits the items into halves of equal size,
+ *  for use by parallel streams.
  *
  *  @param <Item> the generic type of an item in this bag
  */
 public class Bag<Item> implements Iterable<Item> {
-  private Node<Item> first;    // beginning of bag
+  private static final int MIN_CHUNK = 4;
+  private static final int MAX_CHUNK = 1024;
+
+  private Chunk<Item> first;   // most recently allocated chunk
   private int n;               // number of elements in bag
 
-  // helper linked list class
-  private static class Node<Item> {
-    private Item item;
-    private Node<Item> next;
+  // helper unrolled linked list class
+  private static class Chunk<Item> {
+    private final Object[] items;  // items[0..size-1], oldest first
+    private int size;
+    private Chunk<Item> next;
+
+    Chunk(int capacity, Chunk<Item> next) {
+      this.items = new Object[capacity];
+      this.next = next;
+    }
+
+    @SuppressWarnings("unchecked")
+    Item get(int i) {
+      return (Item) items[i];
+    }
   }
 
   /**
@@ -42,7 +67,7 @@ public class Bag<Item> implements Iterable<Item> {
    *         {@code false} otherwise
    */
   public boolean isEmpty() {
-    return first == null;
+    return n == 0;
   }
 
   /**
@@ -60,13 +85,82 @@ public class Bag<Item> implements Iterable<Item> {
    * @param  item the item to add to this bag
    */
   public void add(Item item) {
-    Node<Item> oldfirst = first;
-    first = new Node<>();
-    first.item = item;
-    first.next = oldfirst;
+    if (first == null || first.size == first.items.length) grow();
+    first.items[first.size++] = item;
     n++;
   }
 
+  /**
+   * Adds all of the given items to this bag.
+   *
+   * @param  items the items to add to this bag
+   * @throws IllegalArgumentException if {@code items} is {@code null}
+   */
+  public void addAll(Iterable<? extends Item> items) {
+    if (items == null) throw new IllegalArgumentException("argument to addAll() is null");
+    for (Item item : items)
+      add(item);
+  }
+
+  /**
+   * Adds all of the items of the given array to this bag.
+   *
+   * @param  items the items to add to this bag
+   * @throws IllegalArgumentException if {@code items} is {@code null}
+   */
+  public void addAll(Item[] items) {
+    if (items == null) throw new IllegalArgumentException("argument to addAll() is null");
+    int i = 0;
+    while (i < items.length) {
+      if (first == null || first.size == first.items.length) grow();
+      int len = Math.min(items.length - i, first.items.length - first.size);
+      System.arraycopy(items, i, first.items, first.size, len);
+      first.size += len;
+      n += len;
+      i += len;
+    }
+  }
+
+  // prepends an empty chunk, twice the capacity of the previous one
+  private void grow() {
+    int capacity = first == null ? MIN_CHUNK : Math.min(MAX_CHUNK, 2 * first.items.length);
+    first = new Chunk<>(capacity, first);
+  }
+
+  /**
+   * Returns an array containing the items in this bag, in iteration order.
+   *
+   * @return an array containing the items in this bag
+   */
+  public Object[] toArray() {
+    return fill(new Object[n]);
+  }
+
+  /**
+   * Returns an array containing the items in this bag, in iteration order;
+   * the runtime type of the returned array is that of the specified array.
+   * If the items fit in the specified array, it is returned therein.
+   *
+   * @param  <T> the component type of the array
+   * @param  a the array into which the items are to be stored, if big enough
+   * @return an array containing the items in this bag
+   * @throws ArrayStoreException if an item is not an instance of {@code T}
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T[] toArray(T[] a) {
+    if (a.length < n) a = (T[]) Arrays.copyOf(a, n, a.getClass());
+    else if (a.length > n) a[n] = null;
+    return fill(a);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T[] fill(T[] a) {
+    int i = 0;
+    for (Chunk<Item> c = first; c != null; c = c.next)
+      for (int j = c.size - 1; j >= 0; j--)
+        a[i++] = (T) c.items[j];
+    return a;
+  }
 
   /**
    * Returns an iterator that iterates over the items in this bag in arbitrary order.
@@ -74,28 +168,122 @@ public class Bag<Item> implements Iterable<Item> {
    * @return an iterator that iterates over the items in this bag in arbitrary order
    */
   public Iterator<Item> iterator()  {
-    return new ListIterator<>(first);
+    return new ChunkIterator();
   }
 
   // an iterator, doesn't implement remove() since it's optional
-  private class ListIterator<Item> implements Iterator<Item> {
-    private Node<Item> current;
-
-    public ListIterator(Node<Item> first) {
-      current = first;
-    }
+  private class ChunkIterator implements Iterator<Item> {
+    private Chunk<Item> current = first;
+    private int index = first == null ? -1 : first.size - 1;
 
-    public boolean hasNext()  { return current != null;                     }
+    public boolean hasNext()  { return index >= 0;                          }
     public void remove()      { throw new UnsupportedOperationException();  }
 
     public Item next() {
       if (!hasNext()) throw new NoSuchElementException();
-      Item item = current.item;
-      current = current.next;
+      Item item = current.get(index--);
+      if (index < 0 && current.next != null) {
+        current = current.next;
+        index = current.size - 1;
+      }
       return item;
     }
   }
 
+  /**
+   * Returns a spliterator over the items in this bag, in the same order as
+   * {@link #iterator}. It reports {@link Spliterator#SIZED} and
+   * {@link Spliterator#SUBSIZED}, and splits into two halves of equal size.
+   *
+   * @return a spliterator over the items in this bag
+   */
+  @Override
+  public Spliterator<Item> spliterator() {
+    return new ChunkSpliterator<>(first, first == null ? -1 : first.size - 1, n);
+  }
+
+  /**
+   * Returns a sequential stream over the items in this bag.
+   *
+   * @return a sequential stream over the items in this bag
+   */
+  public Stream<Item> stream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
+  /**
+   * Returns a parallel stream over the items in this bag.
+   *
+   * @return a parallel stream over the items in this bag
+   */
+  public Stream<Item> parallelStream() {
+    return StreamSupport.stream(spliterator(), true);
+  }
+
+  // traverses remaining items starting at index of chunk, moving down and then to next chunk
+  private static class ChunkSpliterator<Item> implements Spliterator<Item> {
+    private Chunk<Item> chunk;
+    private int index;
+    private int remaining;
+
+    ChunkSpliterator(Chunk<Item> chunk, int index, int remaining) {
+      this.chunk = chunk;
+      this.index = index;
+      this.remaining = remaining;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Item> action) {
+      if (remaining == 0) return false;
+      if (index < 0) {
+        chunk = chunk.next;
+        index = chunk.size - 1;
+      }
+      action.accept(chunk.get(index--));
+      remaining--;
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Item> action) {
+      while (remaining > 0) {
+        if (index < 0) {
+          chunk = chunk.next;
+          index = chunk.size - 1;
+        }
+        int stop = Math.max(-1, index - remaining);
+        remaining -= index - stop;
+        for (; index > stop; index--)
+          action.accept(chunk.get(index));
+      }
+    }
+
+    @Override
+    public Spliterator<Item> trySplit() {
+      int half = remaining >>> 1;
+      if (half == 0) return null;
+      ChunkSpliterator<Item> prefix = new ChunkSpliterator<>(chunk, index, half);
+      remaining -= half;
+      while (half > index + 1) {
+        half -= index + 1;
+        chunk = chunk.next;
+        index = chunk.size - 1;
+      }
+      index -= half;
+      return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+      return remaining;
+    }
+
+    @Override
+    public int characteristics() {
+      return SIZED | SUBSIZED;
+    }
+  }
+
   /**
    * Unit tests the {@code Bag} data type.
    *
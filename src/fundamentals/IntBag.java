@@ -0,0 +1,205 @@
+package fundamentals;
+
+import libs.StdIn;
+import libs.StdOut;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ *  The {@code IntBag} class represents a bag (or multiset) of
+ *  {@code int} values. It supports insertion and iterating over the
+ *  values in arbitrary order, without boxing them.
+ *  <p>
+ *  This implementation uses a resizing array. Iteration returns the values
+ *  in reverse order of insertion, the same order as {@link Bag}.
+ *  The <em>add</em> operation takes constant amortized time; the
+ *  <em>isEmpty</em> and <em>size</em> operations take constant time.
+ *  Iteration takes time proportional to the number of values.
+ */
+public class IntBag implements Iterable<Integer> {
+  private int[] a;             // a[0..n-1], oldest first
+  private int n;               // number of elements in bag
+
+  /**
+   * Initializes an empty bag.
+   */
+  public IntBag() {
+    a = new int[4];
+    n = 0;
+  }
+
+  /**
+   * Returns true if this bag is empty.
+   *
+   * @return {@code true} if this bag is empty;
+   *         {@code false} otherwise
+   */
+  public boolean isEmpty() {
+    return n == 0;
+  }
+
+  /**
+   * Returns the number of values in this bag.
+   *
+   * @return the number of values in this bag
+   */
+  public int size() {
+    return n;
+  }
+
+  /**
+   * Adds the value to this bag.
+   *
+   * @param  x the value to add to this bag
+   */
+  public void add(int x) {
+    if (n == a.length) a = Arrays.copyOf(a, 2*n);
+    a[n++] = x;
+  }
+
+  /**
+   * Adds all of the values of the given array to this bag.
+   *
+   * @param  values the values to add to this bag
+   * @throws IllegalArgumentException if {@code values} is {@code null}
+   */
+  public void addAll(int[] values) {
+    if (values == null) throw new IllegalArgumentException("argument to addAll() is null");
+    if (n + values.length > a.length) a = Arrays.copyOf(a, Math.max(2*a.length, n + values.length));
+    System.arraycopy(values, 0, a, n, values.length);
+    n += values.length;
+  }
+
+  /**
+   * Returns an array containing the values in this bag, in iteration order.
+   *
+   * @return an array containing the values in this bag
+   */
+  public int[] toArray() {
+    int[] copy = new int[n];
+    for (int i = 0; i < n; i++)
+      copy[i] = a[n - 1 - i];
+    return copy;
+  }
+
+  /**
+   * Returns an iterator that iterates over the values in this bag in arbitrary order.
+   * Its {@code nextInt()} method returns each value without boxing.
+   *
+   * @return an iterator that iterates over the values in this bag in arbitrary order
+   */
+  public PrimitiveIterator.OfInt iterator() {
+    return new ArrayIterator();
+  }
+
+  // an iterator, doesn't implement remove() since it's optional
+  private class ArrayIterator implements PrimitiveIterator.OfInt {
+    private int i = n;
+
+    public boolean hasNext()  { return i > 0;                               }
+    public void remove()      { throw new UnsupportedOperationException();  }
+
+    public int nextInt() {
+      if (!hasNext()) throw new NoSuchElementException();
+      return a[--i];
+    }
+  }
+
+  /**
+   * Returns a spliterator over the values in this bag, in the same order as
+   * {@link #iterator}. It reports {@link Spliterator#SIZED} and
+   * {@link Spliterator#SUBSIZED}, and splits into two halves of equal size.
+   *
+   * @return a spliterator over the values in this bag
+   */
+  @Override
+  public Spliterator.OfInt spliterator() {
+    return new ArraySpliterator(a, 0, n);
+  }
+
+  /**
+   * Returns a sequential stream over the values in this bag.
+   *
+   * @return a sequential stream over the values in this bag
+   */
+  public IntStream stream() {
+    return StreamSupport.intStream(spliterator(), false);
+  }
+
+  /**
+   * Returns a parallel stream over the values in this bag.
+   *
+   * @return a parallel stream over the values in this bag
+   */
+  public IntStream parallelStream() {
+    return StreamSupport.intStream(spliterator(), true);
+  }
+
+  // traverses a[lo..hi-1] from hi-1 down to lo
+  private static class ArraySpliterator implements Spliterator.OfInt {
+    private final int[] a;
+    private final int lo;
+    private int hi;
+
+    ArraySpliterator(int[] a, int lo, int hi) {
+      this.a = a;
+      this.lo = lo;
+      this.hi = hi;
+    }
+
+    @Override
+    public boolean tryAdvance(IntConsumer action) {
+      if (hi == lo) return false;
+      action.accept(a[--hi]);
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+      while (hi > lo)
+        action.accept(a[--hi]);
+    }
+
+    @Override
+    public Spliterator.OfInt trySplit() {
+      int mid = (lo + hi) >>> 1;
+      if (mid == lo) return null;
+      ArraySpliterator prefix = new ArraySpliterator(a, mid, hi);
+      hi = mid;
+      return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+      return hi - lo;
+    }
+
+    @Override
+    public int characteristics() {
+      return SIZED | SUBSIZED;
+    }
+  }
+
+  /**
+   * Unit tests the {@code IntBag} data type.
+   *
+   * @param args the command-line arguments
+   */
+  public static void main(String[] args) {
+    IntBag bag = new IntBag();
+    while (!StdIn.isEmpty()) {
+      bag.add(StdIn.readInt());
+    }
+
+    StdOut.println("size of bag = " + bag.size());
+    for (PrimitiveIterator.OfInt it = bag.iterator(); it.hasNext(); ) {
+      StdOut.println(it.nextInt());
+    }
+  }
+}
@@ -5,6 +5,10 @@ import libs.StdOut;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class LinkedStack<Item> implements Iterable<Item>{
   private int  n;      //size of the stack
@@ -89,6 +93,79 @@ public class LinkedStack<Item> implements Iterable<Item>{
     }
   }
 
+  /**
+   * Returns a spliterator over the items in this stack, in the same order as
+   * {@link #iterator}. It reports {@link Spliterator#SIZED},
+   * {@link Spliterator#SUBSIZED} and {@link Spliterator#ORDERED}, and splits
+   * into two halves of equal size.
+   *
+   * @return a spliterator over the items in this stack
+   */
+  @Override
+  public Spliterator<Item> spliterator() {
+    return new ListSpliterator(first, n);
+  }
+
+  /**
+   * Returns a sequential stream over the items in this stack.
+   *
+   * @return a sequential stream over the items in this stack
+   */
+  public Stream<Item> stream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
+  /**
+   * Returns a parallel stream over the items in this stack.
+   *
+   * @return a parallel stream over the items in this stack
+   */
+  public Stream<Item> parallelStream() {
+    return StreamSupport.stream(spliterator(), true);
+  }
+
+  // traverses the remaining nodes starting at current
+  private class ListSpliterator implements Spliterator<Item> {
+    private Node current;
+    private int remaining;
+
+    ListSpliterator(Node first, int remaining) {
+      this.current = first;
+      this.remaining = remaining;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Item> action) {
+      if (remaining == 0) return false;
+      Item item = current.item;
+      current = current.next;
+      remaining--;
+      action.accept(item);
+      return true;
+    }
+
+    @Override
+    public Spliterator<Item> trySplit() {
+      int half = remaining >>> 1;
+      if (half == 0) return null;
+      Node start = current;
+      for (int i = 0; i < half; i++)
+        current = current.next;
+      remaining -= half;
+      return new ListSpliterator(start, half);
+    }
+
+    @Override
+    public long estimateSize() {
+      return remaining;
+    }
+
+    @Override
+    public int characteristics() {
+      return ORDERED | SIZED | SUBSIZED;
+    }
+  }
+
   /**
    * Unit tests the {@code LinkedStack} data type.
    *
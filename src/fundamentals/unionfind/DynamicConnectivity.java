@@ -0,0 +1,263 @@
+package fundamentals.unionfind;
+
+import libs.StdIn;
+import libs.StdOut;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ *  The {@code DynamicConnectivity} class answers connectivity queries over
+ *  a sequence of edge insertions and deletions on {@code n} sites
+ *  {@code 0} through {@code n-1}.
+ *  <p>
+ *  This implementation is offline: the operations are first recorded with
+ *  {@link #addEdge}, {@link #removeEdge} and {@link #connected}, then
+ *  {@link #run} answers all queries at once. Every edge is alive during an
+ *  interval of operation indices; the intervals are stored in a segment tree
+ *  over time, and a depth-first walk of that tree applies the unions of each
+ *  node on the way down and undoes them on the way up, using a {@link RollbackUF}.
+ *  <p>
+ *  For <em>m</em> operations the whole run takes time proportional to
+ *  <em>m</em> log <em>m</em> log <em>n</em>, and extra space proportional to
+ *  <em>n</em> + <em>m</em> log <em>m</em>. Parallel edges are permitted; each
+ *  {@code removeEdge} removes one copy.
+ */
+public class DynamicConnectivity {
+  private static final int ADD    = 0;
+  private static final int REMOVE = 1;
+  private static final int QUERY  = 2;
+
+  private final int n;          // number of sites
+  private int m;                // number of recorded operations
+  private int[] type;           // type[i] = kind of operation i
+  private int[] p;              // p[i] = one site of operation i
+  private int[] q;              // q[i] = the other site of operation i
+  private int queries;          // number of recorded queries
+  private int[] before;         // before[i] = number of queries among operations 0 through i-1
+  private boolean[] answer;     // answer[k] = result of query k
+  private boolean done;         // has run() been called?
+
+  // open edges, keyed by endpoints, to the start times of each alive copy
+  private final Map<Long, ArrayDeque<Integer>> open = new HashMap<>();
+
+  // edges of the segment tree nodes, as linked lists in parallel arrays
+  private int[] head;
+  private int[] next;
+  private int[] edgeP;
+  private int[] edgeQ;
+  private int stored;
+
+  private RollbackUF uf;        // components of the edges alive at the current segment tree node
+
+  /**
+   * Initializes an empty operation log over {@code n} sites
+   * {@code 0} through {@code n-1}, with no edges.
+   *
+   * @param  n the number of sites
+   * @throws IllegalArgumentException if {@code n < 0}
+   */
+  public DynamicConnectivity(int n) {
+    if (n < 0) throw new IllegalArgumentException("number of sites must be nonnegative");
+    this.n = n;
+    type = new int[8];
+    p = new int[8];
+    q = new int[8];
+  }
+
+  /**
+   * Records the insertion of the edge {@code p-q}.
+   *
+   * @param  p one site
+   * @param  q the other site
+   * @throws IllegalArgumentException unless both {@code 0 <= p < n} and {@code 0 <= q < n}
+   * @throws IllegalStateException if {@link #run} has already been called
+   */
+  public void addEdge(int p, int q) {
+    record(ADD, p, q);
+    open.computeIfAbsent(key(p, q), k -> new ArrayDeque<>()).push(m - 1);
+  }
+
+  /**
+   * Records the deletion of one copy of the edge {@code p-q}.
+   *
+   * @param  p one site
+   * @param  q the other site
+   * @throws IllegalArgumentException unless both {@code 0 <= p < n} and {@code 0 <= q < n}
+   * @throws IllegalArgumentException if the edge {@code p-q} is not present
+   * @throws IllegalStateException if {@link #run} has already been called
+   */
+  public void removeEdge(int p, int q) {
+    validate(p);
+    validate(q);
+    ArrayDeque<Integer> starts = open.get(key(p, q));
+    if (starts == null) throw new IllegalArgumentException("edge " + p + "-" + q + " is not present");
+    record(REMOVE, p, q);
+    int start = starts.pop();
+    if (starts.isEmpty()) open.remove(key(p, q));
+    type[start] = ~(m - 1);  // an ADD closed by the operation m-1
+  }
+
+  /**
+   * Records a query asking whether {@code p} and {@code q} are connected
+   * at this point of the operation sequence.
+   *
+   * @param  p one site
+   * @param  q the other site
+   * @return the index of the query, to be passed to {@link #answer}
+   * @throws IllegalArgumentException unless both {@code 0 <= p < n} and {@code 0 <= q < n}
+   * @throws IllegalStateException if {@link #run} has already been called
+   */
+  public int connected(int p, int q) {
+    record(QUERY, p, q);
+    return queries++;
+  }
+
+  /**
+   * Answers all recorded queries.
+   *
+   * @throws IllegalStateException if {@link #run} has already been called
+   */
+  public void run() {
+    if (done) throw new IllegalStateException("operations have already been processed");
+    done = true;
+    answer = new boolean[queries];
+    if (m == 0) return;
+
+    head = new int[4 * m];
+    Arrays.fill(head, -1);
+    next  = new int[16];
+    edgeP = new int[16];
+    edgeQ = new int[16];
+    for (int i = 0; i < m; i++) {
+      if (type[i] == ADD)  insert(1, 0, m - 1, i, m - 1, p[i], q[i]);  // never removed
+      else if (type[i] < 0) insert(1, 0, m - 1, i, ~type[i], p[i], q[i]);
+    }
+
+    before = new int[m + 1];
+    for (int i = 0; i < m; i++)
+      before[i+1] = before[i] + (type[i] == QUERY ? 1 : 0);
+
+    uf = new RollbackUF(n);
+    solve(1, 0, m - 1);
+  }
+
+  /**
+   * Returns the answer to the query with the given index.
+   *
+   * @param  query the index returned by {@link #connected}
+   * @return {@code true} if the two sites of the query were connected at the time
+   *         it was recorded; {@code false} otherwise
+   * @throws IllegalStateException if {@link #run} has not been called
+   * @throws IllegalArgumentException unless {@code 0 <= query < } number of queries
+   */
+  public boolean answer(int query) {
+    if (!done) throw new IllegalStateException("operations have not been processed yet");
+    if (query < 0 || query >= queries)
+      throw new IllegalArgumentException("query " + query + " is not between 0 and " + (queries-1));
+    return answer[query];
+  }
+
+  // appends an operation to the log
+  private void record(int t, int a, int b) {
+    if (done) throw new IllegalStateException("operations have already been processed");
+    validate(a);
+    validate(b);
+    if (m == type.length) {
+      type = Arrays.copyOf(type, 2*m);
+      p = Arrays.copyOf(p, 2*m);
+      q = Arrays.copyOf(q, 2*m);
+    }
+    type[m] = t;
+    p[m] = a;
+    q[m] = b;
+    m++;
+  }
+
+  // adds the edge a-b to every segment tree node covering the time interval [from, to]
+  private void insert(int node, int lo, int hi, int from, int to, int a, int b) {
+    if (to < lo || hi < from) return;
+    if (from <= lo && hi <= to) {
+      if (stored == next.length) {
+        next  = Arrays.copyOf(next, 2*stored);
+        edgeP = Arrays.copyOf(edgeP, 2*stored);
+        edgeQ = Arrays.copyOf(edgeQ, 2*stored);
+      }
+      edgeP[stored] = a;
+      edgeQ[stored] = b;
+      next[stored] = head[node];
+      head[node] = stored++;
+      return;
+    }
+    int mid = (lo + hi) >>> 1;
+    insert(2*node, lo, mid, from, to, a, b);
+    insert(2*node + 1, mid + 1, hi, from, to, a, b);
+  }
+
+  // walks the segment tree, answering queries at the leaves
+  private void solve(int node, int lo, int hi) {
+    int checkpoint = uf.checkpoint();
+    for (int e = head[node]; e != -1; e = next[e])
+      uf.union(edgeP[e], edgeQ[e]);
+
+    if (lo == hi) {
+      if (type[lo] == QUERY) answer[before[lo]] = uf.connected(p[lo], q[lo]);
+    } else {
+      int mid = (lo + hi) >>> 1;
+      solve(2*node, lo, mid);
+      solve(2*node + 1, mid + 1, hi);
+    }
+
+    uf.rollback(checkpoint);
+  }
+
+  private void validate(int x) {
+    if (x < 0 || x >= n)
+      throw new IllegalArgumentException("site " + x + " is not between 0 and " + (n-1));
+  }
+
+  // order-independent key of the edge a-b
+  private static long key(int a, int b) {
+    if (a > b) { int t = a; a = b; b = t; }
+    return ((long) a << 32) | (b & 0xffffffffL);
+  }
+
+  /**
+   * Reads the number of sites {@code n} from standard input, followed by
+   * operations of the form {@code + p q} (add edge), {@code - p q} (remove edge)
+   * and {@code ? p q} (query), and prints the answer to every query.
+   *
+   * @param args the command-line arguments
+   */
+  public static void main(String[] args) {
+    int n = StdIn.readInt();
+    DynamicConnectivity dc = new DynamicConnectivity(n);
+    int[] queryP = new int[16];   // queryP[k], queryQ[k] = the sites of query k
+    int[] queryQ = new int[16];
+    int queries = 0;
+    while (!StdIn.isEmpty()) {
+      String op = StdIn.readString();
+      int p = StdIn.readInt();
+      int q = StdIn.readInt();
+      if      (op.equals("+")) dc.addEdge(p, q);
+      else if (op.equals("-")) dc.removeEdge(p, q);
+      else if (op.equals("?")) {
+        int k = dc.connected(p, q);
+        if (k == queryP.length) {
+          queryP = Arrays.copyOf(queryP, 2*k);
+          queryQ = Arrays.copyOf(queryQ, 2*k);
+        }
+        queryP[k] = p;
+        queryQ[k] = q;
+        queries = k + 1;
+      }
+      else throw new IllegalArgumentException("unknown operation: " + op);
+    }
+    dc.run();
+
+    for (int k = 0; k < queries; k++)
+      StdOut.println(queryP[k] + " " + queryQ[k] + (dc.answer(k) ? " connected" : " not connected"));
+  }
+}
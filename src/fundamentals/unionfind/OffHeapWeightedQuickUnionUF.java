@@ -0,0 +1,267 @@
+package fundamentals.unionfind;
+
+import libs.StdIn;
+import libs.StdOut;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ *  The {@code OffHeapWeightedQuickUnionUF} class is a weighted quick-union
+ *  data type for more than 2<sup>31</sup> sites, named by {@code long}
+ *  identifiers {@code 0} through {@code n-1}. It supports the same
+ *  <em>union</em>, <em>find</em>, <em>connected</em> and <em>count</em>
+ *  operations as {@link WeightedQuickUnionUF}.
+ *  <p>
+ *  The parent and size arrays live outside the Java heap, in direct byte
+ *  buffers of at most 2<sup>30</sup> bytes each, so they are neither limited
+ *  to {@code int} indices nor scanned by the garbage collector. They can
+ *  also be memory-mapped to a file, in which case the structure persists:
+ *  constructing it again on the same file resumes where it left off. Each
+ *  union updates the mapped arrays and the component count in place, so
+ *  the file is consistent even if the program exits without calling
+ *  {@link #flush}, which forces the state to the storage device.
+ *  <p>
+ *  This implementation uses union by size and path halving. It takes
+ *  16 bytes per site. Direct (non-mapped) buffers count against
+ *  {@code -XX:MaxDirectMemorySize}.
+ */
+public class OffHeapWeightedQuickUnionUF {
+  private static final int  CHUNK_SHIFT = 30;                    // 2^30 bytes per buffer
+  private static final long CHUNK_MASK  = (1L << CHUNK_SHIFT) - 1;
+  private static final int  HEADER      = 16;                    // n and count, in a mapped file
+
+  private final long n;               // number of sites
+  private final LongArray parent;     // parent[i] = parent of i
+  private final LongArray size;       // size[i] = number of sites in subtree rooted at i
+  private final ByteBuffer header;    // mapped header, or null when not persistent
+  private long count;                 // number of components
+
+  /**
+   * Initializes an empty union–find data structure with {@code n} sites
+   * {@code 0} through {@code n-1} in direct memory. Each site is initially
+   * in its own component.
+   *
+   * @param  n the number of sites
+   * @throws IllegalArgumentException if {@code n < 0}
+   */
+  public OffHeapWeightedQuickUnionUF(long n) {
+    if (n < 0) throw new IllegalArgumentException("number of sites must be nonnegative");
+    this.n = n;
+    this.header = null;
+    parent = LongArray.allocate(n);
+    size = LongArray.allocate(n);
+    reset();
+  }
+
+  /**
+   * Initializes a union–find data structure with {@code n} sites memory-mapped
+   * to {@code file}. If the file already holds a structure with {@code n} sites,
+   * its components are reused; otherwise the file is (re)initialized so that
+   * each site is in its own component.
+   *
+   * @param  n the number of sites
+   * @param  file the backing file
+   * @throws IllegalArgumentException if {@code n < 0}
+   * @throws UncheckedIOException if the file cannot be opened or mapped
+   */
+  public OffHeapWeightedQuickUnionUF(long n, Path file) {
+    if (n < 0) throw new IllegalArgumentException("number of sites must be nonnegative");
+    this.n = n;
+    long length = HEADER + 16 * n;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+        StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      boolean resume = channel.size() == length;
+      header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER).order(ByteOrder.nativeOrder());
+      parent = LongArray.map(channel, HEADER, n);
+      size = LongArray.map(channel, HEADER + 8 * n, n);
+      if (resume && header.getLong(0) == n) {
+        count = header.getLong(8);
+      } else {
+        reset();
+        header.putLong(0, n);
+        header.putLong(8, count);
+        flush();
+      }
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException("could not map " + file, e);
+    }
+  }
+
+  // puts every site in its own component
+  private void reset() {
+    count = n;
+    for (long i = 0; i < n; i++) {
+      parent.set(i, i);
+      size.set(i, 1);
+    }
+  }
+
+  /**
+   * Returns the number of components.
+   *
+   * @return the number of components (between {@code 1} and {@code n})
+   */
+  public long count() {
+    return count;
+  }
+
+  /**
+   * Returns true if the the two sites are in the same component.
+   *
+   * @param  p the identifier of one site
+   * @param  q the identifier of the other site
+   * @return {@code true} if the two sites {@code p} and {@code q} are in the same component;
+   *         {@code false} otherwise
+   * @throws IllegalArgumentException unless both {@code 0 <= p < n} and {@code 0 <= q < n}
+   */
+  public boolean connected(long p, long q) {
+    return find(p) == find(q);
+  }
+
+  /**
+   * Returns the component identifier for the component containing site {@code p}.
+   *
+   * @param  p the identifier of one site
+   * @return the component identifier for the component containing site {@code p}
+   * @throws IllegalArgumentException unless {@code 0 <= p < n}
+   */
+  public long find(long p) {
+    validate(p);
+    long up = parent.get(p);
+    while (p != up) {
+      long grandparent = parent.get(up);
+      parent.set(p, grandparent);    // path halving
+      p = grandparent;
+      up = parent.get(p);
+    }
+    return p;
+  }
+
+  /**
+   * Merges the component containing site {@code p} with the
+   * the component containing site {@code q}.
+   *
+   * @param  p the identifier of one site
+   * @param  q the identifier of the other site
+   * @throws IllegalArgumentException unless both {@code 0 <= p < n} and {@code 0 <= q < n}
+   */
+  public void union(long p, long q) {
+    long rootP = find(p);
+    long rootQ = find(q);
+    if (rootP == rootQ) return;
+
+    // make smaller root point to larger one
+    long sizeP = size.get(rootP);
+    long sizeQ = size.get(rootQ);
+    if (sizeP < sizeQ) {
+      parent.set(rootP, rootQ);
+      size.set(rootQ, sizeP + sizeQ);
+    } else {
+      parent.set(rootQ, rootP);
+      size.set(rootP, sizeP + sizeQ);
+    }
+    count--;
+    if (header != null) header.putLong(8, count);
+  }
+
+  /**
+   * Forces the current state to the storage device of the backing file, if there is one.
+   * Does nothing for a structure in direct memory.
+   */
+  public void flush() {
+    if (header == null) return;
+    ((MappedByteBuffer) header).force();
+    parent.force();
+    size.force();
+  }
+
+  private void validate(long p) {
+    if (p < 0 || p >= n)
+      throw new IllegalArgumentException("index " + p + " is not between 0 and " + (n-1));
+  }
+
+  // an array of longs spread over buffers of at most 2^30 bytes
+  private static class LongArray {
+    private final ByteBuffer[] chunks;
+
+    private LongArray(ByteBuffer[] chunks) {
+      this.chunks = chunks;
+    }
+
+    static LongArray allocate(long length) {
+      ByteBuffer[] chunks = new ByteBuffer[chunkCount(length)];
+      long bytes = 8 * length;
+      for (int i = 0; i < chunks.length; i++) {
+        int capacity = (int) Math.min(1L << CHUNK_SHIFT, bytes - ((long) i << CHUNK_SHIFT));
+        chunks[i] = ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+      }
+      return new LongArray(chunks);
+    }
+
+    static LongArray map(FileChannel channel, long offset, long length) throws IOException {
+      ByteBuffer[] chunks = new ByteBuffer[chunkCount(length)];
+      long bytes = 8 * length;
+      for (int i = 0; i < chunks.length; i++) {
+        long start = (long) i << CHUNK_SHIFT;
+        long capacity = Math.min(1L << CHUNK_SHIFT, bytes - start);
+        chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE, offset + start, capacity)
+            .order(ByteOrder.nativeOrder());
+      }
+      return new LongArray(chunks);
+    }
+
+    private static int chunkCount(long length) {
+      return (int) ((8 * length + CHUNK_MASK) >>> CHUNK_SHIFT);
+    }
+
+    long get(long i) {
+      long offset = i << 3;
+      return chunks[(int) (offset >>> CHUNK_SHIFT)].getLong((int) (offset & CHUNK_MASK));
+    }
+
+    void set(long i, long value) {
+      long offset = i << 3;
+      chunks[(int) (offset >>> CHUNK_SHIFT)].putLong((int) (offset & CHUNK_MASK), value);
+    }
+
+    void force() {
+      for (ByteBuffer chunk : chunks)
+        if (chunk instanceof MappedByteBuffer) ((MappedByteBuffer) chunk).force();
+    }
+  }
+
+  /**
+   * Reads in a sequence of pairs of integers (between 0 and n-1) from standard input,
+   * where each integer represents some object;
+   * if the sites are in different components, merge the two components
+   * and print the pair to standard output. If a file name is given as
+   * the command-line argument, the structure is persisted to that file.
+   *
+   * @param args the command-line arguments
+   */
+  public static void main(String[] args) {
+    long n = StdIn.readLong();
+    OffHeapWeightedQuickUnionUF uf = args.length > 0
+        ? new OffHeapWeightedQuickUnionUF(n, Paths.get(args[0]))
+        : new OffHeapWeightedQuickUnionUF(n);
+    while (!StdIn.isEmpty()) {
+      long p = StdIn.readLong();
+      long q = StdIn.readLong();
+      if (uf.connected(p, q)) continue;
+
+      uf.union(p, q);
+      StdOut.println(p + " " + q);
+    }
+    uf.flush();
+    StdOut.println(uf.count() + " components");
+  }
+}
@@ -0,0 +1,241 @@
+package fundamentals.unionfind;
+
+import libs.StdIn;
+import libs.StdOut;
+
+import java.util.Arrays;
+
+/**
+ *  The {@code RollbackUF} class represents a union–find data type whose
+ *  unions can be undone. It supports the usual <em>union</em>, <em>find</em>,
+ *  <em>connected</em> and <em>count</em> operations, along with
+ *  <em>checkpoint</em> and <em>rollback</em>, which restores the state
+ *  recorded by an earlier checkpoint.
+ *  <p>
+ *  This implementation uses weighted quick union by size without path
+ *  compression, so every union changes a single parent link and the undo log
+ *  holds one entry per successful union. The <em>union</em>,
+ *  <em>connected</em> and <em>find</em> operations take logarithmic time;
+ *  <em>checkpoint</em> takes constant time and <em>rollback</em> takes time
+ *  proportional to the number of unions being undone.
+ *  <p>
+ *  A {@link Snapshot} is a read-only view of the current components. It shares
+ *  the arrays with this union–find until the next change, which copies them
+ *  first (copy-on-write), so taking a snapshot costs constant time.
+ */
+public class RollbackUF {
+  private int[] parent;   // parent[i] = parent of i
+  private int[] size;     // size[i] = number of sites in subtree rooted at i
+  private int count;      // number of components
+  private int[] history;  // history[i] = root linked below another root by the i-th union
+  private int top;        // number of entries in history
+  private boolean shared; // are parent[] and size[] referenced by a snapshot?
+
+  /**
+   * Initializes an empty union–find data structure with {@code n} sites
+   * {@code 0} through {@code n-1}. Each site is initially in its own
+   * component.
+   *
+   * @param  n the number of sites
+   */
+  public RollbackUF(int n) {
+    count = n;
+    parent = new int[n];
+    size = new int[n];
+    history = new int[n];
+    for (int i = 0; i < n; i++) {
+      parent[i] = i;
+      size[i] = 1;
+    }
+  }
+
+  /**
+   * Returns the number of components.
+   *
+   * @return the number of components (between {@code 1} and {@code n})
+   */
+  public int count() {
+    return count;
+  }
+
+  /**
+   * Returns true if the the two sites are in the same component.
+   *
+   * @param  p the integer representing one site
+   * @param  q the integer representing the other site
+   * @return {@code true} if the two sites {@code p} and {@code q} are in the same component;
+   *         {@code false} otherwise
+   */
+  public boolean connected(int p, int q) {
+    return find(p) == find(q);
+  }
+
+  /**
+   * Returns the component identifier for the component containing site {@code p}.
+   *
+   * @param  p the integer representing one object
+   * @return the component identifier for the component containing site {@code p}
+   */
+  public int find(int p) {
+    while (p != parent[p]) {
+      p = parent[p];
+    }
+    return p;
+  }
+
+  /**
+   * Merges the component containing site {@code p} with the
+   * the component containing site {@code q}.
+   *
+   * @param  p the integer representing one site
+   * @param  q the integer representing the other site
+   */
+  public void union(int p, int q) {
+    int rootP = find(p);
+    int rootQ = find(q);
+    if (rootP == rootQ) return;
+    unshare();
+
+    // make smaller root point to larger one
+    if (size[rootP] < size[rootQ]) {
+      parent[rootP] = rootQ;
+      size[rootQ] += size[rootP];
+      history[top++] = rootP;
+    } else {
+      parent[rootQ] = rootP;
+      size[rootP] += size[rootQ];
+      history[top++] = rootQ;
+    }
+    count--;
+  }
+
+  /**
+   * Returns a checkpoint identifying the current state, to be passed to
+   * {@link #rollback}.
+   *
+   * @return the number of unions applied since construction that have not been rolled back
+   */
+  public int checkpoint() {
+    return top;
+  }
+
+  /**
+   * Undoes every union performed after the given checkpoint was taken.
+   *
+   * @param  to a value returned by {@link #checkpoint}
+   * @throws IllegalArgumentException if {@code to} is negative or later than the current state
+   */
+  public void rollback(int to) {
+    if (to < 0 || to > top)
+      throw new IllegalArgumentException("checkpoint " + to + " is not between 0 and " + top);
+    if (to == top) return;
+    unshare();
+    while (top > to) {
+      int child = history[--top];
+      size[parent[child]] -= size[child];
+      parent[child] = child;
+      count++;
+    }
+  }
+
+  /**
+   * Returns a read-only view of the current components that is unaffected
+   * by later unions and rollbacks.
+   *
+   * @return a snapshot of this union–find
+   */
+  public Snapshot snapshot() {
+    shared = true;
+    return new Snapshot(parent, count);
+  }
+
+  // copies the arrays before the first change after a snapshot
+  private void unshare() {
+    if (!shared) return;
+    parent = parent.clone();
+    size = size.clone();
+    shared = false;
+  }
+
+  /**
+   * The {@code Snapshot} class is an immutable view of the components
+   * of a {@link RollbackUF} at the time it was taken.
+   */
+  public static class Snapshot {
+    private final int[] parent;
+    private final int count;
+
+    private Snapshot(int[] parent, int count) {
+      this.parent = parent;
+      this.count = count;
+    }
+
+    /**
+     * Returns the number of components.
+     *
+     * @return the number of components at the time of the snapshot
+     */
+    public int count() {
+      return count;
+    }
+
+    /**
+     * Returns the component identifier for the component containing site {@code p}.
+     *
+     * @param  p the integer representing one object
+     * @return the component identifier for the component containing site {@code p}
+     */
+    public int find(int p) {
+      while (p != parent[p]) {
+        p = parent[p];
+      }
+      return p;
+    }
+
+    /**
+     * Returns true if the the two sites were in the same component.
+     *
+     * @param  p the integer representing one site
+     * @param  q the integer representing the other site
+     * @return {@code true} if the two sites {@code p} and {@code q} are in the same component;
+     *         {@code false} otherwise
+     */
+    public boolean connected(int p, int q) {
+      return find(p) == find(q);
+    }
+  }
+
+  /**
+   * Reads in a sequence of pairs of integers (between 0 and n-1) from standard input,
+   * where each integer represents some object, and merges their components.
+   * A line consisting of {@code -1 k} instead rolls back the last {@code k} pairs read
+   * that are not yet rolled back.
+   * Prints the number of components after each pair.
+   *
+   * @param args the command-line arguments
+   * @throws IllegalArgumentException if a rollback count is negative or larger
+   *         than the number of pairs that can be rolled back
+   */
+  public static void main(String[] args) {
+    int n = StdIn.readInt();
+    RollbackUF uf = new RollbackUF(n);
+    int[] checkpoints = new int[16];
+    int pairs = 0;
+    while (!StdIn.isEmpty()) {
+      int p = StdIn.readInt();
+      int q = StdIn.readInt();
+      if (p == -1) {
+        if (q < 0 || q > pairs)
+          throw new IllegalArgumentException("cannot roll back " + q + " of " + pairs + " pairs");
+        pairs -= q;
+        uf.rollback(checkpoints[pairs]);
+        StdOut.println("rollback " + q + ": " + uf.count() + " components");
+        continue;
+      }
+      if (pairs == checkpoints.length) checkpoints = Arrays.copyOf(checkpoints, 2*pairs);
+      checkpoints[pairs++] = uf.checkpoint();
+      uf.union(p, q);
+      StdOut.println(p + " " + q + ": " + uf.count() + " components");
+    }
+  }
+}
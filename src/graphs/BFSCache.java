@@ -0,0 +1,274 @@
+package graphs;
+
+import libs.StdIn;
+import libs.StdOut;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Stack;
+
+/**
+ *  The {@code BFSCache} class represents a cache of breadth-first search
+ *  results on a {@link VersionedGraph}: shortest paths (number of edges)
+ *  from up to <em>capacity</em> source vertices, each tagged with the epoch
+ *  of the graph it was computed for.
+ *  <p>
+ *  A query whose source is cached at the current epoch is answered from the
+ *  cache in constant time. If the graph changed since, the cache reads the
+ *  changes from the graph's delta log: when they are all edge insertions,
+ *  which can only shorten distances, it repairs the result by propagating
+ *  the decreases from the endpoints of each new edge, in time proportional
+ *  to the vertices whose distance changed and their degrees. A removal, or a
+ *  change no longer in the log, invalidates the result and it is recomputed
+ *  from scratch in time proportional to <em>V</em> + <em>E</em>.
+ *  When the cache is full, the least recently used source is evicted and
+ *  its arrays are reused.
+ *  <p>
+ *  This class is not thread-safe.
+ */
+public class BFSCache {
+  private static final int INFINITY = Integer.MAX_VALUE;
+
+  private final VersionedGraph G;
+  private final int capacity;
+  private final LinkedHashMap<Integer, Entry> entries;   // in order of last use
+  private final int[] queue;
+  private long hits;              // queries answered at the cached epoch
+  private long updates;           // results repaired incrementally
+  private long recomputations;    // results computed from scratch
+
+  // the search results from one source, valid at the given epoch
+  private static class Entry {
+    private final int[] distTo;   // distTo[v] = number of edges shortest s-v path
+    private final int[] edgeTo;   // edgeTo[v] = previous vertex on shortest s-v path
+    private int s;
+    private long epoch;
+
+    Entry(int V) {
+      distTo = new int[V];
+      edgeTo = new int[V];
+    }
+  }
+
+  /**
+   * Initializes an empty cache of search results on the graph {@code G}.
+   * @param G the graph
+   * @param capacity the maximum number of sources cached
+   * @throws IllegalArgumentException if {@code capacity < 1}
+   */
+  public BFSCache(VersionedGraph G, int capacity) {
+    if (capacity < 1) throw new IllegalArgumentException("capacity must be positive");
+    this.G = G;
+    this.capacity = capacity;
+    entries = new LinkedHashMap<>(16, 0.75f, true);
+    queue = new int[G.V()];
+  }
+
+  // returns the results from s, valid at the current epoch
+  private Entry lookup(int s) {
+    validateVertex(s);
+    Entry e = entries.get(s);
+    if (e != null && e.epoch == G.epoch()) {
+      hits++;
+      return e;
+    }
+    if (e != null && update(e)) {
+      updates++;
+      return e;
+    }
+    if (e == null) {
+      if (entries.size() == capacity) {
+        Iterator<Entry> eldest = entries.values().iterator();
+        e = eldest.next();
+        eldest.remove();
+      }
+      else e = new Entry(G.V());
+      e.s = s;
+      entries.put(s, e);
+    }
+    bfs(e);
+    recomputations++;
+    return e;
+  }
+
+  // breadth-first search from e.s on the current graph
+  private void bfs(Entry e) {
+    Arrays.fill(e.distTo, INFINITY);
+    int head = 0;
+    int tail = 0;
+    e.distTo[e.s] = 0;
+    e.edgeTo[e.s] = e.s;
+    queue[tail++] = e.s;
+    while (head < tail) {
+      int v = queue[head++];
+      int[] adj = G.neighbors(v);
+      for (int i = 0, n = G.degreeOf(v); i < n; i++) {
+        int w = adj[i];
+        if (e.distTo[w] == INFINITY) {
+          e.distTo[w] = e.distTo[v] + 1;
+          e.edgeTo[w] = v;
+          queue[tail++] = w;
+        }
+      }
+    }
+    e.epoch = G.epoch();
+  }
+
+  // brings e up to the current epoch if all changes since are logged insertions
+  private boolean update(Entry e) {
+    long now = G.epoch();
+    if (e.epoch < G.oldestChange()) return false;
+    for (long c = e.epoch; c < now; c++)
+      if (!G.changeAdded(c)) return false;
+    for (long c = e.epoch; c < now; c++) {
+      relax(e, G.changeV(c), G.changeW(c));
+      relax(e, G.changeW(c), G.changeV(c));
+    }
+    e.epoch = now;
+    return true;
+  }
+
+  // if the edge v-w shortens the path to w, propagates the decrease breadth-first
+  private void relax(Entry e, int v, int w) {
+    int[] distTo = e.distTo;
+    if (distTo[v] == INFINITY || distTo[v] + 1 >= distTo[w]) return;
+    distTo[w] = distTo[v] + 1;
+    e.edgeTo[w] = v;
+    int head = 0;
+    int tail = 0;
+    queue[tail++] = w;
+    while (head < tail) {
+      int x = queue[head++];
+      int[] adj = G.neighbors(x);
+      for (int i = 0, n = G.degreeOf(x); i < n; i++) {
+        int y = adj[i];
+        if (distTo[x] + 1 < distTo[y]) {
+          distTo[y] = distTo[x] + 1;
+          e.edgeTo[y] = x;
+          queue[tail++] = y;
+        }
+      }
+    }
+  }
+
+  /**
+   * Is there a path between the source vertex {@code s} and vertex {@code v}
+   * in the current graph?
+   * @param s the source vertex
+   * @param v the vertex
+   * @return {@code true} if there is a path, and {@code false} otherwise
+   * @throws IllegalArgumentException unless {@code 0 <= s < V} and {@code 0 <= v < V}
+   */
+  public boolean hasPathTo(int s, int v) {
+    validateVertex(v);
+    return lookup(s).distTo[v] != INFINITY;
+  }
+
+  /**
+   * Returns the number of edges in a shortest path between the source vertex {@code s}
+   * and vertex {@code v} in the current graph.
+   * @param s the source vertex
+   * @param v the vertex
+   * @return the number of edges in a shortest path, or {@code Integer.MAX_VALUE} if no such path
+   * @throws IllegalArgumentException unless {@code 0 <= s < V} and {@code 0 <= v < V}
+   */
+  public int distTo(int s, int v) {
+    validateVertex(v);
+    return lookup(s).distTo[v];
+  }
+
+  /**
+   * Returns a shortest path between the source vertex {@code s} and vertex {@code v}
+   * in the current graph, or {@code null} if no such path.
+   * @param s the source vertex
+   * @param v the vertex
+   * @return the sequence of vertices on a shortest path, as an Iterable
+   * @throws IllegalArgumentException unless {@code 0 <= s < V} and {@code 0 <= v < V}
+   */
+  public Iterable<Integer> pathTo(int s, int v) {
+    validateVertex(v);
+    Entry e = lookup(s);
+    if (e.distTo[v] == INFINITY) return null;
+    Stack<Integer> path = new Stack<>();
+    for (int x = v; x != s; x = e.edgeTo[x])
+      path.push(x);
+    path.push(s);
+
+    Collections.reverse(path);
+
+    return path;
+  }
+
+  /**
+   * Returns the number of queries answered from a result already at the current epoch.
+   * @return the number of cache hits
+   */
+  public long hits() {
+    return hits;
+  }
+
+  /**
+   * Returns the number of times a cached result was repaired after edge insertions.
+   * @return the number of incremental updates
+   */
+  public long updates() {
+    return updates;
+  }
+
+  /**
+   * Returns the number of searches run from scratch, for new sources or
+   * after edge removals.
+   * @return the number of full searches
+   */
+  public long recomputations() {
+    return recomputations;
+  }
+
+  /**
+   * Forgets all cached results.
+   */
+  public void clear() {
+    entries.clear();
+  }
+
+  // throw an IllegalArgumentException unless {@code 0 <= v < V}
+  private void validateVertex(int v) {
+    int V = queue.length;
+    if (v < 0 || v >= V)
+      throw new IllegalArgumentException("vertex " + v + " is not between 0 and " + (V-1));
+  }
+
+  /**
+   * Unit tests the {@code BFSCache} data type.
+   * Reads <em>V</em>, then changes {@code + v w} (add) or {@code - v w} (remove)
+   * and queries {@code ? s v}, and prints the answer to each query.
+   *
+   * @param args the command-line arguments
+   */
+  public static void main(String[] args) {
+    VersionedGraph G = new VersionedGraph(StdIn.readInt());
+    BFSCache cache = new BFSCache(G, 16);
+    while (!StdIn.isEmpty()) {
+      String op = StdIn.readString();
+      int v = StdIn.readInt();
+      int w = StdIn.readInt();
+      if      (op.equals("+")) G.addEdge(v, w);
+      else if (op.equals("-")) G.removeEdge(v, w);
+      else if (op.equals("?")) {
+        Iterable<Integer> path = cache.pathTo(v, w);    // one lookup per query
+        if (path == null) {
+          StdOut.println(v + " to " + w + " (-):  not connected");
+          continue;
+        }
+        int edges = -1;
+        for (int x : path)
+          edges++;
+        StdOut.println(v + " to " + w + " (" + edges + "): " + path);
+      }
+      else throw new IllegalArgumentException("unknown operation: " + op);
+    }
+    StdOut.println(cache.hits() + " hits, " + cache.updates() + " updates, " + cache.recomputations() + " recomputations");
+  }
+}
@@ -0,0 +1,183 @@
+package graphs;
+
+import libs.StdIn;
+import libs.StdOut;
+
+import java.util.Arrays;
+
+/**
+ *  The {@code BatchedBreadthFirstPaths} class represents a data type for finding
+ *  the number of edges in shortest paths from each of up to 64 source
+ *  vertices to every other vertex in an undirected graph, all in one search.
+ *  <p>
+ *  This implementation uses multi-source breadth-first search (MS-BFS, Then et al.)
+ *  over a {@link CSRGraph}. Every vertex has a {@code long} bitmask with one bit
+ *  per source: {@code seen} marks the searches that have reached it, and
+ *  {@code visit} the searches for which it is on the current frontier. Expanding
+ *  a vertex propagates all of its frontier bits to a neighbor with one
+ *  {@code and-not}, so each adjacency list is read once per level for the whole
+ *  batch instead of once per source.
+ *  <p>
+ *  For more than 64 sources, run one batch per 64 sources.
+ *  Like {@link ParallelBreadthFirstPaths}, each level expands only an explicit
+ *  frontier array of the vertices reached at the previous level. A vertex is
+ *  on the frontier once for each distinct distance at which the <em>k</em>
+ *  searches reach it, so the constructor takes time proportional to
+ *  <em>k</em>(<em>V</em> + <em>E</em>) in the worst case, and close to
+ *  <em>V</em> + <em>E</em> when the searches reach vertices together, plus time
+ *  proportional to <em>k</em><em>V</em> to record the distances.
+ *  It uses extra space (not including the graph) proportional to <em>k</em><em>V</em>.
+ */
+public class BatchedBreadthFirstPaths {
+  private static final int INFINITY = Integer.MAX_VALUE;
+  private final int[] sources;     // sources[i] = source vertex of search i
+  private final int[][] distTo;    // distTo[i][v] = number of edges on a shortest sources[i]-v path
+
+  /**
+   * Computes the number of edges in a shortest path between each vertex
+   * {@code sources[i]} and every other vertex in the graph {@code G}.
+   * @param G the graph
+   * @param sources the source vertices, at most 64
+   * @throws IllegalArgumentException if {@code sources} is {@code null},
+   *         empty, or has more than 64 vertices
+   * @throws IllegalArgumentException unless {@code 0 <= s < V} for each vertex
+   *         {@code s} in {@code sources}
+   */
+  public BatchedBreadthFirstPaths(CSRGraph G, int[] sources) {
+    if (sources == null) throw new IllegalArgumentException("argument is null");
+    if (sources.length == 0 || sources.length > 64)
+      throw new IllegalArgumentException("number of sources " + sources.length + " is not between 1 and 64");
+    this.sources = sources.clone();
+    distTo = new int[sources.length][G.V()];
+    for (int s : sources)
+      validateVertex(s);
+    bfs(G);
+  }
+
+  // breadth-first search from all sources at once
+  private void bfs(CSRGraph G) {
+    int V = G.V();
+    long[] seen = new long[V];
+    long[] visit = new long[V];
+    long[] visitNext = new long[V];
+    int[] frontier = new int[V];     // frontier[0..size-1] = vertices with visit[v] != 0
+    int[] next = new int[V];         // next[0..nextSize-1] = vertices with visitNext[v] != 0
+    int size = 0;
+    for (int[] dist : distTo)
+      Arrays.fill(dist, INFINITY);
+    for (int i = 0; i < sources.length; i++) {
+      int s = sources[i];
+      if (visit[s] == 0) frontier[size++] = s;
+      seen[s] |= 1L << i;
+      visit[s] |= 1L << i;
+      distTo[i][s] = 0;
+    }
+
+    for (int level = 1; size > 0; level++) {
+      int nextSize = 0;
+      for (int j = 0; j < size; j++) {
+        int v = frontier[j];
+        long bits = visit[v];
+        visit[v] = 0;
+        for (int i = G.begin(v), end = G.end(v); i < end; i++) {
+          int w = G.target(i);
+          long discovered = bits & ~seen[w];
+          if (discovered != 0) {
+            if (visitNext[w] == 0) next[nextSize++] = w;
+            seen[w] |= discovered;
+            visitNext[w] |= discovered;
+            for (long d = discovered; d != 0; d &= d - 1)
+              distTo[Long.numberOfTrailingZeros(d)][w] = level;
+          }
+        }
+      }
+      long[] t = visit; visit = visitNext; visitNext = t;
+      int[] f = frontier; frontier = next; next = f;
+      size = nextSize;
+    }
+  }
+
+  /**
+   * Returns the number of searches in this batch.
+   * @return the number of source vertices
+   */
+  public int size() {
+    return sources.length;
+  }
+
+  /**
+   * Returns the source vertex of search {@code i}.
+   * @param i the index of the search
+   * @return the source vertex of search {@code i}
+   * @throws IllegalArgumentException unless {@code 0 <= i < size()}
+   */
+  public int source(int i) {
+    validateSearch(i);
+    return sources[i];
+  }
+
+  /**
+   * Is there a path between the source vertex of search {@code i} and vertex {@code v}?
+   * @param i the index of the search
+   * @param v the vertex
+   * @return {@code true} if there is a path, and {@code false} otherwise
+   * @throws IllegalArgumentException unless {@code 0 <= i < size()} and {@code 0 <= v < V}
+   */
+  public boolean hasPathTo(int i, int v) {
+    return distTo(i, v) != INFINITY;
+  }
+
+  /**
+   * Returns the number of edges in a shortest path between the source vertex
+   * of search {@code i} and vertex {@code v}.
+   * @param i the index of the search
+   * @param v the vertex
+   * @return the number of edges in a shortest path, or {@code Integer.MAX_VALUE} if there is none
+   * @throws IllegalArgumentException unless {@code 0 <= i < size()} and {@code 0 <= v < V}
+   */
+  public int distTo(int i, int v) {
+    validateSearch(i);
+    validateVertex(v);
+    return distTo[i][v];
+  }
+
+  // throw an IllegalArgumentException unless {@code 0 <= v < V}
+  private void validateVertex(int v) {
+    int V = distTo[0].length;
+    if (v < 0 || v >= V)
+      throw new IllegalArgumentException("vertex " + v + " is not between 0 and " + (V-1));
+  }
+
+  // throw an IllegalArgumentException unless {@code 0 <= i < size()}
+  private void validateSearch(int i) {
+    if (i < 0 || i >= sources.length)
+      throw new IllegalArgumentException("search " + i + " is not between 0 and " + (sources.length-1));
+  }
+
+  /**
+   * Unit tests the {@code BatchedBreadthFirstPaths} data type.
+   * Reads the number of sources {@code k}, the {@code k} sources, and then a graph.
+   *
+   * @param args the command-line arguments
+   */
+  public static void main(String[] args) {
+    int k = StdIn.readInt();
+    int[] sources = new int[k];
+    for (int i = 0; i < k; i++)
+      sources[i] = StdIn.readInt();
+    int verticesNbr = StdIn.readInt();
+    int edgesNbr = StdIn.readInt();
+    int[] vertices = StdIn.readAllInts();
+    CSRGraph G = new CSRGraph(verticesNbr, edgesNbr, vertices);
+
+    BatchedBreadthFirstPaths bfs = new BatchedBreadthFirstPaths(G, sources);
+    for (int i = 0; i < bfs.size(); i++) {
+      StdOut.print(bfs.source(i) + ":");
+      for (int v = 0; v < G.V(); v++) {
+        if (bfs.hasPathTo(i, v)) StdOut.print(" " + bfs.distTo(i, v));
+        else                     StdOut.print(" -");
+      }
+      StdOut.println();
+    }
+  }
+}
@@ -39,6 +39,56 @@ public class BreadthFirstPaths {
     bfs(G, s);
   }
 
+  /**
+   * Computes the shortest path between the source vertex {@code s}
+   * and every other vertex in the compressed graph {@code G}.
+   * The search uses an array as its queue and allocates nothing else.
+   * @param G the graph
+   * @param s the source vertex
+   * @throws IllegalArgumentException unless {@code 0 <= s < V}
+   */
+  public BreadthFirstPaths(CSRGraph G, int s) {
+    marked = new boolean[G.V()];
+    distTo = new int[G.V()];
+    edgeTo = new int[G.V()];
+    validateVertex(s);
+    bfs(G, s);
+  }
+
+  /**
+   * Computes the shortest path between any one of the source vertices in {@code sources}
+   * and every other vertex in graph {@code G}.
+   * @param G the graph
+   * @param sources the source vertices
+   * @throws IllegalArgumentException if {@code sources} is {@code null} or has no vertices
+   * @throws IllegalArgumentException unless {@code 0 <= s < V} for each vertex
+   *         {@code s} in {@code sources}
+   */
+  public BreadthFirstPaths(Graph G, Iterable<Integer> sources) {
+    marked = new boolean[G.V()];
+    distTo = new int[G.V()];
+    edgeTo = new int[G.V()];
+    validateVertices(sources);
+    bfs(G, sources);
+  }
+
+  /**
+   * Computes the shortest path between any one of the source vertices in {@code sources}
+   * and every other vertex in the compressed graph {@code G}.
+   * @param G the graph
+   * @param sources the source vertices
+   * @throws IllegalArgumentException if {@code sources} is {@code null} or has no vertices
+   * @throws IllegalArgumentException unless {@code 0 <= s < V} for each vertex
+   *         {@code s} in {@code sources}
+   */
+  public BreadthFirstPaths(CSRGraph G, Iterable<Integer> sources) {
+    marked = new boolean[G.V()];
+    distTo = new int[G.V()];
+    edgeTo = new int[G.V()];
+    validateVertices(sources);
+    bfs(G, sources);
+  }
+
   // breadth-first search from a single source
   private void bfs(Graph G, int s) {
     Queue<Integer> q = new Queue<>();
@@ -61,6 +111,83 @@ public class BreadthFirstPaths {
     }
   }
 
+  // breadth-first search from multiple sources
+  private void bfs(Graph G, Iterable<Integer> sources) {
+    Queue<Integer> q = new Queue<>();
+    for (int v = 0; v < G.V(); v++)
+      distTo[v] = INFINITY;
+    for (int s : sources) {
+      if (marked[s]) continue;
+      marked[s] = true;
+      distTo[s] = 0;
+      q.enqueue(s);
+    }
+    while (!q.isEmpty()) {
+      int v = q.dequeue();
+      for (int w : G.adj(v)) {
+        if (!marked[w]) {
+          edgeTo[w] = v;
+          distTo[w] = distTo[v] + 1;
+          marked[w] = true;
+          q.enqueue(w);
+        }
+      }
+    }
+  }
+
+  // breadth-first search from a single source, with queue[head..tail-1] as the queue
+  private void bfs(CSRGraph G, int s) {
+    int[] queue = new int[G.V()];
+    int head = 0;
+    int tail = 0;
+    for (int v = 0; v < G.V(); v++)
+      distTo[v] = INFINITY;
+    distTo[s] = 0;
+    marked[s] = true;
+    queue[tail++] = s;
+
+    while (head < tail) {
+      int v = queue[head++];
+      for (int i = G.begin(v), end = G.end(v); i < end; i++) {
+        int w = G.target(i);
+        if (!marked[w]) {
+          edgeTo[w] = v;
+          distTo[w] = distTo[v] + 1;
+          marked[w] = true;
+          queue[tail++] = w;
+        }
+      }
+    }
+  }
+
+  // breadth-first search from multiple sources, with queue[head..tail-1] as the queue
+  private void bfs(CSRGraph G, Iterable<Integer> sources) {
+    int[] queue = new int[G.V()];
+    int head = 0;
+    int tail = 0;
+    for (int v = 0; v < G.V(); v++)
+      distTo[v] = INFINITY;
+    for (int s : sources) {
+      if (marked[s]) continue;
+      marked[s] = true;
+      distTo[s] = 0;
+      queue[tail++] = s;
+    }
+
+    while (head < tail) {
+      int v = queue[head++];
+      for (int i = G.begin(v), end = G.end(v); i < end; i++) {
+        int w = G.target(i);
+        if (!marked[w]) {
+          edgeTo[w] = v;
+          distTo[w] = distTo[v] + 1;
+          marked[w] = true;
+          queue[tail++] = w;
+        }
+      }
+    }
+  }
+
   /**
    * Is there a path between the source vertex {@code s} (or sources) and vertex {@code v}?
    * @param v the vertex
@@ -112,6 +239,25 @@ public class BreadthFirstPaths {
       throw new IllegalArgumentException("vertex " + v + " is not between 0 and " + (V-1));
   }
 
+  // throw an IllegalArgumentException if vertices is null, has zero vertices,
+  // or has a vertex not between 0 and V-1
+  private void validateVertices(Iterable<Integer> vertices) {
+    if (vertices == null) {
+      throw new IllegalArgumentException("argument is null");
+    }
+    int count = 0;
+    for (Integer v : vertices) {
+      count++;
+      if (v == null) {
+        throw new IllegalArgumentException("vertex is null");
+      }
+      validateVertex(v);
+    }
+    if (count == 0) {
+      throw new IllegalArgumentException("zero vertices");
+    }
+  }
+
   /**
    * Unit tests the {@code BreadthFirstPaths} data type.
    *
@@ -0,0 +1,179 @@
+package graphs;
+
+import libs.StdIn;
+import libs.StdOut;
+
+import java.util.Arrays;
+
+/**
+ *  The {@code CC} class represents a data type for
+ *  determining the connected components in an undirected graph.
+ *  The <em>id</em> operation determines in which connected component
+ *  a given vertex lies; the <em>connected</em> operation
+ *  determines whether two vertices are in the same connected component;
+ *  the <em>count</em> operation determines the number of connected
+ *  components; and the <em>size</em> operation determines the number
+ *  of vertices in the connect component containing a given vertex.
+ *  <p>
+ *  The <em>component identifier</em> of a connected component is one of the
+ *  integers 0 through <em>k</em>–1, where <em>k</em> is the number of connected
+ *  components, assigned in increasing order of the smallest vertex of each component.
+ *  <p>
+ *  This implementation uses breadth-first search from each unvisited vertex
+ *  over a {@link CSRGraph}, with one {@code int} array as the queue for all
+ *  searches and no recursion.
+ *  The constructor takes time proportional to <em>V</em> + <em>E</em>
+ *  (in the worst case),
+ *  where <em>V</em> is the number of vertices and <em>E</em> is the number of edges.
+ *  Afterwards, the <em>id</em>, <em>count</em>, <em>connected</em>,
+ *  and <em>size</em> operations take constant time.
+ *  See {@link ParallelCC} for a version that uses several threads.
+ */
+public class CC {
+  private final int[] id;       // id[v] = id of connected component containing v
+  private int[] size;           // size[id] = number of vertices in given component
+  private int count;            // number of connected components
+
+  /**
+   * Computes the connected components of the undirected graph {@code G}.
+   *
+   * @param G the undirected graph
+   */
+  public CC(Graph G) {
+    this(new CSRGraph(G));
+  }
+
+  /**
+   * Computes the connected components of the compressed graph {@code G}.
+   *
+   * @param G the undirected graph
+   */
+  public CC(CSRGraph G) {
+    int V = G.V();
+    id = new int[V];
+    size = new int[Math.min(V, 16)];
+    int[] queue = new int[V];
+    for (int v = 0; v < V; v++)
+      id[v] = -1;
+
+    for (int s = 0; s < V; s++) {
+      if (id[s] != -1) continue;
+      if (count == size.length) size = Arrays.copyOf(size, 2*count);
+      int head = 0;
+      int tail = 0;
+      id[s] = count;
+      queue[tail++] = s;
+      while (head < tail) {
+        int v = queue[head++];
+        for (int i = G.begin(v), end = G.end(v); i < end; i++) {
+          int w = G.target(i);
+          if (id[w] == -1) {
+            id[w] = count;
+            queue[tail++] = w;
+          }
+        }
+      }
+      size[count++] = tail;
+    }
+  }
+
+  /**
+   * Returns the component id of the connected component containing vertex {@code v}.
+   *
+   * @param  v the vertex
+   * @return the component id of the connected component containing vertex {@code v}
+   * @throws IllegalArgumentException unless {@code 0 <= v < V}
+   */
+  public int id(int v) {
+    validateVertex(v);
+    return id[v];
+  }
+
+  /**
+   * Returns the number of vertices in the connected component containing vertex {@code v}.
+   *
+   * @param  v the vertex
+   * @return the number of vertices in the connected component containing vertex {@code v}
+   * @throws IllegalArgumentException unless {@code 0 <= v < V}
+   */
+  public int size(int v) {
+    validateVertex(v);
+    return size[id[v]];
+  }
+
+  /**
+   * Returns the number of connected components in the graph {@code G}.
+   *
+   * @return the number of connected components in the graph {@code G}
+   */
+  public int count() {
+    return count;
+  }
+
+  /**
+   * Returns true if vertices {@code v} and {@code w} are in the same
+   * connected component.
+   *
+   * @param  v one vertex
+   * @param  w the other vertex
+   * @return {@code true} if vertices {@code v} and {@code w} are in the same
+   *         connected component; {@code false} otherwise
+   * @throws IllegalArgumentException unless {@code 0 <= v < V}
+   * @throws IllegalArgumentException unless {@code 0 <= w < V}
+   */
+  public boolean connected(int v, int w) {
+    validateVertex(v);
+    validateVertex(w);
+    return id[v] == id[w];
+  }
+
+  /**
+   * Returns the component ids of all vertices.
+   *
+   * @return a new array whose entry {@code v} is the component id of vertex {@code v}
+   */
+  public int[] ids() {
+    return id.clone();
+  }
+
+  /**
+   * Returns the sizes of all components.
+   *
+   * @return a new array whose entry {@code i} is the number of vertices in component {@code i}
+   */
+  public int[] sizes() {
+    return Arrays.copyOf(size, count);
+  }
+
+  // throw an IllegalArgumentException unless {@code 0 <= v < V}
+  private void validateVertex(int v) {
+    int V = id.length;
+    if (v < 0 || v >= V)
+      throw new IllegalArgumentException("vertex " + v + " is not between 0 and " + (V-1));
+  }
+
+  /**
+   * Computes the connected components of the undirected graph read from
+   * standard input, and prints the vertices of each component on one line.
+   *
+   * @param args the command-line arguments
+   */
+  public static void main(String[] args) {
+    int verticesNbr = StdIn.readInt();
+    int edgesNbr = StdIn.readInt();
+    int[] vertices = StdIn.readAllInts();
+    CSRGraph G = new CSRGraph(verticesNbr, edgesNbr, vertices);
+    CC cc = new CC(G);
+
+    int m = cc.count();
+    StdOut.println(m + " components");
+
+    StringBuilder[] components = new StringBuilder[m];
+    for (int i = 0; i < m; i++)
+      components[i] = new StringBuilder();
+    for (int v = 0; v < G.V(); v++)
+      components[cc.id(v)].append(v).append(' ');
+    for (int i = 0; i < m; i++)
+      StdOut.println(components[i]);
+  }
+}
@@ -0,0 +1,302 @@
+package graphs;
+
+import libs.StdIn;
+import libs.StdOut;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ *  The {@code CSRDigraph} class represents an immutable directed graph of
+ *  vertices named 0 through <em>V</em> – 1, in compressed sparse row form.
+ *  It supports iterating over the vertices adjacent from a vertex, and returns
+ *  the number of vertices <em>V</em>, the number of edges <em>E</em>, the
+ *  indegree and outdegree of a vertex and the reverse digraph.
+ *  Parallel edges and self-loops are permitted.
+ *  <p>
+ *  This implementation stores all adjacency lists in one array {@code targets}
+ *  of length <em>E</em>, like {@link CSRGraph}, listed in the same order as
+ *  {@link Digraph#adj}. That takes 4(<em>V</em> + <em>E</em>) bytes.
+ *  The {@link #reverse} digraph is built on first use, in time proportional
+ *  to <em>V</em> + <em>E</em>, and then kept: later calls, and the reverse
+ *  of the reverse, return the same instances. {@link #indegree} reads the
+ *  reverse digraph too.
+ */
+public class CSRDigraph {
+  private static final String NEWLINE = System.getProperty("line.separator");
+
+  private final int   V;                 // number of vertices
+  private final int   E;                 // number of edges
+  private final int[] offsets;           // successors of v are targets[offsets[v]..offsets[v+1]-1]
+  private final int[] targets;           // concatenated adjacency lists
+  private volatile CSRDigraph reverse;   // transpose, built on first use
+
+  /**
+   * Initializes a digraph with the same vertices, edges and adjacency order as {@code G}.
+   *
+   * @param  G the digraph to copy
+   */
+  public CSRDigraph(Digraph G) {
+    V = G.V();
+    E = G.E();
+    offsets = new int[V + 1];
+    targets = new int[E];
+    int i = 0;
+    for (int v = 0; v < V; v++) {
+      offsets[v] = i;
+      for (int w : G.adj(v))
+        targets[i++] = w;
+    }
+    offsets[V] = i;
+  }
+
+  /**
+   * Initializes a digraph from an array of edge endpoints, in the format of
+   * {@link Digraph#Digraph(int, int, int[])}: {@code vertices[2i]} is the tail
+   * and {@code vertices[2i+1]} the head of edge <em>i</em>.
+   * The adjacency lists come out in the same order as in the corresponding {@link Digraph}.
+   *
+   * @param  verticesNbr number of vertices
+   * @param  edgesNbr number of edges
+   * @param  vertices vertices array
+   * @throws IllegalArgumentException if the endpoints of any edge are not in prescribed range
+   * @throws IllegalArgumentException if the number of vertices or edges is negative
+   * @throws IllegalArgumentException if {@code vertices} has fewer than {@code 2*edgesNbr} entries
+   */
+  public CSRDigraph(int verticesNbr, int edgesNbr, int[] vertices) {
+    if (verticesNbr < 0) throw new IllegalArgumentException("number of vertices in a Digraph must be nonnegative");
+    if (edgesNbr < 0) throw new IllegalArgumentException("number of edges in a Digraph must be nonnegative");
+    if (vertices.length < 2L * edgesNbr) throw new IllegalArgumentException("invalid input format in Digraph constructor");
+    V = verticesNbr;
+    E = edgesNbr;
+    offsets = new int[V + 1];
+    targets = new int[E];
+
+    // count outdegrees into offsets[v+1]
+    for (int i = 0; i < 2*E; i += 2) {
+      validateVertex(vertices[i]);
+      validateVertex(vertices[i+1]);
+      offsets[vertices[i] + 1]++;
+    }
+    for (int v = 0; v < V; v++)
+      offsets[v+1] += offsets[v];
+
+    // fill each list from its end, so that the last edge added comes first, as in a Bag
+    int[] next = new int[V];
+    for (int v = 0; v < V; v++)
+      next[v] = offsets[v+1];
+    for (int i = 0; i < 2*E; i += 2)
+      targets[--next[vertices[i]]] = vertices[i+1];
+  }
+
+  // wraps arrays already in compressed sparse row form
+  CSRDigraph(int V, int E, int[] offsets, int[] targets) {
+    this.V = V;
+    this.E = E;
+    this.offsets = offsets;
+    this.targets = targets;
+  }
+
+  /**
+   * Returns the number of vertices in this digraph.
+   *
+   * @return the number of vertices in this digraph
+   */
+  public int V() {
+    return V;
+  }
+
+  /**
+   * Returns the number of edges in this digraph.
+   *
+   * @return the number of edges in this digraph
+   */
+  public int E() {
+    return E;
+  }
+
+  // throw an IllegalArgumentException unless {@code 0 <= v < V}
+  private void validateVertex(int v) {
+    if (v < 0 || v >= V)
+      throw new IllegalArgumentException("vertex " + v + " is not between 0 and " + (V-1));
+  }
+
+  /**
+   * Returns the position in {@link #target} of the first successor of {@code v}.
+   * Does not validate {@code v}.
+   *
+   * @param  v the vertex
+   * @return the position of the first successor of {@code v}
+   */
+  public int begin(int v) {
+    return offsets[v];
+  }
+
+  /**
+   * Returns one past the position in {@link #target} of the last successor of {@code v}.
+   * Does not validate {@code v}.
+   *
+   * @param  v the vertex
+   * @return one past the position of the last successor of {@code v}
+   */
+  public int end(int v) {
+    return offsets[v+1];
+  }
+
+  /**
+   * Returns the successor stored at position {@code i}, for
+   * {@code begin(v) <= i < end(v)}.
+   *
+   * @param  i the position
+   * @return the successor at position {@code i}
+   */
+  public int target(int i) {
+    return targets[i];
+  }
+
+  /**
+   * Returns a cursor over the vertices adjacent from vertex {@code v}.
+   *
+   * @param  v the vertex
+   * @return a cursor over the vertices adjacent from vertex {@code v}
+   * @throws IllegalArgumentException unless {@code 0 <= v < V}
+   */
+  public Cursor adj(int v) {
+    Cursor cursor = new Cursor();
+    cursor.reset(v);
+    return cursor;
+  }
+
+  /**
+   * Returns the number of directed edges incident from vertex {@code v}.
+   *
+   * @param  v the vertex
+   * @return the outdegree of vertex {@code v}
+   * @throws IllegalArgumentException unless {@code 0 <= v < V}
+   */
+  public int outdegree(int v) {
+    validateVertex(v);
+    return offsets[v+1] - offsets[v];
+  }
+
+  /**
+   * Returns the number of directed edges incident to vertex {@code v}.
+   * The first call builds the reverse digraph.
+   *
+   * @param  v the vertex
+   * @return the indegree of vertex {@code v}
+   * @throws IllegalArgumentException unless {@code 0 <= v < V}
+   */
+  public int indegree(int v) {
+    validateVertex(v);
+    return reverse().outdegree(v);
+  }
+
+  /**
+   * Returns the reverse of the digraph, building it on the first call.
+   * The reverse of the returned digraph is this digraph.
+   *
+   * @return the reverse of the digraph
+   */
+  public CSRDigraph reverse() {
+    CSRDigraph r = reverse;
+    if (r == null) {
+      synchronized (this) {
+        r = reverse;
+        if (r == null) {
+          r = transpose();
+          r.reverse = this;
+          reverse = r;
+        }
+      }
+    }
+    return r;
+  }
+
+  // builds the transpose, with each list in the order of Digraph.reverse()
+  private CSRDigraph transpose() {
+    int[] rOffsets = new int[V + 1];
+    int[] rTargets = new int[E];
+    for (int i = 0; i < E; i++)
+      rOffsets[targets[i] + 1]++;
+    for (int v = 0; v < V; v++)
+      rOffsets[v+1] += rOffsets[v];
+    int[] next = new int[V];
+    for (int v = 0; v < V; v++)
+      next[v] = rOffsets[v+1];
+    for (int v = 0; v < V; v++) {
+      for (int i = offsets[v]; i < offsets[v+1]; i++)
+        rTargets[--next[targets[i]]] = v;
+    }
+    return new CSRDigraph(V, E, rOffsets, rTargets);
+  }
+
+  /**
+   * The {@code Cursor} class iterates over the vertices adjacent from a vertex
+   * as {@code int} values. A cursor can be repositioned with {@link #reset},
+   * so that one instance serves a whole traversal.
+   */
+  public class Cursor implements PrimitiveIterator.OfInt {
+    private int i;       // position of the next successor
+    private int end;     // one past the position of the last successor
+
+    private Cursor() { }
+
+    /**
+     * Positions this cursor on the first vertex adjacent from {@code v}.
+     *
+     * @param  v the vertex
+     * @throws IllegalArgumentException unless {@code 0 <= v < V}
+     */
+    public void reset(int v) {
+      validateVertex(v);
+      i = offsets[v];
+      end = offsets[v+1];
+    }
+
+    public boolean hasNext() {
+      return i < end;
+    }
+
+    public int nextInt() {
+      if (!hasNext()) throw new NoSuchElementException();
+      return targets[i++];
+    }
+  }
+
+  /**
+   * Returns a string representation of the digraph.
+   *
+   * @return the number of vertices <em>V</em>, followed by the number of edges <em>E</em>,
+   *         followed by the <em>V</em> adjacency lists
+   */
+  public String toString() {
+    StringBuilder s = new StringBuilder();
+    s.append(V).append(" vertices, ").append(E).append(" edges ").append(NEWLINE);
+    for (int v = 0; v < V; v++) {
+      s.append(v).append(": ");
+      for (int i = offsets[v]; i < offsets[v+1]; i++) {
+        s.append(targets[i]).append(" ");
+      }
+      s.append(NEWLINE);
+    }
+    return s.toString();
+  }
+
+  /**
+   * Unit tests the {@code CSRDigraph} data type.
+   *
+   * @param args the command-line arguments
+   */
+  public static void main(String[] args) {
+    int verticesNbr = StdIn.readInt();
+    int edgesNbr = StdIn.readInt();
+    int[] vertices = StdIn.readAllInts();
+
+    CSRDigraph G = new CSRDigraph(verticesNbr, edgesNbr, vertices);
+
+    StdOut.println(G);
+    StdOut.println(G.reverse());
+  }
+
+}
@@ -0,0 +1,265 @@
+package graphs;
+
+import libs.StdIn;
+import libs.StdOut;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ *  The {@code CSRGraph} class represents an immutable undirected graph of
+ *  vertices named 0 through <em>V</em> – 1, in compressed sparse row form.
+ *  It supports iterating over the vertices adjacent to a vertex, and returns
+ *  the number of vertices <em>V</em>, the number of edges <em>E</em> and the
+ *  degree of a vertex. Parallel edges and self-loops are permitted, with the
+ *  same conventions as {@link Graph}.
+ *  <p>
+ *  This implementation stores all adjacency lists in one array {@code targets}
+ *  of length 2<em>E</em>; the neighbors of <em>v</em> are
+ *  {@code targets[offsets[v]]} through {@code targets[offsets[v+1]-1]}, listed
+ *  in the same order as {@link Graph#adj}. That takes 4(<em>V</em> + 2<em>E</em>)
+ *  bytes, with no per-edge objects. The raw {@link #begin}, {@link #end} and
+ *  {@link #target} methods, or a reusable {@link Cursor}, iterate over the
+ *  neighbors without allocating or boxing. The number of half-edges
+ *  2<em>E</em> must fit in an {@code int}.
+ */
+public class CSRGraph {
+  private static final String NEWLINE = System.getProperty("line.separator");
+
+  private final int   V;         // number of vertices
+  private final int   E;         // number of edges
+  private final int[] offsets;   // neighbors of v are targets[offsets[v]..offsets[v+1]-1]
+  private final int[] targets;   // concatenated adjacency lists
+
+  /**
+   * Initializes a graph with the same vertices, edges and adjacency order as {@code G}.
+   *
+   * @param  G the graph to copy
+   * @throws IllegalArgumentException if {@code G} has more than {@code Integer.MAX_VALUE} half-edges
+   */
+  public CSRGraph(Graph G) {
+    V = G.V();
+    E = G.E();
+    offsets = new int[V + 1];
+    targets = new int[halfEdges(E)];
+    int i = 0;
+    for (int v = 0; v < V; v++) {
+      offsets[v] = i;
+      for (int w : G.adj(v))
+        targets[i++] = w;
+    }
+    offsets[V] = i;
+  }
+
+  /**
+   * Initializes a graph from an array of edge endpoints, in the format of
+   * {@link Graph#Graph(int, int, int[])}: {@code vertices[2i]} and
+   * {@code vertices[2i+1]} are the endpoints of edge <em>i</em>.
+   * The adjacency lists come out in the same order as in the corresponding {@link Graph}.
+   *
+   * @param  verticesNbr number of vertices
+   * @param  edgesNbr number of edges
+   * @param  vertices vertices array
+   * @throws IllegalArgumentException if the endpoints of any edge are not in prescribed range
+   * @throws IllegalArgumentException if the number of vertices or edges is negative
+   * @throws IllegalArgumentException if {@code vertices} has fewer than {@code 2*edgesNbr} entries
+   */
+  public CSRGraph(int verticesNbr, int edgesNbr, int[] vertices) {
+    this(verticesNbr, edgesNbr, vertices, 0);
+  }
+
+  // a graph whose edge endpoints are vertices[from..from+2*edgesNbr-1], read in place
+  CSRGraph(int verticesNbr, int edgesNbr, int[] vertices, int from) {
+    if (verticesNbr < 0) throw new IllegalArgumentException("number of vertices in a Graph must be nonnegative");
+    if (edgesNbr < 0) throw new IllegalArgumentException("number of edges in a Graph must be nonnegative");
+    if (vertices.length - from < 2L * edgesNbr) throw new IllegalArgumentException("invalid input format in Graph constructor");
+    V = verticesNbr;
+    E = edgesNbr;
+    offsets = new int[V + 1];
+    targets = new int[halfEdges(E)];
+
+    // count degrees into offsets[v+1]
+    for (int i = from; i < from + 2*E; i++) {
+      validateVertex(vertices[i]);
+      offsets[vertices[i] + 1]++;
+    }
+    for (int v = 0; v < V; v++)
+      offsets[v+1] += offsets[v];
+
+    // fill each list from its end, so that the last edge added comes first, as in a Bag
+    int[] next = new int[V];
+    for (int v = 0; v < V; v++)
+      next[v] = offsets[v+1];
+    for (int i = from; i < from + 2*E; i += 2) {
+      int v = vertices[i];
+      int w = vertices[i+1];
+      targets[--next[v]] = w;
+      targets[--next[w]] = v;
+    }
+  }
+
+
+  // wraps arrays already in compressed sparse row form
+  CSRGraph(int V, int E, int[] offsets, int[] targets) {
+    this.V = V;
+    this.E = E;
+    this.offsets = offsets;
+    this.targets = targets;
+  }
+
+  private static int halfEdges(long E) {
+    if (2*E > Integer.MAX_VALUE)
+      throw new IllegalArgumentException("too many edges for a CSRGraph: " + E);
+    return (int) (2*E);
+  }
+
+  /**
+   * Returns the number of vertices in this graph.
+   *
+   * @return the number of vertices in this graph
+   */
+  public int V() {
+    return V;
+  }
+
+  /**
+   * Returns the number of edges in this graph.
+   *
+   * @return the number of edges in this graph
+   */
+  public int E() {
+    return E;
+  }
+
+  // throw an IllegalArgumentException unless {@code 0 <= v < V}
+  private void validateVertex(int v) {
+    if (v < 0 || v >= V)
+      throw new IllegalArgumentException("vertex " + v + " is not between 0 and " + (V-1));
+  }
+
+  /**
+   * Returns the position in {@link #target} of the first neighbor of {@code v}.
+   * Does not validate {@code v}.
+   *
+   * @param  v the vertex
+   * @return the position of the first neighbor of {@code v}
+   */
+  public int begin(int v) {
+    return offsets[v];
+  }
+
+  /**
+   * Returns one past the position in {@link #target} of the last neighbor of {@code v}.
+   * Does not validate {@code v}.
+   *
+   * @param  v the vertex
+   * @return one past the position of the last neighbor of {@code v}
+   */
+  public int end(int v) {
+    return offsets[v+1];
+  }
+
+  /**
+   * Returns the neighbor stored at position {@code i}, for
+   * {@code begin(v) <= i < end(v)}.
+   *
+   * @param  i the position
+   * @return the neighbor at position {@code i}
+   */
+  public int target(int i) {
+    return targets[i];
+  }
+
+  /**
+   * Returns a cursor over the vertices adjacent to vertex {@code v}.
+   *
+   * @param  v the vertex
+   * @return a cursor over the vertices adjacent to vertex {@code v}
+   * @throws IllegalArgumentException unless {@code 0 <= v < V}
+   */
+  public Cursor adj(int v) {
+    Cursor cursor = new Cursor();
+    cursor.reset(v);
+    return cursor;
+  }
+
+  /**
+   * Returns the degree of vertex {@code v}.
+   *
+   * @param  v the vertex
+   * @return the degree of vertex {@code v}
+   * @throws IllegalArgumentException unless {@code 0 <= v < V}
+   */
+  public int degree(int v) {
+    validateVertex(v);
+    return offsets[v+1] - offsets[v];
+  }
+
+  /**
+   * The {@code Cursor} class iterates over the vertices adjacent to a vertex
+   * as {@code int} values. A cursor can be repositioned with {@link #reset},
+   * so that one instance serves a whole traversal.
+   */
+  public class Cursor implements PrimitiveIterator.OfInt {
+    private int i;       // position of the next neighbor
+    private int end;     // one past the position of the last neighbor
+
+    private Cursor() { }
+
+    /**
+     * Positions this cursor on the first vertex adjacent to {@code v}.
+     *
+     * @param  v the vertex
+     * @throws IllegalArgumentException unless {@code 0 <= v < V}
+     */
+    public void reset(int v) {
+      validateVertex(v);
+      i = offsets[v];
+      end = offsets[v+1];
+    }
+
+    public boolean hasNext() {
+      return i < end;
+    }
+
+    public int nextInt() {
+      if (!hasNext()) throw new NoSuchElementException();
+      return targets[i++];
+    }
+  }
+
+  /**
+   * Returns a string representation of this graph.
+   *
+   * @return the number of vertices <em>V</em>, followed by the number of edges <em>E</em>,
+   *         followed by the <em>V</em> adjacency lists
+   */
+  public String toString() {
+    StringBuilder s = new StringBuilder();
+    s.append(V).append(" vertices, ").append(E).append(" edges ").append(NEWLINE);
+    for (int v = 0; v < V; v++) {
+      s.append(v).append(": ");
+      for (int i = offsets[v]; i < offsets[v+1]; i++) {
+        s.append(targets[i]).append(" ");
+      }
+      s.append(NEWLINE);
+    }
+    return s.toString();
+  }
+
+  /**
+   * Unit tests the {@code CSRGraph} data type.
+   *
+   * @param args the command-line arguments
+   */
+  public static void main(String[] args) {
+    int verticesNbr = StdIn.readInt();
+    int edgesNbr = StdIn.readInt();
+    int[] vertices = StdIn.readAllInts();
+
+    CSRGraph G = new CSRGraph(verticesNbr, edgesNbr, vertices);
+
+    StdOut.println(G);
+  }
+
+}
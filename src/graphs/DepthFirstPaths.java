@@ -4,6 +4,7 @@ import libs.StdIn;
 import libs.StdOut;
 
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.Stack;
 
 /**
@@ -11,7 +12,8 @@ import java.util.Stack;
  *  paths from a source vertex <em>s</em> to every other vertex
  *  in an undirected graph.
  *  <p>
- *  This implementation uses depth-first search.
+ *  This implementation uses depth-first search, with an explicit stack
+ *  instead of recursion, so deep graphs do not overflow the thread stack.
  *  The constructor takes time proportional to <em>V</em> + <em>E</em>,
  *  where <em>V</em> is the number of vertices and <em>E</em> is the number of edges.
  *  It uses extra space (not including the graph) proportional to <em>V</em>.
@@ -35,13 +37,68 @@ public class DepthFirstPaths {
     dfs(G, s);
   }
 
-  // depth first search from v
-  private void dfs(Graph G, int v) {
-    marked[v] = true;
-    for (int w : G.adj(v)) {
+  /**
+   * Computes a path between {@code s} and every other vertex in the compressed graph {@code G}.
+   * @param G the graph
+   * @param s the source vertex
+   * @throws IllegalArgumentException unless {@code 0 <= s < V}
+   */
+  public DepthFirstPaths(CSRGraph G, int s) {
+    this.s = s;
+    edgeTo = new int[G.V()];
+    marked = new boolean[G.V()];
+    validateVertex(s);
+    dfs(G, s);
+  }
+
+  // depth first search from s, with an explicit stack of adjacency iterators
+  private void dfs(Graph G, int s) {
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    Iterator<Integer>[] adj = (Iterator<Integer>[]) new Iterator[G.V()];
+    int[] stack = new int[G.V()];
+    int top = 0;
+    marked[s] = true;
+    adj[s] = G.adj(s).iterator();
+    stack[top++] = s;
+    while (top > 0) {
+      int v = stack[top-1];
+      if (!adj[v].hasNext()) {
+        adj[v] = null;
+        top--;
+        continue;
+      }
+      int w = adj[v].next();
+      if (!marked[w]) {
+        marked[w] = true;
+        edgeTo[w] = v;
+        adj[w] = G.adj(w).iterator();
+        stack[top++] = w;
+      }
+    }
+  }
+
+  // depth first search from s, with an explicit stack of (vertex, adjacency position) pairs
+  private void dfs(CSRGraph G, int s) {
+    int[] stackV = new int[G.V()];
+    int[] stackPos = new int[G.V()];
+    int top = 0;
+    marked[s] = true;
+    stackV[top] = s;
+    stackPos[top++] = G.begin(s);
+    while (top > 0) {
+      int v = stackV[top-1];
+      int i = stackPos[top-1];
+      if (i == G.end(v)) {
+        top--;
+        continue;
+      }
+      stackPos[top-1] = i + 1;
+      int w = G.target(i);
       if (!marked[w]) {
+        marked[w] = true;
         edgeTo[w] = v;
-        dfs(G, w);
+        stackV[top] = w;
+        stackPos[top++] = G.begin(w);
       }
     }
   }
@@ -3,12 +3,15 @@ package graphs;
 import libs.StdIn;
 import libs.StdOut;
 
+import java.util.Iterator;
+
 /**
  *  The {@code DepthFirstSearch} class represents a data type for
  *  determining the vertices connected to a given source vertex <em>s</em>
  *  in an undirected graph.
  *  <p>
- *  This implementation uses depth-first search.
+ *  This implementation uses depth-first search, with an explicit stack
+ *  instead of recursion, so deep graphs do not overflow the thread stack.
  *  The constructor takes time proportional to <em>V</em> + <em>E</em>
  *  (in the worst case),
  *  where <em>V</em> is the number of vertices and <em>E</em> is the number of edges.
@@ -31,13 +34,69 @@ public class DepthFirstSearch {
     dfs(G, s);
   }
 
-  // depth first search from v
-  private void dfs(Graph G, int v) {
+  /**
+   * Computes the vertices in the compressed graph {@code G} that are
+   * connected to the source vertex {@code s}.
+   * @param G the graph
+   * @param s the source vertex
+   * @throws IllegalArgumentException unless {@code 0 <= s < V}
+   */
+  public DepthFirstSearch(CSRGraph G, int s) {
+    marked = new boolean[G.V()];
+    validateVertex(s);
+    dfs(G, s);
+  }
+
+  // depth first search from s, with an explicit stack of adjacency iterators
+  private void dfs(Graph G, int s) {
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    Iterator<Integer>[] adj = (Iterator<Integer>[]) new Iterator[G.V()];
+    int[] stack = new int[G.V()];
+    int top = 0;
+    count++;
+    marked[s] = true;
+    adj[s] = G.adj(s).iterator();
+    stack[top++] = s;
+    while (top > 0) {
+      int v = stack[top-1];
+      if (!adj[v].hasNext()) {
+        adj[v] = null;
+        top--;
+        continue;
+      }
+      int w = adj[v].next();
+      if (!marked[w]) {
+        count++;
+        marked[w] = true;
+        adj[w] = G.adj(w).iterator();
+        stack[top++] = w;
+      }
+    }
+  }
+
+  // depth first search from s, with an explicit stack of (vertex, adjacency position) pairs
+  private void dfs(CSRGraph G, int s) {
+    int[] stackV = new int[G.V()];
+    int[] stackPos = new int[G.V()];
+    int top = 0;
     count++;
-    marked[v] = true;
-    for (int w : G.adj(v)) {
+    marked[s] = true;
+    stackV[top] = s;
+    stackPos[top++] = G.begin(s);
+    while (top > 0) {
+      int v = stackV[top-1];
+      int i = stackPos[top-1];
+      if (i == G.end(v)) {
+        top--;
+        continue;
+      }
+      stackPos[top-1] = i + 1;
+      int w = G.target(i);
       if (!marked[w]) {
-        dfs(G, w);
+        count++;
+        marked[w] = true;
+        stackV[top] = w;
+        stackPos[top++] = G.begin(w);
       }
     }
   }
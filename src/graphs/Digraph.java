@@ -0,0 +1,197 @@
+package graphs;
+
+import fundamentals.Bag;
+import libs.StdIn;
+import libs.StdOut;
+
+/**
+ *  The {@code Digraph} class represents a directed graph of vertices
+ *  named 0 through <em>V</em> – 1.
+ *  It supports the following two primary operations: add an edge to the digraph,
+ *  iterate over all of the vertices adjacent from a given vertex.
+ *  It also provides methods for returning the indegree or outdegree of a vertex,
+ *  the number of vertices <em>V</em> in the digraph,
+ *  the number of edges <em>E</em> in the digraph, and the reverse digraph.
+ *  Parallel edges and self-loops are permitted.
+ *  <p>
+ *  This implementation uses an adjacency-lists representation, which
+ *  is a vertex-indexed array of {@link Bag} objects.
+ *  All operations take constant time (in the worst case) except
+ *  iterating over the vertices adjacent from a given vertex, which takes
+ *  time proportional to the number of such vertices, and computing
+ *  the reverse digraph, which takes time proportional to <em>V</em> + <em>E</em>.
+ *  See {@link CSRDigraph} for an immutable, compressed form.
+ */
+public class Digraph {
+  private static final String NEWLINE = System.getProperty("line.separator");
+
+  private final int      V;          // number of vertices in this digraph
+  private int            E;          // number of edges in this digraph
+  private Bag<Integer>[] adj;        // adj[v] = adjacency list for vertex v
+  private int[]          indegree;   // indegree[v] = indegree of vertex v
+
+  /**
+   * Initializes an empty digraph with {@code V} vertices and 0 edges.
+   *
+   * @param  V the number of vertices
+   * @throws IllegalArgumentException if {@code V < 0}
+   */
+  public Digraph(int V) {
+    if (V < 0) throw new IllegalArgumentException("Number of vertices in a Digraph must be nonnegative");
+    this.V = V;
+    this.E = 0;
+    indegree = new int[V];
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    Bag<Integer>[] lists = (Bag<Integer>[]) new Bag[V];
+    adj = lists;
+    for (int v = 0; v < V; v++) {
+      adj[v] = new Bag<>();
+    }
+  }
+
+  /**
+   * Initializes a digraph from an array of edge endpoints:
+   * {@code vertices[2i]} is the tail and {@code vertices[2i+1]} the head of edge <em>i</em>.
+   *
+   * @param  verticesNbr number of vertices
+   * @param  edgesNbr number of edges
+   * @param  vertices vertices array
+   * @throws IllegalArgumentException if the endpoints of any edge are not in prescribed range
+   * @throws IllegalArgumentException if the number of vertices or edges is negative
+   * @throws IllegalArgumentException if {@code vertices} has fewer than {@code 2*edgesNbr} entries
+   */
+  public Digraph(int verticesNbr, int edgesNbr, int[] vertices) {
+    this(verticesNbr);
+    if (edgesNbr < 0) throw new IllegalArgumentException("number of edges in a Digraph must be nonnegative");
+    if (vertices.length < 2L*edgesNbr)
+      throw new IllegalArgumentException("invalid input format in Digraph constructor");
+    for (int i = 0; i < edgesNbr*2; i = i + 2) {
+      addEdge(vertices[i], vertices[i+1]);
+    }
+  }
+
+  /**
+   * Returns the number of vertices in this digraph.
+   *
+   * @return the number of vertices in this digraph
+   */
+  public int V() {
+    return V;
+  }
+
+  /**
+   * Returns the number of edges in this digraph.
+   *
+   * @return the number of edges in this digraph
+   */
+  public int E() {
+    return E;
+  }
+
+  // throw an IllegalArgumentException unless {@code 0 <= v < V}
+  private void validateVertex(int v) {
+    if (v < 0 || v >= V)
+      throw new IllegalArgumentException("vertex " + v + " is not between 0 and " + (V-1));
+  }
+
+  /**
+   * Adds the directed edge v→w to this digraph.
+   *
+   * @param  v the tail vertex
+   * @param  w the head vertex
+   * @throws IllegalArgumentException unless both {@code 0 <= v < V} and {@code 0 <= w < V}
+   */
+  public void addEdge(int v, int w) {
+    validateVertex(v);
+    validateVertex(w);
+    adj[v].add(w);
+    indegree[w]++;
+    E++;
+  }
+
+  /**
+   * Returns the vertices adjacent from vertex {@code v} in this digraph.
+   *
+   * @param  v the vertex
+   * @return the vertices adjacent from vertex {@code v}, as an iterable
+   * @throws IllegalArgumentException unless {@code 0 <= v < V}
+   */
+  public Iterable<Integer> adj(int v) {
+    validateVertex(v);
+    return adj[v];
+  }
+
+  /**
+   * Returns the number of directed edges incident from vertex {@code v}.
+   *
+   * @param  v the vertex
+   * @return the outdegree of vertex {@code v}
+   * @throws IllegalArgumentException unless {@code 0 <= v < V}
+   */
+  public int outdegree(int v) {
+    validateVertex(v);
+    return adj[v].size();
+  }
+
+  /**
+   * Returns the number of directed edges incident to vertex {@code v}.
+   *
+   * @param  v the vertex
+   * @return the indegree of vertex {@code v}
+   * @throws IllegalArgumentException unless {@code 0 <= v < V}
+   */
+  public int indegree(int v) {
+    validateVertex(v);
+    return indegree[v];
+  }
+
+  /**
+   * Returns the reverse of the digraph.
+   *
+   * @return the reverse of the digraph
+   */
+  public Digraph reverse() {
+    Digraph reverse = new Digraph(V);
+    for (int v = 0; v < V; v++) {
+      for (int w : adj[v]) {
+        reverse.addEdge(w, v);
+      }
+    }
+    return reverse;
+  }
+
+  /**
+   * Returns a string representation of the digraph.
+   *
+   * @return the number of vertices <em>V</em>, followed by the number of edges <em>E</em>,
+   *         followed by the <em>V</em> adjacency lists
+   */
+  public String toString() {
+    StringBuilder s = new StringBuilder();
+    s.append(V).append(" vertices, ").append(E).append(" edges ").append(NEWLINE);
+    for (int v = 0; v < V; v++) {
+      s.append(v).append(": ");
+      for (int w : adj[v]) {
+        s.append(w).append(" ");
+      }
+      s.append(NEWLINE);
+    }
+    return s.toString();
+  }
+
+  /**
+   * Unit tests the {@code Digraph} data type.
+   *
+   * @param args the command-line arguments
+   */
+  public static void main(String[] args) {
+    int verticesNbr = StdIn.readInt();
+    int edgesNbr = StdIn.readInt();
+    int[] vertices = StdIn.readAllInts();
+
+    Digraph G = new Digraph(verticesNbr, edgesNbr, vertices);
+
+    StdOut.println(G);
+  }
+
+}
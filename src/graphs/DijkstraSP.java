@@ -0,0 +1,362 @@
+package graphs;
+
+import libs.StdIn;
+import libs.StdOut;
+import sorting.IndexMinPQ;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Stack;
+
+/**
+ *  The {@code DijkstraSP} class represents a reusable engine for shortest-path
+ *  queries in an {@link EdgeWeightedCSRGraph} with nonnegative weights.
+ *  It answers three kinds of queries:
+ *  <ul>
+ *  <li> {@link #search(int)}: the shortest paths from a source to every vertex
+ *  <li> {@link #distance(int, int)} and {@link #distance(int, int, Heuristic)}:
+ *       a point-to-point query that stops as soon as the target is settled,
+ *       optionally guided by an A* heuristic
+ *  <li> {@link #bidirectionalDistance(int, int)}: a point-to-point query that
+ *       searches from both endpoints and stops when the two frontiers meet
+ *  </ul>
+ *  <p>
+ *  This implementation uses Dijkstra's algorithm with a binary-heap
+ *  {@link IndexMinPQ} and primitive {@code double[]} distances. The arrays are
+ *  allocated once by the constructor; vertices reached by a query are stamped
+ *  with the query number, so a query costs time proportional to
+ *  <em>E'</em> log <em>V'</em>, where <em>V'</em> and <em>E'</em> are the
+ *  vertices and edges it touches, and nothing proportional to <em>V</em>.
+ *  An engine is not safe for use by several threads; create one per thread.
+ */
+public class DijkstraSP {
+
+  /**
+   * A lower bound on the weight of a shortest path between two vertices, for A* search.
+   * To return shortest paths, the estimate must be consistent: never more than the weight
+   * of an edge {@code v-w} plus the estimate from {@code w}, and {@code 0} at the target.
+   * The straight-line distance between points in the plane is an example.
+   */
+  public interface Heuristic {
+
+    /**
+     * Returns a lower bound on the weight of a shortest path from {@code v} to {@code t}.
+     *
+     * @param  v the vertex
+     * @param  t the target vertex
+     * @return a nonnegative lower bound on the weight of a shortest {@code v-t} path
+     */
+    double estimate(int v, int t);
+  }
+
+  private static final Heuristic NONE = (v, t) -> 0.0;
+
+  private final EdgeWeightedCSRGraph G;
+  private int epoch;               // number of the current query
+
+  // forward search
+  private final double[] distTo;   // distTo[v] = weight of shortest known s-v path
+  private final int[] edgeTo;      // edgeTo[v] = previous vertex on shortest known s-v path
+  private final int[] stamp;       // stamp[v] == epoch iff distTo[v] is set by the current query
+  private final IndexMinPQ pq;
+
+  // backward search, allocated by the first bidirectional query
+  private double[] distBack;
+  private int[] edgeBack;
+  private int[] stampBack;
+  private IndexMinPQ pqBack;
+
+  // last query
+  private int source = -1;
+  private int target = -1;         // -1 after search(int)
+  private int meet = -1;           // vertex where the bidirectional frontiers met, or -1
+  private double best;             // weight of the last point-to-point shortest path
+
+  /**
+   * Initializes a shortest-path engine over the graph {@code G}.
+   * @param G the graph
+   */
+  public DijkstraSP(EdgeWeightedCSRGraph G) {
+    this.G = G;
+    distTo = new double[G.V()];
+    edgeTo = new int[G.V()];
+    stamp = new int[G.V()];
+    pq = new IndexMinPQ(G.V());
+  }
+
+  /**
+   * Computes a shortest-paths tree from the source vertex {@code s} to every
+   * other vertex, to be read with {@link #distTo}, {@link #hasPathTo} and {@link #pathTo}.
+   * @param s the source vertex
+   * @throws IllegalArgumentException unless {@code 0 <= s < V}
+   */
+  public void search(int s) {
+    start(s, -1);
+    run(-1, NONE);
+  }
+
+  /**
+   * Returns the weight of a shortest path from {@code s} to {@code t},
+   * stopping as soon as {@code t} is settled. The path is returned by {@link #path}.
+   * @param s the source vertex
+   * @param t the target vertex
+   * @return the weight of a shortest {@code s-t} path, or
+   *         {@code Double.POSITIVE_INFINITY} if no such path
+   * @throws IllegalArgumentException unless {@code 0 <= s < V} and {@code 0 <= t < V}
+   */
+  public double distance(int s, int t) {
+    return distance(s, t, NONE);
+  }
+
+  /**
+   * Returns the weight of a shortest path from {@code s} to {@code t}, using
+   * A* search: vertices are settled in order of their distance from {@code s}
+   * plus the estimate {@code h} to {@code t}. The path is returned by {@link #path}.
+   * @param s the source vertex
+   * @param t the target vertex
+   * @param h a consistent lower bound on the remaining distance to {@code t}
+   * @return the weight of a shortest {@code s-t} path, or
+   *         {@code Double.POSITIVE_INFINITY} if no such path
+   * @throws IllegalArgumentException unless {@code 0 <= s < V} and {@code 0 <= t < V}
+   * @throws IllegalArgumentException if {@code h} is {@code null}
+   */
+  public double distance(int s, int t, Heuristic h) {
+    if (h == null) throw new IllegalArgumentException("heuristic is null");
+    validateVertex(t);
+    start(s, t);
+    run(t, h);
+    best = stamp[t] == epoch ? distTo[t] : Double.POSITIVE_INFINITY;
+    return best;
+  }
+
+  // resets the forward search for a query from s
+  private void start(int s, int t) {
+    validateVertex(s);
+    nextEpoch();
+    source = s;
+    target = t;
+    meet = -1;
+    pq.clear();
+    distTo[s] = 0.0;
+    edgeTo[s] = s;
+    stamp[s] = epoch;
+  }
+
+  // settles vertices in order of distTo + h until t is settled or the queue is empty
+  private void run(int t, Heuristic h) {
+    pq.insert(source, t < 0 ? 0.0 : h.estimate(source, t));
+    while (!pq.isEmpty()) {
+      int v = pq.delMin();
+      if (v == t) return;
+      for (int i = G.begin(v), end = G.end(v); i < end; i++) {
+        int w = G.target(i);
+        double d = distTo[v] + G.weight(i);
+        if (stamp[w] != epoch) {
+          stamp[w] = epoch;
+          distTo[w] = d;
+          edgeTo[w] = v;
+          pq.insert(w, t < 0 ? d : d + h.estimate(w, t));
+        }
+        else if (d < distTo[w] && pq.contains(w)) {
+          distTo[w] = d;
+          edgeTo[w] = v;
+          // d + h can round to the key already in the queue
+          double key = t < 0 ? d : d + h.estimate(w, t);
+          if (key < pq.keyOf(w)) pq.decreaseKey(w, key);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the weight of a shortest path from {@code s} to {@code t},
+   * searching alternately from {@code s} and from {@code t} and stopping when
+   * the smallest keys of the two frontiers add up to at least the best
+   * path found. The path is returned by {@link #path}.
+   * @param s the source vertex
+   * @param t the target vertex
+   * @return the weight of a shortest {@code s-t} path, or
+   *         {@code Double.POSITIVE_INFINITY} if no such path
+   * @throws IllegalArgumentException unless {@code 0 <= s < V} and {@code 0 <= t < V}
+   */
+  public double bidirectionalDistance(int s, int t) {
+    validateVertex(t);
+    if (pqBack == null) {
+      distBack = new double[G.V()];
+      edgeBack = new int[G.V()];
+      stampBack = new int[G.V()];
+      pqBack = new IndexMinPQ(G.V());
+    }
+    start(s, t);
+    pqBack.clear();
+    distBack[t] = 0.0;
+    edgeBack[t] = t;
+    stampBack[t] = epoch;
+    pq.insert(s, 0.0);
+    pqBack.insert(t, 0.0);
+    best = s == t ? 0.0 : Double.POSITIVE_INFINITY;
+    meet = s == t ? s : -1;
+
+    while (!pq.isEmpty() && !pqBack.isEmpty()) {
+      if (pq.minKey() + pqBack.minKey() >= best) break;
+      if (pq.minKey() <= pqBack.minKey())
+        step(pq, distTo, edgeTo, stamp, distBack, stampBack);
+      else
+        step(pqBack, distBack, edgeBack, stampBack, distTo, stamp);
+    }
+    return best;
+  }
+
+  // settles the closest vertex of one side, and checks each edge for a shorter meeting point
+  private void step(IndexMinPQ queue, double[] dist, int[] edge, int[] mark,
+                    double[] otherDist, int[] otherMark) {
+    int v = queue.delMin();
+    for (int i = G.begin(v), end = G.end(v); i < end; i++) {
+      int w = G.target(i);
+      double d = dist[v] + G.weight(i);
+      if (mark[w] != epoch) {
+        mark[w] = epoch;
+        dist[w] = d;
+        edge[w] = v;
+        queue.insert(w, d);
+      }
+      else if (d < dist[w] && queue.contains(w)) {
+        dist[w] = d;
+        edge[w] = v;
+        queue.decreaseKey(w, d);
+      }
+      if (otherMark[w] == epoch && dist[w] + otherDist[w] < best) {
+        best = dist[w] + otherDist[w];
+        meet = w;
+      }
+    }
+  }
+
+  private void nextEpoch() {
+    if (epoch == Integer.MAX_VALUE) {
+      Arrays.fill(stamp, 0);
+      if (stampBack != null) Arrays.fill(stampBack, 0);
+      epoch = 0;
+    }
+    epoch++;
+  }
+
+  /**
+   * Returns a shortest path found by the last point-to-point query, or
+   * {@code null} if there is no such path.
+   * @return the sequence of vertices on a shortest path, as an Iterable
+   * @throws IllegalStateException if the last query was not a point-to-point query
+   */
+  public Iterable<Integer> path() {
+    if (target < 0) throw new IllegalStateException("no point-to-point query has been run");
+    if (best == Double.POSITIVE_INFINITY) return null;
+    Stack<Integer> path = new Stack<>();
+    int end = meet >= 0 ? meet : target;
+    for (int x = end; x != source; x = edgeTo[x])
+      path.push(x);
+    path.push(source);
+
+    Collections.reverse(path);
+
+    if (meet >= 0) {
+      for (int x = meet; x != target; ) {
+        x = edgeBack[x];
+        path.push(x);
+      }
+    }
+    return path;
+  }
+
+  /**
+   * Returns the weight of a shortest path from the source of the last
+   * {@link #search(int)} to vertex {@code v}.
+   * @param  v the vertex
+   * @return the weight of a shortest path, or {@code Double.POSITIVE_INFINITY} if no such path
+   * @throws IllegalArgumentException unless {@code 0 <= v < V}
+   * @throws IllegalStateException if the last query was not {@link #search(int)}
+   */
+  public double distTo(int v) {
+    validateVertex(v);
+    if (source < 0 || target >= 0) throw new IllegalStateException("no single-source search has been run");
+    return stamp[v] == epoch ? distTo[v] : Double.POSITIVE_INFINITY;
+  }
+
+  /**
+   * Is there a path from the source of the last {@link #search(int)} to vertex {@code v}?
+   * @param  v the vertex
+   * @return {@code true} if there is a path, and {@code false} otherwise
+   * @throws IllegalArgumentException unless {@code 0 <= v < V}
+   * @throws IllegalStateException if the last query was not {@link #search(int)}
+   */
+  public boolean hasPathTo(int v) {
+    return distTo(v) < Double.POSITIVE_INFINITY;
+  }
+
+  /**
+   * Returns a shortest path from the source of the last {@link #search(int)}
+   * to vertex {@code v}, or {@code null} if no such path.
+   * @param  v the vertex
+   * @return the sequence of vertices on a shortest path, as an Iterable
+   * @throws IllegalArgumentException unless {@code 0 <= v < V}
+   * @throws IllegalStateException if the last query was not {@link #search(int)}
+   */
+  public Iterable<Integer> pathTo(int v) {
+    if (!hasPathTo(v)) return null;
+    Stack<Integer> path = new Stack<>();
+    for (int x = v; x != source; x = edgeTo[x])
+      path.push(x);
+    path.push(source);
+
+    Collections.reverse(path);
+
+    return path;
+  }
+
+  // throw an IllegalArgumentException unless {@code 0 <= v < V}
+  private void validateVertex(int v) {
+    int V = distTo.length;
+    if (v < 0 || v >= V)
+      throw new IllegalArgumentException("vertex " + v + " is not between 0 and " + (V-1));
+  }
+
+  /**
+   * Unit tests the {@code DijkstraSP} data type.
+   * Reads a source {@code s}, a target {@code t}, and an edge-weighted graph as
+   * <em>V</em>, <em>E</em> and <em>E</em> triples {@code v w weight}.
+   *
+   * @param args the command-line arguments
+   */
+  public static void main(String[] args) {
+    int s = StdIn.readInt();
+    int t = StdIn.readInt();
+    int verticesNbr = StdIn.readInt();
+    int edgesNbr = StdIn.readInt();
+    int[] vertices = new int[2*edgesNbr];
+    double[] weights = new double[edgesNbr];
+    for (int e = 0; e < edgesNbr; e++) {
+      vertices[2*e] = StdIn.readInt();
+      vertices[2*e + 1] = StdIn.readInt();
+      weights[e] = StdIn.readDouble();
+    }
+    EdgeWeightedCSRGraph G = new EdgeWeightedCSRGraph(verticesNbr, edgesNbr, vertices, weights);
+    DijkstraSP sp = new DijkstraSP(G);
+
+    sp.search(s);
+    for (int v = 0; v < G.V(); v++) {
+      if (sp.hasPathTo(v)) {
+        StdOut.printf("%d to %d (%.2f):  ", s, v, sp.distTo(v));
+        for (int x : sp.pathTo(v)) {
+          if (x == s) StdOut.print(x);
+          else        StdOut.print("-" + x);
+        }
+        StdOut.println();
+      }
+      else {
+        StdOut.printf("%d to %d         no path\n", s, v);
+      }
+    }
+
+    StdOut.printf("point-to-point %d to %d: %.2f, bidirectional: %.2f\n",
+        s, t, sp.distance(s, t), sp.bidirectionalDistance(s, t));
+  }
+}
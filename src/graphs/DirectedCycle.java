@@ -0,0 +1,136 @@
+package graphs;
+
+import libs.StdIn;
+import libs.StdOut;
+
+import java.util.Collections;
+import java.util.Stack;
+
+/**
+ *  The {@code DirectedCycle} class represents a data type for
+ *  determining whether a digraph has a directed cycle.
+ *  The <em>hasCycle</em> operation determines whether the digraph has
+ *  a simple directed cycle and, if so, the <em>cycle</em> operation
+ *  returns one.
+ *  <p>
+ *  This implementation uses depth-first search with an explicit stack of
+ *  (vertex, adjacency position) pairs over a {@link CSRDigraph}, so it handles
+ *  digraphs with millions of vertices on long paths without recursion.
+ *  The constructor takes time proportional to <em>V</em> + <em>E</em>
+ *  (in the worst case),
+ *  where <em>V</em> is the number of vertices and <em>E</em> is the number of edges.
+ *  Afterwards, the <em>hasCycle</em> operation takes constant time;
+ *  the <em>cycle</em> operation takes time proportional
+ *  to the length of the cycle.
+ *  See {@link Topological} to compute a topological order for a
+ *  directed acyclic graph.
+ */
+public class DirectedCycle {
+  private final boolean[] marked;      // marked[v] = has vertex v been marked?
+  private final boolean[] onStack;     // onStack[v] = is vertex on the stack?
+  private final int[] edgeTo;          // edgeTo[v] = previous vertex on path to v
+  private Stack<Integer> cycle;        // directed cycle (or null if no such cycle)
+
+  /**
+   * Determines whether the digraph {@code G} has a directed cycle and, if so,
+   * finds such a cycle.
+   * @param G the digraph
+   */
+  public DirectedCycle(Digraph G) {
+    this(new CSRDigraph(G));
+  }
+
+  /**
+   * Determines whether the compressed digraph {@code G} has a directed cycle and, if so,
+   * finds such a cycle.
+   * @param G the digraph
+   */
+  public DirectedCycle(CSRDigraph G) {
+    int V = G.V();
+    marked = new boolean[V];
+    onStack = new boolean[V];
+    edgeTo = new int[V];
+    int[] stackV = new int[V];
+    int[] stackPos = new int[V];
+    for (int v = 0; v < V && cycle == null; v++)
+      if (!marked[v]) dfs(G, v, stackV, stackPos);
+  }
+
+  // depth first search from s, stopping at the first edge back to the current path
+  private void dfs(CSRDigraph G, int s, int[] stackV, int[] stackPos) {
+    int top = 0;
+    marked[s] = true;
+    onStack[s] = true;
+    stackV[top] = s;
+    stackPos[top++] = G.begin(s);
+    while (top > 0) {
+      int v = stackV[top-1];
+      int i = stackPos[top-1];
+      if (i == G.end(v)) {
+        onStack[v] = false;
+        top--;
+        continue;
+      }
+      stackPos[top-1] = i + 1;
+      int w = G.target(i);
+      if (!marked[w]) {
+        marked[w] = true;
+        onStack[w] = true;
+        edgeTo[w] = v;
+        stackV[top] = w;
+        stackPos[top++] = G.begin(w);
+      }
+      else if (onStack[w]) {
+        cycle = new Stack<>();
+        for (int x = v; x != w; x = edgeTo[x])
+          cycle.push(x);
+        cycle.push(w);
+        Collections.reverse(cycle);
+        cycle.push(w);
+        return;
+      }
+    }
+  }
+
+  /**
+   * Does the digraph have a directed cycle?
+   * @return {@code true} if the digraph has a directed cycle, {@code false} otherwise
+   */
+  public boolean hasCycle() {
+    return cycle != null;
+  }
+
+  /**
+   * Returns a directed cycle if the digraph has a directed cycle, and {@code null} otherwise.
+   * @return a directed cycle (as an iterable, starting and ending at the same vertex)
+   *         if the digraph has a directed cycle, and {@code null} otherwise
+   */
+  public Iterable<Integer> cycle() {
+    return cycle;
+  }
+
+  /**
+   * Unit tests the {@code DirectedCycle} data type.
+   *
+   * @param args the command-line arguments
+   */
+  public static void main(String[] args) {
+    int verticesNbr = StdIn.readInt();
+    int edgesNbr = StdIn.readInt();
+    int[] vertices = StdIn.readAllInts();
+    CSRDigraph G = new CSRDigraph(verticesNbr, edgesNbr, vertices);
+
+    DirectedCycle finder = new DirectedCycle(G);
+    if (finder.hasCycle()) {
+      StdOut.print("Directed cycle: ");
+      for (int v : finder.cycle()) {
+        StdOut.print(v + " ");
+      }
+      StdOut.println();
+    }
+
+    else {
+      StdOut.println("No directed cycle");
+    }
+  }
+}
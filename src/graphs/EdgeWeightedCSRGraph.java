@@ -0,0 +1,204 @@
+package graphs;
+
+import libs.StdIn;
+import libs.StdOut;
+
+/**
+ *  The {@code EdgeWeightedCSRGraph} class represents an immutable undirected
+ *  graph of vertices named 0 through <em>V</em> – 1, where each edge has a
+ *  nonnegative real-valued weight. It supports iterating over the edges
+ *  incident to a vertex, and returns the number of vertices <em>V</em>, the
+ *  number of edges <em>E</em> and the degree of a vertex.
+ *  Parallel edges and self-loops are permitted, with the same conventions as {@link Graph}.
+ *  <p>
+ *  This implementation uses compressed sparse rows, like {@link CSRGraph}:
+ *  the edges incident to <em>v</em> occupy positions {@link #begin begin(v)}
+ *  through {@link #end end(v)} – 1 of the parallel arrays read by
+ *  {@link #target} and {@link #weight}. That takes 4(<em>V</em> + 2<em>E</em>)
+ *  bytes for the structure plus 16<em>E</em> bytes for the weights, with no
+ *  per-edge objects.
+ */
+public class EdgeWeightedCSRGraph {
+  private static final String NEWLINE = System.getProperty("line.separator");
+
+  private final int      V;         // number of vertices
+  private final int      E;         // number of edges
+  private final int[]    offsets;   // edges of v are at positions offsets[v]..offsets[v+1]-1
+  private final int[]    targets;   // targets[i] = other endpoint of the edge at position i
+  private final double[] weights;   // weights[i] = weight of the edge at position i
+
+  /**
+   * Initializes a graph from arrays of edge endpoints and weights:
+   * {@code vertices[2i]} and {@code vertices[2i+1]} are the endpoints of
+   * edge <em>i</em>, and {@code edgeWeights[i]} is its weight.
+   * The edges incident to a vertex are listed with the last one added first, as in a {@link Graph}.
+   *
+   * @param  verticesNbr number of vertices
+   * @param  edgesNbr number of edges
+   * @param  vertices vertices array
+   * @param  edgeWeights weights array
+   * @throws IllegalArgumentException if the endpoints of any edge are not in prescribed range
+   * @throws IllegalArgumentException if the number of vertices or edges is negative
+   * @throws IllegalArgumentException if any weight is negative, infinite or NaN
+   * @throws IllegalArgumentException if the arrays are too short for {@code edgesNbr} edges
+   */
+  public EdgeWeightedCSRGraph(int verticesNbr, int edgesNbr, int[] vertices, double[] edgeWeights) {
+    if (verticesNbr < 0) throw new IllegalArgumentException("number of vertices in a Graph must be nonnegative");
+    if (edgesNbr < 0) throw new IllegalArgumentException("number of edges in a Graph must be nonnegative");
+    if (2L*edgesNbr > Integer.MAX_VALUE) throw new IllegalArgumentException("too many edges: " + edgesNbr);
+    if (vertices.length < 2*edgesNbr || edgeWeights.length < edgesNbr)
+      throw new IllegalArgumentException("invalid input format in Graph constructor");
+    V = verticesNbr;
+    E = edgesNbr;
+    offsets = new int[V + 1];
+    targets = new int[2*E];
+    weights = new double[2*E];
+
+    // count degrees into offsets[v+1]
+    for (int i = 0; i < 2*E; i++) {
+      validateVertex(vertices[i]);
+      offsets[vertices[i] + 1]++;
+    }
+    for (int e = 0; e < E; e++) {
+      if (!(edgeWeights[e] >= 0.0) || Double.isInfinite(edgeWeights[e]))
+        throw new IllegalArgumentException("edge " + e + " has invalid weight " + edgeWeights[e]);
+    }
+    for (int v = 0; v < V; v++)
+      offsets[v+1] += offsets[v];
+
+    // fill each list from its end, so that the last edge added comes first
+    int[] next = new int[V];
+    for (int v = 0; v < V; v++)
+      next[v] = offsets[v+1];
+    for (int e = 0; e < E; e++) {
+      int v = vertices[2*e];
+      int w = vertices[2*e + 1];
+      int i = --next[v];
+      targets[i] = w;
+      weights[i] = edgeWeights[e];
+      int j = --next[w];
+      targets[j] = v;
+      weights[j] = edgeWeights[e];
+    }
+  }
+
+  /**
+   * Returns the number of vertices in this graph.
+   *
+   * @return the number of vertices in this graph
+   */
+  public int V() {
+    return V;
+  }
+
+  /**
+   * Returns the number of edges in this graph.
+   *
+   * @return the number of edges in this graph
+   */
+  public int E() {
+    return E;
+  }
+
+  // throw an IllegalArgumentException unless {@code 0 <= v < V}
+  private void validateVertex(int v) {
+    if (v < 0 || v >= V)
+      throw new IllegalArgumentException("vertex " + v + " is not between 0 and " + (V-1));
+  }
+
+  /**
+   * Returns the position of the first edge incident to {@code v}.
+   * Does not validate {@code v}.
+   *
+   * @param  v the vertex
+   * @return the position of the first edge incident to {@code v}
+   */
+  public int begin(int v) {
+    return offsets[v];
+  }
+
+  /**
+   * Returns one past the position of the last edge incident to {@code v}.
+   * Does not validate {@code v}.
+   *
+   * @param  v the vertex
+   * @return one past the position of the last edge incident to {@code v}
+   */
+  public int end(int v) {
+    return offsets[v+1];
+  }
+
+  /**
+   * Returns the other endpoint of the edge at position {@code i}.
+   *
+   * @param  i the position
+   * @return the other endpoint of the edge at position {@code i}
+   */
+  public int target(int i) {
+    return targets[i];
+  }
+
+  /**
+   * Returns the weight of the edge at position {@code i}.
+   *
+   * @param  i the position
+   * @return the weight of the edge at position {@code i}
+   */
+  public double weight(int i) {
+    return weights[i];
+  }
+
+  /**
+   * Returns the degree of vertex {@code v}.
+   *
+   * @param  v the vertex
+   * @return the degree of vertex {@code v}
+   * @throws IllegalArgumentException unless {@code 0 <= v < V}
+   */
+  public int degree(int v) {
+    validateVertex(v);
+    return offsets[v+1] - offsets[v];
+  }
+
+  /**
+   * Returns a string representation of this graph.
+   *
+   * @return the number of vertices <em>V</em>, followed by the number of edges <em>E</em>,
+   *         followed by the <em>V</em> adjacency lists of neighbor-weight pairs
+   */
+  public String toString() {
+    StringBuilder s = new StringBuilder();
+    s.append(V).append(" vertices, ").append(E).append(" edges ").append(NEWLINE);
+    for (int v = 0; v < V; v++) {
+      s.append(v).append(": ");
+      for (int i = offsets[v]; i < offsets[v+1]; i++) {
+        s.append(targets[i]).append('(').append(weights[i]).append(") ");
+      }
+      s.append(NEWLINE);
+    }
+    return s.toString();
+  }
+
+  /**
+   * Unit tests the {@code EdgeWeightedCSRGraph} data type.
+   * Reads <em>V</em>, <em>E</em> and then <em>E</em> triples {@code v w weight}.
+   *
+   * @param args the command-line arguments
+   */
+  public static void main(String[] args) {
+    int verticesNbr = StdIn.readInt();
+    int edgesNbr = StdIn.readInt();
+    int[] vertices = new int[2*edgesNbr];
+    double[] weights = new double[edgesNbr];
+    for (int e = 0; e < edgesNbr; e++) {
+      vertices[2*e] = StdIn.readInt();
+      vertices[2*e + 1] = StdIn.readInt();
+      weights[e] = StdIn.readDouble();
+    }
+
+    EdgeWeightedCSRGraph G = new EdgeWeightedCSRGraph(verticesNbr, edgesNbr, vertices, weights);
+
+    StdOut.println(G);
+  }
+
+}
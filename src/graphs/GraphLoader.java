@@ -0,0 +1,266 @@
+package graphs;
+
+import libs.StdOut;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+
+/**
+ *  The {@code GraphLoader} class provides static methods for loading large
+ *  graphs from files straight into a {@link CSRGraph}, without going through
+ *  {@link libs.StdIn} or an intermediate {@link Graph}.
+ *  <p>
+ *  <b>Binary edge lists.</b> A binary file holds a 16-byte header (the number of
+ *  vertices <em>V</em> as an {@code int}, 4 bytes of padding, the number of edges
+ *  <em>E</em> as a {@code long}) followed by <em>E</em> pairs of {@code int}
+ *  endpoints, all little-endian. {@link #readBinary} memory-maps the file in
+ *  windows of at most 1 GB and reads it twice: once to count degrees, once to
+ *  fill the adjacency arrays. No object is created per edge.
+ *  <p>
+ *  <b>Text edge lists.</b> A text file holds <em>V</em>, <em>E</em> and then
+ *  <em>E</em> pairs of endpoints, separated by whitespace, the format read by
+ *  the {@code main} methods of this package. {@link #readText} memory-maps the
+ *  file and parses slices of it in parallel, each slice owning the tokens that
+ *  start inside it: a first pass counts the tokens of each slice, and a second
+ *  parses them straight into their place in a single array.
+ *  <p>
+ *  A {@link CSRGraph} holds at most {@code Integer.MAX_VALUE} half-edges,
+ *  that is about 1.07 billion edges.
+ */
+public class GraphLoader {
+  private static final int HEADER = 16;                  // V, padding, E
+  private static final long WINDOW = 1L << 30;           // bytes mapped at a time; a multiple of 8
+  private static final long SLICE = 64L << 20;           // bytes of text per parse task
+  private static final int MAX_TOKEN = 32;               // longest token accepted in a text file
+
+  // this class should not be instantiated
+  private GraphLoader() { }
+
+  /**
+   * Reads a graph from a binary edge-list file.
+   *
+   * @param  file the file
+   * @return the graph
+   * @throws IllegalArgumentException if the file is not a well-formed binary edge list
+   * @throws UncheckedIOException if the file cannot be read
+   */
+  public static CSRGraph readBinary(Path file) {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() < HEADER) throw new IllegalArgumentException("missing header in " + file);
+      ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER).order(ByteOrder.LITTLE_ENDIAN);
+      int V = header.getInt(0);
+      long E = header.getLong(8);
+      if (V < 0) throw new IllegalArgumentException("number of vertices in a Graph must be nonnegative");
+      if (E < 0) throw new IllegalArgumentException("number of edges in a Graph must be nonnegative");
+      if (2*E > Integer.MAX_VALUE) throw new IllegalArgumentException("too many edges for a CSRGraph: " + E);
+      if (channel.size() != HEADER + 8*E)
+        throw new IllegalArgumentException("file size " + channel.size() + " does not match " + E + " edges");
+
+      // pass 1: count degrees into offsets[v+1]
+      int[] offsets = new int[V + 1];
+      for (long start = 0; start < 2*E; start += WINDOW / 4) {
+        IntBuffer ints = window(channel, start, 2*E);
+        for (int i = 0, n = ints.limit(); i < n; i++) {
+          int v = ints.get(i);
+          if (v < 0 || v >= V)
+            throw new IllegalArgumentException("vertex " + v + " is not between 0 and " + (V-1));
+          offsets[v + 1]++;
+        }
+      }
+      for (int v = 0; v < V; v++)
+        offsets[v+1] += offsets[v];
+
+      // pass 2: fill each list from its end, so that the last edge added comes first
+      int[] targets = new int[(int) (2*E)];
+      int[] next = new int[V];
+      for (int v = 0; v < V; v++)
+        next[v] = offsets[v+1];
+      for (long start = 0; start < 2*E; start += WINDOW / 4) {
+        IntBuffer ints = window(channel, start, 2*E);
+        for (int i = 0, n = ints.limit(); i < n; i += 2) {
+          int v = ints.get(i);
+          int w = ints.get(i+1);
+          targets[--next[v]] = w;
+          targets[--next[w]] = v;
+        }
+      }
+      return new CSRGraph(V, (int) E, offsets, targets);
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException("could not read " + file, e);
+    }
+  }
+
+  // maps the endpoints start..min(start + WINDOW/4, count)-1 of the edge list
+  private static IntBuffer window(FileChannel channel, long start, long count) throws IOException {
+    long length = 4 * Math.min(WINDOW / 4, count - start);
+    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, HEADER + 4*start, length);
+    return buffer.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+  }
+
+  /**
+   * Writes a graph to a binary edge-list file, from an array of edge endpoints
+   * in the format of {@link Graph#Graph(int, int, int[])}.
+   *
+   * @param  file the file
+   * @param  verticesNbr number of vertices
+   * @param  edgesNbr number of edges
+   * @param  vertices vertices array
+   * @throws IllegalArgumentException if the number of vertices or edges is negative
+   * @throws IllegalArgumentException if {@code vertices} has fewer than {@code 2*edgesNbr} entries
+   * @throws UncheckedIOException if the file cannot be written
+   */
+  public static void writeBinary(Path file, int verticesNbr, int edgesNbr, int[] vertices) {
+    writeBinary(file, verticesNbr, edgesNbr, vertices, 0);
+  }
+
+  // writes the edge endpoints vertices[from..from+2*edgesNbr-1]
+  private static void writeBinary(Path file, int verticesNbr, int edgesNbr, int[] vertices, int from) {
+    if (verticesNbr < 0) throw new IllegalArgumentException("number of vertices in a Graph must be nonnegative");
+    if (edgesNbr < 0) throw new IllegalArgumentException("number of edges in a Graph must be nonnegative");
+    if (vertices.length - from < 2L*edgesNbr) throw new IllegalArgumentException("invalid input format in Graph constructor");
+    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16)) {
+      ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+      buffer.putInt(verticesNbr).putInt(0).putLong(edgesNbr);
+      for (int i = from; i < from + 2*edgesNbr; i++) {
+        if (!buffer.hasRemaining()) {
+          out.write(buffer.array(), 0, buffer.position());
+          buffer.clear();
+        }
+        buffer.putInt(vertices[i]);
+      }
+      out.write(buffer.array(), 0, buffer.position());
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException("could not write " + file, e);
+    }
+  }
+
+  /**
+   * Reads a graph from a whitespace-separated text edge-list file, parsing in parallel.
+   *
+   * @param  file the file
+   * @return the graph
+   * @throws IllegalArgumentException if the file is not a well-formed text edge list
+   * @throws UncheckedIOException if the file cannot be read
+   */
+  public static CSRGraph readText(Path file) {
+    int[] tokens = readInts(file);
+    if (tokens.length < 2) throw new IllegalArgumentException("missing header in " + file);
+    int V = tokens[0];
+    int E = tokens[1];
+    if (E < 0) throw new IllegalArgumentException("number of edges in a Graph must be nonnegative");
+    if (tokens.length - 2 != 2L*E)
+      throw new IllegalArgumentException("expected " + 2L*E + " endpoints, found " + (tokens.length - 2));
+    // the endpoints are read in place, after the header
+    return new CSRGraph(V, E, tokens, 2);
+  }
+
+  // parses every whitespace-separated integer of the file, in order: a first parallel pass
+  // counts the integers of each slice, and a second one parses them into place
+  private static int[] readInts(Path file) {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      int slices = (int) Math.max(1, (size + SLICE - 1) / SLICE);
+      int[] counts = IntStream.range(0, slices).parallel()
+          .map(k -> parseSlice(channel, size, k * SLICE, Math.min(size, (k + 1) * SLICE), null, 0))
+          .toArray();
+
+      long[] offsets = new long[slices + 1];
+      for (int k = 0; k < slices; k++)
+        offsets[k+1] = offsets[k] + counts[k];
+      if (offsets[slices] > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("too many integers in " + file);
+      int[] all = new int[(int) offsets[slices]];
+      IntStream.range(0, slices).parallel()
+          .forEach(k -> parseSlice(channel, size, k * SLICE, Math.min(size, (k + 1) * SLICE), all, (int) offsets[k]));
+      return all;
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException("could not read " + file, e);
+    }
+  }
+
+  // parses the integers starting in bytes lo..hi-1 into out[offset..], or only counts them
+  // if out is null; returns their number
+  private static int parseSlice(FileChannel channel, long size, long lo, long hi, int[] out, int offset) {
+    long from = Math.max(0, lo - 1);
+    long to = Math.min(size, hi + MAX_TOKEN);
+    ByteBuffer bytes;
+    try {
+      bytes = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    int n = 0;
+    int i = (int) (lo - from);
+    int stop = (int) (hi - from);
+    int limit = bytes.limit();
+
+    // skip a token that started in the previous slice
+    if (lo > 0 && !isWhitespace(bytes.get(i - 1)))
+      while (i < stop && !isWhitespace(bytes.get(i))) i++;
+
+    while (true) {
+      while (i < stop && isWhitespace(bytes.get(i))) i++;
+      if (i >= stop) break;
+      int start = i;
+      boolean negative = bytes.get(i) == '-';
+      if (negative || bytes.get(i) == '+') i++;
+      long value = 0;
+      int digits = 0;
+      while (i < limit && !isWhitespace(bytes.get(i))) {
+        int d = bytes.get(i) - '0';
+        if (d < 0 || d > 9 || i - start >= MAX_TOKEN)
+          throw new IllegalArgumentException("invalid integer at byte " + (from + start));
+        value = 10 * value + d;
+        if (value > Integer.MAX_VALUE + 1L)
+          throw new IllegalArgumentException("integer out of range at byte " + (from + start));
+        digits++;
+        i++;
+      }
+      if (digits == 0 || (!negative && value > Integer.MAX_VALUE))
+        throw new IllegalArgumentException("invalid integer at byte " + (from + start));
+      if (out != null) out[offset + n] = (int) (negative ? -value : value);
+      n++;
+    }
+    return n;
+  }
+
+  private static boolean isWhitespace(byte b) {
+    return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f' || b == 0x0B;
+  }
+
+  /**
+   * Reads a text edge-list file in parallel and prints the number of vertices
+   * and edges. With a second argument, also writes the graph to that binary
+   * file and checks that reading it back gives the same graph.
+   *
+   * @param args the command-line arguments
+   */
+  public static void main(String[] args) {
+    Path text = Paths.get(args[0]);
+    CSRGraph G = readText(text);
+    StdOut.println(G.V() + " vertices, " + G.E() + " edges");
+
+    if (args.length > 1) {
+      Path binary = Paths.get(args[1]);
+      int[] tokens = readInts(text);
+      writeBinary(binary, tokens[0], tokens[1], tokens, 2);
+      CSRGraph H = readBinary(binary);
+      StdOut.println(G.toString().equals(H.toString()) ? "binary round trip ok" : "binary round trip differs");
+    }
+  }
+}
@@ -0,0 +1,370 @@
+package graphs;
+
+import libs.StdIn;
+import libs.StdOut;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ *  The {@code GraphPartitioner} class represents a data type for splitting
+ *  the vertices of an undirected graph into <em>k</em> parts of nearly equal
+ *  size with few edges between different parts (the <em>cut</em>), so that
+ *  each part can be processed by its own thread with little communication.
+ *  <p>
+ *  This implementation is a simple multilevel scheme in the style of METIS.
+ *  It <em>coarsens</em> the graph by repeatedly contracting a heavy-edge
+ *  matching (each vertex merged with the unmatched neighbor sharing the most
+ *  edges), partitions the coarsest graph by growing <em>k</em> regions
+ *  breadth-first, and then projects the partition back level by level,
+ *  improving it at each level by greedy moves of boundary vertices that
+ *  reduce the cut without making a part heavier than 3% above average.
+ *  The constructor takes time proportional to <em>V</em> + <em>E</em>
+ *  per level, and the number of levels is logarithmic in <em>V</em> for most graphs.
+ *  The result is deterministic for a given graph and <em>k</em>.
+ */
+public class GraphPartitioner {
+  private static final int COARSEST = 32;          // coarsen until at most COARSEST * k vertices
+  private static final double IMBALANCE = 1.03;    // maximum part weight over average weight
+  private static final int PASSES = 8;             // maximum refinement passes per level
+
+  private final int k;          // number of parts
+  private final int[] part;     // part[v] = part of vertex v
+  private final int[] size;     // size[p] = number of vertices in part p
+  private final long cut;       // number of edges between different parts
+
+  // one level of the multilevel scheme: a graph with vertex and edge weights
+  private static class Level {
+    private final int n;            // number of vertices
+    private final int[] weight;     // weight[v] = number of original vertices merged into v
+    private final int[] offsets;    // edges of v are at positions offsets[v]..offsets[v+1]-1
+    private final int[] targets;
+    private final int[] edgeWeight; // edgeWeight[i] = number of original edges merged into edge i
+    private int[] map;              // map[v] = vertex of the next coarser level containing v
+
+    Level(int n, int[] weight, int[] offsets, int[] targets, int[] edgeWeight) {
+      this.n = n;
+      this.weight = weight;
+      this.offsets = offsets;
+      this.targets = targets;
+      this.edgeWeight = edgeWeight;
+    }
+  }
+
+  /**
+   * Partitions the graph {@code G} into {@code k} parts.
+   * @param G the graph
+   * @param k the number of parts
+   * @throws IllegalArgumentException if {@code k < 1}
+   */
+  public GraphPartitioner(Graph G, int k) {
+    this(new CSRGraph(G), k);
+  }
+
+  /**
+   * Partitions the compressed graph {@code G} into {@code k} parts.
+   * @param G the graph
+   * @param k the number of parts
+   * @throws IllegalArgumentException if {@code k < 1}
+   */
+  public GraphPartitioner(CSRGraph G, int k) {
+    if (k < 1) throw new IllegalArgumentException("number of parts must be positive");
+    this.k = k;
+    SplittableRandom random = new SplittableRandom(G.V());
+
+    // coarsen
+    List<Level> levels = new ArrayList<>();
+    Level level = finest(G);
+    while (level.n > COARSEST * k) {
+      Level coarser = coarsen(level, random);
+      if (coarser.n > 0.95 * level.n) break;
+      levels.add(level);
+      level = coarser;
+    }
+
+    // partition the coarsest level, then project and refine
+    int[] p = grow(level, k);
+    refine(level, p, k);
+    for (int i = levels.size() - 1; i >= 0; i--) {
+      Level finer = levels.get(i);
+      int[] q = new int[finer.n];
+      for (int v = 0; v < finer.n; v++)
+        q[v] = p[finer.map[v]];
+      p = q;
+      refine(finer, p, k);
+    }
+    part = p;
+
+    size = new int[k];
+    long crossing = 0;
+    for (int v = 0; v < G.V(); v++) {
+      size[part[v]]++;
+      for (int i = G.begin(v), end = G.end(v); i < end; i++)
+        if (part[G.target(i)] != part[v]) crossing++;
+    }
+    cut = crossing / 2;
+  }
+
+  // the input graph as a level of unit weights, without self-loops
+  private static Level finest(CSRGraph G) {
+    int n = G.V();
+    int[] weight = new int[n];
+    int[] offsets = new int[n + 1];
+    int[] targets = new int[2 * G.E()];
+    int m = 0;
+    for (int v = 0; v < n; v++) {
+      weight[v] = 1;
+      offsets[v] = m;
+      for (int i = G.begin(v), end = G.end(v); i < end; i++)
+        if (G.target(i) != v) targets[m++] = G.target(i);
+    }
+    offsets[n] = m;
+    int[] edgeWeight = new int[m];
+    Arrays.fill(edgeWeight, 1);
+    return new Level(n, weight, offsets, targets, edgeWeight);
+  }
+
+  // contracts a heavy-edge matching of L; sets L.map
+  private static Level coarsen(Level L, SplittableRandom random) {
+    int n = L.n;
+    int[] match = new int[n];
+    Arrays.fill(match, -1);
+    int[] order = new int[n];
+    for (int v = 0; v < n; v++)
+      order[v] = v;
+    for (int i = n - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      int t = order[i]; order[i] = order[j]; order[j] = t;
+    }
+    for (int v : order) {
+      if (match[v] != -1) continue;
+      int best = v;
+      int bestWeight = 0;
+      for (int i = L.offsets[v]; i < L.offsets[v+1]; i++) {
+        int u = L.targets[i];
+        if (match[u] == -1 && u != v && L.edgeWeight[i] > bestWeight) {
+          best = u;
+          bestWeight = L.edgeWeight[i];
+        }
+      }
+      match[v] = best;
+      match[best] = v;
+    }
+
+    int[] map = new int[n];
+    int cn = 0;
+    for (int v = 0; v < n; v++) {
+      if (match[v] >= v) {
+        map[v] = cn;
+        map[match[v]] = cn;
+        cn++;
+      }
+    }
+
+    // merge the edge lists of each matched pair, summing parallel edges and dropping internal ones
+    int[] weight = new int[cn];
+    int[] offsets = new int[cn + 1];
+    int[] targets = new int[L.targets.length];
+    int[] edgeWeight = new int[L.targets.length];
+    int[] position = new int[cn];
+    Arrays.fill(position, -1);
+    int m = 0;
+    for (int v = 0; v < n; v++) {
+      if (match[v] < v) continue;
+      int c = map[v];
+      offsets[c] = m;
+      int u = v;
+      while (true) {
+        weight[c] += L.weight[u];
+        for (int i = L.offsets[u]; i < L.offsets[u+1]; i++) {
+          int cw = map[L.targets[i]];
+          if (cw == c) continue;
+          if (position[cw] == -1) {
+            position[cw] = m;
+            targets[m] = cw;
+            edgeWeight[m++] = L.edgeWeight[i];
+          }
+          else edgeWeight[position[cw]] += L.edgeWeight[i];
+        }
+        if (u == match[v]) break;
+        u = match[v];
+      }
+      for (int i = offsets[c]; i < m; i++)
+        position[targets[i]] = -1;
+    }
+    offsets[cn] = m;
+    L.map = map;
+    return new Level(cn, weight, offsets, targets, edgeWeight);
+  }
+
+  // grows k-1 regions breadth-first up to the average weight; the last part takes the rest
+  private static int[] grow(Level L, int k) {
+    int n = L.n;
+    int[] p = new int[n];
+    Arrays.fill(p, -1);
+    long total = 0;
+    for (int v = 0; v < n; v++)
+      total += L.weight[v];
+    int[] queue = new int[n];
+    int next = 0;              // where to look for the next seed
+
+    for (int q = 0; q < k - 1; q++) {
+      long target = total * (q + 1) / k - total * q / k;
+      long weight = 0;
+      int head = 0;
+      int tail = 0;
+      while (weight < target) {
+        if (head == tail) {
+          while (next < n && p[next] != -1) next++;
+          if (next == n) break;
+          p[next] = q;
+          queue[tail++] = next;
+        }
+        int v = queue[head++];
+        weight += L.weight[v];
+        for (int i = L.offsets[v]; i < L.offsets[v+1] && weight < target; i++) {
+          int w = L.targets[i];
+          if (p[w] == -1) {
+            p[w] = q;
+            queue[tail++] = w;
+          }
+        }
+      }
+      // vertices claimed but not reached are returned
+      while (head < tail)
+        p[queue[head++]] = -1;
+    }
+    for (int v = 0; v < n; v++)
+      if (p[v] == -1) p[v] = k - 1;
+    return p;
+  }
+
+  // greedy boundary refinement: moves vertices to the neighboring part that reduces the cut
+  // most, or, on a tie, makes the parts more even, keeping every part under the weight limit
+  private static void refine(Level L, int[] p, int k) {
+    int n = L.n;
+    long[] weight = new long[k];
+    long total = 0;
+    int heaviest = 0;
+    for (int v = 0; v < n; v++) {
+      weight[p[v]] += L.weight[v];
+      total += L.weight[v];
+      heaviest = Math.max(heaviest, L.weight[v]);
+    }
+    long limit = Math.max((long) Math.ceil(IMBALANCE * total / k), (total + k - 1) / k + heaviest);
+    long[] connection = new long[k];   // connection[q] = weight of the edges from v to part q
+    int[] touched = new int[k];
+
+    for (int pass = 0; pass < PASSES; pass++) {
+      int moved = 0;
+      for (int v = 0; v < n; v++) {
+        int from = p[v];
+        int t = 0;
+        for (int i = L.offsets[v]; i < L.offsets[v+1]; i++) {
+          int q = p[L.targets[i]];
+          if (connection[q] == 0) touched[t++] = q;
+          connection[q] += L.edgeWeight[i];
+        }
+        long internal = connection[from];
+        boolean overweight = weight[from] > limit;
+        int best = from;
+        long bestGain = 0;
+        for (int j = 0; j < t; j++) {
+          int q = touched[j];
+          if (q == from || weight[q] + L.weight[v] > limit) continue;
+          long gain = connection[q] - internal;
+          if (!overweight && gain < 0) continue;
+          if (!overweight && gain == 0 && weight[q] + L.weight[v] >= weight[from]) continue;
+          if (best == from || gain > bestGain || (gain == bestGain && weight[q] < weight[best])) {
+            best = q;
+            bestGain = gain;
+          }
+        }
+        for (int j = 0; j < t; j++)
+          connection[touched[j]] = 0;
+        if (best != from) {
+          weight[from] -= L.weight[v];
+          weight[best] += L.weight[v];
+          p[v] = best;
+          moved++;
+        }
+      }
+      if (moved == 0) break;
+    }
+  }
+
+  /**
+   * Returns the part containing vertex {@code v}.
+   * @param  v the vertex
+   * @return the part containing vertex {@code v}, between 0 and <em>k</em> – 1
+   * @throws IllegalArgumentException unless {@code 0 <= v < V}
+   */
+  public int part(int v) {
+    validateVertex(v);
+    return part[v];
+  }
+
+  /**
+   * Returns the number of parts.
+   * @return the number of parts <em>k</em>
+   */
+  public int parts() {
+    return k;
+  }
+
+  /**
+   * Returns the number of vertices in part {@code p}.
+   * @param  p the part
+   * @return the number of vertices in part {@code p}
+   * @throws IllegalArgumentException unless {@code 0 <= p < k}
+   */
+  public int size(int p) {
+    if (p < 0 || p >= k)
+      throw new IllegalArgumentException("part " + p + " is not between 0 and " + (k-1));
+    return size[p];
+  }
+
+  /**
+   * Returns the number of edges whose endpoints are in different parts.
+   * @return the number of edges cut by the partition
+   */
+  public long cut() {
+    return cut;
+  }
+
+  /**
+   * Returns the parts of all vertices.
+   * @return a new array whose entry {@code v} is the part of vertex {@code v}
+   */
+  public int[] partition() {
+    return part.clone();
+  }
+
+  // throw an IllegalArgumentException unless {@code 0 <= v < V}
+  private void validateVertex(int v) {
+    int V = part.length;
+    if (v < 0 || v >= V)
+      throw new IllegalArgumentException("vertex " + v + " is not between 0 and " + (V-1));
+  }
+
+  /**
+   * Unit tests the {@code GraphPartitioner} data type.
+   * Reads <em>k</em> and then a graph, and prints the size of each part and the cut.
+   *
+   * @param args the command-line arguments
+   */
+  public static void main(String[] args) {
+    int k = StdIn.readInt();
+    int verticesNbr = StdIn.readInt();
+    int edgesNbr = StdIn.readInt();
+    int[] vertices = StdIn.readAllInts();
+    CSRGraph G = new CSRGraph(verticesNbr, edgesNbr, vertices);
+
+    GraphPartitioner partitioner = new GraphPartitioner(G, k);
+    for (int p = 0; p < k; p++)
+      StdOut.println(p + ": " + partitioner.size(p) + " vertices");
+    StdOut.println(partitioner.cut() + " edges cut of " + G.E());
+  }
+}
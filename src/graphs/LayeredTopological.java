@@ -0,0 +1,239 @@
+package graphs;
+
+import libs.StdIn;
+import libs.StdOut;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ *  The {@code LayeredTopological} class represents a data type for
+ *  splitting a directed acyclic graph (DAG) into <em>layers</em>, using
+ *  several threads. Layer 0 holds the vertices of indegree 0, and each
+ *  other vertex is in the layer after the last layer of its predecessors,
+ *  that is, its layer is the number of edges on the longest path reaching it.
+ *  Every edge goes from a layer to a later one, so the vertices of one layer
+ *  can be processed concurrently once the previous layers are done, and
+ *  the layers in turn form a topological order.
+ *  <p>
+ *  This implementation uses Kahn's algorithm level by level over a
+ *  {@link CSRDigraph}. Indegrees are counted in parallel; then each layer is
+ *  expanded in parallel on a {@link ForkJoinPool}, every edge decrementing
+ *  the remaining indegree of its head with an atomic add, and the task that
+ *  brings it to 0 placing the head in the next layer. If the digraph has a
+ *  directed cycle, the vertices on or after it are never placed, and there is
+ *  no order; use {@link DirectedCycle} to find the cycle.
+ *  <p>
+ *  Within a layer, vertices are listed in increasing order, so the result
+ *  does not depend on the scheduling of the threads.
+ *  The constructor takes time proportional to <em>V</em> + <em>E</em>,
+ *  mostly divided among the threads of the pool, plus a synchronization per layer.
+ *  It uses extra space (not including the digraph) proportional to <em>V</em>.
+ */
+public class LayeredTopological {
+  private static final int GRAIN = 2048;    // frontier vertices per leaf task
+  private static final VarHandle DEGREE = MethodHandles.arrayElementVarHandle(int[].class);
+
+  private final int[] layer;       // layer[v] = layer of vertex v, -1 if not placed
+  private final int[] order;       // placed vertices, by layer, then in increasing order
+  private final int[] start;       // layer i is order[start[i]..start[i+1]-1]
+  private final boolean acyclic;   // were all vertices placed?
+
+  // state of the layer being expanded
+  private final CSRDigraph G;
+  private final int[] indegree;    // indegree[v] = number of predecessors of v not yet placed
+  private int level;
+  private int[] frontier;
+  private int[] next;
+  private final AtomicInteger nextSize = new AtomicInteger();
+
+  /**
+   * Computes the layers of the digraph {@code G}, on the common pool.
+   * @param G the digraph
+   */
+  public LayeredTopological(Digraph G) {
+    this(new CSRDigraph(G), ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Computes the layers of the compressed digraph {@code G}, on the common pool.
+   * @param G the digraph
+   */
+  public LayeredTopological(CSRDigraph G) {
+    this(G, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Computes the layers of the compressed digraph {@code G}, on the given pool.
+   * @param G the digraph
+   * @param pool the pool that runs the computation
+   */
+  public LayeredTopological(CSRDigraph G, ForkJoinPool pool) {
+    this.G = G;
+    int V = G.V();
+    indegree = new int[V];
+    layer = new int[V];
+    pool.submit(() -> IntStream.range(0, V).parallel().forEach(v -> {
+      layer[v] = -1;
+      for (int i = G.begin(v), end = G.end(v); i < end; i++)
+        DEGREE.getAndAdd(indegree, G.target(i), 1);
+    })).join();
+
+    frontier = pool.submit(() -> IntStream.range(0, V).parallel().filter(v -> indegree[v] == 0).toArray()).join();
+    int frontierSize = frontier.length;
+    for (int k = 0; k < frontierSize; k++)
+      layer[frontier[k]] = 0;
+    frontier = Arrays.copyOf(frontier, V);
+    next = new int[V];
+
+    // expand one layer at a time
+    int placed = 0;
+    for (level = 0; frontierSize > 0; level++) {
+      placed += frontierSize;
+      nextSize.set(0);
+      pool.invoke(new Step(0, frontierSize));
+      int[] t = frontier; frontier = next; next = t;
+      frontierSize = nextSize.get();
+    }
+    acyclic = placed == V;
+
+    // list the placed vertices by layer, in increasing order within each layer
+    start = new int[level + 1];
+    for (int v = 0; v < V; v++)
+      if (layer[v] >= 0) start[layer[v] + 1]++;
+    for (int i = 0; i < level; i++)
+      start[i+1] += start[i];
+    order = new int[placed];
+    int[] fill = Arrays.copyOf(start, level);
+    for (int v = 0; v < V; v++)
+      if (layer[v] >= 0) order[fill[layer[v]]++] = v;
+    frontier = next = null;
+  }
+
+  // places the successors of frontier[lo..hi-1] whose last predecessor this is
+  @SuppressWarnings("serial")
+  private class Step extends RecursiveAction {
+    private final int lo;
+    private final int hi;
+
+    Step(int lo, int hi) {
+      this.lo = lo;
+      this.hi = hi;
+    }
+
+    @Override
+    protected void compute() {
+      if (hi - lo > GRAIN) {
+        int mid = (lo + hi) >>> 1;
+        invokeAll(new Step(lo, mid), new Step(mid, hi));
+        return;
+      }
+      int[] found = new int[16];
+      int n = 0;
+      for (int k = lo; k < hi; k++) {
+        int v = frontier[k];
+        for (int i = G.begin(v), end = G.end(v); i < end; i++) {
+          int w = G.target(i);
+          if ((int) DEGREE.getAndAdd(indegree, w, -1) == 1) {
+            layer[w] = level + 1;
+            if (n == found.length) found = Arrays.copyOf(found, 2*n);
+            found[n++] = w;
+          }
+        }
+      }
+      System.arraycopy(found, 0, next, nextSize.getAndAdd(n), n);
+    }
+  }
+
+  /**
+   * Does the digraph have a topological order?
+   * @return {@code true} if the digraph has a topological order (or equivalently,
+   *         if the digraph is a DAG), and {@code false} otherwise
+   */
+  public boolean hasOrder() {
+    return acyclic;
+  }
+
+  /**
+   * Returns the number of layers. If the digraph is not a DAG, counts only
+   * the layers of the vertices that could be placed.
+   * @return the number of layers
+   */
+  public int layers() {
+    return start.length - 1;
+  }
+
+  /**
+   * Returns the layer of vertex {@code v}.
+   * @param  v the vertex
+   * @return the layer of vertex {@code v}, or -1 if {@code v} is on or reachable
+   *         from a directed cycle
+   * @throws IllegalArgumentException unless {@code 0 <= v < V}
+   */
+  public int layer(int v) {
+    validateVertex(v);
+    return layer[v];
+  }
+
+  /**
+   * Returns the vertices of layer {@code i}, in increasing order.
+   * @param  i the layer
+   * @return a new array holding the vertices of layer {@code i}
+   * @throws IllegalArgumentException unless {@code 0 <= i < layers()}
+   */
+  public int[] vertices(int i) {
+    if (i < 0 || i >= layers())
+      throw new IllegalArgumentException("layer " + i + " is not between 0 and " + (layers()-1));
+    return Arrays.copyOfRange(order, start[i], start[i+1]);
+  }
+
+  /**
+   * Returns a topological order if the digraph has a topological order,
+   * and {@code null} otherwise. The vertices are listed layer by layer.
+   * @return a topological order of the vertices (as an iterable) if the
+   *         digraph is a DAG, and {@code null} otherwise
+   */
+  public Iterable<Integer> order() {
+    if (!acyclic) return null;
+    List<Integer> list = new ArrayList<>(order.length);
+    for (int v : order)
+      list.add(v);
+    return list;
+  }
+
+  // throw an IllegalArgumentException unless {@code 0 <= v < V}
+  private void validateVertex(int v) {
+    int V = layer.length;
+    if (v < 0 || v >= V)
+      throw new IllegalArgumentException("vertex " + v + " is not between 0 and " + (V-1));
+  }
+
+  /**
+   * Unit tests the {@code LayeredTopological} data type.
+   *
+   * @param args the command-line arguments
+   */
+  public static void main(String[] args) {
+    int verticesNbr = StdIn.readInt();
+    int edgesNbr = StdIn.readInt();
+    int[] vertices = StdIn.readAllInts();
+    CSRDigraph G = new CSRDigraph(verticesNbr, edgesNbr, vertices);
+
+    LayeredTopological layered = new LayeredTopological(G);
+    if (!layered.hasOrder()) StdOut.println("Not a DAG");
+    for (int i = 0; i < layered.layers(); i++) {
+      StdOut.print(i + ": ");
+      for (int v : layered.vertices(i)) {
+        StdOut.print(v + " ");
+      }
+      StdOut.println();
+    }
+  }
+}
@@ -0,0 +1,183 @@
+package graphs;
+
+import libs.StdIn;
+import libs.StdOut;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Stack;
+
+/**
+ *  The {@code NonrecursiveDFS} class represents a reusable engine for
+ *  depth-first search in an undirected graph, without recursion.
+ *  <p>
+ *  This implementation keeps an explicit stack of (vertex, adjacency position)
+ *  pairs in two {@code int} arrays over a {@link CSRGraph}, so the depth of the
+ *  search is limited only by <em>V</em>, not by the thread stack. It visits the
+ *  vertices and sets {@code edgeTo} in exactly the same order as
+ *  {@link DepthFirstPaths}, and as a recursive depth-first search would.
+ *  <p>
+ *  The arrays are allocated once by the constructor. Marks are stamped with
+ *  the number of the current search, so starting a new search takes constant
+ *  time instead of clearing <em>V</em> marks. Each search takes time proportional
+ *  to the number of vertices and edges it reaches.
+ */
+public class NonrecursiveDFS {
+  private final CSRGraph G;
+  private final int[] mark;       // mark[v] == epoch iff v has been reached by the current search
+  private final int[] edgeTo;     // edgeTo[v] = last edge on a path from a source to v (itself for a source)
+  private final int[] stackV;     // stackV[0..top-1] = vertices on the current path
+  private final int[] stackPos;   // stackPos[k] = position of the next neighbor of stackV[k] to examine
+  private int epoch;              // number of the current search
+  private int count;              // number of vertices reached by the current search
+
+  /**
+   * Initializes a depth-first search engine over the graph {@code G}.
+   * @param G the graph
+   */
+  public NonrecursiveDFS(Graph G) {
+    this(new CSRGraph(G));
+  }
+
+  /**
+   * Initializes a depth-first search engine over the compressed graph {@code G}.
+   * @param G the graph
+   */
+  public NonrecursiveDFS(CSRGraph G) {
+    this.G = G;
+    mark = new int[G.V()];
+    edgeTo = new int[G.V()];
+    stackV = new int[G.V()];
+    stackPos = new int[G.V()];
+    epoch = 1;
+  }
+
+  /**
+   * Starts a new search: forgets all vertices reached so far, then finds
+   * the vertices connected to the source vertex {@code s}.
+   * @param s the source vertex
+   * @throws IllegalArgumentException unless {@code 0 <= s < V}
+   */
+  public void search(int s) {
+    validateVertex(s);
+    if (epoch == Integer.MAX_VALUE) {
+      Arrays.fill(mark, 0);
+      epoch = 0;
+    }
+    epoch++;
+    count = 0;
+    visit(s);
+  }
+
+  /**
+   * Continues the current search from the source vertex {@code s}, keeping
+   * the vertices reached so far. Does nothing if {@code s} is already reached.
+   * @param s the source vertex
+   * @throws IllegalArgumentException unless {@code 0 <= s < V}
+   */
+  public void visit(int s) {
+    validateVertex(s);
+    if (mark[s] == epoch) return;
+    mark[s] = epoch;
+    edgeTo[s] = s;
+    count++;
+    stackV[0] = s;
+    stackPos[0] = G.begin(s);
+    int top = 1;
+
+    while (top > 0) {
+      int v = stackV[top-1];
+      int i = stackPos[top-1];
+      if (i == G.end(v)) {
+        top--;
+        continue;
+      }
+      stackPos[top-1] = i + 1;
+      int w = G.target(i);
+      if (mark[w] != epoch) {
+        mark[w] = epoch;
+        edgeTo[w] = v;
+        count++;
+        stackV[top] = w;
+        stackPos[top] = G.begin(w);
+        top++;
+      }
+    }
+  }
+
+  /**
+   * Has vertex {@code v} been reached by the current search?
+   * @param v the vertex
+   * @return {@code true} if there is a path from a source to {@code v}, {@code false} otherwise
+   * @throws IllegalArgumentException unless {@code 0 <= v < V}
+   */
+  public boolean marked(int v) {
+    validateVertex(v);
+    return mark[v] == epoch;
+  }
+
+  /**
+   * Returns the number of vertices reached by the current search.
+   * @return the number of vertices reached by the current search
+   */
+  public int count() {
+    return count;
+  }
+
+  /**
+   * Returns a path between a source vertex of the current search and vertex
+   * {@code v}, or {@code null} if no such path.
+   * @param  v the vertex
+   * @return the sequence of vertices on a path from a source to {@code v}, as an Iterable
+   * @throws IllegalArgumentException unless {@code 0 <= v < V}
+   */
+  public Iterable<Integer> pathTo(int v) {
+    if (!marked(v)) return null;
+    Stack<Integer> path = new Stack<>();
+    int x;
+    for (x = v; edgeTo[x] != x; x = edgeTo[x])
+      path.push(x);
+    path.push(x);
+
+    Collections.reverse(path);
+
+    return path;
+  }
+
+  // throw an IllegalArgumentException unless {@code 0 <= v < V}
+  private void validateVertex(int v) {
+    int V = mark.length;
+    if (v < 0 || v >= V)
+      throw new IllegalArgumentException("vertex " + v + " is not between 0 and " + (V-1));
+  }
+
+  /**
+   * Unit tests the {@code NonrecursiveDFS} data type.
+   *
+   * @param args the command-line arguments
+   */
+  public static void main(String[] args) {
+    int s = StdIn.readInt();
+    int verticesNbr = StdIn.readInt();
+    int edgesNbr = StdIn.readInt();
+    int[] vertices = StdIn.readAllInts();
+    CSRGraph G = new CSRGraph(verticesNbr, edgesNbr, vertices);
+
+    NonrecursiveDFS dfs = new NonrecursiveDFS(G);
+    dfs.search(s);
+    for (int v = 0; v < G.V(); v++) {
+      if (dfs.marked(v)) {
+        StdOut.printf("%d to %d:  ", s, v);
+        for (int x : dfs.pathTo(v)) {
+          if (x == s) StdOut.print(x);
+          else        StdOut.print("-" + x);
+        }
+        StdOut.println();
+      }
+
+      else {
+        StdOut.printf("%d to %d:  not connected\n", s, v);
+      }
+    }
+  }
+}
@@ -0,0 +1,327 @@
+package graphs;
+
+import libs.StdIn;
+import libs.StdOut;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Stack;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ *  The {@code ParallelBreadthFirstPaths} class represents a data type for finding
+ *  shortest paths (number of edges) from a source vertex <em>s</em>
+ *  to every other vertex in an undirected graph, using several threads.
+ *  <p>
+ *  This implementation uses level-synchronous, direction-optimizing
+ *  breadth-first search (Beamer, Asanović and Patterson) over a {@link CSRGraph}.
+ *  Each level is expanded in parallel on a {@link ForkJoinPool}, either
+ *  <em>top-down</em> (every frontier vertex claims its unvisited neighbors with
+ *  a compare-and-set on {@code distTo}) or <em>bottom-up</em> (every unvisited
+ *  vertex looks for a neighbor in the frontier bitset, and stops at the first one).
+ *  The search switches to bottom-up when the edges leaving the frontier exceed
+ *  1/14 of the edges still unexplored, and back to top-down when the frontier
+ *  is shrinking and smaller than <em>V</em>/24 vertices.
+ *  <p>
+ *  The {@code distTo} values are the same as those of {@link BreadthFirstPaths};
+ *  {@code edgeTo} is a shortest-path tree too, but where a vertex has several
+ *  neighbors on the previous level the one chosen may differ.
+ *  The constructor takes time proportional to <em>V</em> + <em>E</em> in the worst case,
+ *  divided among the threads of the pool.
+ *  It uses extra space (not including the graph) proportional to <em>V</em>.
+ */
+public class ParallelBreadthFirstPaths {
+  private static final int INFINITY = Integer.MAX_VALUE;
+  private static final int ALPHA = 14;      // switch to bottom-up when frontier edges > unexplored / ALPHA
+  private static final int BETA = 24;       // switch to top-down when frontier vertices < V / BETA
+  private static final int GRAIN = 2048;    // vertices (or bitset words) per leaf task
+  private static final VarHandle DIST = MethodHandles.arrayElementVarHandle(int[].class);
+
+  private final CSRGraph G;
+  private final int[] edgeTo;      // edgeTo[v] = previous edge on shortest s-v path
+  private final int[] distTo;      // distTo[v] = number of edges shortest s-v path
+
+  // state of the level being expanded
+  private int level;
+  private int[] frontier;          // frontier[0..frontierSize-1], in top-down mode
+  private int frontierSize;
+  private int[] next;              // vertices discovered by a top-down step
+  private final AtomicInteger nextSize = new AtomicInteger();
+  private long[] frontierBits;     // frontier as a bitset, in bottom-up mode
+  private long[] nextBits;
+
+  /**
+   * Computes the shortest path between the source vertex {@code s}
+   * and every other vertex in the graph {@code G}, on the common pool.
+   * @param G the graph
+   * @param s the source vertex
+   * @throws IllegalArgumentException unless {@code 0 <= s < V}
+   */
+  public ParallelBreadthFirstPaths(Graph G, int s) {
+    this(new CSRGraph(G), s, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Computes the shortest path between the source vertex {@code s}
+   * and every other vertex in the graph {@code G}, on the common pool.
+   * @param G the graph
+   * @param s the source vertex
+   * @throws IllegalArgumentException unless {@code 0 <= s < V}
+   */
+  public ParallelBreadthFirstPaths(CSRGraph G, int s) {
+    this(G, s, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Computes the shortest path between the source vertex {@code s}
+   * and every other vertex in the graph {@code G}, on the given pool.
+   * @param G the graph
+   * @param s the source vertex
+   * @param pool the pool that runs the search
+   * @throws IllegalArgumentException unless {@code 0 <= s < V}
+   */
+  public ParallelBreadthFirstPaths(CSRGraph G, int s, ForkJoinPool pool) {
+    this.G = G;
+    distTo = new int[G.V()];
+    edgeTo = new int[G.V()];
+    validateVertex(s);
+    bfs(s, pool);
+  }
+
+  // direction-optimizing breadth-first search from a single source
+  private void bfs(int s, ForkJoinPool pool) {
+    int V = G.V();
+    Arrays.fill(distTo, INFINITY);
+    distTo[s] = 0;
+    frontier = new int[V];
+    next = new int[V];
+    frontier[0] = s;
+    frontierSize = 1;
+
+    long unexplored = 2L * G.E();        // edges of the vertices not yet expanded
+    long scout = G.end(s) - G.begin(s);  // edges of the frontier vertices
+    boolean topDown = true;
+    int previousSize = 0;
+
+    for (level = 0; frontierSize > 0; level++) {
+      if (topDown && scout > unexplored / ALPHA) {
+        topDown = false;
+        frontierBits = toBits(frontier, frontierSize, V);
+        nextBits = new long[frontierBits.length];
+      }
+      else if (!topDown && frontierSize < previousSize && frontierSize < V / BETA) {
+        topDown = true;
+        frontierSize = fromBits(frontierBits, frontier);
+      }
+      previousSize = frontierSize;
+
+      unexplored -= scout;
+      if (topDown) {
+        nextSize.set(0);
+        scout = pool.invoke(new TopDownStep(0, frontierSize));
+        int[] t = frontier; frontier = next; next = t;
+        frontierSize = nextSize.get();
+      }
+      else {
+        Arrays.fill(nextBits, 0L);
+        long[] awake = pool.invoke(new BottomUpStep(0, frontierBits.length));
+        frontierSize = (int) awake[0];
+        scout = awake[1];
+        long[] t = frontierBits; frontierBits = nextBits; nextBits = t;
+      }
+    }
+    frontier = next = null;
+    frontierBits = nextBits = null;
+  }
+
+  // claims the unvisited neighbors of frontier[lo..hi-1]; returns the sum of their degrees
+  @SuppressWarnings("serial")
+  private class TopDownStep extends RecursiveTask<Long> {
+    private final int lo;
+    private final int hi;
+
+    TopDownStep(int lo, int hi) {
+      this.lo = lo;
+      this.hi = hi;
+    }
+
+    @Override
+    protected Long compute() {
+      if (hi - lo > GRAIN) {
+        int mid = (lo + hi) >>> 1;
+        TopDownStep left = new TopDownStep(lo, mid);
+        left.fork();
+        long right = new TopDownStep(mid, hi).compute();
+        return left.join() + right;
+      }
+      int[] found = new int[16];
+      int n = 0;
+      long degrees = 0;
+      for (int k = lo; k < hi; k++) {
+        int v = frontier[k];
+        for (int i = G.begin(v), end = G.end(v); i < end; i++) {
+          int w = G.target(i);
+          if (distTo[w] == INFINITY && DIST.compareAndSet(distTo, w, INFINITY, level + 1)) {
+            edgeTo[w] = v;
+            if (n == found.length) found = Arrays.copyOf(found, 2*n);
+            found[n++] = w;
+            degrees += G.end(w) - G.begin(w);
+          }
+        }
+      }
+      System.arraycopy(found, 0, next, nextSize.getAndAdd(n), n);
+      return degrees;
+    }
+  }
+
+  // visits the unvisited vertices of bitset words lo..hi-1 that have a frontier neighbor;
+  // returns how many were visited and the sum of their degrees
+  @SuppressWarnings("serial")
+  private class BottomUpStep extends RecursiveTask<long[]> {
+    private final int lo;
+    private final int hi;
+
+    BottomUpStep(int lo, int hi) {
+      this.lo = lo;
+      this.hi = hi;
+    }
+
+    @Override
+    protected long[] compute() {
+      if ((hi - lo) * 64L > GRAIN * 4L && hi - lo > 1) {
+        int mid = (lo + hi) >>> 1;
+        BottomUpStep left = new BottomUpStep(lo, mid);
+        left.fork();
+        long[] right = new BottomUpStep(mid, hi).compute();
+        long[] awake = left.join();
+        awake[0] += right[0];
+        awake[1] += right[1];
+        return awake;
+      }
+      long awake = 0;
+      long degrees = 0;
+      int V = distTo.length;
+      for (int word = lo; word < hi; word++) {
+        long bits = 0;
+        for (int u = word << 6, end = Math.min(V, u + 64); u < end; u++) {
+          if (distTo[u] != INFINITY) continue;
+          for (int i = G.begin(u), stop = G.end(u); i < stop; i++) {
+            int v = G.target(i);
+            if ((frontierBits[v >>> 6] & (1L << v)) != 0) {
+              distTo[u] = level + 1;
+              edgeTo[u] = v;
+              bits |= 1L << u;
+              awake++;
+              degrees += stop - G.begin(u);
+              break;
+            }
+          }
+        }
+        nextBits[word] = bits;
+      }
+      return new long[] { awake, degrees };
+    }
+  }
+
+  private static long[] toBits(int[] vertices, int n, int V) {
+    long[] bits = new long[(V + 63) >>> 6];
+    for (int k = 0; k < n; k++)
+      bits[vertices[k] >>> 6] |= 1L << vertices[k];
+    return bits;
+  }
+
+  private static int fromBits(long[] bits, int[] vertices) {
+    int n = 0;
+    for (int word = 0; word < bits.length; word++) {
+      for (long b = bits[word]; b != 0; b &= b - 1)
+        vertices[n++] = (word << 6) + Long.numberOfTrailingZeros(b);
+    }
+    return n;
+  }
+
+  /**
+   * Is there a path between the source vertex {@code s} and vertex {@code v}?
+   * @param v the vertex
+   * @return {@code true} if there is a path, and {@code false} otherwise
+   * @throws IllegalArgumentException unless {@code 0 <= v < V}
+   */
+  public boolean hasPathTo(int v) {
+    validateVertex(v);
+    return distTo[v] != INFINITY;
+  }
+
+  /**
+   * Returns the number of edges in a shortest path between the source vertex {@code s}
+   * and vertex {@code v}?
+   * @param v the vertex
+   * @return the number of edges in a shortest path
+   * @throws IllegalArgumentException unless {@code 0 <= v < V}
+   */
+  public int distTo(int v) {
+    validateVertex(v);
+    return distTo[v];
+  }
+
+  /**
+   * Returns a shortest path between the source vertex {@code s}
+   * and {@code v}, or {@code null} if no such path.
+   * @param  v the vertex
+   * @return the sequence of vertices on a shortest path, as an Iterable
+   * @throws IllegalArgumentException unless {@code 0 <= v < V}
+   */
+  public Iterable<Integer> pathTo(int v) {
+    validateVertex(v);
+    if (!hasPathTo(v)) return null;
+    Stack<Integer> path = new Stack<>();
+    int x;
+    for (x = v; distTo[x] != 0; x = edgeTo[x])
+      path.push(x);
+    path.push(x);
+
+    Collections.reverse(path);
+
+    return path;
+  }
+
+  // throw an IllegalArgumentException unless {@code 0 <= v < V}
+  private void validateVertex(int v) {
+    int V = distTo.length;
+    if (v < 0 || v >= V)
+      throw new IllegalArgumentException("vertex " + v + " is not between 0 and " + (V-1));
+  }
+
+  /**
+   * Unit tests the {@code ParallelBreadthFirstPaths} data type.
+   *
+   * @param args the command-line arguments
+   */
+  public static void main(String[] args) {
+    int s = StdIn.readInt();
+    int verticesNbr = StdIn.readInt();
+    int edgesNbr = StdIn.readInt();
+    int[] vertices = StdIn.readAllInts();
+    CSRGraph G = new CSRGraph(verticesNbr, edgesNbr, vertices);
+
+    ParallelBreadthFirstPaths bfs = new ParallelBreadthFirstPaths(G, s);
+
+    for (int v = 0; v < G.V(); v++) {
+      if (bfs.hasPathTo(v)) {
+        StdOut.printf("%d to %d (%d):  ", s, v, bfs.distTo(v));
+        for (int x : bfs.pathTo(v)) {
+          if (x == s) StdOut.print(x);
+          else        StdOut.print("-" + x);
+        }
+        StdOut.println();
+      }
+
+      else {
+        StdOut.printf("%d to %d (-):  not connected\n", s, v);
+      }
+
+    }
+  }
+}
@@ -0,0 +1,245 @@
+package graphs;
+
+import libs.StdIn;
+import libs.StdOut;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ *  The {@code ParallelCC} class represents a data type for determining the
+ *  connected components in an undirected graph, using several threads.
+ *  It has the same operations as {@link CC}, and assigns the same component
+ *  identifiers: 0 through <em>k</em>–1 in increasing order of the smallest
+ *  vertex of each component.
+ *  <p>
+ *  This implementation uses the Afforest algorithm (Sutton, Ben-Nun and Barak)
+ *  over a {@link CSRGraph}: a concurrent union–find forest in which a root is
+ *  only ever linked below a smaller root with a compare-and-set.
+ *  It first links every vertex to its first two neighbors, then estimates the
+ *  largest component by sampling, and finally processes the remaining edges of
+ *  the vertices outside that component only. Since most edges of a typical graph
+ *  lie inside its largest component, most of them are never examined.
+ *  Each phase runs in parallel on a {@link ForkJoinPool}.
+ *  The constructor takes time proportional to <em>V</em> + <em>E</em>
+ *  (times a small factor for the union–find), divided among the threads.
+ */
+public class ParallelCC {
+  private static final int NEIGHBOR_ROUNDS = 2;
+  private static final int SAMPLES = 1024;
+  private static final VarHandle PARENT = MethodHandles.arrayElementVarHandle(int[].class);
+
+  private final int[] id;       // id[v] = id of connected component containing v
+  private final int[] size;     // size[id] = number of vertices in given component
+  private final int count;      // number of connected components
+
+  /**
+   * Computes the connected components of the undirected graph {@code G},
+   * on the common pool.
+   *
+   * @param G the undirected graph
+   */
+  public ParallelCC(Graph G) {
+    this(new CSRGraph(G), ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Computes the connected components of the compressed graph {@code G},
+   * on the common pool.
+   *
+   * @param G the undirected graph
+   */
+  public ParallelCC(CSRGraph G) {
+    this(G, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Computes the connected components of the compressed graph {@code G},
+   * on the given pool.
+   *
+   * @param G the undirected graph
+   * @param pool the pool that runs the computation
+   */
+  public ParallelCC(CSRGraph G, ForkJoinPool pool) {
+    int V = G.V();
+    int[] parent = new int[V];
+    pool.submit(() -> IntStream.range(0, V).parallel().forEach(v -> parent[v] = v)).join();
+
+    // link each vertex to its first few neighbors
+    for (int r = 0; r < NEIGHBOR_ROUNDS; r++) {
+      int round = r;
+      pool.submit(() -> IntStream.range(0, V).parallel().forEach(v -> {
+        int i = G.begin(v) + round;
+        if (i < G.end(v)) link(parent, v, G.target(i));
+      })).join();
+      compress(parent, pool);
+    }
+
+    // process the other edges, except those of the vertices in the (likely) largest component
+    int largest = sampleLargest(parent);
+    pool.submit(() -> IntStream.range(0, V).parallel().forEach(v -> {
+      if (parent[v] == largest) return;
+      for (int i = G.begin(v) + NEIGHBOR_ROUNDS, end = G.end(v); i < end; i++)
+        link(parent, v, G.target(i));
+    })).join();
+    compress(parent, pool);
+
+    // every root is the smallest vertex of its component: number them in increasing order
+    int[] label = new int[V];
+    int k = 0;
+    for (int v = 0; v < V; v++)
+      if (parent[v] == v) label[v] = k++;
+    count = k;
+    id = new int[V];
+    pool.submit(() -> IntStream.range(0, V).parallel().forEach(v -> id[v] = label[parent[v]])).join();
+    size = new int[count];
+    for (int v = 0; v < V; v++)
+      size[id[v]]++;
+  }
+
+  // merges the trees containing u and v, always linking the larger root below the smaller
+  private static void link(int[] parent, int u, int v) {
+    int p1 = parentOf(parent, u);
+    int p2 = parentOf(parent, v);
+    while (p1 != p2) {
+      int high = Math.max(p1, p2);
+      int low = Math.min(p1, p2);
+      int pHigh = parentOf(parent, high);
+      if (pHigh == low) break;
+      if (pHigh == high && PARENT.compareAndSet(parent, high, high, low)) break;
+      p1 = parentOf(parent, parentOf(parent, high));
+      p2 = parentOf(parent, low);
+    }
+  }
+
+  // reads parent[v] with acquire semantics, so that the retry loop sees links made by other threads
+  private static int parentOf(int[] parent, int v) {
+    return (int) PARENT.getAcquire(parent, v);
+  }
+
+  // points every vertex directly at its root
+  private static void compress(int[] parent, ForkJoinPool pool) {
+    pool.submit(() -> IntStream.range(0, parent.length).parallel().forEach(v -> {
+      while (parent[parent[v]] != parent[v])
+        parent[v] = parent[parent[v]];
+    })).join();
+  }
+
+  // the most frequent root among a random sample of vertices
+  private static int sampleLargest(int[] parent) {
+    if (parent.length == 0) return -1;
+    SplittableRandom random = new SplittableRandom(parent.length);
+    int[] sample = new int[SAMPLES];
+    for (int i = 0; i < SAMPLES; i++)
+      sample[i] = parent[random.nextInt(parent.length)];
+    Arrays.sort(sample);
+    int best = sample[0];
+    int bestRun = 0;
+    for (int i = 0, j; i < SAMPLES; i = j) {
+      for (j = i; j < SAMPLES && sample[j] == sample[i]; j++) { }
+      if (j - i > bestRun) {
+        bestRun = j - i;
+        best = sample[i];
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Returns the component id of the connected component containing vertex {@code v}.
+   *
+   * @param  v the vertex
+   * @return the component id of the connected component containing vertex {@code v}
+   * @throws IllegalArgumentException unless {@code 0 <= v < V}
+   */
+  public int id(int v) {
+    validateVertex(v);
+    return id[v];
+  }
+
+  /**
+   * Returns the number of vertices in the connected component containing vertex {@code v}.
+   *
+   * @param  v the vertex
+   * @return the number of vertices in the connected component containing vertex {@code v}
+   * @throws IllegalArgumentException unless {@code 0 <= v < V}
+   */
+  public int size(int v) {
+    validateVertex(v);
+    return size[id[v]];
+  }
+
+  /**
+   * Returns the number of connected components in the graph {@code G}.
+   *
+   * @return the number of connected components in the graph {@code G}
+   */
+  public int count() {
+    return count;
+  }
+
+  /**
+   * Returns true if vertices {@code v} and {@code w} are in the same
+   * connected component.
+   *
+   * @param  v one vertex
+   * @param  w the other vertex
+   * @return {@code true} if vertices {@code v} and {@code w} are in the same
+   *         connected component; {@code false} otherwise
+   * @throws IllegalArgumentException unless {@code 0 <= v < V}
+   * @throws IllegalArgumentException unless {@code 0 <= w < V}
+   */
+  public boolean connected(int v, int w) {
+    validateVertex(v);
+    validateVertex(w);
+    return id[v] == id[w];
+  }
+
+  /**
+   * Returns the component ids of all vertices.
+   *
+   * @return a new array whose entry {@code v} is the component id of vertex {@code v}
+   */
+  public int[] ids() {
+    return id.clone();
+  }
+
+  /**
+   * Returns the sizes of all components.
+   *
+   * @return a new array whose entry {@code i} is the number of vertices in component {@code i}
+   */
+  public int[] sizes() {
+    return size.clone();
+  }
+
+  // throw an IllegalArgumentException unless {@code 0 <= v < V}
+  private void validateVertex(int v) {
+    int V = id.length;
+    if (v < 0 || v >= V)
+      throw new IllegalArgumentException("vertex " + v + " is not between 0 and " + (V-1));
+  }
+
+  /**
+   * Computes the connected components of the undirected graph read from
+   * standard input, and prints the number of components and their sizes.
+   *
+   * @param args the command-line arguments
+   */
+  public static void main(String[] args) {
+    int verticesNbr = StdIn.readInt();
+    int edgesNbr = StdIn.readInt();
+    int[] vertices = StdIn.readAllInts();
+    CSRGraph G = new CSRGraph(verticesNbr, edgesNbr, vertices);
+    ParallelCC cc = new ParallelCC(G);
+
+    StdOut.println(cc.count() + " components");
+    int[] sizes = cc.sizes();
+    for (int i = 0; i < sizes.length; i++)
+      StdOut.println(i + ": " + sizes[i] + " vertices");
+  }
+}
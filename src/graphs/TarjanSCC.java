@@ -0,0 +1,178 @@
+package graphs;
+
+import libs.StdIn;
+import libs.StdOut;
+
+/**
+ *  The {@code TarjanSCC} class represents a data type for
+ *  determining the strong components in a digraph.
+ *  The <em>id</em> operation determines in which strong component
+ *  a given vertex lies; the <em>stronglyConnected</em> operation
+ *  determines whether two vertices are in the same strong component;
+ *  and the <em>count</em> operation determines the number of strong
+ *  components.
+ *  <p>
+ *  The <em>component identifier</em> of a component is one of the
+ *  integers 0 through <em>k</em>–1, where <em>k</em> is the number of strong components.
+ *  Two vertices have the same component identifier if and only if they
+ *  are in the same strong component. Components are numbered in reverse
+ *  topological order of the condensation: every edge <em>v</em>→<em>w</em>
+ *  has {@code id(v) >= id(w)}.
+ *  <p>
+ *  This implementation uses Tarjan's algorithm, with an explicit stack of
+ *  (vertex, adjacency position) pairs over a {@link CSRDigraph} instead of
+ *  recursion, so a path of millions of vertices does not overflow the thread stack.
+ *  Unlike Kosaraju–Sharir, it makes a single pass and does not need the reverse digraph.
+ *  The constructor takes time proportional to <em>V</em> + <em>E</em>
+ *  (in the worst case),
+ *  where <em>V</em> is the number of vertices and <em>E</em> is the number of edges.
+ *  Afterwards, the <em>id</em>, <em>count</em>, and <em>stronglyConnected</em>
+ *  operations take constant time.
+ */
+public class TarjanSCC {
+  private final int[] id;       // id[v] = id of strong component containing v
+  private int count;            // number of strongly-connected components
+
+  /**
+   * Computes the strong components of the digraph {@code G}.
+   * @param G the digraph
+   */
+  public TarjanSCC(Digraph G) {
+    this(new CSRDigraph(G));
+  }
+
+  /**
+   * Computes the strong components of the compressed digraph {@code G}.
+   * @param G the digraph
+   */
+  public TarjanSCC(CSRDigraph G) {
+    int V = G.V();
+    id = new int[V];
+    int[] pre = new int[V];        // pre[v] = 1 + preorder number of v, 0 if unvisited
+    int[] low = new int[V];        // low[v] = low number of v, V+1 once v has a component
+    int[] stack = new int[V];      // vertices not yet assigned to a component
+    int[] stackV = new int[V];     // vertices on the current path
+    int[] stackPos = new int[V];   // stackPos[k] = position of the next successor of stackV[k]
+    int sp = 0;
+    int counter = 0;
+
+    for (int s = 0; s < V; s++) {
+      if (pre[s] != 0) continue;
+      int top = 0;
+      pre[s] = low[s] = ++counter;
+      stack[sp++] = s;
+      stackV[top] = s;
+      stackPos[top++] = G.begin(s);
+      while (top > 0) {
+        int v = stackV[top-1];
+        int i = stackPos[top-1];
+        if (i < G.end(v)) {
+          stackPos[top-1] = i + 1;
+          int w = G.target(i);
+          if (pre[w] == 0) {
+            pre[w] = low[w] = ++counter;
+            stack[sp++] = w;
+            stackV[top] = w;
+            stackPos[top++] = G.begin(w);
+          }
+          else if (low[w] < low[v]) low[v] = low[w];
+          continue;
+        }
+
+        // v is finished: it is the root of a component, or passes its low number up
+        top--;
+        if (low[v] == pre[v]) {
+          int w;
+          do {
+            w = stack[--sp];
+            id[w] = count;
+            low[w] = V + 1;
+          } while (w != v);
+          count++;
+        }
+        else if (low[v] < low[stackV[top-1]]) low[stackV[top-1]] = low[v];
+      }
+    }
+  }
+
+  /**
+   * Returns the number of strong components.
+   * @return the number of strong components
+   */
+  public int count() {
+    return count;
+  }
+
+  /**
+   * Are vertices {@code v} and {@code w} in the same strong component?
+   * @param  v one vertex
+   * @param  w the other vertex
+   * @return {@code true} if vertices {@code v} and {@code w} are in the same
+   *         strong component, and {@code false} otherwise
+   * @throws IllegalArgumentException unless {@code 0 <= v < V}
+   * @throws IllegalArgumentException unless {@code 0 <= w < V}
+   */
+  public boolean stronglyConnected(int v, int w) {
+    validateVertex(v);
+    validateVertex(w);
+    return id[v] == id[w];
+  }
+
+  /**
+   * Returns the component id of the strong component containing vertex {@code v}.
+   * @param  v the vertex
+   * @return the component id of the strong component containing vertex {@code v}
+   * @throws IllegalArgumentException unless {@code 0 <= v < V}
+   */
+  public int id(int v) {
+    validateVertex(v);
+    return id[v];
+  }
+
+  /**
+   * Returns the component ids of all vertices.
+   *
+   * @return a new array whose entry {@code v} is the component id of vertex {@code v}
+   */
+  public int[] ids() {
+    return id.clone();
+  }
+
+  // throw an IllegalArgumentException unless {@code 0 <= v < V}
+  private void validateVertex(int v) {
+    int V = id.length;
+    if (v < 0 || v >= V)
+      throw new IllegalArgumentException("vertex " + v + " is not between 0 and " + (V-1));
+  }
+
+  /**
+   * Unit tests the {@code TarjanSCC} data type.
+   *
+   * @param args the command-line arguments
+   */
+  public static void main(String[] args) {
+    int verticesNbr = StdIn.readInt();
+    int edgesNbr = StdIn.readInt();
+    int[] vertices = StdIn.readAllInts();
+    CSRDigraph G = new CSRDigraph(verticesNbr, edgesNbr, vertices);
+    TarjanSCC scc = new TarjanSCC(G);
+
+    // number of connected components
+    int m = scc.count();
+    StdOut.println(m + " components");
+
+    // compute list of vertices in each strong component
+    StringBuilder[] components = new StringBuilder[m];
+    for (int i = 0; i < m; i++) {
+      components[i] = new StringBuilder();
+    }
+    for (int v = 0; v < G.V(); v++) {
+      components[scc.id(v)].append(v).append(' ');
+    }
+
+    // print results
+    for (int i = 0; i < m; i++) {
+      StdOut.println(components[i]);
+    }
+  }
+}
@@ -0,0 +1,173 @@
+package graphs;
+
+import libs.StdIn;
+import libs.StdOut;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ *  The {@code Topological} class represents a data type for
+ *  determining a topological order of a directed acyclic graph (DAG).
+ *  A digraph has a topological order if and only if it is a DAG.
+ *  The <em>hasOrder</em> operation determines whether the digraph has
+ *  a topological order, and if so, the <em>order</em> operation
+ *  returns one.
+ *  <p>
+ *  This implementation returns the reverse postorder of a depth-first search
+ *  over a {@link CSRDigraph}, computed with an explicit stack of (vertex,
+ *  adjacency position) pairs instead of recursion. The same search detects
+ *  directed cycles: an edge back to a vertex on the current path means
+ *  there is no order. Use {@link DirectedCycle} to find such a cycle.
+ *  The constructor takes time proportional to <em>V</em> + <em>E</em>
+ *  (in the worst case),
+ *  where <em>V</em> is the number of vertices and <em>E</em> is the number of edges.
+ *  Afterwards, the <em>hasOrder</em> and <em>rank</em> operations take constant time;
+ *  the <em>order</em> operation takes time proportional to <em>V</em>.
+ *  See {@link LayeredTopological} for a parallel, level-by-level order.
+ */
+public class Topological {
+  private final int V;           // number of vertices
+  private final int[] order;     // order[k] = vertex with rank k, or null if no order
+  private final int[] rank;      // rank[v] = rank of vertex v in order
+
+  /**
+   * Determines whether the digraph {@code G} has a topological order and, if so,
+   * finds such a topological order.
+   * @param G the digraph
+   */
+  public Topological(Digraph G) {
+    this(new CSRDigraph(G));
+  }
+
+  /**
+   * Determines whether the compressed digraph {@code G} has a topological order and, if so,
+   * finds such a topological order.
+   * @param G the digraph
+   */
+  public Topological(CSRDigraph G) {
+    V = G.V();
+    byte[] state = new byte[V];     // 0 = unvisited, 1 = on the current path, 2 = done
+    int[] stackV = new int[V];
+    int[] stackPos = new int[V];
+    int[] postorder = new int[V];
+    int n = V;                      // postorder[n..V-1] = finished vertices, last finished first
+    boolean acyclic = true;
+
+    for (int s = 0; s < V && acyclic; s++) {
+      if (state[s] != 0) continue;
+      int top = 0;
+      state[s] = 1;
+      stackV[top] = s;
+      stackPos[top++] = G.begin(s);
+      while (top > 0) {
+        int v = stackV[top-1];
+        int i = stackPos[top-1];
+        if (i == G.end(v)) {
+          state[v] = 2;
+          postorder[--n] = v;
+          top--;
+          continue;
+        }
+        stackPos[top-1] = i + 1;
+        int w = G.target(i);
+        if (state[w] == 0) {
+          state[w] = 1;
+          stackV[top] = w;
+          stackPos[top++] = G.begin(w);
+        }
+        else if (state[w] == 1) {
+          acyclic = false;
+          break;
+        }
+      }
+    }
+
+    if (acyclic) {
+      order = postorder;
+      rank = new int[V];
+      for (int k = 0; k < V; k++)
+        rank[order[k]] = k;
+    }
+    else {
+      order = null;
+      rank = null;
+    }
+  }
+
+  /**
+   * Returns a topological order if the digraph has a topological order,
+   * and {@code null} otherwise.
+   * @return a topological order of the vertices (as an iterable) if the
+   *         digraph has a topological order (or equivalently, if the digraph is a DAG),
+   *         and {@code null} otherwise
+   */
+  public Iterable<Integer> order() {
+    if (order == null) return null;
+    List<Integer> list = new ArrayList<>(order.length);
+    for (int v : order)
+      list.add(v);
+    return list;
+  }
+
+  /**
+   * Does the digraph have a topological order?
+   * @return {@code true} if the digraph has a topological order (or equivalently,
+   *         if the digraph is a DAG), and {@code false} otherwise
+   */
+  public boolean hasOrder() {
+    return order != null;
+  }
+
+  /**
+   * The rank of vertex {@code v} in the topological order;
+   * -1 if the digraph is not a DAG
+   *
+   * @param v the vertex
+   * @return the position of vertex {@code v} in a topological order
+   *    of the digraph; -1 if the digraph is not a DAG
+   * @throws IllegalArgumentException unless {@code 0 <= v < V}
+   */
+  public int rank(int v) {
+    validateVertex(v);
+    if (hasOrder()) return rank[v];
+    else            return -1;
+  }
+
+  /**
+   * Returns the topological order as an array.
+   * @return a new array holding the vertices in topological order,
+   *         or {@code null} if the digraph is not a DAG
+   */
+  public int[] toArray() {
+    return order == null ? null : order.clone();
+  }
+
+  // throw an IllegalArgumentException unless {@code 0 <= v < V}
+  private void validateVertex(int v) {
+    if (v < 0 || v >= V)
+      throw new IllegalArgumentException("vertex " + v + " is not between 0 and " + (V-1));
+  }
+
+  /**
+   * Unit tests the {@code Topological} data type.
+   *
+   * @param args the command-line arguments
+   */
+  public static void main(String[] args) {
+    int verticesNbr = StdIn.readInt();
+    int edgesNbr = StdIn.readInt();
+    int[] vertices = StdIn.readAllInts();
+    CSRDigraph G = new CSRDigraph(verticesNbr, edgesNbr, vertices);
+
+    Topological topological = new Topological(G);
+    if (!topological.hasOrder()) {
+      StdOut.println("Not a DAG");
+      return;
+    }
+    for (int v : topological.order()) {
+      StdOut.print(v + " ");
+    }
+    StdOut.println();
+  }
+}
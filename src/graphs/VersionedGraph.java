@@ -0,0 +1,320 @@
+package graphs;
+
+import libs.StdIn;
+import libs.StdOut;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ *  The {@code VersionedGraph} class represents a mutable undirected graph of
+ *  vertices named 0 through <em>V</em> – 1 that records its own changes.
+ *  Besides adding edges it supports removing them, and every change
+ *  increments the graph's <em>epoch</em>, so that results computed on the
+ *  graph can be tagged with the epoch they are valid for. The most recent
+ *  changes are kept in a <em>delta log</em>, which lets such results be
+ *  brought up to date instead of being recomputed; see {@link BFSCache}.
+ *  Parallel edges and self-loops are permitted, with the same conventions as {@link Graph}.
+ *  <p>
+ *  This implementation keeps the neighbors of each vertex in a resizing
+ *  {@code int} array, in the order they were added, except that removing an
+ *  edge moves the last neighbor into the gap. Adding an edge takes constant
+ *  amortized time; removing one takes time proportional to the degrees of
+ *  its endpoints. The delta log is a ring of the last 65,536 changes.
+ *  Iterating over the neighbors of a vertex while changing the graph is not supported.
+ */
+public class VersionedGraph {
+  private static final String NEWLINE = System.getProperty("line.separator");
+  private static final int LOG_CAPACITY = 1 << 16;   // a power of 2
+
+  private final int V;             // number of vertices
+  private int E;                   // number of edges
+  private final int[][] adj;       // adj[v][0..degree[v]-1] = neighbors of v
+  private final int[] degree;      // degree[v] = number of neighbors of v
+  private long epoch;              // number of changes so far
+
+  // change c (for epoch - LOG_CAPACITY <= c < epoch) is at index c % LOG_CAPACITY
+  private final int[] logV = new int[LOG_CAPACITY];
+  private final int[] logW = new int[LOG_CAPACITY];
+  private final boolean[] logAdded = new boolean[LOG_CAPACITY];
+
+  /**
+   * Initializes an empty graph with {@code V} vertices and 0 edges, at epoch 0.
+   *
+   * @param  V number of vertices
+   * @throws IllegalArgumentException if {@code V < 0}
+   */
+  public VersionedGraph(int V) {
+    if (V < 0) throw new IllegalArgumentException("Number of vertices must be nonnegative");
+    this.V = V;
+    adj = new int[V][];
+    degree = new int[V];
+    for (int v = 0; v < V; v++)
+      adj[v] = new int[2];
+  }
+
+  /**
+   * Initializes a graph with the same vertices and edges as {@code G}, at epoch 0.
+   *
+   * @param  G the graph to copy
+   */
+  public VersionedGraph(Graph G) {
+    V = G.V();
+    E = G.E();
+    adj = new int[V][];
+    degree = new int[V];
+    for (int v = 0; v < V; v++) {
+      int d = G.degree(v);
+      adj[v] = new int[Math.max(2, d)];
+      for (int w : G.adj(v))
+        adj[v][--d] = w;
+      degree[v] = G.degree(v);
+    }
+  }
+
+  /**
+   * Returns the number of vertices in this graph.
+   *
+   * @return the number of vertices in this graph
+   */
+  public int V() {
+    return V;
+  }
+
+  /**
+   * Returns the number of edges in this graph.
+   *
+   * @return the number of edges in this graph
+   */
+  public int E() {
+    return E;
+  }
+
+  /**
+   * Returns the current epoch: the number of changes made to this graph since it was initialized.
+   *
+   * @return the current epoch
+   */
+  public long epoch() {
+    return epoch;
+  }
+
+  // throw an IllegalArgumentException unless {@code 0 <= v < V}
+  private void validateVertex(int v) {
+    if (v < 0 || v >= V)
+      throw new IllegalArgumentException("vertex " + v + " is not between 0 and " + (V-1));
+  }
+
+  /**
+   * Adds the undirected edge v-w to this graph, and advances the epoch.
+   *
+   * @param  v one vertex in the edge
+   * @param  w the other vertex in the edge
+   * @throws IllegalArgumentException unless both {@code 0 <= v < V} and {@code 0 <= w < V}
+   */
+  public void addEdge(int v, int w) {
+    validateVertex(v);
+    validateVertex(w);
+    append(v, w);
+    append(w, v);
+    E++;
+    log(v, w, true);
+  }
+
+  /**
+   * Removes one undirected edge v-w from this graph, and advances the epoch.
+   *
+   * @param  v one vertex in the edge
+   * @param  w the other vertex in the edge
+   * @throws IllegalArgumentException unless both {@code 0 <= v < V} and {@code 0 <= w < V}
+   * @throws IllegalArgumentException if the graph has no edge v-w
+   */
+  public void removeEdge(int v, int w) {
+    validateVertex(v);
+    validateVertex(w);
+    if (!remove(v, w)) throw new IllegalArgumentException("no edge " + v + "-" + w);
+    remove(w, v);
+    E--;
+    log(v, w, false);
+  }
+
+  private void append(int v, int w) {
+    if (degree[v] == adj[v].length) adj[v] = Arrays.copyOf(adj[v], 2*degree[v]);
+    adj[v][degree[v]++] = w;
+  }
+
+  // removes one occurrence of w from the neighbors of v, filling the gap with the last neighbor
+  private boolean remove(int v, int w) {
+    int[] a = adj[v];
+    for (int i = degree[v] - 1; i >= 0; i--) {
+      if (a[i] == w) {
+        a[i] = a[--degree[v]];
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void log(int v, int w, boolean added) {
+    int i = (int) (epoch & (LOG_CAPACITY - 1));
+    logV[i] = v;
+    logW[i] = w;
+    logAdded[i] = added;
+    epoch++;
+  }
+
+  /**
+   * Returns the first change still in the delta log. Changes are numbered
+   * from 0; change <em>c</em> took the graph from epoch <em>c</em> to epoch <em>c</em> + 1.
+   *
+   * @return the number of the oldest change that {@link #changeAdded},
+   *         {@link #changeV} and {@link #changeW} can report
+   */
+  public long oldestChange() {
+    return Math.max(0, epoch - LOG_CAPACITY);
+  }
+
+  /**
+   * Did change {@code c} add an edge (rather than remove one)?
+   *
+   * @param  c the change
+   * @return {@code true} if change {@code c} added an edge, {@code false} if it removed one
+   * @throws IllegalArgumentException unless {@code oldestChange() <= c < epoch()}
+   */
+  public boolean changeAdded(long c) {
+    return logAdded[logIndex(c)];
+  }
+
+  /**
+   * Returns the first endpoint of the edge added or removed by change {@code c}.
+   *
+   * @param  c the change
+   * @return the first endpoint of the edge of change {@code c}
+   * @throws IllegalArgumentException unless {@code oldestChange() <= c < epoch()}
+   */
+  public int changeV(long c) {
+    return logV[logIndex(c)];
+  }
+
+  /**
+   * Returns the second endpoint of the edge added or removed by change {@code c}.
+   *
+   * @param  c the change
+   * @return the second endpoint of the edge of change {@code c}
+   * @throws IllegalArgumentException unless {@code oldestChange() <= c < epoch()}
+   */
+  public int changeW(long c) {
+    return logW[logIndex(c)];
+  }
+
+  private int logIndex(long c) {
+    if (c < oldestChange() || c >= epoch)
+      throw new IllegalArgumentException("change " + c + " is not between " + oldestChange() + " and " + (epoch-1));
+    return (int) (c & (LOG_CAPACITY - 1));
+  }
+
+  /**
+   * Returns a cursor over the vertices adjacent to vertex {@code v}.
+   *
+   * @param  v the vertex
+   * @return the vertices adjacent to vertex {@code v}
+   * @throws IllegalArgumentException unless {@code 0 <= v < V}
+   */
+  public PrimitiveIterator.OfInt adj(int v) {
+    validateVertex(v);
+    int[] a = adj[v];
+    int n = degree[v];
+    return new PrimitiveIterator.OfInt() {
+      private int i;
+
+      public boolean hasNext() {
+        return i < n;
+      }
+
+      public int nextInt() {
+        if (!hasNext()) throw new NoSuchElementException();
+        return a[i++];
+      }
+    };
+  }
+
+  /**
+   * Returns the degree of vertex {@code v}.
+   *
+   * @param  v the vertex
+   * @return the degree of vertex {@code v}
+   * @throws IllegalArgumentException unless {@code 0 <= v < V}
+   */
+  public int degree(int v) {
+    validateVertex(v);
+    return degree[v];
+  }
+
+  // the neighbors of v are neighbors(v)[0..degree[v]-1]; no validation, no copy
+  int[] neighbors(int v) {
+    return adj[v];
+  }
+
+  int degreeOf(int v) {
+    return degree[v];
+  }
+
+  /**
+   * Returns an immutable copy of the current graph, for algorithms that run
+   * on a {@link CSRGraph}.
+   *
+   * @return the current graph in compressed sparse row form
+   */
+  public CSRGraph snapshot() {
+    int[] offsets = new int[V + 1];
+    for (int v = 0; v < V; v++)
+      offsets[v+1] = offsets[v] + degree[v];
+    int[] targets = new int[offsets[V]];
+    for (int v = 0; v < V; v++)
+      System.arraycopy(adj[v], 0, targets, offsets[v], degree[v]);
+    return new CSRGraph(V, E, offsets, targets);
+  }
+
+  /**
+   * Returns a string representation of this graph.
+   *
+   * @return the number of vertices <em>V</em>, followed by the number of edges <em>E</em>,
+   *         followed by the epoch, followed by the <em>V</em> adjacency lists
+   */
+  public String toString() {
+    StringBuilder s = new StringBuilder();
+    s.append(V).append(" vertices, ").append(E).append(" edges, epoch ").append(epoch).append(NEWLINE);
+    for (int v = 0; v < V; v++) {
+      s.append(v).append(": ");
+      for (int i = 0; i < degree[v]; i++) {
+        s.append(adj[v][i]).append(" ");
+      }
+      s.append(NEWLINE);
+    }
+    return s.toString();
+  }
+
+  /**
+   * Unit tests the {@code VersionedGraph} data type.
+   * Reads <em>V</em>, then changes {@code + v w} (add) or {@code - v w} (remove).
+   *
+   * @param args the command-line arguments
+   */
+  public static void main(String[] args) {
+    VersionedGraph G = new VersionedGraph(StdIn.readInt());
+    while (!StdIn.isEmpty()) {
+      String op = StdIn.readString();
+      int v = StdIn.readInt();
+      int w = StdIn.readInt();
+      if      (op.equals("+")) G.addEdge(v, w);
+      else if (op.equals("-")) G.removeEdge(v, w);
+      else throw new IllegalArgumentException("unknown operation: " + op);
+    }
+
+    StdOut.println(G);
+    for (long c = G.oldestChange(); c < G.epoch(); c++)
+      StdOut.println(c + ": " + (G.changeAdded(c) ? "+ " : "- ") + G.changeV(c) + " " + G.changeW(c));
+  }
+
+}
@@ -0,0 +1,212 @@
+package libs;
+
+/******************************************************************************
+ *  Compilation:  javac AliasSampler.java
+ *  Execution:    java AliasSampler n trials
+ *  Dependencies: StdRandom.java RandomEngine.java StdOut.java
+ *
+ *  Samples from a discrete distribution in constant time per sample,
+ *  using Vose's version of Walker's alias method.
+ *
+ *  % java AliasSampler 4 1000000
+ *  0  0.10000  0.09993
+ *  1  0.20000  0.19930
+ *  2  0.30000  0.30009
+ *  3  0.40000  0.40068
+ *
+ ******************************************************************************/
+
+/**
+ *  The {@code AliasSampler} class represents a discrete distribution on the
+ *  integers 0 through <em>n</em> - 1, prepared for repeated sampling.
+ *  <p>
+ *  {@link StdRandom#discrete(double[])} scans the array for every sample.
+ *  Instead, the constructor spends linear time building Walker's alias
+ *  table, with Vose's stable algorithm: <em>n</em> columns of equal
+ *  probability, column <em>i</em> holding <em>i</em> with probability
+ *  {@code prob[i]} and one other integer {@code alias[i]} otherwise. A sample
+ *  picks a column uniformly and then one of its two integers, in constant
+ *  time whatever <em>n</em>.
+ *  <p>
+ *  The methods without a {@link RandomEngine} argument use the engine of the
+ *  calling thread in {@link StdRandom}. A sampler is immutable, so it can be
+ *  shared by threads.
+ */
+public final class AliasSampler {
+  private final double[] prob;   // probability of keeping the column's own integer
+  private final int[] alias;     // the other integer of each column
+
+  /**
+   * Initializes a sampler that returns {@code i} with probability {@code probabilities[i]}.
+   *
+   * @param  probabilities the probability of occurrence of each integer
+   * @throws IllegalArgumentException if {@code probabilities} is {@code null} or empty
+   * @throws IllegalArgumentException if sum of array entries is not (very nearly) equal to {@code 1.0}
+   * @throws IllegalArgumentException unless {@code probabilities[i] >= 0.0} for each index {@code i}
+   */
+  public AliasSampler(double[] probabilities) {
+    if (probabilities == null) throw new IllegalArgumentException("argument array is null");
+    if (probabilities.length == 0) throw new IllegalArgumentException("argument array is empty");
+    double EPSILON = 1E-14;
+    double sum = 0.0;
+    for (int i = 0; i < probabilities.length; i++) {
+      if (!(probabilities[i] >= 0.0))
+        throw new IllegalArgumentException("array entry " + i + " must be nonnegative: " + probabilities[i]);
+      sum += probabilities[i];
+    }
+    if (sum > 1.0 + EPSILON || sum < 1.0 - EPSILON)
+      throw new IllegalArgumentException("sum of array entries does not approximately equal 1.0: " + sum);
+    int n = probabilities.length;
+    prob = new double[n];
+    alias = new int[n];
+    double[] p = new double[n];
+    for (int i = 0; i < n; i++)
+      p[i] = probabilities[i] / sum * n;
+    build(p);
+  }
+
+  /**
+   * Initializes a sampler that returns {@code i} with probability proportional
+   * to {@code frequencies[i]}.
+   *
+   * @param  frequencies the frequency of occurrence of each integer
+   * @throws IllegalArgumentException if {@code frequencies} is {@code null}
+   * @throws IllegalArgumentException if all array entries are {@code 0}
+   * @throws IllegalArgumentException if {@code frequencies[i]} is negative for any index {@code i}
+   */
+  public AliasSampler(int[] frequencies) {
+    if (frequencies == null) throw new IllegalArgumentException("argument array is null");
+    long sum = 0;
+    for (int i = 0; i < frequencies.length; i++) {
+      if (frequencies[i] < 0)
+        throw new IllegalArgumentException("array entry " + i + " must be nonnegative: " + frequencies[i]);
+      sum += frequencies[i];
+    }
+    if (sum == 0)
+      throw new IllegalArgumentException("at least one array entry must be positive");
+    int n = frequencies.length;
+    prob = new double[n];
+    alias = new int[n];
+    double[] p = new double[n];
+    for (int i = 0; i < n; i++)
+      p[i] = (double) frequencies[i] * n / sum;
+    build(p);
+  }
+
+  // Vose's algorithm: pairs each column with less than its share with one with more
+  private void build(double[] p) {
+    int n = p.length;
+    int[] small = new int[n];   // stack of columns with p < 1
+    int[] large = new int[n];   // stack of columns with p >= 1
+    int s = 0, l = 0;
+    for (int i = 0; i < n; i++) {
+      if (p[i] < 1.0) small[s++] = i;
+      else            large[l++] = i;
+    }
+    while (s > 0 && l > 0) {
+      int less = small[--s];
+      int more = large[--l];
+      prob[less] = p[less];
+      alias[less] = more;
+      p[more] = (p[more] + p[less]) - 1.0;
+      if (p[more] < 1.0) small[s++] = more;
+      else               large[l++] = more;
+    }
+    // what remains is 1 up to roundoff
+    while (l > 0) {
+      int i = large[--l];
+      prob[i] = 1.0;
+      alias[i] = i;
+    }
+    while (s > 0) {
+      int i = small[--s];
+      prob[i] = 1.0;
+      alias[i] = i;
+    }
+  }
+
+  /**
+   * Returns the number of integers <em>n</em>.
+   *
+   * @return the number of integers
+   */
+  public int size() {
+    return prob.length;
+  }
+
+  /**
+   * Returns a random integer from the distribution.
+   *
+   * @return a random integer from the distribution
+   */
+  public int sample() {
+    return sample(StdRandom.engine());
+  }
+
+  /**
+   * Returns a random integer from the distribution, using the given engine.
+   *
+   * @param  random the engine
+   * @return a random integer from the distribution
+   */
+  public int sample(RandomEngine random) {
+    int i = random.nextInt(prob.length);
+    double p = prob[i];
+    if (p == 1.0 || random.nextDouble() < p) return i;
+    return alias[i];
+  }
+
+  /**
+   * Fills the array {@code a} with random integers from the distribution.
+   *
+   * @param  a the array
+   * @throws IllegalArgumentException if {@code a} is {@code null}
+   */
+  public void sample(int[] a) {
+    sample(StdRandom.engine(), a);
+  }
+
+  /**
+   * Fills the array {@code a} with random integers from the distribution,
+   * using the given engine.
+   *
+   * @param  random the engine
+   * @param  a the array
+   * @throws IllegalArgumentException if {@code a} is {@code null}
+   */
+  public void sample(RandomEngine random, int[] a) {
+    if (a == null) throw new IllegalArgumentException("argument array is null");
+    double[] prob = this.prob;
+    int[] alias = this.alias;
+    int n = prob.length;
+    for (int k = 0; k < a.length; k++) {
+      int i = random.nextInt(n);
+      double p = prob[i];
+      a[k] = p == 1.0 || random.nextDouble() < p ? i : alias[i];
+    }
+  }
+
+  /**
+   * Unit tests the {@code AliasSampler} data type.
+   * Samples a distribution proportional to 1, 2, ..., <em>n</em> and prints
+   * each probability next to its observed frequency.
+   *
+   * @param args the command-line arguments
+   */
+  public static void main(String[] args) {
+    int n = Integer.parseInt(args[0]);
+    int trials = Integer.parseInt(args[1]);
+    int[] frequencies = new int[n];
+    for (int i = 0; i < n; i++)
+      frequencies[i] = i + 1;
+    AliasSampler sampler = new AliasSampler(frequencies);
+    int[] samples = new int[trials];
+    sampler.sample(samples);
+    int[] count = new int[n];
+    for (int x : samples)
+      count[x]++;
+    double total = n * (n + 1) / 2.0;
+    for (int i = 0; i < n; i++)
+      StdOut.printf("%d  %.5f  %.5f\n", i, frequencies[i] / total, (double) count[i] / trials);
+  }
+}
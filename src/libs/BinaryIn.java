@@ -11,7 +11,6 @@ package libs;
  *
  ******************************************************************************/
 
-import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -33,6 +32,11 @@ import java.util.NoSuchElementException;
  *  The binary input stream can be from standard input, a filename,
  *  a URL name, a Socket, or an InputStream.
  *  <p>
+ *  Local files are read through a {@link MappedInputStream}, a memory
+ *  mapping of the file. Bits are extracted by a {@link BitReader}, a
+ *  64-bit word at a time, and {@link #readInts(int[], int)} and
+ *  {@link #readBytes(byte[], int, int)} read many values in one call.
+ *  <p>
  *  All primitive types are assumed to be represented using their
  *  standard Java representations, in big-endian (most significant
  *  byte first) order.
@@ -44,18 +48,13 @@ import java.util.NoSuchElementException;
  *  @author Kevin Wayne
  */
 public final class BinaryIn {
-  private static final int EOF = -1;   // end of file
-
-  private BufferedInputStream in;      // the input stream
-  private int buffer;                  // one character buffer
-  private int n;                       // number of bits left in buffer
+  private BitReader reader;            // reads the input stream a 64-bit word at a time
 
   /**
    * Initializes a binary input stream from standard input.
    */
   public BinaryIn() {
-    in = new BufferedInputStream(System.in);
-    fillBuffer();
+    open(System.in);
   }
 
   /**
@@ -64,8 +63,7 @@ public final class BinaryIn {
    * @param is the {@code InputStream} object
    */
   public BinaryIn(InputStream is) {
-    in = new BufferedInputStream(is);
-    fillBuffer();
+    open(is);
   }
 
   /**
@@ -76,8 +74,7 @@ public final class BinaryIn {
   public BinaryIn(Socket socket) {
     try {
       InputStream is = socket.getInputStream();
-      in = new BufferedInputStream(is);
-      fillBuffer();
+      open(is);
     }
     catch (IOException ioe) {
       System.err.println("Could not open " + socket);
@@ -93,8 +90,7 @@ public final class BinaryIn {
     try {
       URLConnection site = url.openConnection();
       InputStream is     = site.getInputStream();
-      in = new BufferedInputStream(is);
-      fillBuffer();
+      open(is);
     }
     catch (IOException ioe) {
       System.err.println("Could not open " + url);
@@ -111,10 +107,12 @@ public final class BinaryIn {
     try {
       // first try to read file from local file system
       File file = new File(name);
+      if (file.isFile()) {
+        open(new MappedInputStream(file));
+        return;
+      }
       if (file.exists()) {
-        FileInputStream fis = new FileInputStream(file);
-        in = new BufferedInputStream(fis);
-        fillBuffer();
+        open(new FileInputStream(file));
         return;
       }
 
@@ -128,24 +126,15 @@ public final class BinaryIn {
 
       URLConnection site = url.openConnection();
       InputStream is     = site.getInputStream();
-      in = new BufferedInputStream(is);
-      fillBuffer();
+      open(is);
     }
     catch (IOException ioe) {
       System.err.println("Could not open " + name);
     }
   }
 
-  private void fillBuffer() {
-    try {
-      buffer = in.read();
-      n = 8;
-    }
-    catch (IOException e) {
-      System.err.println("EOF");
-      buffer = EOF;
-      n = -1;
-    }
+  private void open(InputStream is) {
+    reader = new BitReader(is);
   }
 
   /**
@@ -155,7 +144,7 @@ public final class BinaryIn {
    *         {@code false} otherwise
    */
   public boolean exists()  {
-    return in != null;
+    return reader != null;
   }
 
   /**
@@ -165,7 +154,7 @@ public final class BinaryIn {
    *         {@code false} otherwise
    */
   public boolean isEmpty() {
-    return buffer == EOF;
+    return reader.isEmpty();
   }
 
   /**
@@ -175,11 +164,7 @@ public final class BinaryIn {
    * @throws NoSuchElementException if this binary input stream is empty
    */
   public boolean readBoolean() {
-    if (isEmpty()) throw new NoSuchElementException("Reading from empty input stream");
-    n--;
-    boolean bit = ((buffer >> n) & 1) == 1;
-    if (n == 0) fillBuffer();
-    return bit;
+    return reader.readBoolean();
   }
 
   /**
@@ -189,53 +174,22 @@ public final class BinaryIn {
    * @throws NoSuchElementException if there are fewer than 8 bits available
    */
   public char readChar() {
-    if (isEmpty()) throw new NoSuchElementException("Reading from empty input stream");
-
-    // special case when aligned byte
-    if (n == 8) {
-      int x = buffer;
-      fillBuffer();
-      return (char) (x & 0xff);
-    }
-
-    // combine last N bits of current buffer with first 8-N bits of new buffer
-    int x = buffer;
-    x <<= (8 - n);
-    int oldN = n;
-    fillBuffer();
-    if (isEmpty()) throw new NoSuchElementException("Reading from empty input stream");
-    n = oldN;
-    x |= (buffer >>> n);
-    return (char) (x & 0xff);
-    // the above code doesn't quite work for the last character if N = 8
-    // because buffer will be -1
+    return (char) reader.readInt(8);
   }
 
-
   /**
    * Reads the next r bits from this binary input stream and return as an r-bit character.
    *
    * @param  r number of bits to read
-   * @return the next {@code r} bits of data from this binary input streamt as a {@code char}
+   * @return the next {@code r} bits of data from this binary input stream as a {@code char}
    * @throws NoSuchElementException if there are fewer than {@code r} bits available
    * @throws IllegalArgumentException unless {@code 1 <= r <= 16}
    */
   public char readChar(int r) {
     if (r < 1 || r > 16) throw new IllegalArgumentException("Illegal value of r = " + r);
-
-    // optimize r = 8 case
-    if (r == 8) return readChar();
-
-    char x = 0;
-    for (int i = 0; i < r; i++) {
-      x <<= 1;
-      boolean bit = readBoolean();
-      if (bit) x |= 1;
-    }
-    return x;
+    return (char) reader.readInt(r);
   }
 
-
   /**
    * Reads the remaining bytes of data from this binary input stream and return as a string.
    *
@@ -254,7 +208,6 @@ public final class BinaryIn {
     return sb.toString();
   }
 
-
   /**
    * Reads the next 16 bits from this binary input stream and return as a 16-bit short.
    *
@@ -262,13 +215,7 @@ public final class BinaryIn {
    * @throws NoSuchElementException if there are fewer than 16 bits available
    */
   public short readShort() {
-    short x = 0;
-    for (int i = 0; i < 2; i++) {
-      char c = readChar();
-      x <<= 8;
-      x |= c;
-    }
-    return x;
+    return reader.readShort();
   }
 
   /**
@@ -278,13 +225,7 @@ public final class BinaryIn {
    * @throws NoSuchElementException if there are fewer than 32 bits available
    */
   public int readInt() {
-    int x = 0;
-    for (int i = 0; i < 4; i++) {
-      char c = readChar();
-      x <<= 8;
-      x |= c;
-    }
-    return x;
+    return reader.readInt();
   }
 
   /**
@@ -296,18 +237,19 @@ public final class BinaryIn {
    * @throws IllegalArgumentException unless {@code 1 <= r <= 32}
    */
   public int readInt(int r) {
-    if (r < 1 || r > 32) throw new IllegalArgumentException("Illegal value of r = " + r);
-
-    // optimize r = 32 case
-    if (r == 32) return readInt();
+    return reader.readInt(r);
+  }
 
-    int x = 0;
-    for (int i = 0; i < r; i++) {
-      x <<= 1;
-      boolean bit = readBoolean();
-      if (bit) x |= 1;
-    }
-    return x;
+  /**
+   * Reads {@code a.length} values of r bits each from this binary input stream into the array {@code a}.
+   *
+   * @param  a the array
+   * @param  r number of bits of each value
+   * @throws NoSuchElementException if there are fewer than {@code r * a.length} bits available
+   * @throws IllegalArgumentException unless {@code 1 <= r <= 32}
+   */
+  public void readInts(int[] a, int r) {
+    reader.readInts(a, r);
   }
 
   /**
@@ -317,13 +259,7 @@ public final class BinaryIn {
    * @throws NoSuchElementException if there are fewer than 64 bits available
    */
   public long readLong() {
-    long x = 0;
-    for (int i = 0; i < 8; i++) {
-      char c = readChar();
-      x <<= 8;
-      x |= c;
-    }
-    return x;
+    return reader.readLong();
   }
 
   /**
@@ -354,8 +290,19 @@ public final class BinaryIn {
    * @throws NoSuchElementException if there are fewer than 8 bits available
    */
   public byte readByte() {
-    char c = readChar();
-    return (byte) (c & 0xff);
+    return reader.readByte();
+  }
+
+  /**
+   * Reads {@code length} bytes from this binary input stream into {@code a[offset..offset+length-1]}.
+   *
+   * @param  a the array
+   * @param  offset the index in {@code a} of the first byte
+   * @param  length the number of bytes
+   * @throws NoSuchElementException if there are fewer than {@code 8 * length} bits available
+   */
+  public void readBytes(byte[] a, int offset, int length) {
+    reader.readBytes(a, offset, length);
   }
 
   /**
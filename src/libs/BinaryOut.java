@@ -14,8 +14,7 @@ package libs;
  *
  ******************************************************************************/
 
-import java.io.BufferedOutputStream;
-import java.io.FileOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.Socket;
@@ -30,6 +29,10 @@ import java.net.Socket;
  *  <p>
  *  The client must {@code flush()} the output stream when finished writing bits.
  *  <p>
+ *  Bits are packed by a {@link BitWriter}, a 64-bit word at a time, into a
+ *  1 MB buffer; {@link #write(int[], int)} and {@link #write(byte[], int, int)}
+ *  write many values in one call.
+ *  <p>
  *  The client should not intermixing calls to {@code BinaryOut} with calls
  *  to {@code Out}; otherwise unexpected behavior will result.
  *
@@ -38,16 +41,14 @@ import java.net.Socket;
  */
 public final class BinaryOut {
 
-  private BufferedOutputStream out;  // the output stream
-  private int buffer;                // 8-bit buffer of bits to write out
-  private int n;                     // number of bits remaining in buffer
+  private BitWriter writer;          // writes the output a 64-bit word at a time
 
 
   /**
    * Initializes a binary output stream from standard output.
    */
   public BinaryOut() {
-    out = new BufferedOutputStream(System.out);
+    writer = new BitWriter(System.out);
   }
 
   /**
@@ -55,7 +56,7 @@ public final class BinaryOut {
    * @param os the {@code OutputStream}
    */
   public BinaryOut(OutputStream os) {
-    out = new BufferedOutputStream(os);
+    writer = new BitWriter(os);
   }
 
   /**
@@ -63,9 +64,19 @@ public final class BinaryOut {
    * @param filename the name of the file
    */
   public BinaryOut(String filename) {
+    this(filename, false);
+  }
+
+  /**
+   * Initializes a binary output stream from a file, writing through a
+   * {@link java.nio.channels.FileChannel}. If {@code async} is true, full
+   * buffers are written on a background thread while the client keeps writing.
+   * @param filename the name of the file
+   * @param async write in the background?
+   */
+  public BinaryOut(String filename, boolean async) {
     try {
-      OutputStream os = new FileOutputStream(filename);
-      out = new BufferedOutputStream(os);
+      writer = new BitWriter(new File(filename), async);
     }
     catch (IOException e) {
       e.printStackTrace();
@@ -79,7 +90,7 @@ public final class BinaryOut {
   public BinaryOut(Socket socket) {
     try {
       OutputStream os = socket.getOutputStream();
-      out = new BufferedOutputStream(os);
+      writer = new BitWriter(os);
     }
     catch (IOException e) {
       e.printStackTrace();
@@ -87,71 +98,12 @@ public final class BinaryOut {
   }
 
 
-  /**
-   * Writes the specified bit to the binary output stream.
-   * @param x the bit
-   */
-  private void writeBit(boolean x) {
-    // add bit to buffer
-    buffer <<= 1;
-    if (x) buffer |= 1;
-
-    // if buffer is full (8 bits), write out as a single byte
-    n++;
-    if (n == 8) clearBuffer();
-  }
-
-  /**
-   * Writes the 8-bit byte to the binary output stream.
-   * @param x the byte
-   */
-  private void writeByte(int x) {
-    assert x >= 0 && x < 256;
-
-    // optimized if byte-aligned
-    if (n == 0) {
-      try {
-        out.write(x);
-      }
-      catch (IOException e) {
-        e.printStackTrace();
-      }
-      return;
-    }
-
-    // otherwise write one bit at a time
-    for (int i = 0; i < 8; i++) {
-      boolean bit = ((x >>> (8 - i - 1)) & 1) == 1;
-      writeBit(bit);
-    }
-  }
-
-  // write out any remaining bits in buffer to the binary output stream, padding with 0s
-  private void clearBuffer() {
-    if (n == 0) return;
-    if (n > 0) buffer <<= (8 - n);
-    try {
-      out.write(buffer);
-    }
-    catch (IOException e) {
-      e.printStackTrace();
-    }
-    n = 0;
-    buffer = 0;
-  }
-
   /**
    * Flushes the binary output stream, padding 0s if number of bits written so far
    * is not a multiple of 8.
    */
   public void flush() {
-    clearBuffer();
-    try {
-      out.flush();
-    }
-    catch (IOException e) {
-      e.printStackTrace();
-    }
+    writer.flush();
   }
 
   /**
@@ -159,13 +111,7 @@ public final class BinaryOut {
    * Once it is closed, bits can no longer be written.
    */
   public void close() {
-    flush();
-    try {
-      out.close();
-    }
-    catch (IOException e) {
-      e.printStackTrace();
-    }
+    writer.close();
   }
 
 
@@ -174,7 +120,7 @@ public final class BinaryOut {
    * @param x the {@code boolean} to write
    */
   public void write(boolean x) {
-    writeBit(x);
+    writer.write(x);
   }
 
   /**
@@ -182,7 +128,7 @@ public final class BinaryOut {
    * @param x the {@code byte} to write.
    */
   public void write(byte x) {
-    writeByte(x & 0xff);
+    writer.write(x, 8);
   }
 
   /**
@@ -190,10 +136,7 @@ public final class BinaryOut {
    * @param x the {@code int} to write
    */
   public void write(int x) {
-    writeByte((x >>> 24) & 0xff);
-    writeByte((x >>> 16) & 0xff);
-    writeByte((x >>>  8) & 0xff);
-    writeByte((x >>>  0) & 0xff);
+    writer.write(x, 32);
   }
 
   /**
@@ -211,10 +154,7 @@ public final class BinaryOut {
     }
     if (r < 1 || r > 32) throw new IllegalArgumentException("Illegal value for r = " + r);
     if (x >= (1 << r))   throw new IllegalArgumentException("Illegal " + r + "-bit char = " + x);
-    for (int i = 0; i < r; i++) {
-      boolean bit = ((x >>> (r - i - 1)) & 1) == 1;
-      writeBit(bit);
-    }
+    writer.write(x, r);
   }
 
 
@@ -231,14 +171,7 @@ public final class BinaryOut {
    * @param x the {@code long} to write
    */
   public void write(long x) {
-    writeByte((int) ((x >>> 56) & 0xff));
-    writeByte((int) ((x >>> 48) & 0xff));
-    writeByte((int) ((x >>> 40) & 0xff));
-    writeByte((int) ((x >>> 32) & 0xff));
-    writeByte((int) ((x >>> 24) & 0xff));
-    writeByte((int) ((x >>> 16) & 0xff));
-    writeByte((int) ((x >>>  8) & 0xff));
-    writeByte((int) ((x >>>  0) & 0xff));
+    writer.write(x, 64);
   }
 
   /**
@@ -254,8 +187,7 @@ public final class BinaryOut {
    * @param x the {@code short} to write.
    */
   public void write(short x) {
-    writeByte((x >>>  8) & 0xff);
-    writeByte((x >>>  0) & 0xff);
+    writer.write(x, 16);
   }
 
   /**
@@ -266,7 +198,7 @@ public final class BinaryOut {
    */
   public void write(char x) {
     if (x < 0 || x >= 256) throw new IllegalArgumentException("Illegal 8-bit char = " + x);
-    writeByte(x);
+    writer.write(x, 8);
   }
 
   /**
@@ -284,10 +216,29 @@ public final class BinaryOut {
     }
     if (r < 1 || r > 16) throw new IllegalArgumentException("Illegal value for r = " + r);
     if (x >= (1 << r))   throw new IllegalArgumentException("Illegal " + r + "-bit char = " + x);
-    for (int i = 0; i < r; i++) {
-      boolean bit = ((x >>> (r - i - 1)) & 1) == 1;
-      writeBit(bit);
-    }
+    writer.write(x, r);
+  }
+
+  /**
+   * Writes the low r bits of each of the ints in {@code a} to the binary output stream.
+   *
+   * @param  a the {@code int} values to write
+   * @param  r the number of relevant bits in each value
+   * @throws IllegalArgumentException unless {@code r} is between 1 and 32
+   */
+  public void write(int[] a, int r) {
+    writer.write(a, r);
+  }
+
+  /**
+   * Writes the bytes {@code a[offset..offset+length-1]} to the binary output stream.
+   *
+   * @param  a the {@code byte} values to write
+   * @param  offset the index in {@code a} of the first byte
+   * @param  length the number of bytes
+   */
+  public void write(byte[] a, int offset, int length) {
+    writer.write(a, offset, length);
   }
 
   /**
@@ -12,8 +12,7 @@ package libs;
  *
  ******************************************************************************/
 
-import java.io.BufferedInputStream;
-import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.NoSuchElementException;
 
 /**
@@ -26,7 +25,9 @@ import java.util.NoSuchElementException;
  *  <p>
  *  All primitive types are assumed to be represented using their
  *  standard Java representations, in big-endian (most significant
- *  byte first) order.
+ *  byte first) order. Bits are extracted by a {@link BitReader}, a 64-bit
+ *  word at a time, and {@link #readInts(int[], int)} and
+ *  {@link #readBytes(byte[], int, int)} read many values in one call.
  *  <p>
  *  The client should not intermix calls to {@code BinaryStdIn} with calls
  *  to {@code StdIn} or {@code System.in};
@@ -36,41 +37,21 @@ import java.util.NoSuchElementException;
  *  @author Kevin Wayne
  */
 public final class BinaryStdIn {
-  private static BufferedInputStream in = new BufferedInputStream(System.in);
-  private static final int EOF = -1;    // end of file
-
-  private static int buffer;            // one character buffer
-  private static int n;                 // number of bits left in buffer
-
-  // static initializer
-  static {
-    fillBuffer();
-  }
+  // reads standard input a 64-bit word at a time
+  private static final BitReader reader = new BitReader(System.in);
 
   // don't instantiate
   private BinaryStdIn() { }
 
-  private static void fillBuffer() {
-    try {
-      buffer = in.read();
-      n = 8;
-    }
-    catch (IOException e) {
-      System.out.println("EOF");
-      buffer = EOF;
-      n = -1;
-    }
-  }
-
   /**
    * Close this input stream and release any associated system resources.
    */
   public static void close() {
     try {
-      in.close();
+      reader.close();
     }
-    catch (IOException ioe) {
-      throw new IllegalStateException("Could not close BinaryStdIn", ioe);
+    catch (UncheckedIOException e) {
+      throw new IllegalStateException("Could not close BinaryStdIn", e.getCause());
     }
   }
 
@@ -79,7 +60,7 @@ public final class BinaryStdIn {
    * @return true if and only if standard input is empty
    */
   public static boolean isEmpty() {
-    return buffer == EOF;
+    return reader.isEmpty();
   }
 
   /**
@@ -89,11 +70,7 @@ public final class BinaryStdIn {
    * @throws NoSuchElementException if standard input is empty
    */
   public static boolean readBoolean() {
-    if (isEmpty()) throw new NoSuchElementException("Reading from empty input stream");
-    n--;
-    boolean bit = ((buffer >> n) & 1) == 1;
-    if (n == 0) fillBuffer();
-    return bit;
+    return reader.readBoolean();
   }
 
   /**
@@ -105,26 +82,7 @@ public final class BinaryStdIn {
    * @throws NoSuchElementException if there are fewer than 8 bits available on standard input
    */
   public static char readChar() {
-    if (isEmpty()) throw new NoSuchElementException("Reading from empty input stream");
-
-    // special case when aligned byte
-    if (n == 8) {
-      int x = buffer;
-      fillBuffer();
-      return (char) (x & 0xff);
-    }
-
-    // combine last n bits of current buffer with first 8-n bits of new buffer
-    int x = buffer;
-    x <<= (8 - n);
-    int oldN = n;
-    fillBuffer();
-    if (isEmpty()) throw new NoSuchElementException("Reading from empty input stream");
-    n = oldN;
-    x |= (buffer >>> n);
-    return (char) (x & 0xff);
-    // the above code doesn't quite work for the last character if n = 8
-    // because buffer will be -1, so there is a special case for aligned byte
+    return (char) reader.readInt(8);
   }
 
   /**
@@ -137,17 +95,7 @@ public final class BinaryStdIn {
    */
   public static char readChar(int r) {
     if (r < 1 || r > 16) throw new IllegalArgumentException("Illegal value of r = " + r);
-
-    // optimize r = 8 case
-    if (r == 8) return readChar();
-
-    char x = 0;
-    for (int i = 0; i < r; i++) {
-      x <<= 1;
-      boolean bit = readBoolean();
-      if (bit) x |= 1;
-    }
-    return x;
+    return (char) reader.readInt(r);
   }
 
   /**
@@ -168,7 +116,6 @@ public final class BinaryStdIn {
     return sb.toString();
   }
 
-
   /**
    * Reads the next 16 bits from standard input and return as a 16-bit short.
    *
@@ -176,13 +123,7 @@ public final class BinaryStdIn {
    * @throws NoSuchElementException if there are fewer than 16 bits available on standard input
    */
   public static short readShort() {
-    short x = 0;
-    for (int i = 0; i < 2; i++) {
-      char c = readChar();
-      x <<= 8;
-      x |= c;
-    }
-    return x;
+    return reader.readShort();
   }
 
   /**
@@ -192,13 +133,7 @@ public final class BinaryStdIn {
    * @throws NoSuchElementException if there are fewer than 32 bits available on standard input
    */
   public static int readInt() {
-    int x = 0;
-    for (int i = 0; i < 4; i++) {
-      char c = readChar();
-      x <<= 8;
-      x |= c;
-    }
-    return x;
+    return reader.readInt();
   }
 
   /**
@@ -210,18 +145,19 @@ public final class BinaryStdIn {
    * @throws IllegalArgumentException unless {@code 1 <= r <= 32}
    */
   public static int readInt(int r) {
-    if (r < 1 || r > 32) throw new IllegalArgumentException("Illegal value of r = " + r);
-
-    // optimize r = 32 case
-    if (r == 32) return readInt();
+    return reader.readInt(r);
+  }
 
-    int x = 0;
-    for (int i = 0; i < r; i++) {
-      x <<= 1;
-      boolean bit = readBoolean();
-      if (bit) x |= 1;
-    }
-    return x;
+  /**
+   * Reads {@code a.length} values of r bits each from standard input into the array {@code a}.
+   *
+   * @param  a the array
+   * @param  r number of bits of each value
+   * @throws NoSuchElementException if there are fewer than {@code r * a.length} bits available on standard input
+   * @throws IllegalArgumentException unless {@code 1 <= r <= 32}
+   */
+  public static void readInts(int[] a, int r) {
+    reader.readInts(a, r);
   }
 
   /**
@@ -231,16 +167,9 @@ public final class BinaryStdIn {
    * @throws NoSuchElementException if there are fewer than 64 bits available on standard input
    */
   public static long readLong() {
-    long x = 0;
-    for (int i = 0; i < 8; i++) {
-      char c = readChar();
-      x <<= 8;
-      x |= c;
-    }
-    return x;
+    return reader.readLong();
   }
 
-
   /**
    * Reads the next 64 bits from standard input and return as a 64-bit double.
    *
@@ -269,8 +198,19 @@ public final class BinaryStdIn {
    * @throws NoSuchElementException if there are fewer than 8 bits available on standard input
    */
   public static byte readByte() {
-    char c = readChar();
-    return (byte) (c & 0xff);
+    return reader.readByte();
+  }
+
+  /**
+   * Reads {@code length} bytes from standard input into {@code a[offset..offset+length-1]}.
+   *
+   * @param  a the array
+   * @param  offset the index in {@code a} of the first byte
+   * @param  length the number of bytes
+   * @throws NoSuchElementException if there are fewer than {@code 8 * length} bits available on standard input
+   */
+  public static void readBytes(byte[] a, int offset, int length) {
+    reader.readBytes(a, offset, length);
   }
 
   /**
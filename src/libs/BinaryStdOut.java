@@ -13,9 +13,6 @@ package libs;
  *
  ******************************************************************************/
 
-import java.io.BufferedOutputStream;
-import java.io.IOException;
-
 /**
  *  <i>Binary standard output</i>. This class provides methods for converting
  *  primtive type variables ({@code boolean}, {@code byte}, {@code char},
@@ -25,6 +22,10 @@ import java.io.IOException;
  *  <p>
  *  The client must {@code flush()} the output stream when finished writing bits.
  *  <p>
+ *  Bits are packed by a {@link BitWriter}, a 64-bit word at a time, into a
+ *  1 MB buffer; {@link #write(int[], int)} and {@link #write(byte[], int, int)}
+ *  write many values in one call.
+ *  <p>
  *  The client should not intermixing calls to {@code BinaryStdOut} with calls
  *  to {@code StdOut} or {@code System.out}; otherwise unexpected behavior
  *  will result.
@@ -33,77 +34,18 @@ import java.io.IOException;
  *  @author Kevin Wayne
  */
 public final class BinaryStdOut {
-  private static BufferedOutputStream out = new BufferedOutputStream(System.out);
-
-  private static int buffer;     // 8-bit buffer of bits to write out
-  private static int n;          // number of bits remaining in buffer
+  // writes standard output a 64-bit word at a time
+  private static final BitWriter writer = new BitWriter(System.out);
 
   // don't instantiate
   private BinaryStdOut() { }
 
-  /**
-   * Write the specified bit to standard output.
-   */
-  private static void writeBit(boolean bit) {
-    // add bit to buffer
-    buffer <<= 1;
-    if (bit) buffer |= 1;
-
-    // if buffer is full (8 bits), write out as a single byte
-    n++;
-    if (n == 8) clearBuffer();
-  }
-
-  /**
-   * Write the 8-bit byte to standard output.
-   */
-  private static void writeByte(int x) {
-    assert x >= 0 && x < 256;
-
-    // optimized if byte-aligned
-    if (n == 0) {
-      try {
-        out.write(x);
-      }
-      catch (IOException e) {
-        e.printStackTrace();
-      }
-      return;
-    }
-
-    // otherwise write one bit at a time
-    for (int i = 0; i < 8; i++) {
-      boolean bit = ((x >>> (8 - i - 1)) & 1) == 1;
-      writeBit(bit);
-    }
-  }
-
-  // write out any remaining bits in buffer to standard output, padding with 0s
-  private static void clearBuffer() {
-    if (n == 0) return;
-    if (n > 0) buffer <<= (8 - n);
-    try {
-      out.write(buffer);
-    }
-    catch (IOException e) {
-      e.printStackTrace();
-    }
-    n = 0;
-    buffer = 0;
-  }
-
   /**
    * Flush standard output, padding 0s if number of bits written so far
    * is not a multiple of 8.
    */
   public static void flush() {
-    clearBuffer();
-    try {
-      out.flush();
-    }
-    catch (IOException e) {
-      e.printStackTrace();
-    }
+    writer.flush();
   }
 
   /**
@@ -111,13 +53,7 @@ public final class BinaryStdOut {
    * longer write bits to it.
    */
   public static void close() {
-    flush();
-    try {
-      out.close();
-    }
-    catch (IOException e) {
-      e.printStackTrace();
-    }
+    writer.close();
   }
 
 
@@ -126,7 +62,7 @@ public final class BinaryStdOut {
    * @param x the {@code boolean} to write.
    */
   public static void write(boolean x) {
-    writeBit(x);
+    writer.write(x);
   }
 
   /**
@@ -134,7 +70,7 @@ public final class BinaryStdOut {
    * @param x the {@code byte} to write.
    */
   public static void write(byte x) {
-    writeByte(x & 0xff);
+    writer.write(x, 8);
   }
 
   /**
@@ -142,10 +78,7 @@ public final class BinaryStdOut {
    * @param x the {@code int} to write.
    */
   public static void write(int x) {
-    writeByte((x >>> 24) & 0xff);
-    writeByte((x >>> 16) & 0xff);
-    writeByte((x >>>  8) & 0xff);
-    writeByte((x >>>  0) & 0xff);
+    writer.write(x, 32);
   }
 
   /**
@@ -162,10 +95,7 @@ public final class BinaryStdOut {
     }
     if (r < 1 || r > 32)        throw new IllegalArgumentException("Illegal value for r = " + r);
     if (x < 0 || x >= (1 << r)) throw new IllegalArgumentException("Illegal " + r + "-bit char = " + x);
-    for (int i = 0; i < r; i++) {
-      boolean bit = ((x >>> (r - i - 1)) & 1) == 1;
-      writeBit(bit);
-    }
+    writer.write(x, r);
   }
 
 
@@ -185,14 +115,7 @@ public final class BinaryStdOut {
    * @param x the {@code long} to write.
    */
   public static void write(long x) {
-    writeByte((int) ((x >>> 56) & 0xff));
-    writeByte((int) ((x >>> 48) & 0xff));
-    writeByte((int) ((x >>> 40) & 0xff));
-    writeByte((int) ((x >>> 32) & 0xff));
-    writeByte((int) ((x >>> 24) & 0xff));
-    writeByte((int) ((x >>> 16) & 0xff));
-    writeByte((int) ((x >>>  8) & 0xff));
-    writeByte((int) ((x >>>  0) & 0xff));
+    writer.write(x, 64);
   }
 
   /**
@@ -208,8 +131,7 @@ public final class BinaryStdOut {
    * @param x the {@code short} to write.
    */
   public static void write(short x) {
-    writeByte((x >>>  8) & 0xff);
-    writeByte((x >>>  0) & 0xff);
+    writer.write(x, 16);
   }
 
   /**
@@ -219,7 +141,7 @@ public final class BinaryStdOut {
    */
   public static void write(char x) {
     if (x < 0 || x >= 256) throw new IllegalArgumentException("Illegal 8-bit char = " + x);
-    writeByte(x);
+    writer.write(x, 8);
   }
 
   /**
@@ -236,10 +158,29 @@ public final class BinaryStdOut {
     }
     if (r < 1 || r > 16) throw new IllegalArgumentException("Illegal value for r = " + r);
     if (x >= (1 << r))   throw new IllegalArgumentException("Illegal " + r + "-bit char = " + x);
-    for (int i = 0; i < r; i++) {
-      boolean bit = ((x >>> (r - i - 1)) & 1) == 1;
-      writeBit(bit);
-    }
+    writer.write(x, r);
+  }
+
+  /**
+   * Write the low r bits of each of the ints in {@code a} to standard output.
+   *
+   * @param  a the {@code int} values to write
+   * @param  r the number of relevant bits in each value
+   * @throws IllegalArgumentException unless {@code r} is between 1 and 32
+   */
+  public static void write(int[] a, int r) {
+    writer.write(a, r);
+  }
+
+  /**
+   * Write the bytes {@code a[offset..offset+length-1]} to standard output.
+   *
+   * @param  a the {@code byte} values to write
+   * @param  offset the index in {@code a} of the first byte
+   * @param  length the number of bytes
+   */
+  public static void write(byte[] a, int offset, int length) {
+    writer.write(a, offset, length);
   }
 
   /**
@@ -0,0 +1,353 @@
+package libs;
+
+/******************************************************************************
+ *  Compilation:  javac BitReader.java
+ *  Execution:    java BitReader r < input
+ *  Dependencies: none
+ *
+ *  Reads fields of 1 to 64 bits from a stream of bytes, a 64-bit word
+ *  at a time.
+ *
+ *  % java BitReader 12 < input.bin
+ *
+ ******************************************************************************/
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.NoSuchElementException;
+
+/**
+ *  <i>Bit reader</i>. This class reads bits from an input stream, a byte
+ *  array or a {@link ByteBuffer}, most significant bit of each byte first,
+ *  and returns fields of <em>r</em> bits for any <em>r</em> from 1 to 64.
+ *  {@link BinaryIn} and {@link BinaryStdIn} delegate to it.
+ *  <p>
+ *  Instead of extracting one bit or one byte at a time, the reader keeps up
+ *  to 64 unread bits in a {@code long}, refilled 8 bytes at a time with a
+ *  single big-endian load from its block of input; an <em>r</em>-bit field
+ *  is then one shift of that word, whatever its alignment. The bulk methods
+ *  {@link #readInts(int[], int)} and {@link #readBytes(byte[], int, int)}
+ *  read many fields in one call.
+ *  <p>
+ *  A read that needs more bits than remain throws a
+ *  {@link NoSuchElementException} and consumes nothing.
+ */
+public final class BitReader {
+  private static final int BLOCK_SIZE = 1 << 16;
+  private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+  private final InputStream in;   // source of more bytes, or null
+  private final ByteBuffer from;  // source of more bytes, or null
+  private byte[] buf;             // unread bytes are buf[pos..lim-1]
+  private int pos;
+  private int lim;
+  private boolean eof;            // no more bytes beyond lim
+
+  // the next count bits of input are the high bits of word; the bits below
+  // them are zero or a copy of the bits that follow, so refilling can OR into them
+  private long word;
+  private int count;
+
+  /**
+   * Initializes a bit reader over an input stream.
+   *
+   * @param  in the input stream
+   * @throws IllegalArgumentException if {@code in} is {@code null}
+   */
+  public BitReader(InputStream in) {
+    if (in == null) throw new IllegalArgumentException("input stream is null");
+    this.in = in;
+    this.from = null;
+    buf = new byte[BLOCK_SIZE];
+  }
+
+  /**
+   * Initializes a bit reader over the bytes {@code bytes[0..length-1]}.
+   * The array is read in place, not copied.
+   *
+   * @param  bytes the bytes
+   * @param  length the number of bytes
+   * @throws IllegalArgumentException unless {@code 0 <= length <= bytes.length}
+   */
+  public BitReader(byte[] bytes, int length) {
+    if (length < 0 || length > bytes.length) throw new IllegalArgumentException("invalid length " + length);
+    this.in = null;
+    this.from = null;
+    buf = bytes;
+    lim = length;
+    eof = true;
+  }
+
+  /**
+   * Initializes a bit reader over the remaining bytes of a buffer, such as a
+   * memory-mapped file. The bytes are copied in blocks as they are read.
+   *
+   * @param  bytes the buffer
+   * @throws IllegalArgumentException if {@code bytes} is {@code null}
+   */
+  public BitReader(ByteBuffer bytes) {
+    if (bytes == null) throw new IllegalArgumentException("buffer is null");
+    this.in = null;
+    this.from = bytes;
+    buf = new byte[BLOCK_SIZE];
+  }
+
+  // moves the unread bytes to the front of the block and reads more
+  private void load() {
+    if (pos > 0) {
+      System.arraycopy(buf, pos, buf, 0, lim - pos);
+      lim -= pos;
+      pos = 0;
+    }
+    while (lim < buf.length && !eof) {
+      int n;
+      if (from != null) {
+        n = Math.min(from.remaining(), buf.length - lim);
+        from.get(buf, lim, n);
+        if (!from.hasRemaining()) eof = true;
+      }
+      else {
+        try {
+          n = in.read(buf, lim, buf.length - lim);
+        }
+        catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+        if (n < 0) {
+          eof = true;
+          n = 0;
+        }
+      }
+      lim += n;
+      if (lim - pos >= 8) break;
+    }
+  }
+
+  // moves whole bytes from the block into word until it holds at least 56 bits, or the input ends
+  private void refill() {
+    if (lim - pos < 8 && !eof) load();
+    if (lim - pos >= 8) {
+      word |= (long) LONG.get(buf, pos) >>> count;
+      int k = (63 - count) >>> 3;
+      pos += k;
+      count += k << 3;
+    }
+    else {
+      while (count <= 56 && pos < lim) {
+        word |= (long) (buf[pos++] & 0xff) << (56 - count);
+        count += 8;
+      }
+    }
+  }
+
+  // makes sure that word holds at least r <= 56 bits
+  private void require(int r) {
+    if (count < r) {
+      refill();
+      if (count < r) throw new NoSuchElementException("Reading from empty input stream");
+    }
+  }
+
+  /**
+   * Returns true if there are no more bits to read.
+   *
+   * @return {@code true} if the input is exhausted; {@code false} otherwise
+   */
+  public boolean isEmpty() {
+    if (count == 0) refill();
+    return count == 0;
+  }
+
+  /**
+   * Reads the next bit and returns it as a boolean.
+   *
+   * @return the next bit
+   * @throws NoSuchElementException if the input is exhausted
+   */
+  public boolean readBoolean() {
+    require(1);
+    boolean bit = word < 0;
+    word <<= 1;
+    count--;
+    return bit;
+  }
+
+  /**
+   * Reads the next {@code r} bits and returns them as an {@code r}-bit int.
+   *
+   * @param  r number of bits to read
+   * @return the next {@code r} bits, as the low bits of an {@code int}
+   * @throws NoSuchElementException if there are fewer than {@code r} bits available
+   * @throws IllegalArgumentException unless {@code 1 <= r <= 32}
+   */
+  public int readInt(int r) {
+    if (r < 1 || r > 32) throw new IllegalArgumentException("Illegal value of r = " + r);
+    require(r);
+    int x = (int) (word >>> (64 - r));
+    word <<= r;
+    count -= r;
+    return x;
+  }
+
+  /**
+   * Reads the next {@code r} bits and returns them as an {@code r}-bit long.
+   *
+   * @param  r number of bits to read
+   * @return the next {@code r} bits, as the low bits of a {@code long}
+   * @throws NoSuchElementException if there are fewer than {@code r} bits available
+   * @throws IllegalArgumentException unless {@code 1 <= r <= 64}
+   */
+  public long readLong(int r) {
+    if (r < 1 || r > 64) throw new IllegalArgumentException("Illegal value of r = " + r);
+    if (r <= 56) {
+      require(r);
+      long x = word >>> (64 - r);
+      word <<= r;
+      count -= r;
+      return x;
+    }
+    // more than a refill guarantees: check that all r bits are there, then read two halves
+    if (count + 8L * (lim - pos) < r) {
+      if (!eof) load();
+      if (count + 8L * (lim - pos) < r) throw new NoSuchElementException("Reading from empty input stream");
+    }
+    long high = readLong(32);
+    return high << (r - 32) | readLong(r - 32);
+  }
+
+  /**
+   * Reads the next 8 bits and returns them as an 8-bit byte.
+   *
+   * @return the next 8 bits, as a {@code byte}
+   * @throws NoSuchElementException if there are fewer than 8 bits available
+   */
+  public byte readByte() {
+    return (byte) readInt(8);
+  }
+
+  /**
+   * Reads the next 16 bits and returns them as a 16-bit short.
+   *
+   * @return the next 16 bits, as a {@code short}
+   * @throws NoSuchElementException if there are fewer than 16 bits available
+   */
+  public short readShort() {
+    return (short) readInt(16);
+  }
+
+  /**
+   * Reads the next 32 bits and returns them as a 32-bit int.
+   *
+   * @return the next 32 bits, as an {@code int}
+   * @throws NoSuchElementException if there are fewer than 32 bits available
+   */
+  public int readInt() {
+    return readInt(32);
+  }
+
+  /**
+   * Reads the next 64 bits and returns them as a 64-bit long.
+   *
+   * @return the next 64 bits, as a {@code long}
+   * @throws NoSuchElementException if there are fewer than 64 bits available
+   */
+  public long readLong() {
+    return readLong(64);
+  }
+
+  /**
+   * Reads {@code a.length} fields of {@code r} bits each into the array {@code a}.
+   *
+   * @param  a the destination array
+   * @param  r number of bits of each field
+   * @throws NoSuchElementException if there are fewer than {@code r * a.length} bits available;
+   *         the fields read before the input ran out are in {@code a}
+   * @throws IllegalArgumentException unless {@code 1 <= r <= 32}
+   */
+  public void readInts(int[] a, int r) {
+    if (r < 1 || r > 32) throw new IllegalArgumentException("Illegal value of r = " + r);
+    int shift = 64 - r;
+    for (int i = 0; i < a.length; i++) {
+      if (count < r) require(r);
+      a[i] = (int) (word >>> shift);
+      word <<= r;
+      count -= r;
+    }
+  }
+
+  /**
+   * Reads {@code length} bytes into {@code a[offset..offset+length-1]}.
+   * When the input is at a byte boundary, the bytes are copied in blocks.
+   *
+   * @param  a the destination array
+   * @param  offset the index in {@code a} of the first byte
+   * @param  length the number of bytes
+   * @throws NoSuchElementException if there are fewer than {@code 8 * length} bits available;
+   *         the bytes read before the input ran out are in {@code a}
+   * @throws IndexOutOfBoundsException unless {@code a[offset..offset+length-1]} is a range of {@code a}
+   */
+  public void readBytes(byte[] a, int offset, int length) {
+    if (offset < 0 || length < 0 || length > a.length - offset) throw new IndexOutOfBoundsException();
+    int end = offset + length;
+    // drain the word, then copy whole blocks if aligned
+    while (offset < end && count >= 8)
+      a[offset++] = readByte();
+    if (count == 0) {
+      word = 0;
+      while (offset < end) {
+        if (pos == lim) {
+          if (eof) throw new NoSuchElementException("Reading from empty input stream");
+          load();
+          continue;
+        }
+        int n = Math.min(end - offset, lim - pos);
+        System.arraycopy(buf, pos, a, offset, n);
+        pos += n;
+        offset += n;
+      }
+    }
+    while (offset < end)
+      a[offset++] = readByte();
+  }
+
+  /**
+   * Closes the underlying input stream, if any.
+   */
+  public void close() {
+    if (in == null) return;
+    try {
+      in.close();
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Unit tests the {@code BitReader} data type.
+   * Reads fields of <em>r</em> bits from standard input until fewer than
+   * <em>r</em> bits remain, and prints their number and sum.
+   *
+   * @param args the command-line arguments
+   */
+  public static void main(String[] args) {
+    int r = Integer.parseInt(args[0]);
+    BitReader in = new BitReader(System.in);
+    long n = 0;
+    long sum = 0;
+    try {
+      while (true) {
+        sum += in.readLong(r);
+        n++;
+      }
+    }
+    catch (NoSuchElementException e) {
+      StdOut.println(n + " fields of " + r + " bits, sum " + sum);
+    }
+  }
+}
@@ -0,0 +1,347 @@
+package libs;
+
+/******************************************************************************
+ *  Compilation:  javac BitWriter.java
+ *  Execution:    java BitWriter r output < input
+ *  Dependencies: none
+ *
+ *  Writes fields of 1 to 64 bits to a channel or an output stream,
+ *  a 64-bit word at a time.
+ *
+ *  % java BitWriter 8 copy.bin < input.bin
+ *
+ ******************************************************************************/
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ *  <i>Bit writer</i>. This class writes fields of <em>r</em> bits, for any
+ *  <em>r</em> from 1 to 64, to a {@link WritableByteChannel} such as a
+ *  {@link FileChannel}, or to an output stream, most significant bit first.
+ *  {@link BinaryOut} and {@link BinaryStdOut} delegate to it.
+ *  <p>
+ *  Bits are accumulated in a {@code long}; each full word is stored with one
+ *  big-endian {@code putLong} into a 1 MB direct {@link ByteBuffer}, and a
+ *  full buffer is written to the channel with one call. The bulk methods
+ *  {@link #write(int[], int)} and {@link #write(byte[], int, int)} write many
+ *  fields in one call.
+ *  <p>
+ *  With <em>asynchronous</em> writing, there are two buffers: when one is
+ *  full it is handed to a background thread to be written, while the bits
+ *  that follow go to the other, so encoding and writing overlap. An
+ *  {@link IOException} on the background thread is reported, as an
+ *  {@link UncheckedIOException}, by the next call that needs the buffer back.
+ *  <p>
+ *  The client must {@link #flush()} or {@link #close()} the writer when
+ *  finished; both pad the last byte with 0s.
+ */
+public final class BitWriter {
+  private static final int BUFFER_SIZE = 1 << 20;
+
+  private final WritableByteChannel channel;
+  private final OutputStream out;            // flushed by flush(), or null
+  private final ExecutorService writer;      // background writes, or null
+  private ByteBuffer buffer;                 // being filled
+  private ByteBuffer spare;                  // being written in the background, or free
+  private Future<?> pending;                 // the background write of spare, or null
+
+  // the next count bits of output are the high bits of word; the bits below them are 0
+  private long word;
+  private int count;
+
+  /**
+   * Initializes a bit writer to an output stream.
+   *
+   * @param  out the output stream
+   * @throws IllegalArgumentException if {@code out} is {@code null}
+   */
+  public BitWriter(OutputStream out) {
+    this(out, false);
+  }
+
+  /**
+   * Initializes a bit writer to an output stream, writing in the background if {@code async}.
+   *
+   * @param  out the output stream
+   * @param  async write full buffers on a background thread?
+   * @throws IllegalArgumentException if {@code out} is {@code null}
+   */
+  public BitWriter(OutputStream out, boolean async) {
+    if (out == null) throw new IllegalArgumentException("output stream is null");
+    this.out = out;
+    this.channel = Channels.newChannel(out);
+    this.writer = async ? newWriterThread() : null;
+    buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    spare = async ? ByteBuffer.allocateDirect(BUFFER_SIZE) : null;
+  }
+
+  /**
+   * Initializes a bit writer to a channel, writing in the background if {@code async}.
+   *
+   * @param  channel the channel
+   * @param  async write full buffers on a background thread?
+   * @throws IllegalArgumentException if {@code channel} is {@code null}
+   */
+  public BitWriter(WritableByteChannel channel, boolean async) {
+    if (channel == null) throw new IllegalArgumentException("channel is null");
+    this.out = null;
+    this.channel = channel;
+    this.writer = async ? newWriterThread() : null;
+    buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    spare = async ? ByteBuffer.allocateDirect(BUFFER_SIZE) : null;
+  }
+
+  /**
+   * Initializes a bit writer that creates or truncates a file and writes to
+   * it through a {@link FileChannel}, in the background if {@code async}.
+   *
+   * @param  file the file
+   * @param  async write full buffers on a background thread?
+   * @throws IOException if the file cannot be opened
+   */
+  public BitWriter(File file, boolean async) throws IOException {
+    this(FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                          StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING), async);
+  }
+
+  private static ExecutorService newWriterThread() {
+    return Executors.newSingleThreadExecutor(r -> {
+      Thread t = new Thread(r, "BitWriter");
+      t.setDaemon(true);
+      return t;
+    });
+  }
+
+  /**
+   * Writes the specified bit.
+   *
+   * @param x the bit
+   */
+  public void write(boolean x) {
+    if (x) word |= 1L << (63 - count);
+    if (++count == 64) put();
+  }
+
+  /**
+   * Writes the low {@code r} bits of {@code x}.
+   *
+   * @param  x the bits
+   * @param  r the number of bits
+   * @throws IllegalArgumentException unless {@code 1 <= r <= 64}
+   */
+  public void write(long x, int r) {
+    if (r < 1 || r > 64) throw new IllegalArgumentException("Illegal value for r = " + r);
+    x &= -1L >>> (64 - r);
+    int free = 64 - count;
+    if (r < free) {
+      word |= x << (free - r);
+      count += r;
+    }
+    else {
+      int spill = r - free;   // bits of x that go to the next word
+      word |= x >>> spill;
+      put();
+      if (spill > 0) {
+        word = x << (64 - spill);
+        count = spill;
+      }
+    }
+  }
+
+  /**
+   * Writes the low {@code r} bits of each of the values {@code a[0]} through {@code a[a.length-1]}.
+   *
+   * @param  a the values
+   * @param  r the number of bits of each value
+   * @throws IllegalArgumentException unless {@code 1 <= r <= 32}
+   */
+  public void write(int[] a, int r) {
+    if (r < 1 || r > 32) throw new IllegalArgumentException("Illegal value for r = " + r);
+    long mask = -1L >>> (64 - r);
+    for (int i = 0; i < a.length; i++) {
+      long x = a[i] & mask;
+      int free = 64 - count;
+      if (r < free) {
+        word |= x << (free - r);
+        count += r;
+      }
+      else {
+        int spill = r - free;
+        word |= x >>> spill;
+        put();
+        if (spill > 0) {
+          word = x << (64 - spill);
+          count = spill;
+        }
+      }
+    }
+  }
+
+  /**
+   * Writes the bytes {@code a[offset..offset+length-1]}.
+   * When the output is at a byte boundary, the bytes are copied in blocks.
+   *
+   * @param  a the bytes
+   * @param  offset the index in {@code a} of the first byte
+   * @param  length the number of bytes
+   * @throws IndexOutOfBoundsException unless {@code a[offset..offset+length-1]} is a range of {@code a}
+   */
+  public void write(byte[] a, int offset, int length) {
+    if (offset < 0 || length < 0 || length > a.length - offset) throw new IndexOutOfBoundsException();
+    int end = offset + length;
+    if ((count & 7) != 0) {
+      while (offset < end)
+        write(a[offset++], 8);
+      return;
+    }
+    // aligned: move the whole bytes of word to the buffer, then copy
+    putBytes();
+    while (offset < end) {
+      if (!buffer.hasRemaining()) drain();
+      int n = Math.min(end - offset, buffer.remaining());
+      buffer.put(a, offset, n);
+      offset += n;
+    }
+  }
+
+  // stores the full word in the buffer
+  private void put() {
+    if (buffer.remaining() < 8) drain();
+    buffer.putLong(word);
+    word = 0;
+    count = 0;
+  }
+
+  // stores the bits of word in the buffer as whole bytes, the last one padded with 0s
+  private void putBytes() {
+    for (int i = 0; i < count; i += 8) {
+      if (!buffer.hasRemaining()) drain();
+      buffer.put((byte) (word >>> (56 - i)));
+    }
+    word = 0;
+    count = 0;
+  }
+
+  // writes the full buffer to the channel, or hands it to the writer thread
+  private void drain() {
+    buffer.flip();
+    if (writer == null) {
+      writeFully(buffer);
+      buffer.clear();
+      return;
+    }
+    await();
+    ByteBuffer full = buffer;
+    pending = writer.submit(() -> writeFully(full));
+    buffer = spare;
+    spare = full;
+  }
+
+  // waits for the background write to finish, and makes spare free
+  private void await() {
+    if (pending == null) return;
+    try {
+      pending.get();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("interrupted while writing", e);
+    }
+    catch (ExecutionException e) {
+      if (e.getCause() instanceof UncheckedIOException) throw (UncheckedIOException) e.getCause();
+      throw new IllegalStateException(e.getCause());
+    }
+    finally {
+      pending = null;
+    }
+    spare.clear();
+  }
+
+  private void writeFully(ByteBuffer bytes) {
+    try {
+      while (bytes.hasRemaining())
+        channel.write(bytes);
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Writes all buffered bits, padding the last byte with 0s if the number
+   * of bits written so far is not a multiple of 8, and waits until they are written.
+   *
+   * @throws UncheckedIOException if an I/O error occurs
+   */
+  public void flush() {
+    putBytes();
+    await();
+    buffer.flip();
+    writeFully(buffer);
+    buffer.clear();
+    if (out == null) return;
+    try {
+      out.flush();
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Flushes and closes this writer, the background thread if any, and the channel.
+   * Once it is closed, bits can no longer be written.
+   *
+   * @throws UncheckedIOException if an I/O error occurs
+   */
+  public void close() {
+    try {
+      flush();
+    }
+    finally {
+      if (writer != null) writer.shutdown();
+      try {
+        channel.close();
+      }
+      catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  /**
+   * Unit tests the {@code BitWriter} data type.
+   * Copies standard input to the file named by the second command-line
+   * argument, <em>r</em> bits at a time, writing in the background.
+   *
+   * @param args the command-line arguments
+   * @throws IOException if the file cannot be opened
+   */
+  public static void main(String[] args) throws IOException {
+    int r = Integer.parseInt(args[0]);
+    BitReader in = new BitReader(System.in);
+    BitWriter out = new BitWriter(new File(args[1]), true);
+    try {
+      while (true)
+        out.write(in.readLong(r), r);
+    }
+    catch (NoSuchElementException e) {
+      while (!in.isEmpty())
+        out.write(in.readBoolean());
+    }
+    out.close();
+  }
+}
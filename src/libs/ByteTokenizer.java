@@ -0,0 +1,721 @@
+package libs;
+
+/******************************************************************************
+ *  Compilation:  javac ByteTokenizer.java
+ *  Execution:    java ByteTokenizer < input.txt
+ *  Dependencies: none
+ *
+ *  Splits UTF-8 text into whitespace-separated tokens and parses numbers
+ *  directly from the bytes, without creating strings.
+ *
+ *  % java ByteTokenizer < tinyUF.txt
+ *
+ ******************************************************************************/
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+/**
+ *  <i>Byte tokenizer</i>. This class reads UTF-8 text from an input stream,
+ *  a byte array or a {@link ByteBuffer}, and provides the token, character
+ *  and line operations of {@link In} and {@link StdIn}, which delegate to it.
+ *  <p>
+ *  Unlike {@link java.util.Scanner}, it does not use regular expressions or
+ *  decode the input into characters: it finds token boundaries by looking at
+ *  bytes, and {@link #readInt}, {@link #readLong} and {@link #readDouble}
+ *  convert the bytes of the token in place, so reading numbers allocates
+ *  nothing. {@link #readAllInts} parses a whole input into one array.
+ *  Strings are created only when a string is returned.
+ *  <p>
+ *  Whitespace is defined by {@link Character#isWhitespace(int)}, as in {@code Scanner}.
+ *  Integers are an optional sign followed by ASCII digits.
+ *  Doubles are parsed by an exact fast path when the significand has at most
+ *  15 digits and the power of ten is small (Clinger's algorithm), and by
+ *  {@link Double#parseDouble(String)} otherwise, which also handles
+ *  {@code NaN} and {@code Infinity}; so results are always correctly rounded.
+ *  As with {@code Scanner}, hexadecimal forms such as {@code 0x1p3} are not
+ *  accepted; unlike {@code Scanner}, neither are group separators such as
+ *  {@code 1,000}.
+ *  When a token cannot be parsed as the type requested, the method throws an
+ *  {@link InputMismatchException} and the token is not consumed.
+ *  <p>
+ *  Lines end with {@code \n}, {@code \r}, {@code \r\n},
+ *  {@code &#92;u2028}, {@code &#92;u2029} or {@code &#92;u0085}.
+ */
+public final class ByteTokenizer {
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  // exactly representable powers of ten
+  private static final double[] POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+    1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  private final InputStream in;   // source of more bytes, or null
+  private final ByteBuffer from;  // source of more bytes, or null
+  private byte[] buf;             // unread bytes are buf[pos..lim-1]
+  private int pos;
+  private int lim;
+  private boolean eof;            // no more bytes beyond lim
+  private char pendingLow;        // low surrogate of a character half returned by readChar()
+
+  /**
+   * Initializes a tokenizer over an input stream.
+   *
+   * @param  in the input stream
+   * @throws IllegalArgumentException if {@code in} is {@code null}
+   */
+  public ByteTokenizer(InputStream in) {
+    this(in, BUFFER_SIZE);
+  }
+
+  /**
+   * Initializes a tokenizer over an input stream, with a buffer of the given initial size.
+   * The buffer grows if a token or line is longer.
+   *
+   * @param  in the input stream
+   * @param  bufferSize the initial buffer size, in bytes
+   * @throws IllegalArgumentException if {@code in} is {@code null} or {@code bufferSize < 16}
+   */
+  public ByteTokenizer(InputStream in, int bufferSize) {
+    if (in == null) throw new IllegalArgumentException("input stream is null");
+    if (bufferSize < 16) throw new IllegalArgumentException("buffer size must be at least 16");
+    this.in = in;
+    this.from = null;
+    buf = new byte[bufferSize];
+  }
+
+  /**
+   * Initializes a tokenizer over the bytes {@code bytes[0..length-1]}.
+   * The array is read in place, not copied.
+   *
+   * @param  bytes the bytes
+   * @param  length the number of bytes
+   * @throws IllegalArgumentException if {@code bytes} is {@code null}
+   * @throws IllegalArgumentException unless {@code 0 <= length <= bytes.length}
+   */
+  public ByteTokenizer(byte[] bytes, int length) {
+    if (bytes == null) throw new IllegalArgumentException("byte array is null");
+    if (length < 0 || length > bytes.length) throw new IllegalArgumentException("invalid length " + length);
+    this.in = null;
+    this.from = null;
+    buf = bytes;
+    lim = length;
+    eof = true;
+  }
+
+  /**
+   * Initializes a tokenizer over the remaining bytes of a buffer, such as a
+   * memory-mapped file. The bytes are copied in blocks as they are read.
+   *
+   * @param  bytes the buffer
+   * @throws IllegalArgumentException if {@code bytes} is {@code null}
+   */
+  public ByteTokenizer(ByteBuffer bytes) {
+    if (bytes == null) throw new IllegalArgumentException("buffer is null");
+    this.in = null;
+    this.from = bytes;
+    buf = new byte[Math.min(BUFFER_SIZE, Math.max(16, bytes.remaining()))];
+  }
+
+  // moves the unread bytes to the front and reads more; returns false if there are none
+  private boolean fill() {
+    if (eof) return false;
+    if (pos > 0) {
+      System.arraycopy(buf, pos, buf, 0, lim - pos);
+      lim -= pos;
+      pos = 0;
+    }
+    if (lim == buf.length) buf = Arrays.copyOf(buf, 2 * buf.length);
+    int n;
+    if (from != null) {
+      n = Math.min(from.remaining(), buf.length - lim);
+      from.get(buf, lim, n);
+      if (!from.hasRemaining()) eof = true;
+    }
+    else {
+      try {
+        n = in.read(buf, lim, buf.length - lim);
+      }
+      catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      if (n < 0) {
+        eof = true;
+        n = 0;
+      }
+    }
+    lim += n;
+    return n > 0 || (!eof && fill());
+  }
+
+  // makes sure that bytes i..i+n-1 are in the buffer, if the input has them;
+  // returns the (possibly moved) position of byte i, or -1 if the input ends first
+  private int ensure(int i, int n) {
+    while (i + n > lim) {
+      int offset = i - pos;
+      if (!fill()) return -1;
+      i = pos + offset;
+    }
+    return i;
+  }
+
+  // the number of bytes of the UTF-8 sequence starting with lead byte b
+  private static int sequenceLength(byte b) {
+    if (b >= 0)            return 1;
+    if ((b & 0xE0) == 0xC0) return 2;
+    if ((b & 0xF0) == 0xE0) return 3;
+    if ((b & 0xF8) == 0xF0) return 4;
+    return 1;
+  }
+
+  // decodes the code point at buf[i..i+length-1]; malformed input decodes as U+FFFD
+  private int codePoint(int i, int length) {
+    int b = buf[i];
+    if (length == 1) return b >= 0 ? b : 0xFFFD;
+    int cp = b & (0x7F >> length);
+    for (int k = 1; k < length; k++) {
+      int c = buf[i + k];
+      if ((c & 0xC0) != 0x80) return 0xFFFD;
+      cp = (cp << 6) | (c & 0x3F);
+    }
+    return cp;
+  }
+
+  private static boolean isAsciiWhitespace(int b) {
+    return b == ' ' || (b >= 0x09 && b <= 0x0D) || (b >= 0x1C && b <= 0x1F);
+  }
+
+  // length of the whitespace character at i, or 0 if there is none; may move the buffer
+  private int whitespaceAt(int i) {
+    byte b = buf[i];
+    if (b >= 0) return isAsciiWhitespace(b) ? 1 : 0;
+    int length = sequenceLength(b);
+    int j = ensure(i, length);
+    if (j < 0) return 0;
+    return Character.isWhitespace(codePoint(j, length)) ? length : 0;
+  }
+
+  // skips whitespace; returns false if the input ends first. The low half of a character
+  // split by readChar() is not whitespace, so it is kept and counts as input
+  private boolean skipWhitespace() {
+    if (pendingLow != 0) return true;
+    while (true) {
+      if (pos == lim && !fill()) return false;
+      int n = whitespaceAt(pos);
+      if (n == 0) return true;
+      pos += n;
+    }
+  }
+
+  // skips whitespace before a token, discarding the low half of a character split by
+  // readChar(); returns false if the input ends first
+  private boolean startToken() {
+    pendingLow = 0;
+    return skipWhitespace();
+  }
+
+  // returns the end of the token starting at pos, reading as much input as needed
+  private int tokenEnd() {
+    int i = pos;
+    while (true) {
+      while (i < lim) {
+        byte b = buf[i];
+        if (b >= 0) {
+          if (isAsciiWhitespace(b)) return i;
+          i++;
+        }
+        else {
+          int offset = i - pos;
+          int n = whitespaceAt(i);
+          i = pos + offset;
+          if (n > 0) return i;
+          i += Math.min(sequenceLength(b), lim - i);
+        }
+      }
+      int offset = i - pos;
+      if (!fill()) return lim;
+      i = pos + offset;
+    }
+  }
+
+  // the token starting at pos, ending at end, as a string (for error messages and fallbacks)
+  private String token(int end) {
+    return new String(buf, pos, end - pos, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Returns true if the input is empty (except possibly for whitespace).
+   *
+   * @return {@code true} if the input is empty (except possibly for whitespace);
+   *         {@code false} otherwise
+   */
+  public boolean isEmpty() {
+    return !skipWhitespace();
+  }
+
+  /**
+   * Returns true if the input has more input (including whitespace).
+   *
+   * @return {@code true} if the input has more input (including whitespace);
+   *         {@code false} otherwise
+   */
+  public boolean hasNextLine() {
+    return pendingLow != 0 || pos < lim || fill();
+  }
+
+  /**
+   * Returns true if the input has more input (including whitespace).
+   *
+   * @return {@code true} if the input has more input (including whitespace);
+   *         {@code false} otherwise
+   */
+  public boolean hasNextChar() {
+    return hasNextLine();
+  }
+
+  /**
+   * Reads and returns the next line, excluding the line separator if present.
+   *
+   * @return the next line, excluding the line separator if present;
+   *         {@code null} if no such line
+   */
+  public String readLine() {
+    if (pendingLow != 0) {
+      // the line starts with the low half of a character split by readChar()
+      char low = pendingLow;
+      pendingLow = 0;
+      String rest = hasNextLine() ? readLine() : "";
+      return low + rest;
+    }
+    if (pos == lim && !fill()) return null;
+    int i = pos;
+    while (true) {
+      if (i == lim) {
+        int offset = i - pos;
+        if (!fill()) {
+          String line = token(lim);
+          pos = lim;
+          return line;
+        }
+        i = pos + offset;
+      }
+      byte b = buf[i];
+      int separator = 0;
+      if (b == '\n') separator = 1;
+      else if (b == '\r') {
+        int offset = i - pos;
+        int j = ensure(i, 2);
+        i = j < 0 ? pos + offset : j;
+        separator = (j >= 0 && buf[i+1] == '\n') ? 2 : 1;
+      }
+      else if (b == (byte) 0xC2 || b == (byte) 0xE2) {
+        int length = b == (byte) 0xC2 ? 2 : 3;
+        int offset = i - pos;
+        int j = ensure(i, length);
+        i = j < 0 ? pos + offset : j;
+        if (j >= 0) {
+          int cp = codePoint(i, length);
+          if (cp == 0x85 || cp == 0x2028 || cp == 0x2029) separator = length;
+        }
+      }
+      if (separator > 0) {
+        String line = token(i);
+        pos = i + separator;
+        return line;
+      }
+      i++;
+    }
+  }
+
+  /**
+   * Reads and returns the next character. A character outside the Basic
+   * Multilingual Plane is returned as two surrogate {@code char}s, by two calls.
+   *
+   * @return the next character
+   * @throws NoSuchElementException if the input is empty
+   */
+  public char readChar() {
+    if (pendingLow != 0) {
+      char c = pendingLow;
+      pendingLow = 0;
+      return c;
+    }
+    if (pos == lim && !fill()) throw new NoSuchElementException("attempts to read a character from empty input");
+    int length = sequenceLength(buf[pos]);
+    int i = ensure(pos, length);
+    if (i < 0) length = 1;
+    int cp = codePoint(pos, length);
+    pos += length;
+    if (Character.isBmpCodePoint(cp)) return (char) cp;
+    pendingLow = Character.lowSurrogate(cp);
+    return Character.highSurrogate(cp);
+  }
+
+  /**
+   * Reads and returns the remainder of the input, as a string.
+   *
+   * @return the remainder of the input, as a string
+   */
+  public String readAll() {
+    StringBuilder s = new StringBuilder();
+    if (pendingLow != 0) s.append(pendingLow);
+    pendingLow = 0;
+    while (fill()) { }
+    s.append(token(lim));
+    pos = lim;
+    return s.toString();
+  }
+
+  /**
+   * Reads the next token and returns it as a {@code String}.
+   *
+   * @return the next {@code String}
+   * @throws NoSuchElementException if the input is empty
+   */
+  public String readString() {
+    if (!startToken()) throw new NoSuchElementException("attempts to read a 'String' value from empty input");
+    int end = tokenEnd();
+    String s = token(end);
+    pos = end;
+    return s;
+  }
+
+  /**
+   * Reads the next token, parses it as an integer, and returns the integer.
+   *
+   * @return the next integer
+   * @throws NoSuchElementException if the input is empty
+   * @throws InputMismatchException if the next token cannot be parsed as an {@code int}
+   */
+  public int readInt() {
+    if (!startToken()) throw new NoSuchElementException("attempts to read an 'int' value from empty input");
+    int end = tokenEnd();
+    long value = parseLong(pos, end, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    pos = end;
+    return (int) value;
+  }
+
+  /**
+   * Reads the next token, parses it as a long integer, and returns the long integer.
+   *
+   * @return the next long integer
+   * @throws NoSuchElementException if the input is empty
+   * @throws InputMismatchException if the next token cannot be parsed as a {@code long}
+   */
+  public long readLong() {
+    if (!startToken()) throw new NoSuchElementException("attempts to read a 'long' value from empty input");
+    int end = tokenEnd();
+    long value = parseLong(pos, end, Long.MIN_VALUE, Long.MAX_VALUE);
+    pos = end;
+    return value;
+  }
+
+  /**
+   * Reads the next token, parses it as a short integer, and returns the short integer.
+   *
+   * @return the next short integer
+   * @throws NoSuchElementException if the input is empty
+   * @throws InputMismatchException if the next token cannot be parsed as a {@code short}
+   */
+  public short readShort() {
+    if (!startToken()) throw new NoSuchElementException("attempts to read a 'short' value from empty input");
+    int end = tokenEnd();
+    long value = parseLong(pos, end, Short.MIN_VALUE, Short.MAX_VALUE);
+    pos = end;
+    return (short) value;
+  }
+
+  /**
+   * Reads the next token, parses it as a byte, and returns the byte.
+   *
+   * @return the next byte
+   * @throws NoSuchElementException if the input is empty
+   * @throws InputMismatchException if the next token cannot be parsed as a {@code byte}
+   */
+  public byte readByte() {
+    if (!startToken()) throw new NoSuchElementException("attempts to read a 'byte' value from empty input");
+    int end = tokenEnd();
+    long value = parseLong(pos, end, Byte.MIN_VALUE, Byte.MAX_VALUE);
+    pos = end;
+    return (byte) value;
+  }
+
+  // parses buf[i..end-1] as an integer between min and max
+  private long parseLong(int i, int end, long min, long max) {
+    boolean negative = false;
+    if (i < end && (buf[i] == '-' || buf[i] == '+')) {
+      negative = buf[i] == '-';
+      i++;
+    }
+    if (i == end) throw new InputMismatchException(token(end));
+    // accumulate negatively, since |Long.MIN_VALUE| > Long.MAX_VALUE
+    long limit = negative ? min : -max;
+    long multiplicationLimit = limit / 10;
+    long result = 0;
+    for (; i < end; i++) {
+      int d = buf[i] - '0';
+      if (d < 0 || d > 9 || result < multiplicationLimit) throw new InputMismatchException(token(end));
+      result *= 10;
+      if (result < limit + d) throw new InputMismatchException(token(end));
+      result -= d;
+    }
+    return negative ? result : -result;
+  }
+
+  /**
+   * Reads the next token, parses it as a double, and returns the double.
+   *
+   * @return the next double
+   * @throws NoSuchElementException if the input is empty
+   * @throws InputMismatchException if the next token cannot be parsed as a {@code double}
+   */
+  public double readDouble() {
+    if (!startToken()) throw new NoSuchElementException("attempts to read a 'double' value from empty input");
+    int end = tokenEnd();
+    double value = parseDouble(pos, end);
+    pos = end;
+    return value;
+  }
+
+  /**
+   * Reads the next token, parses it as a float, and returns the float.
+   *
+   * @return the next float
+   * @throws NoSuchElementException if the input is empty
+   * @throws InputMismatchException if the next token cannot be parsed as a {@code float}
+   */
+  public float readFloat() {
+    if (!startToken()) throw new NoSuchElementException("attempts to read a 'float' value from empty input");
+    int end = tokenEnd();
+    String s = token(end);
+    float value;
+    try {
+      checkFallback(end);
+      value = Float.parseFloat(s);
+    }
+    catch (NumberFormatException e) {
+      throw new InputMismatchException(s);
+    }
+    pos = end;
+    return value;
+  }
+
+  // parses buf[i..end-1] as a double
+  private double parseDouble(int i, int end) {
+    boolean negative = false;
+    if (i < end && (buf[i] == '-' || buf[i] == '+')) {
+      negative = buf[i] == '-';
+      i++;
+    }
+    long significand = 0;
+    int digits = 0;             // significant digits in significand
+    int exponent = 0;           // value = significand * 10^exponent
+    boolean truncated = false;  // were nonzero digits dropped?
+    boolean any = false;        // was there a digit?
+    boolean point = false;
+    for (; i < end; i++) {
+      int b = buf[i];
+      if (b == '.' && !point) {
+        point = true;
+        continue;
+      }
+      int d = b - '0';
+      if (d < 0 || d > 9) break;
+      any = true;
+      if (significand == 0 && d == 0) {
+        if (point) exponent--;
+      }
+      else if (digits < 19) {
+        significand = 10 * significand + d;
+        digits++;
+        if (point) exponent--;
+      }
+      else {
+        if (d != 0) truncated = true;
+        if (!point) exponent++;
+      }
+    }
+    if (any && i < end && (buf[i] == 'e' || buf[i] == 'E')) {
+      i++;
+      boolean negativeExponent = false;
+      if (i < end && (buf[i] == '-' || buf[i] == '+')) {
+        negativeExponent = buf[i] == '-';
+        i++;
+      }
+      int e = 0;
+      boolean exponentDigits = false;
+      for (; i < end && buf[i] >= '0' && buf[i] <= '9'; i++) {
+        if (e < 100000) e = 10 * e + (buf[i] - '0');
+        exponentDigits = true;
+      }
+      if (!exponentDigits) i = -1;
+      exponent += negativeExponent ? -e : e;
+    }
+
+    // Clinger's fast path: the significand and the power of ten are both exact doubles
+    if (any && i == end && !truncated && digits <= 15) {
+      double value = -1;
+      if (significand == 0) value = 0.0;
+      else if (exponent >= 0 && exponent <= 22 + 15 - digits) {
+        if (exponent > 22) {
+          significand *= (long) POWERS_OF_TEN[exponent - 22];
+          exponent = 22;
+        }
+        value = significand * POWERS_OF_TEN[exponent];
+      }
+      else if (exponent < 0 && exponent >= -22) value = significand / POWERS_OF_TEN[-exponent];
+      if (value >= 0) return negative ? -value : value;
+    }
+
+    String s = token(end);
+    try {
+      checkFallback(end);
+      return Double.parseDouble(s);
+    }
+    catch (NumberFormatException e) {
+      throw new InputMismatchException(s);
+    }
+  }
+
+  // rejects what Double.parseDouble accepts but Scanner does not: type suffixes, hexadecimal forms
+  private void checkFallback(int end) {
+    byte last = buf[end - 1];
+    if (last == 'f' || last == 'F' || last == 'd' || last == 'D')
+      throw new NumberFormatException();
+    for (int i = pos; i < end; i++)
+      if (buf[i] == 'x' || buf[i] == 'X') throw new NumberFormatException();
+  }
+
+  /**
+   * Reads the next token, parses it as a boolean, and returns the boolean.
+   *
+   * @return the next boolean
+   * @throws NoSuchElementException if the input is empty
+   * @throws InputMismatchException if the next token cannot be parsed as a {@code boolean}:
+   *    {@code true} or {@code 1} for true, and {@code false} or {@code 0} for false,
+   *    ignoring case
+   */
+  public boolean readBoolean() {
+    if (!startToken()) throw new NoSuchElementException("attempts to read a 'boolean' value from empty input");
+    int end = tokenEnd();
+    String s = token(end);
+    boolean value;
+    if      ("true".equalsIgnoreCase(s))  value = true;
+    else if ("false".equalsIgnoreCase(s)) value = false;
+    else if ("1".equals(s))               value = true;
+    else if ("0".equals(s))               value = false;
+    else throw new InputMismatchException(s);
+    pos = end;
+    return value;
+  }
+
+  /**
+   * Reads all remaining tokens and returns them as an array of strings.
+   *
+   * @return all remaining tokens, as an array of strings
+   */
+  public String[] readAllStrings() {
+    ArrayList<String> tokens = new ArrayList<String>();
+    while (startToken())
+      tokens.add(readString());
+    return tokens.toArray(new String[tokens.size()]);
+  }
+
+  /**
+   * Reads all remaining lines and returns them as an array of strings.
+   *
+   * @return all remaining lines, as an array of strings
+   */
+  public String[] readAllLines() {
+    ArrayList<String> lines = new ArrayList<String>();
+    while (hasNextLine())
+      lines.add(readLine());
+    return lines.toArray(new String[lines.size()]);
+  }
+
+  /**
+   * Reads all remaining tokens, parses them as integers, and returns
+   * them as an array of integers.
+   *
+   * @return all remaining integers, as an array
+   * @throws InputMismatchException if any token cannot be parsed as an {@code int}
+   */
+  public int[] readAllInts() {
+    int[] values = new int[16];
+    int n = 0;
+    while (startToken()) {
+      if (n == values.length) values = Arrays.copyOf(values, 2*n);
+      values[n++] = readInt();
+    }
+    return Arrays.copyOf(values, n);
+  }
+
+  /**
+   * Reads all remaining tokens, parses them as long integers, and returns
+   * them as an array of long integers.
+   *
+   * @return all remaining long integers, as an array
+   * @throws InputMismatchException if any token cannot be parsed as a {@code long}
+   */
+  public long[] readAllLongs() {
+    long[] values = new long[16];
+    int n = 0;
+    while (startToken()) {
+      if (n == values.length) values = Arrays.copyOf(values, 2*n);
+      values[n++] = readLong();
+    }
+    return Arrays.copyOf(values, n);
+  }
+
+  /**
+   * Reads all remaining tokens, parses them as doubles, and returns
+   * them as an array of doubles.
+   *
+   * @return all remaining doubles, as an array
+   * @throws InputMismatchException if any token cannot be parsed as a {@code double}
+   */
+  public double[] readAllDoubles() {
+    double[] values = new double[16];
+    int n = 0;
+    while (startToken()) {
+      if (n == values.length) values = Arrays.copyOf(values, 2*n);
+      values[n++] = readDouble();
+    }
+    return Arrays.copyOf(values, n);
+  }
+
+  /**
+   * Closes the underlying input stream, if any.
+   */
+  public void close() {
+    if (in == null) return;
+    try {
+      in.close();
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Reads integers from standard input and prints how many there were and their sum.
+   *
+   * @param args the command-line arguments
+   */
+  public static void main(String[] args) {
+    ByteTokenizer tokenizer = new ByteTokenizer(System.in);
+    int[] a = tokenizer.readAllInts();
+    long sum = 0;
+    for (int x : a)
+      sum += x;
+    StdOut.println(a.length + " integers, sum " + sum);
+  }
+}
@@ -0,0 +1,508 @@
+package libs;
+
+/******************************************************************************
+ *  Compilation:  javac ByteWriter.java
+ *  Execution:    java ByteWriter n
+ *  Dependencies: none
+ *
+ *  A PrintWriter that encodes text straight into a large byte buffer and
+ *  formats numbers without creating strings.
+ *
+ *  % java ByteWriter 3
+ *  0 0.000
+ *  1 0.500
+ *  2 1.000
+ *
+ ******************************************************************************/
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ *  <i>Byte writer</i>. This class is a {@link PrintWriter} for high-volume
+ *  output, used by the buffered modes of {@link Out} and {@link StdOut}.
+ *  <p>
+ *  Characters are encoded as UTF-8 directly into a 1 MB byte array, which is
+ *  written to the output stream only when it is full or on {@link #flush()};
+ *  there is no autoflush. {@code int}, {@code long} and {@code char} values
+ *  are converted to digits in that array without creating strings, and each
+ *  {@code print} or {@code println} takes the lock once. {@link #format} (and
+ *  so {@link #printf}) parses the conversions {@code %d}, {@code %s},
+ *  {@code %c}, {@code %f} and {@code %.}<em>n</em>{@code f}, {@code %n} and
+ *  {@code %%}, with an optional width and the flags {@code -} and {@code 0},
+ *  in the locale {@link Locale#US}, and writes them directly; other formats,
+ *  and the rare {@code double} whose rounding is too close to call in
+ *  {@code double} arithmetic, go through {@link java.util.Formatter}, so the
+ *  output is always the same as that of a {@code PrintWriter}. As in its
+ *  encoder, a surrogate pair may be split across calls: a high surrogate
+ *  written last waits for its low half, and an unpaired one becomes {@code ?}.
+ *  <p>
+ *  With <em>asynchronous</em> writing, a full buffer is handed to a
+ *  background thread to be written while the client fills a second one.
+ *  <p>
+ *  As with {@code PrintWriter}, I/O errors do not throw exceptions; use
+ *  {@link #checkError()}.
+ */
+public final class ByteWriter extends PrintWriter {
+  private static final int BUFFER_SIZE = 1 << 20;
+  private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes();
+
+  // exactly representable powers of ten
+  private static final double[] POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+  };
+
+  private final OutputStream os;
+  private final ExecutorService writer;      // background writes, or null
+  private byte[] buf;                        // buffered output is buf[0..count-1]
+  private int count;
+  private byte[] spare;                      // being written in the background, or free
+  private Future<?> pending;                 // the background write of spare, or null
+  private final byte[] digits = new byte[32];  // scratch space for one number, filled from the end
+  private char high;                         // high surrogate waiting for its low half, or 0
+  private boolean closed;
+
+  /**
+   * Initializes a byte writer to an output stream.
+   *
+   * @param  os the output stream
+   * @param  async write full buffers on a background thread?
+   * @throws IllegalArgumentException if {@code os} is {@code null}
+   */
+  public ByteWriter(OutputStream os, boolean async) {
+    super(Writer.nullWriter());
+    if (os == null) throw new IllegalArgumentException("output stream is null");
+    this.os = os;
+    buf = new byte[BUFFER_SIZE];
+    if (async) {
+      spare = new byte[BUFFER_SIZE];
+      writer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "ByteWriter");
+        t.setDaemon(true);
+        return t;
+      });
+    }
+    else writer = null;
+  }
+
+  // makes room for n <= BUFFER_SIZE bytes, after writing a pending high surrogate as unpaired
+  private void ensure(int n) {
+    if (high != 0) {
+      high = 0;
+      if (count + n + 1 > buf.length) drain();
+      buf[count++] = '?';
+      return;
+    }
+    if (count + n > buf.length) drain();
+  }
+
+  // is this writer open? sets the error flag if not, as PrintWriter does
+  private boolean open() {
+    if (closed) setError();
+    return !closed;
+  }
+
+  // writes the buffer to the stream, or hands it to the writer thread
+  private void drain() {
+    if (count == 0) return;
+    if (writer == null) {
+      try {
+        os.write(buf, 0, count);
+      }
+      catch (IOException e) {
+        setError();
+      }
+      count = 0;
+      return;
+    }
+    await();
+    byte[] full = buf;
+    int n = count;
+    pending = writer.submit(() -> {
+      os.write(full, 0, n);
+      return null;
+    });
+    buf = spare;
+    spare = full;
+    count = 0;
+  }
+
+  // waits for the background write to finish
+  private void await() {
+    if (pending == null) return;
+    try {
+      pending.get();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      setError();
+    }
+    catch (ExecutionException e) {
+      setError();
+    }
+    pending = null;
+  }
+
+  @Override
+  public void write(int c) {
+    synchronized (lock) {
+      if (!open()) return;
+      if (c < 0x80 && high == 0) {
+        ensure(1);
+        buf[count++] = (byte) c;
+      }
+      else write(String.valueOf((char) c), 0, 1);
+    }
+  }
+
+  @Override
+  public void write(char[] a, int offset, int length) {
+    synchronized (lock) {
+      if (!open()) return;
+      for (int i = offset, end = offset + length; i < end; i++) {
+        char c = a[i];
+        if (c < 0x80 && high == 0) {
+          if (count == buf.length) drain();
+          buf[count++] = (byte) c;
+        }
+        else i = encode(c, i + 1 < end, i + 1 < end ? a[i+1] : 0, i);
+      }
+    }
+  }
+
+  @Override
+  public void write(String s, int offset, int length) {
+    synchronized (lock) {
+      if (!open()) return;
+      for (int i = offset, end = offset + length; i < end; i++) {
+        char c = s.charAt(i);
+        if (c < 0x80 && high == 0) {
+          if (count == buf.length) drain();
+          buf[count++] = (byte) c;
+        }
+        else i = encode(c, i + 1 < end, i + 1 < end ? s.charAt(i+1) : 0, i);
+      }
+    }
+  }
+
+  // encodes the char c at index i, non-ASCII or following a pending high surrogate, and the
+  // char next if there is more input in this call; returns the index of the last char used.
+  // A high surrogate at the end of a call waits for the low half, as in StreamEncoder
+  private int encode(char c, boolean more, char next, int i) {
+    if (count + 5 > buf.length) drain();
+    if (high != 0) {
+      char h = high;
+      high = 0;
+      if (Character.isLowSurrogate(c)) {
+        encode(Character.toCodePoint(h, c));
+        return i;
+      }
+      buf[count++] = '?';    // unpaired surrogate, as the UTF-8 encoder replaces it
+    }
+    if (c < 0x80) {
+      buf[count++] = (byte) c;
+    }
+    else if (c < 0x800) {
+      buf[count++] = (byte) (0xC0 | c >> 6);
+      buf[count++] = (byte) (0x80 | c & 0x3F);
+    }
+    else if (Character.isHighSurrogate(c)) {
+      if (!more) high = c;
+      else if (Character.isLowSurrogate(next)) {
+        encode(Character.toCodePoint(c, next));
+        return i + 1;
+      }
+      else buf[count++] = '?';
+    }
+    else if (Character.isSurrogate(c)) {
+      buf[count++] = '?';
+    }
+    else {
+      buf[count++] = (byte) (0xE0 | c >> 12);
+      buf[count++] = (byte) (0x80 | c >> 6 & 0x3F);
+      buf[count++] = (byte) (0x80 | c & 0x3F);
+    }
+    return i;
+  }
+
+  // encodes a supplementary code point in 4 bytes; there is room
+  private void encode(int cp) {
+    buf[count++] = (byte) (0xF0 | cp >> 18);
+    buf[count++] = (byte) (0x80 | cp >> 12 & 0x3F);
+    buf[count++] = (byte) (0x80 | cp >> 6 & 0x3F);
+    buf[count++] = (byte) (0x80 | cp & 0x3F);
+  }
+
+  // writes digits[from..31]
+  private void writeDigits(int from) {
+    int n = digits.length - from;
+    ensure(n);
+    System.arraycopy(digits, from, buf, count, n);
+    count += n;
+  }
+
+  // stores the decimal digits of x, preceded by '-' if negative, at the end of digits;
+  // returns the index of the first one
+  private int toDigits(long x) {
+    int i = digits.length;
+    // work with the negative value, since -Long.MIN_VALUE overflows
+    long y = x < 0 ? x : -x;
+    do {
+      digits[--i] = (byte) ('0' - y % 10);
+      y /= 10;
+    } while (y != 0);
+    if (x < 0) digits[--i] = '-';
+    return i;
+  }
+
+  // stores |x| rounded half up to p <= 15 decimal places at the end of digits, as Formatter
+  // would print it, preceded by '-' if x is negative; returns the index of the first
+  // byte, or -1 if the rounding is too close to decide in double arithmetic
+  private int toFixed(double x, int p) {
+    if (p > 15 || Double.isNaN(x) || Double.isInfinite(x)) return -1;
+    boolean negative = x < 0 || Double.doubleToRawLongBits(x) == Long.MIN_VALUE;
+    double y = Math.abs(x) * POWERS_OF_TEN[p];
+    if (!(y < 0x1p52)) return -1;
+    long n = (long) y;
+    double fraction = y - n;
+    // y, and the decimal value Formatter rounds, are within 2 ulps of the exact product
+    if (Math.abs(fraction - 0.5) <= 4 * Math.ulp(y)) return -1;
+    if (fraction > 0.5) n++;
+    int i = digits.length;
+    for (int k = 0; k < p; k++) {
+      digits[--i] = (byte) ('0' + n % 10);
+      n /= 10;
+    }
+    if (p > 0) digits[--i] = '.';
+    do {
+      digits[--i] = (byte) ('0' + n % 10);
+      n /= 10;
+    } while (n != 0);
+    if (negative) digits[--i] = '-';
+    return i;
+  }
+
+  @Override
+  public void print(int x) {
+    synchronized (lock) {
+      if (!open()) return;
+      writeDigits(toDigits(x));
+    }
+  }
+
+  @Override
+  public void print(long x) {
+    synchronized (lock) {
+      if (!open()) return;
+      writeDigits(toDigits(x));
+    }
+  }
+
+  @Override
+  public void print(char x) {
+    write(x);
+  }
+
+  @Override
+  public void println() {
+    synchronized (lock) {
+      if (!open()) return;
+      ensure(LINE_SEPARATOR.length);
+      for (byte b : LINE_SEPARATOR)
+        buf[count++] = b;
+    }
+  }
+
+  /**
+   * Prints a double with {@code p} digits after the decimal point, rounded
+   * half up, as {@code printf("%.pf", x)} would.
+   *
+   * @param  x the {@code double} to print
+   * @param  p the number of digits after the decimal point
+   * @throws IllegalArgumentException if {@code p < 0}
+   */
+  public void print(double x, int p) {
+    if (p < 0) throw new IllegalArgumentException("negative precision " + p);
+    synchronized (lock) {
+      if (!open()) return;
+      int i = toFixed(x, p);
+      if (i >= 0) writeDigits(i);
+      else        super.format(Locale.US, "%." + p + "f", x);
+    }
+  }
+
+  @Override
+  public PrintWriter format(Locale locale, String format, Object... args) {
+    synchronized (lock) {
+      if (!open()) return this;
+      if (Locale.US.equals(locale) && format(format, args, false)) format(format, args, true);
+      else super.format(locale, format, args);
+    }
+    return this;
+  }
+
+  @Override
+  public PrintWriter format(String format, Object... args) {
+    return format(Locale.getDefault(Locale.Category.FORMAT), format, args);
+  }
+
+  // if emit, writes the formatted arguments; otherwise returns whether the fast path handles them
+  private boolean format(String format, Object[] args, boolean emit) {
+    int arg = 0;
+    int n = format.length();
+    for (int i = 0; i < n; i++) {
+      int j = format.indexOf('%', i);
+      if (j < 0) j = n;
+      if (emit) write(format, i, j - i);
+      if (j == n) break;
+      i = j + 1;
+      if (i == n) return false;
+      boolean left = false;
+      boolean zero = false;
+      if (format.charAt(i) == '-') {
+        left = true;
+        i++;
+      }
+      else if (format.charAt(i) == '0') {
+        zero = true;
+        i++;
+      }
+      if (i < n && "-#+ 0,(".indexOf(format.charAt(i)) >= 0) return false;   // more flags
+      int width = -1;
+      for (; i < n && format.charAt(i) >= '0' && format.charAt(i) <= '9'; i++)
+        width = Math.max(width, 0) * 10 + format.charAt(i) - '0';
+      int precision = -1;
+      if (i < n && format.charAt(i) == '.') {
+        precision = 0;
+        for (i++; i < n && format.charAt(i) >= '0' && format.charAt(i) <= '9'; i++)
+          precision = precision * 10 + format.charAt(i) - '0';
+      }
+      if (i == n) return false;
+      char conversion = format.charAt(i);
+      if ((left || zero) && width < 0) return false;
+
+      if (conversion == '%' || conversion == 'n') {
+        if (left || zero || width >= 0 || precision >= 0) return false;
+        if (!emit)                  continue;
+        if (conversion == '%')      write('%');
+        else                        println();
+        continue;
+      }
+      if (arg == args.length) return false;
+      Object x = args[arg++];
+      int from;
+      if (conversion == 'd') {
+        if (precision >= 0) return false;
+        if (x instanceof Integer || x instanceof Long || x instanceof Short || x instanceof Byte)
+          from = toDigits(((Number) x).longValue());
+        else return false;
+      }
+      else if (conversion == 'f') {
+        if (!(x instanceof Double || x instanceof Float)) return false;
+        from = toFixed(((Number) x).doubleValue(), precision < 0 ? 6 : precision);
+        if (from < 0) return false;
+      }
+      else if (conversion == 's' || conversion == 'c') {
+        if (zero || precision >= 0) return false;
+        if (conversion == 'c' && !(x instanceof Character)) return false;
+        if (x instanceof java.util.Formattable) return false;
+        if (emit) {
+          String s = String.valueOf(x);
+          if (!left) pad(' ', width - s.length());
+          write(s, 0, s.length());
+          if (left) pad(' ', width - s.length());
+        }
+        continue;
+      }
+      else return false;
+
+      // a number in digits[from..31]
+      if (emit) {
+        int length = digits.length - from;
+        if (left) {
+          writeDigits(from);
+          pad(' ', width - length);
+        }
+        else if (zero && digits[from] == '-') {
+          write('-');
+          pad('0', width - length);
+          writeDigits(from + 1);
+        }
+        else {
+          pad(zero ? '0' : ' ', width - length);
+          writeDigits(from);
+        }
+      }
+    }
+    return true;
+  }
+
+  private void pad(char c, int n) {
+    for (int i = 0; i < n; i++)
+      write(c);
+  }
+
+  /**
+   * Writes the buffered output to the output stream and flushes it,
+   * waiting for a background write to finish. A high surrogate written last
+   * stays buffered until its low half arrives.
+   */
+  @Override
+  public void flush() {
+    synchronized (lock) {
+      if (!open()) return;
+      await();
+      try {
+        os.write(buf, 0, count);
+        os.flush();
+      }
+      catch (IOException e) {
+        setError();
+      }
+      count = 0;
+    }
+  }
+
+  /**
+   * Flushes and closes this writer and the output stream. Closing a closed
+   * writer has no effect; writing to one sets the error flag.
+   */
+  @Override
+  public void close() {
+    synchronized (lock) {
+      if (closed) return;
+      if (high != 0) ensure(0);
+      flush();
+      closed = true;
+      super.close();         // so that checkError() no longer flushes
+      if (writer != null) writer.shutdown();
+      try {
+        os.close();
+      }
+      catch (IOException e) {
+        setError();
+      }
+    }
+  }
+
+  /**
+   * Unit tests the {@code ByteWriter} data type.
+   * Prints <em>n</em> lines, each with an integer and a double.
+   *
+   * @param args the command-line arguments
+   */
+  public static void main(String[] args) {
+    int n = Integer.parseInt(args[0]);
+    ByteWriter out = new ByteWriter(System.out, false);
+    for (int i = 0; i < n; i++)
+      out.printf("%d %.3f\n", i, 0.5 * i);
+    out.flush();
+  }
+}
@@ -0,0 +1,232 @@
+package libs;
+
+/******************************************************************************
+ *  Compilation:  javac ExternalShuffle.java
+ *  Execution:    java ExternalShuffle input output [memory]
+ *  Dependencies: ParallelShuffle.java StdRandom.java RandomEngine.java StdOut.java
+ *
+ *  Rearranges the lines of a file that may be larger than memory in
+ *  uniformly random order.
+ *
+ *  % java ExternalShuffle lines.txt shuffled.txt 1000000
+ *  shuffled 9787602 bytes in 20 buckets
+ *
+ ******************************************************************************/
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+
+/**
+ *  The {@code ExternalShuffle} class provides static methods for rearranging
+ *  the lines of a file in uniformly random order, using an amount of memory
+ *  that can be much smaller than the file.
+ *  <p>
+ *  This implementation uses the two-pass method of Rao and Sandelius.
+ *  The first pass reads the input sequentially and appends each line to one
+ *  of <em>m</em> temporary bucket files, chosen uniformly at random, with
+ *  <em>m</em> large enough that a bucket fits in memory. The second pass reads
+ *  each bucket, shuffles its lines in memory with {@link ParallelShuffle},
+ *  and appends them to the output. A bucket that turns out to be too large
+ *  is shuffled the same way, recursively, and a line too long for memory is
+ *  copied without being loaded. Every line is read and written about
+ *  twice, always sequentially, and the result is a uniformly random permutation.
+ *  <p>
+ *  A line is a sequence of bytes ended by a newline; every line of the output
+ *  ends with a newline, even if the last line of the input did not. The buckets
+ *  are created in the directory of the output file and deleted when done.
+ */
+public final class ExternalShuffle {
+  private static final int BUFFER_SIZE = 1 << 16;
+  private static final long MAX_MEMORY = 1 << 30;   // the lines of a bucket are indexed by int
+  private static final int MAX_BUCKETS = 256;        // open files at a time, well below the usual limit of 1024
+
+  // don't instantiate
+  private ExternalShuffle() { }
+
+  /**
+   * Rearranges the lines of the file {@code input} in uniformly random order
+   * and writes them to the file {@code output}, using an engine split from the
+   * engine of the calling thread in {@link StdRandom} and up to a quarter
+   * of the maximum heap size (but at most 1 GB) for a bucket.
+   *
+   * @param  input the input file
+   * @param  output the output file
+   * @return the number of buckets of the first pass, or 0 if the file fits in memory
+   * @throws IOException if an I/O error occurs
+   */
+  public static int shuffle(File input, File output) throws IOException {
+    return shuffle(input, output, Runtime.getRuntime().maxMemory() / 4, StdRandom.engine().split());
+  }
+
+  /**
+   * Rearranges the lines of the file {@code input} in uniformly random order
+   * and writes them to the file {@code output}, holding at most about
+   * {@code memory} bytes of lines in memory at a time.
+   *
+   * @param  input the input file
+   * @param  output the output file
+   * @param  memory the number of bytes of lines to hold in memory
+   * @param  random the engine
+   * @return the number of buckets of the first pass, or 0 if the file fits in memory
+   * @throws IllegalArgumentException if {@code input} and {@code output} are the same file
+   * @throws IllegalArgumentException if {@code memory} is less than 64 KB
+   * @throws IOException if an I/O error occurs
+   */
+  public static int shuffle(File input, File output, long memory, RandomEngine random) throws IOException {
+    if (input.getCanonicalFile().equals(output.getCanonicalFile()))
+      throw new IllegalArgumentException("input and output are the same file");
+    if (memory < BUFFER_SIZE) throw new IllegalArgumentException("memory must be at least " + BUFFER_SIZE + " bytes");
+    memory = Math.min(memory, MAX_MEMORY);
+    try (OutputStream out = new BufferedOutputStream(new FileOutputStream(output), BUFFER_SIZE)) {
+      return shuffle(input, out, output.getAbsoluteFile().getParentFile(), memory, Long.MAX_VALUE, random);
+    }
+  }
+
+  // shuffles the lines of the file to out, with buckets in the given directory; a bucket that
+  // got every line of its parent is split again with fresh random numbers, unless it is a single line
+  private static int shuffle(File input, OutputStream out, File directory, long memory, long parent,
+                             RandomEngine random) throws IOException {
+    long size = input.length();
+    if (size <= memory) {
+      shuffleInMemory(Files.readAllBytes(input.toPath()), out, random);
+      return 0;
+    }
+    if (size == parent && isOneLine(input)) {
+      copyLine(input, out);
+      return 0;
+    }
+
+    // twice as many buckets as needed on average, so that few overflow
+    int m = (int) Math.min(MAX_BUCKETS, 2 * ((size + memory - 1) / memory));
+    File[] buckets = new File[m];
+    OutputStream[] writers = new OutputStream[m];
+    int bufferSize = (int) Math.max(1 << 12, Math.min(BUFFER_SIZE, memory / m));
+    try {
+      for (int b = 0; b < m; b++) {
+        buckets[b] = File.createTempFile("shuffle", ".tmp", directory);
+        writers[b] = new BufferedOutputStream(new FileOutputStream(buckets[b]), bufferSize);
+      }
+      distribute(input, writers, random);
+      for (int b = 0; b < m; b++) {
+        writers[b].close();
+        writers[b] = null;
+      }
+      for (int b = 0; b < m; b++) {
+        shuffle(buckets[b], out, directory, memory, size, random);
+        buckets[b].delete();
+      }
+    }
+    finally {
+      for (int b = 0; b < m; b++) {
+        if (writers[b] != null) writers[b].close();
+        if (buckets[b] != null) buckets[b].delete();
+      }
+    }
+    return m;
+  }
+
+  // the first pass: appends each line of the input to a random bucket, chosen when the line
+  // starts, a block at a time, so that a line is never held in memory whatever its length
+  private static void distribute(File input, OutputStream[] writers, RandomEngine random) throws IOException {
+    byte[] block = new byte[BUFFER_SIZE];
+    OutputStream bucket = null;     // the bucket of the current line, or null between lines
+    try (InputStream in = new FileInputStream(input)) {
+      int n;
+      while ((n = in.read(block)) > 0) {
+        int start = 0;
+        while (start < n) {
+          if (bucket == null) bucket = writers[random.nextInt(writers.length)];
+          int i = start;
+          while (i < n && block[i] != '\n') i++;
+          if (i == n) {
+            bucket.write(block, start, n - start);
+            break;
+          }
+          bucket.write(block, start, i + 1 - start);
+          bucket = null;
+          start = i + 1;
+        }
+      }
+    }
+    if (bucket != null) bucket.write('\n');
+  }
+
+  // does the file hold at most one line?
+  private static boolean isOneLine(File input) throws IOException {
+    long size = input.length();
+    byte[] block = new byte[BUFFER_SIZE];
+    long offset = 0;
+    try (InputStream in = new FileInputStream(input)) {
+      int n;
+      while ((n = in.read(block)) > 0) {
+        for (int i = 0; i < n; i++)
+          if (block[i] == '\n' && offset + i < size - 1) return false;
+        offset += n;
+      }
+    }
+    return true;
+  }
+
+  // writes the single line of the file to out, a block at a time
+  private static void copyLine(File input, OutputStream out) throws IOException {
+    byte[] block = new byte[BUFFER_SIZE];
+    byte last = '\n';
+    try (InputStream in = new FileInputStream(input)) {
+      int n;
+      while ((n = in.read(block)) > 0) {
+        out.write(block, 0, n);
+        last = block[n-1];
+      }
+    }
+    if (last != '\n') out.write('\n');
+  }
+
+  // the second pass for one bucket: writes its lines to out in random order
+  private static void shuffleInMemory(byte[] bytes, OutputStream out, RandomEngine random) throws IOException {
+    int lines = 0;
+    for (byte b : bytes)
+      if (b == '\n') lines++;
+    boolean unfinished = bytes.length > 0 && bytes[bytes.length - 1] != '\n';
+    if (unfinished) lines++;
+
+    // start[i] is the index of the first byte of line i; start[lines] is past the end
+    int[] start = new int[lines + 1];
+    int k = 1;
+    for (int i = 0; i < bytes.length; i++)
+      if (bytes[i] == '\n' && k <= lines) start[k++] = i + 1;
+    start[lines] = bytes.length;
+
+    int[] order = new int[lines];
+    for (int i = 0; i < lines; i++)
+      order[i] = i;
+    ParallelShuffle.shuffle(order, random);
+    for (int i : order) {
+      out.write(bytes, start[i], start[i+1] - start[i]);
+      if (unfinished && i == lines - 1) out.write('\n');
+    }
+  }
+
+  /**
+   * Unit tests the {@code ExternalShuffle} class.
+   * Shuffles the lines of the file named by the first command-line argument
+   * into the file named by the second, using as many bytes of memory as the
+   * optional third argument.
+   *
+   * @param  args the command-line arguments
+   * @throws IOException if an I/O error occurs
+   */
+  public static void main(String[] args) throws IOException {
+    File input = new File(args[0]);
+    File output = new File(args[1]);
+    int buckets;
+    if (args.length > 2) buckets = shuffle(input, output, Long.parseLong(args[2]), StdRandom.stream(0));
+    else                 buckets = shuffle(input, output);
+    StdOut.println("shuffled " + input.length() + " bytes in " + buckets + " buckets");
+  }
+}
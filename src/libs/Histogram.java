@@ -0,0 +1,240 @@
+package libs;
+
+/******************************************************************************
+ *  Compilation:  javac Histogram.java
+ *  Execution:    java Histogram n
+ *  Dependencies: StdRandom.java StdOut.java
+ *
+ *  A histogram of non-negative long values, such as latencies in
+ *  nanoseconds, with log-linear buckets of bounded relative error.
+ *
+ *  % java Histogram 1000000
+ *  n = 1000000  min = 0  mean = 998.2  p50 = 695  p99 = 4607  p999 = 6879  max = 13518
+ *
+ ******************************************************************************/
+
+import java.util.Arrays;
+
+/**
+ *  The {@code Histogram} class represents a histogram of non-negative
+ *  {@code long} values, such as latencies in nanoseconds, from which
+ *  percentiles can be read, in the style of Gil Tene's HdrHistogram.
+ *  <p>
+ *  Values below 2<sup><em>p</em>+1</sup>, where <em>p</em> is the
+ *  <em>precision</em>, have a bucket each; above that, each power-of-two
+ *  range is split into 2<sup><em>p</em></sup> buckets of equal width. A bucket
+ *  is found with a shift and the number of leading zeros of the value, so
+ *  {@link #record(long)} takes constant time and allocates nothing, and the
+ *  value reported for a bucket is within a factor 1 + 2<sup>-<em>p</em></sup>
+ *  of every value in it. With the default precision 7 (values within 0.8%),
+ *  the histogram covers every {@code long} in 7,296 counters.
+ *  <p>
+ *  The minimum, maximum and count are kept exactly, and so is the sum
+ *  unless it overflows.
+ *  A histogram is not thread-safe: give each thread its own, and
+ *  {@link #add(Histogram)} them together; {@link Timer} does this.
+ */
+public class Histogram {
+  private final int precision;    // 2^precision buckets per power of two
+  private final long[] counts;
+  private long n;                 // number of values
+  private long sum;               // sum of the values
+  private long min = Long.MAX_VALUE;
+  private long max = Long.MIN_VALUE;
+
+  /**
+   * Initializes an empty histogram with precision 7.
+   */
+  public Histogram() {
+    this(7);
+  }
+
+  /**
+   * Initializes an empty histogram whose values are reported within a factor
+   * 1 + 2<sup>-{@code precision}</sup>.
+   *
+   * @param  precision the number of bits of precision
+   * @throws IllegalArgumentException unless {@code 1 <= precision <= 16}
+   */
+  public Histogram(int precision) {
+    if (precision < 1 || precision > 16) throw new IllegalArgumentException("precision must be between 1 and 16");
+    this.precision = precision;
+    this.counts = new long[(64 - precision) << precision];
+  }
+
+  // the bucket of a value v >= 0
+  private int index(long v) {
+    int m = 63 - Long.numberOfLeadingZeros(v);      // position of the highest 1 bit
+    if (m <= precision) return (int) v;
+    int shift = m - precision;
+    return ((shift + 1) << precision) + (int) (v >>> shift) - (1 << precision);
+  }
+
+  // the largest value in bucket i
+  private long highest(int i) {
+    if (i < 2 << precision) return i;
+    int shift = (i >>> precision) - 1;
+    long sub = (i & ((1 << precision) - 1)) + (1L << precision);
+    return ((sub + 1) << shift) - 1;
+  }
+
+  /**
+   * Records a value.
+   *
+   * @param  value the value
+   * @throws IllegalArgumentException if {@code value} is negative
+   */
+  public void record(long value) {
+    if (value < 0) throw new IllegalArgumentException("value is negative: " + value);
+    counts[index(value)]++;
+    n++;
+    sum += value;
+    if (value < min) min = value;
+    if (value > max) max = value;
+  }
+
+  /**
+   * Records {@code count} occurrences of a value.
+   *
+   * @param  value the value
+   * @param  count the number of occurrences
+   * @throws IllegalArgumentException if {@code value} or {@code count} is negative
+   */
+  public void record(long value, long count) {
+    if (value < 0) throw new IllegalArgumentException("value is negative: " + value);
+    if (count < 0) throw new IllegalArgumentException("count is negative: " + count);
+    if (count == 0) return;
+    counts[index(value)] += count;
+    n += count;
+    sum += value * count;
+    if (value < min) min = value;
+    if (value > max) max = value;
+  }
+
+  /**
+   * Adds the values of another histogram of the same precision to this one.
+   *
+   * @param  that the other histogram
+   * @throws IllegalArgumentException if the precisions differ
+   */
+  public void add(Histogram that) {
+    if (that.precision != precision) throw new IllegalArgumentException("histograms have different precisions");
+    for (int i = 0; i < counts.length; i++)
+      counts[i] += that.counts[i];
+    n += that.n;
+    sum += that.sum;
+    min = Math.min(min, that.min);
+    max = Math.max(max, that.max);
+  }
+
+  /**
+   * Removes all values.
+   */
+  public void reset() {
+    Arrays.fill(counts, 0);
+    n = 0;
+    sum = 0;
+    min = Long.MAX_VALUE;
+    max = Long.MIN_VALUE;
+  }
+
+  /**
+   * Returns the number of values.
+   *
+   * @return the number of values
+   */
+  public long count() {
+    return n;
+  }
+
+  /**
+   * Returns the smallest value.
+   *
+   * @return the smallest value
+   * @throws IllegalStateException if the histogram is empty
+   */
+  public long min() {
+    if (n == 0) throw new IllegalStateException("histogram is empty");
+    return min;
+  }
+
+  /**
+   * Returns the largest value.
+   *
+   * @return the largest value
+   * @throws IllegalStateException if the histogram is empty
+   */
+  public long max() {
+    if (n == 0) throw new IllegalStateException("histogram is empty");
+    return max;
+  }
+
+  /**
+   * Returns the sum of the values.
+   *
+   * @return the sum of the values
+   */
+  public long sum() {
+    return sum;
+  }
+
+  /**
+   * Returns the average of the values.
+   *
+   * @return the average of the values
+   * @throws IllegalStateException if the histogram is empty
+   */
+  public double mean() {
+    if (n == 0) throw new IllegalStateException("histogram is empty");
+    return (double) sum / n;
+  }
+
+  /**
+   * Returns the {@code q}-quantile of the values: the smallest recorded value
+   * that is at least as large as a fraction {@code q} of the values, within the
+   * precision of the histogram, and never more than {@link #max()}.
+   *
+   * @param  q the fraction, such as 0.5 for the median or 0.99 for the 99th percentile
+   * @return the {@code q}-quantile
+   * @throws IllegalArgumentException unless {@code 0.0 <= q <= 1.0}
+   * @throws IllegalStateException if the histogram is empty
+   */
+  public long quantile(double q) {
+    if (!(q >= 0.0 && q <= 1.0)) throw new IllegalArgumentException("q must be between 0 and 1: " + q);
+    if (n == 0) throw new IllegalStateException("histogram is empty");
+    long rank = Math.max(1, (long) Math.ceil(q * n));
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= rank) return Math.max(min, Math.min(max, highest(i)));
+    }
+    return max;
+  }
+
+  /**
+   * Returns a string with the count, minimum, mean, median, 99th and 99.9th
+   * percentiles and maximum of the values.
+   *
+   * @return a summary of the values
+   */
+  public String toString() {
+    if (n == 0) return "n = 0";
+    return String.format("n = %d  min = %d  mean = %.1f  p50 = %d  p99 = %d  p999 = %d  max = %d",
+                         n, min, mean(), quantile(0.5), quantile(0.99), quantile(0.999), max);
+  }
+
+  /**
+   * Unit tests the {@code Histogram} data type.
+   * Records <em>n</em> values from an exponential distribution with mean 1000
+   * and prints the summary.
+   *
+   * @param args the command-line arguments
+   */
+  public static void main(String[] args) {
+    int n = Integer.parseInt(args[0]);
+    Histogram histogram = new Histogram();
+    for (int i = 0; i < n; i++)
+      histogram.record((long) StdRandom.exp(0.001));
+    StdOut.println(histogram);
+  }
+}
@@ -9,7 +9,6 @@ package libs;
  *
  ******************************************************************************/
 
-import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -18,12 +17,8 @@ import java.net.URL;
 import java.net.Socket;
 // import java.net.HttpURLConnection;
 import java.net.URLConnection;
-import java.util.ArrayList;
-import java.util.InputMismatchException;
-import java.util.Locale;
-import java.util.NoSuchElementException;
+import java.nio.charset.StandardCharsets;
 import java.util.Scanner;
-import java.util.regex.Pattern;
 
 /**
  *  <i>Input</i>. This class provides methods for reading strings
@@ -39,6 +34,11 @@ import java.util.regex.Pattern;
  *  <i>Computer Science: An Interdisciplinary Approach</i>
  *  by Robert Sedgewick and Kevin Wayne.
  *  <p>
+ *  Input is read through a {@link ByteTokenizer}, which finds tokens and
+ *  parses numbers directly in the input bytes (assumed to be UTF-8),
+ *  without creating intermediate strings. Local files are read through a
+ *  {@link MappedInputStream}, a memory mapping of the file.
+ *  <p>
  *  Like {@link Scanner}, reading a token also consumes preceding Java
  *  whitespace, reading a full line consumes
  *  the following end-of-line delimeter, while reading a character consumes
@@ -55,38 +55,13 @@ import java.util.regex.Pattern;
  */
 public final class In {
 
-  ///// begin: section (1 of 2) of code duplicated from In to StdIn.
-
-  // assume Unicode UTF-8 encoding
-  private static final String CHARSET_NAME = "UTF-8";
-
-  // assume language = English, country = US for consistency with System.out.
-  private static final Locale LOCALE = Locale.US;
-
-  // the default token separator; we maintain the invariant that this value
-  // is held by the scanner's delimiter between calls
-  private static final Pattern WHITESPACE_PATTERN
-      = Pattern.compile("\\p{javaWhitespace}+");
-
-  // makes whitespace characters significant
-  private static final Pattern EMPTY_PATTERN
-      = Pattern.compile("");
-
-  // used to read the entire input. source:
-  // http://weblogs.java.net/blog/pat/archive/2004/10/stupid_scanner_1.html
-  private static final Pattern EVERYTHING_PATTERN
-      = Pattern.compile("\\A");
-
-  //// end: section (1 of 2) of code duplicated from In to StdIn.
-
-  private Scanner scanner;
+  private ByteTokenizer tokenizer;
 
   /**
    * Initializes an input stream from standard input.
    */
   public In() {
-    scanner = new Scanner(new BufferedInputStream(System.in), CHARSET_NAME);
-    scanner.useLocale(LOCALE);
+    tokenizer = new ByteTokenizer(System.in);
   }
 
   /**
@@ -100,8 +75,7 @@ public final class In {
     if (socket == null) throw new IllegalArgumentException("socket argument is null");
     try {
       InputStream is = socket.getInputStream();
-      scanner = new Scanner(new BufferedInputStream(is), CHARSET_NAME);
-      scanner.useLocale(LOCALE);
+      tokenizer = new ByteTokenizer(is);
     }
     catch (IOException ioe) {
       throw new IllegalArgumentException("Could not open " + socket, ioe);
@@ -120,8 +94,7 @@ public final class In {
     try {
       URLConnection site = url.openConnection();
       InputStream is     = site.getInputStream();
-      scanner            = new Scanner(new BufferedInputStream(is), CHARSET_NAME);
-      scanner.useLocale(LOCALE);
+      tokenizer          = new ByteTokenizer(is);
     }
     catch (IOException ioe) {
       throw new IllegalArgumentException("Could not open " + url, ioe);
@@ -138,11 +111,7 @@ public final class In {
   public In(File file) {
     if (file == null) throw new IllegalArgumentException("file argument is null");
     try {
-      // for consistency with StdIn, wrap with BufferedInputStream instead of use
-      // file as argument to Scanner
-      FileInputStream fis = new FileInputStream(file);
-      scanner = new Scanner(new BufferedInputStream(fis), CHARSET_NAME);
-      scanner.useLocale(LOCALE);
+      tokenizer = new ByteTokenizer(open(file));
     }
     catch (IOException ioe) {
       throw new IllegalArgumentException("Could not open " + file, ioe);
@@ -164,11 +133,7 @@ public final class In {
       // first try to read file from local file system
       File file = new File(name);
       if (file.exists()) {
-        // for consistency with StdIn, wrap with BufferedInputStream instead of use
-        // file as argument to Scanner
-        FileInputStream fis = new FileInputStream(file);
-        scanner = new Scanner(new BufferedInputStream(fis), CHARSET_NAME);
-        scanner.useLocale(LOCALE);
+        tokenizer = new ByteTokenizer(open(file));
         return;
       }
 
@@ -187,27 +152,69 @@ public final class In {
       // site.addRequestProperty("User-Agent", "Mozilla/4.76");
 
       InputStream is     = site.getInputStream();
-      scanner            = new Scanner(new BufferedInputStream(is), CHARSET_NAME);
-      scanner.useLocale(LOCALE);
+      tokenizer          = new ByteTokenizer(is);
     }
     catch (IOException ioe) {
       throw new IllegalArgumentException("Could not open " + name, ioe);
     }
   }
 
+  // a regular file is memory-mapped; a device or named pipe is read as a stream
+  private static InputStream open(File file) throws IOException {
+    if (file.isFile()) return new MappedInputStream(file);
+    return new FileInputStream(file);
+  }
+
   /**
    * Initializes an input stream from a given {@link Scanner} source; use with
    * {@code new Scanner(String)} to read from a string.
    * <p>
    * Note that this does not create a defensive copy, so the
-   * scanner will be mutated as you read on.
+   * scanner will be mutated as you read on. The scanner is read
+   * a line at a time, and each line separator is read as {@code \n}.
    *
    * @param  scanner the scanner
    * @throws IllegalArgumentException if {@code scanner} is {@code null}
    */
   public In(Scanner scanner) {
     if (scanner == null) throw new IllegalArgumentException("scanner argument is null");
-    this.scanner = scanner;
+    tokenizer = new ByteTokenizer(new ScannerInputStream(scanner));
+  }
+
+  // the UTF-8 bytes of the lines of a scanner, each followed by \n
+  private static class ScannerInputStream extends InputStream {
+    private final Scanner scanner;
+    private byte[] line = new byte[0];
+    private int pos;
+
+    ScannerInputStream(Scanner scanner) {
+      this.scanner = scanner;
+    }
+
+    public int read() {
+      if (pos == line.length && !nextLine()) return -1;
+      return line[pos++] & 0xFF;
+    }
+
+    public int read(byte[] b, int off, int len) {
+      if (len == 0) return 0;
+      if (pos == line.length && !nextLine()) return -1;
+      int n = Math.min(len, line.length - pos);
+      System.arraycopy(line, pos, b, off, n);
+      pos += n;
+      return n;
+    }
+
+    private boolean nextLine() {
+      if (!scanner.hasNextLine()) return false;
+      line = (scanner.nextLine() + "\n").getBytes(StandardCharsets.UTF_8);
+      pos = 0;
+      return true;
+    }
+
+    public void close() {
+      scanner.close();
+    }
   }
 
   /**
@@ -216,7 +223,7 @@ public final class In {
    * @return {@code true} if this input stream exists; {@code false} otherwise
    */
   public boolean exists()  {
-    return scanner != null;
+    return tokenizer != null;
   }
 
   ////  begin: section (2 of 2) of code duplicated from In to StdIn,
@@ -231,7 +238,7 @@ public final class In {
    *         {@code false} otherwise
    */
   public boolean isEmpty() {
-    return !scanner.hasNext();
+    return tokenizer.isEmpty();
   }
 
   /**
@@ -244,7 +251,7 @@ public final class In {
    *         {@code false} otherwise
    */
   public boolean hasNextLine() {
-    return scanner.hasNextLine();
+    return tokenizer.hasNextLine();
   }
 
   /**
@@ -256,10 +263,7 @@ public final class In {
    *         {@code false} otherwise
    */
   public boolean hasNextChar() {
-    scanner.useDelimiter(EMPTY_PATTERN);
-    boolean result = scanner.hasNext();
-    scanner.useDelimiter(WHITESPACE_PATTERN);
-    return result;
+    return tokenizer.hasNextChar();
   }
 
 
@@ -269,14 +273,7 @@ public final class In {
    * @return the next line in this input stream; {@code null} if no such line
    */
   public String readLine() {
-    String line;
-    try {
-      line = scanner.nextLine();
-    }
-    catch (NoSuchElementException e) {
-      line = null;
-    }
-    return line;
+    return tokenizer.readLine();
   }
 
   /**
@@ -285,12 +282,7 @@ public final class In {
    * @return the next character in this input stream
    */
   public char readChar() {
-    scanner.useDelimiter(EMPTY_PATTERN);
-    String ch = scanner.next();
-    assert ch.length() == 1 : "Internal (Std)In.readChar() error!"
-                              + " Please contact the authors.";
-    scanner.useDelimiter(WHITESPACE_PATTERN);
-    return ch.charAt(0);
+    return tokenizer.readChar();
   }
 
 
@@ -300,13 +292,7 @@ public final class In {
    * @return the remainder of this input stream, as a string
    */
   public String readAll() {
-    if (!scanner.hasNextLine())
-      return "";
-
-    String result = scanner.useDelimiter(EVERYTHING_PATTERN).next();
-    // not that important to reset delimeter, since now scanner is empty
-    scanner.useDelimiter(WHITESPACE_PATTERN); // but let's do it anyway
-    return result;
+    return tokenizer.readAll();
   }
 
 
@@ -316,7 +302,7 @@ public final class In {
    * @return the next {@code String} in this input stream
    */
   public String readString() {
-    return scanner.next();
+    return tokenizer.readString();
   }
 
   /**
@@ -326,7 +312,7 @@ public final class In {
    * @return the next {@code int} in this input stream
    */
   public int readInt() {
-    return scanner.nextInt();
+    return tokenizer.readInt();
   }
 
   /**
@@ -336,7 +322,7 @@ public final class In {
    * @return the next {@code double} in this input stream
    */
   public double readDouble() {
-    return scanner.nextDouble();
+    return tokenizer.readDouble();
   }
 
   /**
@@ -346,7 +332,7 @@ public final class In {
    * @return the next {@code float} in this input stream
    */
   public float readFloat() {
-    return scanner.nextFloat();
+    return tokenizer.readFloat();
   }
 
   /**
@@ -356,7 +342,7 @@ public final class In {
    * @return the next {@code long} in this input stream
    */
   public long readLong() {
-    return scanner.nextLong();
+    return tokenizer.readLong();
   }
 
   /**
@@ -366,7 +352,7 @@ public final class In {
    * @return the next {@code short} in this input stream
    */
   public short readShort() {
-    return scanner.nextShort();
+    return tokenizer.readShort();
   }
 
   /**
@@ -378,7 +364,7 @@ public final class In {
    * @return the next {@code byte} in this input stream
    */
   public byte readByte() {
-    return scanner.nextByte();
+    return tokenizer.readByte();
   }
 
   /**
@@ -389,12 +375,7 @@ public final class In {
    * @return the next {@code boolean} in this input stream
    */
   public boolean readBoolean() {
-    String s = readString();
-    if ("true".equalsIgnoreCase(s))  return true;
-    if ("false".equalsIgnoreCase(s)) return false;
-    if ("1".equals(s))               return true;
-    if ("0".equals(s))               return false;
-    throw new InputMismatchException();
+    return tokenizer.readBoolean();
   }
 
   /**
@@ -404,15 +385,7 @@ public final class In {
    * @return all remaining tokens in this input stream, as an array of strings
    */
   public String[] readAllStrings() {
-    // we could use readAll.trim().split(), but that's not consistent
-    // since trim() uses characters 0x00..0x20 as whitespace
-    String[] tokens = WHITESPACE_PATTERN.split(readAll());
-    if (tokens.length == 0 || tokens[0].length() > 0)
-      return tokens;
-    String[] decapitokens = new String[tokens.length-1];
-    for (int i = 0; i < tokens.length-1; i++)
-      decapitokens[i] = tokens[i+1];
-    return decapitokens;
+    return tokenizer.readAllStrings();
   }
 
   /**
@@ -422,11 +395,7 @@ public final class In {
    * @return all remaining lines in this input stream, as an array of strings
    */
   public String[] readAllLines() {
-    ArrayList<String> lines = new ArrayList<String>();
-    while (hasNextLine()) {
-      lines.add(readLine());
-    }
-    return lines.toArray(new String[lines.size()]);
+    return tokenizer.readAllLines();
   }
 
 
@@ -437,11 +406,7 @@ public final class In {
    * @return all remaining lines in this input stream, as an array of integers
    */
   public int[] readAllInts() {
-    String[] fields = readAllStrings();
-    int[] vals = new int[fields.length];
-    for (int i = 0; i < fields.length; i++)
-      vals[i] = Integer.parseInt(fields[i]);
-    return vals;
+    return tokenizer.readAllInts();
   }
 
   /**
@@ -451,11 +416,7 @@ public final class In {
    * @return all remaining lines in this input stream, as an array of longs
    */
   public long[] readAllLongs() {
-    String[] fields = readAllStrings();
-    long[] vals = new long[fields.length];
-    for (int i = 0; i < fields.length; i++)
-      vals[i] = Long.parseLong(fields[i]);
-    return vals;
+    return tokenizer.readAllLongs();
   }
 
   /**
@@ -465,11 +426,7 @@ public final class In {
    * @return all remaining lines in this input stream, as an array of doubles
    */
   public double[] readAllDoubles() {
-    String[] fields = readAllStrings();
-    double[] vals = new double[fields.length];
-    for (int i = 0; i < fields.length; i++)
-      vals[i] = Double.parseDouble(fields[i]);
-    return vals;
+    return tokenizer.readAllDoubles();
   }
 
   ///// end: section (2 of 2) of code duplicated from In to StdIn */
@@ -478,7 +435,7 @@ public final class In {
    * Closes this input stream.
    */
   public void close() {
-    scanner.close();
+    tokenizer.close();
   }
 
   /**
@@ -0,0 +1,163 @@
+package libs;
+
+/******************************************************************************
+ *  Compilation:  javac MappedInputStream.java
+ *  Execution:    java MappedInputStream file
+ *  Dependencies: none
+ *
+ *  An input stream over a memory-mapped file, of any size.
+ *
+ *  % java MappedInputStream tinyUF.txt
+ *  108 bytes
+ *
+ ******************************************************************************/
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ *  <i>Mapped input stream</i>. This class reads a file through a memory
+ *  mapping instead of {@code read} system calls: the bytes are copied
+ *  straight from the operating system's page cache, and a file that is
+ *  already cached is read at memory speed.
+ *  <p>
+ *  A single mapping is limited to 2 GB, so the file is mapped one chunk at
+ *  a time (1 GB by default), and the next chunk is mapped when the
+ *  previous one has been read. Files of any size can be read.
+ *  <p>
+ *  {@link In} and {@link BinaryIn} use this class to read local files.
+ *  A mapping is released when its buffer is garbage collected, not by
+ *  {@link #close()}; on some systems the file cannot be deleted until then.
+ */
+public final class MappedInputStream extends InputStream {
+  private static final int CHUNK_SIZE = 1 << 30;
+
+  private final FileChannel channel;
+  private final long length;        // length of the file
+  private final int chunkSize;
+  private MappedByteBuffer chunk;   // the bytes from offset on
+  private long offset;              // position in the file of the start of chunk
+
+  /**
+   * Opens a file for reading through a memory mapping.
+   *
+   * @param  file the file
+   * @throws IOException if the file cannot be opened or mapped
+   */
+  public MappedInputStream(File file) throws IOException {
+    this(file, CHUNK_SIZE);
+  }
+
+  /**
+   * Opens a file for reading through a memory mapping of
+   * {@code chunkSize} bytes at a time.
+   *
+   * @param  file the file
+   * @param  chunkSize the number of bytes mapped at a time
+   * @throws IOException if the file cannot be opened or mapped
+   * @throws IllegalArgumentException if {@code chunkSize < 1}
+   */
+  public MappedInputStream(File file, int chunkSize) throws IOException {
+    if (chunkSize < 1) throw new IllegalArgumentException("chunk size must be positive");
+    this.chunkSize = chunkSize;
+    channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+    length = channel.size();
+    map(0);
+  }
+
+  // maps the chunk starting at position start of the file
+  private void map(long start) throws IOException {
+    offset = start;
+    long size = Math.min(chunkSize, length - start);
+    chunk = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+  }
+
+  // maps the next chunk if the current one is used up; returns false at the end of the file
+  private boolean ensure() throws IOException {
+    if (chunk.hasRemaining()) return true;
+    long next = offset + chunk.limit();
+    if (next >= length) return false;
+    map(next);
+    return true;
+  }
+
+  /**
+   * Returns the length of the file.
+   *
+   * @return the length of the file, in bytes
+   */
+  public long length() {
+    return length;
+  }
+
+  /**
+   * Returns the number of bytes read or skipped so far.
+   *
+   * @return the position in the file of the next byte to be read
+   */
+  public long position() {
+    return offset + chunk.position();
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (!ensure()) return -1;
+    return chunk.get() & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (off < 0 || len < 0 || len > b.length - off) throw new IndexOutOfBoundsException();
+    if (len == 0) return 0;
+    if (!ensure()) return -1;
+    int n = Math.min(len, chunk.remaining());
+    chunk.get(b, off, n);
+    return n;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    if (n <= 0) return 0;
+    long from = position();
+    long to = Math.min(length, from + n);
+    if (to - offset <= chunk.limit()) chunk.position((int) (to - offset));
+    else                              map(to);
+    return to - from;
+  }
+
+  @Override
+  public int available() {
+    return (int) Math.min(Integer.MAX_VALUE, length - position());
+  }
+
+  /**
+   * Closes the file.
+   *
+   * @throws IOException if an I/O error occurs
+   */
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  /**
+   * Unit tests the {@code MappedInputStream} data type.
+   * Reads the file named on the command line and prints its length.
+   *
+   * @param args the command-line arguments
+   * @throws IOException if the file cannot be read
+   */
+  public static void main(String[] args) throws IOException {
+    MappedInputStream in = new MappedInputStream(new File(args[0]));
+    byte[] block = new byte[1 << 16];
+    long n = 0;
+    for (int k; (k = in.read(block, 0, block.length)) >= 0; )
+      n += k;
+    in.close();
+    StdOut.println(n + " bytes");
+  }
+}
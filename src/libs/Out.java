@@ -22,6 +22,13 @@ import java.util.Locale;
  *  This class provides methods for writing strings and numbers to
  *  various output streams, including standard output, file, and sockets.
  *  <p>
+ *  By default, each call to {@code print} flushes the output stream. For
+ *  large outputs, the constructors with an {@code async} argument select a
+ *  buffered mode that writes through a {@link ByteWriter}: no flush after
+ *  each call, and numbers and {@code printf} formatted without intermediate
+ *  strings. The output is the same in both modes; in buffered mode it
+ *  appears when the buffer fills, or on {@link #print()} or {@link #close()}.
+ *  <p>
  *  For additional documentation, see
  *  <a href="http://introcs.cs.princeton.edu/31datatype">Section 3.1</a> of
  *  <i>Computer Science: An Interdisciplinary Approach</i>
@@ -39,6 +46,7 @@ public class Out {
   private static final Locale LOCALE = Locale.US;
 
   private PrintWriter out;
+  private boolean buffered;   // don't flush after each print?
 
   /**
    * Initializes an output stream from a {@link OutputStream}.
@@ -55,6 +63,21 @@ public class Out {
     }
   }
 
+  /**
+   * Initializes a buffered output stream from a {@link OutputStream}.
+   * Output goes to a {@link ByteWriter}, a large byte buffer with fast number
+   * formatting, and is written only when the buffer is full, or on
+   * {@link #print()} or {@link #close()}; if {@code async} is true, full
+   * buffers are written on a background thread.
+   *
+   * @param  os the {@code OutputStream}
+   * @param  async write in the background?
+   */
+  public Out(OutputStream os, boolean async) {
+    out = new ByteWriter(os, async);
+    buffered = true;
+  }
+
   /**
    * Initializes an output stream from standard output.
    */
@@ -94,6 +117,23 @@ public class Out {
     }
   }
 
+  /**
+   * Initializes a buffered output stream from a file;
+   * see {@link #Out(OutputStream, boolean)}.
+   *
+   * @param  filename the name of the file
+   * @param  async write in the background?
+   */
+  public Out(String filename, boolean async) {
+    try {
+      out = new ByteWriter(new FileOutputStream(filename), async);
+      buffered = true;
+    }
+    catch (IOException e) {
+      e.printStackTrace();
+    }
+  }
+
   /**
    * Closes the output stream.
    */
@@ -198,7 +238,7 @@ public class Out {
    */
   public void print(Object x) {
     out.print(x);
-    out.flush();
+    if (!buffered) out.flush();
   }
 
   /**
@@ -208,7 +248,7 @@ public class Out {
    */
   public void print(boolean x) {
     out.print(x);
-    out.flush();
+    if (!buffered) out.flush();
   }
 
   /**
@@ -218,7 +258,7 @@ public class Out {
    */
   public void print(char x) {
     out.print(x);
-    out.flush();
+    if (!buffered) out.flush();
   }
 
   /**
@@ -228,7 +268,7 @@ public class Out {
    */
   public void print(double x) {
     out.print(x);
-    out.flush();
+    if (!buffered) out.flush();
   }
 
   /**
@@ -238,7 +278,7 @@ public class Out {
    */
   public void print(float x) {
     out.print(x);
-    out.flush();
+    if (!buffered) out.flush();
   }
 
   /**
@@ -248,7 +288,7 @@ public class Out {
    */
   public void print(int x) {
     out.print(x);
-    out.flush();
+    if (!buffered) out.flush();
   }
 
   /**
@@ -258,7 +298,7 @@ public class Out {
    */
   public void print(long x) {
     out.print(x);
-    out.flush();
+    if (!buffered) out.flush();
   }
 
   /**
@@ -268,7 +308,7 @@ public class Out {
    */
   public void print(byte x) {
     out.print(x);
-    out.flush();
+    if (!buffered) out.flush();
   }
 
   /**
@@ -280,7 +320,7 @@ public class Out {
    */
   public void printf(String format, Object... args) {
     out.printf(LOCALE, format, args);
-    out.flush();
+    if (!buffered) out.flush();
   }
 
   /**
@@ -293,7 +333,7 @@ public class Out {
    */
   public void printf(Locale locale, String format, Object... args) {
     out.printf(locale, format, args);
-    out.flush();
+    if (!buffered) out.flush();
   }
 
 
@@ -0,0 +1,246 @@
+package libs;
+
+/******************************************************************************
+ *  Compilation:  javac ParallelShuffle.java
+ *  Execution:    java ParallelShuffle n
+ *  Dependencies: StdRandom.java RandomEngine.java Stopwatch.java StdOut.java
+ *
+ *  Shuffles an array in parallel with MergeShuffle.
+ *
+ *  % java ParallelShuffle 100000000
+ *  shuffled 100000000 integers in 5.10 seconds
+ *
+ ******************************************************************************/
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ *  The {@code ParallelShuffle} class provides static methods for rearranging
+ *  an array in uniformly random order using several threads.
+ *  <p>
+ *  This implementation uses the MergeShuffle algorithm of Bacher, Bodini,
+ *  Hollender and Lumbroso. The array is split in half recursively; blocks of
+ *  at most 2<sup>20</sup> entries, small enough to stay in the cache, are
+ *  shuffled by Fisher–Yates, and then adjacent shuffled halves are merged by taking the next
+ *  entry from the left or the right half at the flip of a coin. When one half
+ *  runs out, each remaining entry is swapped with a uniformly random earlier
+ *  one, which makes the result exactly uniform. The two halves of each merge
+ *  are shuffled concurrently on a {@link ForkJoinPool}.
+ *  <p>
+ *  A merge reads both halves sequentially and needs one random bit per entry,
+ *  where a plain Fisher–Yates shuffle of a large array needs a random number
+ *  and a cache miss per entry. Each task splits its {@link RandomEngine} for its
+ *  two halves before forking them, so the result depends only on the engine,
+ *  not on the number of threads or their scheduling.
+ *  It takes time proportional to <em>n</em> log (<em>n</em> / 2<sup>20</sup>),
+ *  divided among the threads except for the last merges.
+ */
+public final class ParallelShuffle {
+  private static final int GRAIN = 1 << 20;   // entries per leaf task
+
+  // don't instantiate
+  private ParallelShuffle() { }
+
+  /**
+   * Rearranges the elements of the specified array in uniformly random order,
+   * on the common pool.
+   *
+   * @param  a the array to shuffle
+   * @param  random the engine
+   * @throws IllegalArgumentException if {@code a} is {@code null}
+   */
+  public static void shuffle(Object[] a, RandomEngine random) {
+    shuffle(a, random, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Rearranges the elements of the specified array in uniformly random order,
+   * on the given pool.
+   *
+   * @param  a the array to shuffle
+   * @param  random the engine
+   * @param  pool the pool that runs the shuffle
+   * @throws IllegalArgumentException if {@code a} is {@code null}
+   */
+  public static void shuffle(Object[] a, RandomEngine random, ForkJoinPool pool) {
+    if (a == null) throw new IllegalArgumentException("argument array is null");
+    if (a.length <= GRAIN) shuffle(a, 0, a.length, random);
+    else                   pool.invoke(new ObjectShuffle(a, 0, a.length, random));
+  }
+
+  /**
+   * Rearranges the elements of the specified array in uniformly random order,
+   * on the common pool.
+   *
+   * @param  a the array to shuffle
+   * @param  random the engine
+   * @throws IllegalArgumentException if {@code a} is {@code null}
+   */
+  public static void shuffle(int[] a, RandomEngine random) {
+    shuffle(a, random, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Rearranges the elements of the specified array in uniformly random order,
+   * on the given pool.
+   *
+   * @param  a the array to shuffle
+   * @param  random the engine
+   * @param  pool the pool that runs the shuffle
+   * @throws IllegalArgumentException if {@code a} is {@code null}
+   */
+  public static void shuffle(int[] a, RandomEngine random, ForkJoinPool pool) {
+    if (a == null) throw new IllegalArgumentException("argument array is null");
+    if (a.length <= GRAIN) shuffle(a, 0, a.length, random);
+    else                   pool.invoke(new IntShuffle(a, 0, a.length, random));
+  }
+
+  @SuppressWarnings("serial")
+  private static final class ObjectShuffle extends RecursiveAction {
+    private final Object[] a;
+    private final int lo;
+    private final int hi;
+    private final RandomEngine random;
+
+    ObjectShuffle(Object[] a, int lo, int hi, RandomEngine random) {
+      this.a = a;
+      this.lo = lo;
+      this.hi = hi;
+      this.random = random;
+    }
+
+    @Override
+    protected void compute() {
+      if (hi - lo <= GRAIN) {
+        shuffle(a, lo, hi, random);
+        return;
+      }
+      int mid = (lo + hi) >>> 1;
+      RandomEngine left = random.split();
+      RandomEngine right = random.split();
+      invokeAll(new ObjectShuffle(a, lo, mid, left), new ObjectShuffle(a, mid, hi, right));
+      merge(a, lo, mid, hi, random);
+    }
+  }
+
+  @SuppressWarnings("serial")
+  private static final class IntShuffle extends RecursiveAction {
+    private final int[] a;
+    private final int lo;
+    private final int hi;
+    private final RandomEngine random;
+
+    IntShuffle(int[] a, int lo, int hi, RandomEngine random) {
+      this.a = a;
+      this.lo = lo;
+      this.hi = hi;
+      this.random = random;
+    }
+
+    @Override
+    protected void compute() {
+      if (hi - lo <= GRAIN) {
+        shuffle(a, lo, hi, random);
+        return;
+      }
+      int mid = (lo + hi) >>> 1;
+      RandomEngine left = random.split();
+      RandomEngine right = random.split();
+      invokeAll(new IntShuffle(a, lo, mid, left), new IntShuffle(a, mid, hi, right));
+      merge(a, lo, mid, hi, random);
+    }
+  }
+
+  // Fisher-Yates shuffle of a[lo..hi)
+  private static void shuffle(Object[] a, int lo, int hi, RandomEngine random) {
+    for (int i = hi - 1; i > lo; i--)
+      swap(a, i, lo + random.nextInt(i - lo + 1));
+  }
+
+  private static void shuffle(int[] a, int lo, int hi, RandomEngine random) {
+    for (int i = hi - 1; i > lo; i--)
+      swap(a, i, lo + random.nextInt(i - lo + 1));
+  }
+
+  // merges the shuffled a[lo..mid) and a[mid..hi) into a shuffled a[lo..hi)
+  private static void merge(Object[] a, int lo, int mid, int hi, RandomEngine random) {
+    int i = lo;          // a[lo..i) is merged, a[i..j) is left of the left half
+    int j = mid;         // a[j..hi) is left of the right half
+    long bits = 0;
+    int count = 0;       // unused random bits in bits
+    while (true) {
+      if (count == 0) {
+        bits = random.nextLong();
+        count = 64;
+      }
+      boolean right = bits < 0;
+      bits <<= 1;
+      count--;
+      if (!right) {
+        if (i == j) break;
+      }
+      else {
+        if (j == hi) break;
+        swap(a, i, j++);
+      }
+      i++;
+    }
+    for (; i < hi; i++)
+      swap(a, i, lo + random.nextInt(i - lo + 1));
+  }
+
+  private static void merge(int[] a, int lo, int mid, int hi, RandomEngine random) {
+    int i = lo;
+    int j = mid;
+    long bits = 0;
+    int count = 0;
+    while (true) {
+      if (count == 0) {
+        bits = random.nextLong();
+        count = 64;
+      }
+      boolean right = bits < 0;
+      bits <<= 1;
+      count--;
+      if (!right) {
+        if (i == j) break;
+      }
+      else {
+        if (j == hi) break;
+        swap(a, i, j++);
+      }
+      i++;
+    }
+    for (; i < hi; i++)
+      swap(a, i, lo + random.nextInt(i - lo + 1));
+  }
+
+  private static void swap(Object[] a, int i, int j) {
+    Object temp = a[i];
+    a[i] = a[j];
+    a[j] = temp;
+  }
+
+  private static void swap(int[] a, int i, int j) {
+    int temp = a[i];
+    a[i] = a[j];
+    a[j] = temp;
+  }
+
+  /**
+   * Unit tests the {@code ParallelShuffle} class.
+   * Shuffles the integers 0 through <em>n</em>-1 and prints the time taken.
+   *
+   * @param args the command-line arguments
+   */
+  public static void main(String[] args) {
+    int n = Integer.parseInt(args[0]);
+    int[] a = new int[n];
+    for (int i = 0; i < n; i++)
+      a[i] = i;
+    Stopwatch timer = new Stopwatch();
+    shuffle(a, StdRandom.stream(0));
+    StdOut.printf("shuffled %d integers in %.2f seconds\n", n, timer.elapsedTime());
+  }
+}
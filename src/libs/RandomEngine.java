@@ -0,0 +1,350 @@
+package libs;
+
+/******************************************************************************
+ *  Compilation:  javac RandomEngine.java
+ *  Execution:    java RandomEngine algorithm seed stream n
+ *  Dependencies: StdOut.java
+ *
+ *  Pseudo-random number generators for StdRandom: SplittableRandom,
+ *  xoshiro256** and PCG32.
+ *
+ *  % java RandomEngine PCG32 42 54 3
+ *  2707161783
+ *  2068313097
+ *  3122475824
+ *
+ ******************************************************************************/
+
+import java.util.SplittableRandom;
+
+/**
+ *  The {@code RandomEngine} interface is a source of uniformly distributed
+ *  pseudo-random bits, used by {@link StdRandom}. Three algorithms are provided:
+ *  <ul>
+ *  <li>{@link Algorithm#SPLITTABLE}: {@link SplittableRandom} (SplitMix64),
+ *      64 bits of state.
+ *  <li>{@link Algorithm#XOSHIRO256}: xoshiro256** of Blackman and Vigna,
+ *      256 bits of state; passes all known statistical tests.
+ *  <li>{@link Algorithm#PCG32}: PCG-XSH-RR of O'Neill, 64 bits of state and
+ *      2<sup>63</sup> selectable streams; 32 bits per step.
+ *  </ul>
+ *  All are several times faster than {@link java.util.Random} and, unlike it,
+ *  not synchronized: an engine must be used by one thread at a time. Give
+ *  each thread its own engine with {@link #create(Algorithm, long, int)},
+ *  which derives stream <em>i</em> of a seed deterministically, or with
+ *  {@link #split()}.
+ *  <p>
+ *  Bounded integers use Lemire's multiply-and-shift method, which is
+ *  unbiased and needs a division only in rare cases; reals in [0, 1) are
+ *  the top 53 bits of a 64-bit output. The bulk methods {@link #fill(double[])}
+ *  and {@link #fill(int[], int)} keep the generator state in local variables.
+ */
+public interface RandomEngine {
+
+  /**
+   * The available generators.
+   */
+  enum Algorithm { SPLITTABLE, XOSHIRO256, PCG32 }
+
+  /**
+   * Returns the next 64 pseudo-random bits.
+   *
+   * @return a uniformly distributed {@code long}
+   */
+  long nextLong();
+
+  /**
+   * Returns the next 32 pseudo-random bits.
+   *
+   * @return a uniformly distributed {@code int}
+   */
+  default int nextInt() {
+    return (int) (nextLong() >>> 32);
+  }
+
+  /**
+   * Returns a pseudo-random integer uniformly in [0, n).
+   *
+   * @param  n number of possible integers
+   * @return a random integer uniformly between 0 (inclusive) and {@code n} (exclusive)
+   * @throws IllegalArgumentException if {@code n <= 0}
+   */
+  default int nextInt(int n) {
+    if (n <= 0) throw new IllegalArgumentException("argument must be positive");
+    return bounded(this, n);
+  }
+
+  /**
+   * Returns a pseudo-random real number uniformly in [0, 1).
+   *
+   * @return a random real number uniformly in [0, 1)
+   */
+  default double nextDouble() {
+    return (nextLong() >>> 11) * 0x1.0p-53;
+  }
+
+  /**
+   * Fills the array {@code a} with pseudo-random real numbers uniformly in [0, 1).
+   *
+   * @param a the array
+   */
+  default void fill(double[] a) {
+    for (int i = 0; i < a.length; i++)
+      a[i] = nextDouble();
+  }
+
+  /**
+   * Fills the array {@code a} with pseudo-random integers uniformly in [0, n).
+   *
+   * @param  a the array
+   * @param  n number of possible integers
+   * @throws IllegalArgumentException if {@code n <= 0}
+   */
+  default void fill(int[] a, int n) {
+    if (n <= 0) throw new IllegalArgumentException("argument must be positive");
+    for (int i = 0; i < a.length; i++)
+      a[i] = bounded(this, n);
+  }
+
+  /**
+   * Returns a new engine of the same algorithm whose sequence is
+   * statistically independent of this one, and advances this engine.
+   *
+   * @return a new engine
+   */
+  RandomEngine split();
+
+  /**
+   * Returns a new engine.
+   *
+   * @param  algorithm the generator
+   * @param  seed the seed
+   * @return a new engine of the given algorithm, seeded with {@code seed}
+   */
+  static RandomEngine create(Algorithm algorithm, long seed) {
+    return create(algorithm, seed, 0);
+  }
+
+  /**
+   * Returns stream {@code i} of the given seed: for the same arguments, the
+   * same sequence; for different {@code i}, statistically independent sequences.
+   * PCG32 selects one of its streams; the other algorithms mix {@code i}
+   * into the seed with SplitMix64.
+   *
+   * @param  algorithm the generator
+   * @param  seed the seed
+   * @param  i the stream number
+   * @return a new engine for stream {@code i} of {@code seed}
+   * @throws IllegalArgumentException if {@code i < 0}
+   */
+  static RandomEngine create(Algorithm algorithm, long seed, int i) {
+    if (i < 0) throw new IllegalArgumentException("stream number is negative");
+    switch (algorithm) {
+      case SPLITTABLE: return new Splittable(new SplittableRandom(streamSeed(seed, i)));
+      case XOSHIRO256: return new Xoshiro256(streamSeed(seed, i));
+      case PCG32:      return new Pcg32(seed, i);
+      default:         throw new IllegalArgumentException("unknown algorithm " + algorithm);
+    }
+  }
+
+  // the seed of stream i: the seed itself for stream 0, scrambled otherwise
+  private static long streamSeed(long seed, int i) {
+    return i == 0 ? seed : mix(seed + i * 0x9e3779b97f4a7c15L);
+  }
+
+  // the SplitMix64 finalizer: a bijection that scrambles the bits of z
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+
+  // Lemire's nearly divisionless method for a uniform integer in [0, n)
+  private static int bounded(RandomEngine random, int n) {
+    long m = (random.nextInt() & 0xffffffffL) * n;
+    if ((m & 0xffffffffL) < n) {
+      long threshold = (1L << 32) % n;
+      while ((m & 0xffffffffL) < threshold)
+        m = (random.nextInt() & 0xffffffffL) * n;
+    }
+    return (int) (m >>> 32);
+  }
+
+  /**
+   * The {@link SplittableRandom} generator.
+   */
+  final class Splittable implements RandomEngine {
+    private final SplittableRandom random;
+
+    private Splittable(SplittableRandom random) {
+      this.random = random;
+    }
+
+    public long nextLong() {
+      return random.nextLong();
+    }
+
+    public int nextInt() {
+      return random.nextInt();
+    }
+
+    public RandomEngine split() {
+      return new Splittable(random.split());
+    }
+  }
+
+  /**
+   * The xoshiro256** generator, seeded with SplitMix64.
+   */
+  final class Xoshiro256 implements RandomEngine {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    // the jump polynomial of the reference implementation: 2^128 steps
+    private static final long[] JUMP = {
+      0x180ec6d33cfd0abaL, 0xd5a61266f0c9392cL, 0xa9582618e03fc9aaL, 0x39abdc4529b1661cL
+    };
+
+    private long s0, s1, s2, s3;
+
+    private Xoshiro256(long seed) {
+      s0 = mix(seed += GOLDEN_GAMMA);
+      s1 = mix(seed += GOLDEN_GAMMA);
+      s2 = mix(seed += GOLDEN_GAMMA);
+      s3 = mix(seed +  GOLDEN_GAMMA);
+    }
+
+    private Xoshiro256(Xoshiro256 that) {
+      s0 = that.s0;
+      s1 = that.s1;
+      s2 = that.s2;
+      s3 = that.s3;
+    }
+
+    public long nextLong() {
+      long result = Long.rotateLeft(s1 * 5, 7) * 9;
+      long t = s1 << 17;
+      s2 ^= s0;
+      s3 ^= s1;
+      s1 ^= s2;
+      s0 ^= s3;
+      s2 ^= t;
+      s3 = Long.rotateLeft(s3, 45);
+      return result;
+    }
+
+    public void fill(double[] a) {
+      long s0 = this.s0, s1 = this.s1, s2 = this.s2, s3 = this.s3;
+      for (int i = 0; i < a.length; i++) {
+        long result = Long.rotateLeft(s1 * 5, 7) * 9;
+        long t = s1 << 17;
+        s2 ^= s0;
+        s3 ^= s1;
+        s1 ^= s2;
+        s0 ^= s3;
+        s2 ^= t;
+        s3 = Long.rotateLeft(s3, 45);
+        a[i] = (result >>> 11) * 0x1.0p-53;
+      }
+      this.s0 = s0;
+      this.s1 = s1;
+      this.s2 = s2;
+      this.s3 = s3;
+    }
+
+    // advances this generator by 2^128 steps, as the reference jump()
+    private void jump() {
+      long t0 = 0, t1 = 0, t2 = 0, t3 = 0;
+      for (long word : JUMP) {
+        for (int b = 0; b < 64; b++) {
+          if ((word & 1L << b) != 0) {
+            t0 ^= s0;
+            t1 ^= s1;
+            t2 ^= s2;
+            t3 ^= s3;
+          }
+          nextLong();
+        }
+      }
+      s0 = t0;
+      s1 = t1;
+      s2 = t2;
+      s3 = t3;
+    }
+
+    // the new engine continues from the current state and this one jumps 2^128 steps ahead,
+    // so their sequences cannot overlap for 2^128 outputs
+    public RandomEngine split() {
+      Xoshiro256 that = new Xoshiro256(this);
+      jump();
+      return that;
+    }
+  }
+
+  /**
+   * The PCG32 (PCG-XSH-RR 64/32) generator.
+   */
+  final class Pcg32 implements RandomEngine {
+    private static final long MULTIPLIER = 6364136223846793005L;
+
+    private long state;
+    private final long increment;   // odd; selects the stream
+
+    // the reference pcg32_srandom(initstate, initseq)
+    private Pcg32(long seed, long stream) {
+      increment = stream << 1 | 1;
+      state = 0;
+      next();
+      state += seed;
+      next();
+    }
+
+    private int next() {
+      long old = state;
+      state = old * MULTIPLIER + increment;
+      int xorshifted = (int) (((old >>> 18) ^ old) >>> 27);
+      return Integer.rotateRight(xorshifted, (int) (old >>> 59));
+    }
+
+    public int nextInt() {
+      return next();
+    }
+
+    public long nextLong() {
+      return (long) next() << 32 | next() & 0xffffffffL;
+    }
+
+    public void fill(int[] a, int n) {
+      if (n <= 0) throw new IllegalArgumentException("argument must be positive");
+      long threshold = (1L << 32) % n;
+      long state = this.state;
+      for (int i = 0; i < a.length; i++) {
+        long m;
+        do {
+          long old = state;
+          state = old * MULTIPLIER + increment;
+          int x = Integer.rotateRight((int) (((old >>> 18) ^ old) >>> 27), (int) (old >>> 59));
+          m = (x & 0xffffffffL) * n;
+        } while ((m & 0xffffffffL) < threshold);
+        a[i] = (int) (m >>> 32);
+      }
+      this.state = state;
+    }
+
+    public RandomEngine split() {
+      return new Pcg32(nextLong(), nextLong() >>> 1);
+    }
+  }
+
+  /**
+   * Prints the first <em>n</em> outputs of a stream of an engine, as
+   * unsigned 32-bit integers.
+   *
+   * @param args the command-line arguments: the algorithm, the seed, the stream and <em>n</em>
+   */
+  static void main(String[] args) {
+    RandomEngine random = create(Algorithm.valueOf(args[0]), Long.parseLong(args[1]), Integer.parseInt(args[2]));
+    int n = Integer.parseInt(args[3]);
+    for (int i = 0; i < n; i++)
+      StdOut.println(random.nextInt() & 0xffffffffL);
+  }
+}
@@ -0,0 +1,222 @@
+package libs;
+
+/******************************************************************************
+ *  Compilation:  javac Reservoir.java
+ *  Execution:    java Reservoir k < input.txt
+ *  Dependencies: StdRandom.java RandomEngine.java StdIn.java StdOut.java
+ *
+ *  A uniformly random sample of k items from a stream of unknown length,
+ *  by reservoir sampling with geometric skips (Li's Algorithm L).
+ *
+ *  % more tinyTale.txt
+ *  it was the best of times it was the worst of times
+ *  it was the age of wisdom it was the age of foolishness
+ *  ...
+ *
+ *  % java Reservoir 5 < tinyTale.txt
+ *  the
+ *  it
+ *  it
+ *  hope
+ *  of
+ *
+ ******************************************************************************/
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ *  The {@code Reservoir} class represents a uniformly random sample of at
+ *  most <em>k</em> of the items of a stream whose length is not known in
+ *  advance: after <em>n</em> items have been seen, every subset of
+ *  min(<em>k</em>, <em>n</em>) of them is equally likely to be the sample.
+ *  <p>
+ *  This implementation uses Li's Algorithm L. Instead of drawing a random
+ *  number for every item, it draws, from a geometric distribution, how many
+ *  items to discard before the next one enters the sample, so that an
+ *  <em>n</em>-item stream needs about <em>k</em> (1 + ln(<em>n</em>/<em>k</em>))
+ *  random numbers in all. The <em>add</em> operation takes constant time;
+ *  a client that can skip over items cheaply (records on disk, say) can ask
+ *  {@link #discards()} how many are coming that will not be kept, and
+ *  {@link #skip(long)} them without reading them.
+ *  Iteration returns the items of the sample in no particular order.
+ *
+ *  @param <Item> the generic type of an item in this reservoir
+ */
+public class Reservoir<Item> implements Iterable<Item> {
+  private final Item[] items;         // the sample, items[0..min(k, n)-1]
+  private final RandomEngine random;
+  private long n;                     // number of items seen
+  private long next;                  // index in the stream of the next item to keep
+  private double w;                   // largest of the k smallest random keys seen so far
+
+  /**
+   * Initializes an empty reservoir of capacity {@code k}, with an engine split
+   * from the engine of the calling thread in {@link StdRandom}.
+   *
+   * @param  k the sample size
+   * @throws IllegalArgumentException if {@code k < 1}
+   */
+  public Reservoir(int k) {
+    this(k, StdRandom.engine().split());
+  }
+
+  /**
+   * Initializes an empty reservoir of capacity {@code k} that uses the given engine.
+   *
+   * @param  k the sample size
+   * @param  random the engine
+   * @throws IllegalArgumentException if {@code k < 1}
+   */
+  @SuppressWarnings("unchecked")
+  public Reservoir(int k, RandomEngine random) {
+    if (k < 1) throw new IllegalArgumentException("sample size must be positive");
+    if (random == null) throw new IllegalArgumentException("engine is null");
+    this.items = (Item[]) new Object[k];
+    this.random = random;
+    this.w = weight(random, k);
+    this.next = advance(k - 1, gap(random, w));
+  }
+
+  /**
+   * Offers the next item of the stream to this reservoir.
+   *
+   * @param item the item
+   */
+  public void add(Item item) {
+    int k = items.length;
+    if (n < k) items[(int) n] = item;
+    else if (n == next) {
+      items[random.nextInt(k)] = item;
+      w *= weight(random, k);
+      next = advance(next, gap(random, w));
+    }
+    n++;
+  }
+
+  /**
+   * Returns the number of items, following those seen so far, that will not be
+   * kept in the sample whatever they are.
+   *
+   * @return the number of items that may be skipped
+   */
+  public long discards() {
+    return n < items.length ? 0 : next - n;
+  }
+
+  /**
+   * Records that the next {@code m} items of the stream were seen, without
+   * looking at them.
+   *
+   * @param  m the number of items
+   * @throws IllegalArgumentException unless {@code 0 <= m <= discards()}
+   */
+  public void skip(long m) {
+    if (m < 0 || m > discards()) throw new IllegalArgumentException("cannot skip " + m + " items");
+    n += m;
+  }
+
+  /**
+   * Returns the number of items of the stream seen so far.
+   *
+   * @return the number of items seen
+   */
+  public long seen() {
+    return n;
+  }
+
+  /**
+   * Returns the number of items in the sample.
+   *
+   * @return the number of items in the sample, min(<em>k</em>, <em>n</em>)
+   */
+  public int size() {
+    return (int) Math.min(n, items.length);
+  }
+
+  /**
+   * Returns true if the sample is empty.
+   *
+   * @return {@code true} if no item has been seen; {@code false} otherwise
+   */
+  public boolean isEmpty() {
+    return n == 0;
+  }
+
+  /**
+   * Returns an iterator over the items in the sample.
+   *
+   * @return an iterator over the items in the sample
+   */
+  public Iterator<Item> iterator() {
+    return new Iterator<Item>() {
+      private final int size = size();
+      private int i = 0;
+
+      public boolean hasNext() {
+        return i < size;
+      }
+
+      public Item next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        return items[i++];
+      }
+    };
+  }
+
+  /**
+   * Returns a uniformly random set of {@code k} of the integers 0 through
+   * {@code n}-1, in no particular order, in time proportional to
+   * <em>k</em> (1 + log(<em>n</em>/<em>k</em>)).
+   *
+   * @param  n the number of integers
+   * @param  k the number of integers to select
+   * @param  random the engine
+   * @return an array of {@code k} distinct integers between 0 and {@code n}-1
+   * @throws IllegalArgumentException unless {@code 0 <= k <= n}
+   */
+  static int[] sample(int n, int k, RandomEngine random) {
+    if (k < 0 || k > n) throw new IllegalArgumentException("k must be between 0 and n");
+    int[] sample = new int[k];
+    if (k == 0) return sample;
+    for (int i = 0; i < k; i++)
+      sample[i] = i;
+    double w = weight(random, k);
+    for (long i = advance(k - 1, gap(random, w)); i < n; i = advance(i, gap(random, w))) {
+      sample[random.nextInt(k)] = (int) i;
+      w *= weight(random, k);
+    }
+    return sample;
+  }
+
+  // the factor by which the largest key of the sample shrinks: U^(1/k)
+  private static double weight(RandomEngine random, int k) {
+    return Math.exp(Math.log(1.0 - random.nextDouble()) / k);
+  }
+
+  // the number of items to discard before the next one whose key beats w
+  private static double gap(RandomEngine random, double w) {
+    return Math.floor(Math.log(1.0 - random.nextDouble()) / Math.log1p(-w));
+  }
+
+  // i + gap + 1, saturating at Long.MAX_VALUE
+  private static long advance(long i, double gap) {
+    if (!(gap < Long.MAX_VALUE - i - 1)) return Long.MAX_VALUE;
+    return i + (long) gap + 1;
+  }
+
+  /**
+   * Unit tests the {@code Reservoir} data type.
+   * Prints a random sample of <em>k</em> of the words on standard input.
+   *
+   * @param args the command-line arguments
+   */
+  public static void main(String[] args) {
+    int k = Integer.parseInt(args[0]);
+    Reservoir<String> reservoir = new Reservoir<String>(k);
+    while (!StdIn.isEmpty())
+      reservoir.add(StdIn.readString());
+    for (String s : reservoir)
+      StdOut.println(s);
+  }
+}
@@ -49,6 +49,12 @@ import java.util.Locale;
  *       {@code print()} so that text will appear immediately in the terminal.
  *  </ul>
  *  <p>
+ *  <b>Buffered mode.</b>
+ *  Programs that print millions of lines can call {@link #enableBuffering(boolean)},
+ *  or run with {@code -Dlibs.StdOut.buffered=true}, to stop flushing after
+ *  each call and to format numbers and {@code printf} arguments straight
+ *  into a large byte buffer. The output is the same.
+ *  <p>
  *  <b>Reference.</b>
  *  For additional documentation,
  *  see <a href="http://introcs.cs.princeton.edu/15inout">Section 1.5</a> of
@@ -67,21 +73,49 @@ public final class StdOut {
   private static final Locale LOCALE = Locale.US;
 
   // send output here
-  private static PrintWriter out;
+  private static volatile PrintWriter out;
+
+  // don't flush after each print?
+  private static volatile boolean buffered;
 
   // this is called before invoking any methods
   static {
-    try {
-      out = new PrintWriter(new OutputStreamWriter(System.out, CHARSET_NAME), true);
+    String mode = System.getProperty("libs.StdOut.buffered");
+    if ("true".equals(mode) || "async".equals(mode)) {
+      enableBuffering("async".equals(mode));
     }
-    catch (UnsupportedEncodingException e) {
-      System.out.println(e);
+    else {
+      try {
+        out = new PrintWriter(new OutputStreamWriter(System.out, CHARSET_NAME), true);
+      }
+      catch (UnsupportedEncodingException e) {
+        System.out.println(e);
+      }
     }
   }
 
   // don't instantiate
   private StdOut() { }
 
+  /**
+   * Switches standard output to buffered mode: output goes to a
+   * {@link ByteWriter}, a large byte buffer with fast number formatting, and
+   * is written when the buffer fills, on {@link #print()}, and when the
+   * program exits. If {@code async} is true, full buffers are written on a
+   * background thread. Running with {@code -Dlibs.StdOut.buffered=true}
+   * (or {@code =async}) has the same effect.
+   *
+   * @param async write in the background?
+   */
+  public static synchronized void enableBuffering(boolean async) {
+    if (buffered) return;
+    if (out != null) out.flush();
+    ByteWriter writer = new ByteWriter(System.out, async);
+    Runtime.getRuntime().addShutdownHook(new Thread(writer::flush));
+    out = writer;
+    buffered = true;
+  }
+
   /**
    * Closes standard output.
    */
@@ -193,7 +227,7 @@ public final class StdOut {
    */
   public static void print(Object x) {
     out.print(x);
-    out.flush();
+    if (!buffered) out.flush();
   }
 
   /**
@@ -203,7 +237,7 @@ public final class StdOut {
    */
   public static void print(boolean x) {
     out.print(x);
-    out.flush();
+    if (!buffered) out.flush();
   }
 
   /**
@@ -213,7 +247,7 @@ public final class StdOut {
    */
   public static void print(char x) {
     out.print(x);
-    out.flush();
+    if (!buffered) out.flush();
   }
 
   /**
@@ -223,7 +257,7 @@ public final class StdOut {
    */
   public static void print(double x) {
     out.print(x);
-    out.flush();
+    if (!buffered) out.flush();
   }
 
   /**
@@ -233,7 +267,7 @@ public final class StdOut {
    */
   public static void print(float x) {
     out.print(x);
-    out.flush();
+    if (!buffered) out.flush();
   }
 
   /**
@@ -243,7 +277,7 @@ public final class StdOut {
    */
   public static void print(int x) {
     out.print(x);
-    out.flush();
+    if (!buffered) out.flush();
   }
 
   /**
@@ -253,7 +287,7 @@ public final class StdOut {
    */
   public static void print(long x) {
     out.print(x);
-    out.flush();
+    if (!buffered) out.flush();
   }
 
   /**
@@ -263,7 +297,7 @@ public final class StdOut {
    */
   public static void print(short x) {
     out.print(x);
-    out.flush();
+    if (!buffered) out.flush();
   }
 
   /**
@@ -273,7 +307,7 @@ public final class StdOut {
    */
   public static void print(byte x) {
     out.print(x);
-    out.flush();
+    if (!buffered) out.flush();
   }
 
   /**
@@ -286,7 +320,7 @@ public final class StdOut {
    */
   public static void printf(String format, Object... args) {
     out.printf(LOCALE, format, args);
-    out.flush();
+    if (!buffered) out.flush();
   }
 
   /**
@@ -299,7 +333,7 @@ public final class StdOut {
    */
   public static void printf(Locale locale, String format, Object... args) {
     out.printf(locale, format, args);
-    out.flush();
+    if (!buffered) out.flush();
   }
 
   /**
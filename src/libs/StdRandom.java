@@ -3,7 +3,8 @@ package libs;
 /******************************************************************************
  *  Compilation:  javac StdRandom.java
  *  Execution:    java StdRandom
- *  Dependencies: StdOut.java
+ *  Dependencies: StdOut.java RandomEngine.java Ziggurat.java AliasSampler.java
+ *                ParallelShuffle.java Reservoir.java
  *
  *  A library of static methods to generate pseudo-random numbers from
  *  different distributions (bernoulli, uniform, gaussian, discrete,
@@ -12,42 +13,49 @@ package libs;
  *
  *  %  java StdRandom 5
  *  seed = 1316600602069
- *  59 16.81826  true 8.83954  0
- *  32 91.32098  true 9.11026  0
- *  35 10.11874  true 8.95396  3
- *  92 32.88401  true 8.87089  0
- *  72 92.55791  true 9.46241  0
+ *  71 37.24066 false 8.83796 1 1 BEACDGF
+ *  39 88.53619  true 8.72493 0 2 GBEDFAC
+ *   5 16.88644 false 8.92877 1 1 EAFBGDC
+ *  39 83.67659 false 9.03845 0 0 FGBDCEA
+ *  83 54.75562 false 8.89163 0 1 ECBAGDF
  *
  *  % java StdRandom 5
  *  seed = 1316600616575
- *  96 60.17070  true 8.72821  0
- *  79 32.01607  true 8.58159  0
- *  81 59.49065  true 9.10423  1
- *  96 51.65818  true 9.02102  0
- *  99 17.55771  true 8.99762  0
+ *  99 21.71791  true 9.43372 0 3 BGECDFA
+ *  57 19.65713  true 8.70760 0 0 AFGBDCE
+ *  45 71.84462 false 9.01471 3 0 GBEFADC
+ *  41 61.65967 false 9.28074 0 0 FBEACDG
+ *  24 16.81232 false 8.96927 0 2 BEACFDG
  *
  *  % java StdRandom 5 1316600616575
  *  seed = 1316600616575
- *  96 60.17070  true 8.72821  0
- *  79 32.01607  true 8.58159  0
- *  81 59.49065  true 9.10423  1
- *  96 51.65818  true 9.02102  0
- *  99 17.55771  true 8.99762  0
+ *  99 21.71791  true 9.43372 0 3 BGECDFA
+ *  57 19.65713  true 8.70760 0 0 AFGBDCE
+ *  45 71.84462 false 9.01471 3 0 GBEFADC
+ *  41 61.65967 false 9.28074 0 0 FBEACDG
+ *  24 16.81232 false 8.96927 0 2 BEACFDG
  *
  *
  *  Remark
  *  ------
- *    - Relies on randomness of nextDouble() method in java.util.Random
- *      to generate pseudorandom numbers in [0, 1).
+ *    - Relies on a RandomEngine (xoshiro256** by default; SplittableRandom
+ *      and PCG32 are also available) to generate pseudorandom numbers.
  *
- *    - This library allows you to set and get the pseudorandom number seed.
+ *    - Gaussian and exponential numbers come from the ziggurat method;
+ *      AliasSampler samples a discrete distribution in constant time.
+ *
+ *    - ParallelShuffle shuffles large arrays with several threads,
+ *      Reservoir samples streams, and ExternalShuffle shuffles files.
+ *
+ *    - Each thread draws from its own stream, derived deterministically
+ *      from the seed; the first thread to use the library after the seed
+ *      is set (ordinarily the main thread) draws from stream 0.
  *
- *    - See http://www.honeylocust.com/RngPack/ for an industrial
- *      strength random number generator in Java.
+ *    - This library allows you to set and get the pseudorandom number seed.
  *
  ******************************************************************************/
 
-import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  *  The {@code StdRandom} class provides static methods for generating
@@ -56,6 +64,17 @@ import java.util.Random;
  *  Poisson, and Cauchy. It also provides method for shuffling an
  *  array or subarray.
  *  <p>
+ *  The numbers come from a {@link RandomEngine}, selected with
+ *  {@link #setEngine(RandomEngine.Algorithm)}. The methods are thread-safe
+ *  without locking: each thread has its own engine, on stream <em>i</em>
+ *  of the seed, where <em>i</em> counts the threads in the order in which
+ *  they first use the library after the seed is set. A single-threaded
+ *  program therefore sees the same numbers for the same seed. When several
+ *  threads must be reproducible too, give task <em>i</em> the engine
+ *  {@link #stream(int) stream(i)}. The bulk methods {@link #fill(double[])}
+ *  and {@link #fill(int[], int)} fill an array much faster than a loop
+ *  of single calls.
+ *  <p>
  *  For additional documentation,
  *  see <a href="http://introcs.cs.princeton.edu/22library">Section 2.2</a> of
  *  <i>Computer Science: An Interdisciplinary Approach</i>
@@ -66,14 +85,23 @@ import java.util.Random;
  */
 public final class StdRandom {
 
-  private static Random random;    // pseudo-random number generator
-  private static long seed;        // pseudo-random number generator seed
+  private static RandomEngine.Algorithm algorithm = RandomEngine.Algorithm.XOSHIRO256;
+  private static long seed;                  // pseudo-random number generator seed
+  private static volatile int generation;    // incremented whenever the seed or engine changes
+  private static final AtomicInteger streams = new AtomicInteger();   // next stream to hand out
+
+  // the engine of a thread, and the generation it was derived for
+  private static final class Local {
+    private RandomEngine engine;
+    private int generation = -1;
+  }
+
+  private static final ThreadLocal<Local> local = ThreadLocal.withInitial(Local::new);
 
   // static initializer
   static {
     // this is how the seed was set in Java 1.4
     seed = System.currentTimeMillis();
-    random = new Random(seed);
   }
 
   // don't instantiate
@@ -87,9 +115,10 @@ public final class StdRandom {
    *
    * @param s the seed
    */
-  public static void setSeed(long s) {
-    seed   = s;
-    random = new Random(seed);
+  public static synchronized void setSeed(long s) {
+    seed = s;
+    streams.set(0);
+    generation++;
   }
 
   /**
@@ -97,17 +126,56 @@ public final class StdRandom {
    *
    * @return the seed
    */
-  public static long getSeed() {
+  public static synchronized long getSeed() {
     return seed;
   }
 
+  /**
+   * Selects the pseudorandom number generator and restarts all streams
+   * from the current seed.
+   *
+   * @param  a the generator
+   * @throws IllegalArgumentException if {@code a} is {@code null}
+   */
+  public static synchronized void setEngine(RandomEngine.Algorithm a) {
+    if (a == null) throw new IllegalArgumentException("argument is null");
+    algorithm = a;
+    streams.set(0);
+    generation++;
+  }
+
+  /**
+   * Returns a new engine on stream {@code i} of the current seed, for use by
+   * one thread or task. The same seed, engine and {@code i} always give the
+   * same sequence, whatever thread uses it.
+   *
+   * @param  i the stream number
+   * @return a new engine on stream {@code i}
+   * @throws IllegalArgumentException if {@code i < 0}
+   */
+  public static synchronized RandomEngine stream(int i) {
+    return RandomEngine.create(algorithm, seed, i);
+  }
+
+  // the engine of the calling thread, derived again if the seed or engine has changed
+  static RandomEngine engine() {
+    Local l = local.get();
+    if (l.generation != generation) {
+      synchronized (StdRandom.class) {
+        l.engine = RandomEngine.create(algorithm, seed, streams.getAndIncrement());
+        l.generation = generation;
+      }
+    }
+    return l.engine;
+  }
+
   /**
    * Returns a random real number uniformly in [0, 1).
    *
    * @return a random real number uniformly in [0, 1)
    */
   public static double uniform() {
-    return random.nextDouble();
+    return engine().nextDouble();
   }
 
   /**
@@ -119,12 +187,37 @@ public final class StdRandom {
    */
   public static int uniform(int n) {
     if (n <= 0) throw new IllegalArgumentException("argument must be positive");
-    return random.nextInt(n);
+    return engine().nextInt(n);
+  }
+
+  /**
+   * Fills the array {@code a} with random real numbers uniformly in [0, 1).
+   *
+   * @param  a the array
+   * @throws IllegalArgumentException if {@code a} is {@code null}
+   */
+  public static void fill(double[] a) {
+    if (a == null) throw new IllegalArgumentException("argument array is null");
+    engine().fill(a);
+  }
+
+  /**
+   * Fills the array {@code a} with random integers uniformly in [0, n).
+   *
+   * @param  a the array
+   * @param  n number of possible integers
+   * @throws IllegalArgumentException if {@code a} is {@code null}
+   * @throws IllegalArgumentException if {@code n <= 0}
+   */
+  public static void fill(int[] a, int n) {
+    if (a == null) throw new IllegalArgumentException("argument array is null");
+    if (n <= 0) throw new IllegalArgumentException("argument must be positive");
+    engine().fill(a, n);
   }
 
   ///////////////////////////////////////////////////////////////////////////
-  //  STATIC METHODS BELOW RELY ON JAVA.UTIL.RANDOM ONLY INDIRECTLY VIA
-  //  THE STATIC METHODS ABOVE.
+  //  STATIC METHODS BELOW RELY ON THE ENGINE ONLY INDIRECTLY VIA
+  //  THE STATIC METHODS ABOVE, OR VIA engine().
   ///////////////////////////////////////////////////////////////////////////
 
   /**
@@ -202,17 +295,7 @@ public final class StdRandom {
    *         (mean 0 and standard deviation 1).
    */
   public static double gaussian() {
-    // use the polar form of the Box-Muller transform
-    double r, x, y;
-    do {
-      x = uniform(-1.0, 1.0);
-      y = uniform(-1.0, 1.0);
-      r = x*x + y*y;
-    } while (r >= 1 || r == 0);
-    return x * Math.sqrt(-2 * Math.log(r) / r);
-
-    // Remark:  y * Math.sqrt(-2 * Math.log(r) / r)
-    // is an independent random gaussian
+    return Ziggurat.gaussian(engine());
   }
 
   /**
@@ -228,6 +311,19 @@ public final class StdRandom {
     return mu + sigma * gaussian();
   }
 
+  /**
+   * Fills the array {@code a} with random real numbers from a Gaussian
+   * distribution with mean {@code mu} and standard deviation {@code sigma}.
+   *
+   * @param  a the array
+   * @param  mu the mean
+   * @param  sigma the standard deviation
+   * @throws IllegalArgumentException if {@code a} is {@code null}
+   */
+  public static void gaussian(double[] a, double mu, double sigma) {
+    Ziggurat.gaussian(engine(), a, mu, sigma);
+  }
+
   /**
    * Returns a random integer from a geometric distribution with success
    * probability <em>p</em>.
@@ -305,6 +401,8 @@ public final class StdRandom {
 
   /**
    * Returns a random integer from the specified discrete distribution.
+   * This takes time linear in the length of the array; to draw many
+   * integers from the same distribution, use an {@link AliasSampler}.
    *
    * @param  probabilities the probability of occurrence of each integer
    * @return a random integer from a discrete distribution:
@@ -339,6 +437,8 @@ public final class StdRandom {
 
   /**
    * Returns a random integer from the specified discrete distribution.
+   * This takes time linear in the length of the array; to draw many
+   * integers from the same distribution, use an {@link AliasSampler}.
    *
    * @param  frequencies the frequency of occurrence of each integer
    * @return a random integer from a discrete distribution:
@@ -374,6 +474,35 @@ public final class StdRandom {
     return -1;
   }
 
+  /**
+   * Fills the array {@code a} with random integers from the specified
+   * discrete distribution, in constant time per integer; see {@link AliasSampler}.
+   *
+   * @param  probabilities the probability of occurrence of each integer
+   * @param  a the array
+   * @throws IllegalArgumentException if either argument is {@code null}
+   * @throws IllegalArgumentException if {@code probabilities} is empty
+   * @throws IllegalArgumentException if sum of array entries is not (very nearly) equal to {@code 1.0}
+   * @throws IllegalArgumentException unless {@code probabilities[i] >= 0.0} for each index {@code i}
+   */
+  public static void discrete(double[] probabilities, int[] a) {
+    new AliasSampler(probabilities).sample(engine(), a);
+  }
+
+  /**
+   * Fills the array {@code a} with random integers from the specified
+   * discrete distribution, in constant time per integer; see {@link AliasSampler}.
+   *
+   * @param  frequencies the frequency of occurrence of each integer
+   * @param  a the array
+   * @throws IllegalArgumentException if either argument is {@code null}
+   * @throws IllegalArgumentException if all array entries of {@code frequencies} are {@code 0}
+   * @throws IllegalArgumentException if {@code frequencies[i]} is negative for any index {@code i}
+   */
+  public static void discrete(int[] frequencies, int[] a) {
+    new AliasSampler(frequencies).sample(engine(), a);
+  }
+
   /**
    * Returns a random real number from an exponential distribution
    * with rate &lambda;.
@@ -386,7 +515,20 @@ public final class StdRandom {
   public static double exp(double lambda) {
     if (!(lambda > 0.0))
       throw new IllegalArgumentException("lambda must be positive");
-    return -Math.log(1 - uniform()) / lambda;
+    return Ziggurat.exponential(engine()) / lambda;
+  }
+
+  /**
+   * Fills the array {@code a} with random real numbers from an exponential
+   * distribution with rate &lambda;.
+   *
+   * @param  a the array
+   * @param  lambda the rate of the exponential distribution
+   * @throws IllegalArgumentException if {@code a} is {@code null}
+   * @throws IllegalArgumentException unless {@code lambda > 0.0}
+   */
+  public static void exp(double[] a, double lambda) {
+    Ziggurat.exponential(engine(), a, lambda);
   }
 
   /**
@@ -398,8 +540,9 @@ public final class StdRandom {
   public static void shuffle(Object[] a) {
     if (a == null) throw new IllegalArgumentException("argument array is null");
     int n = a.length;
+    RandomEngine random = engine();
     for (int i = 0; i < n; i++) {
-      int r = i + uniform(n-i);     // between i and n-1
+      int r = i + random.nextInt(n-i);     // between i and n-1
       Object temp = a[i];
       a[i] = a[r];
       a[r] = temp;
@@ -415,8 +558,9 @@ public final class StdRandom {
   public static void shuffle(double[] a) {
     if (a == null) throw new IllegalArgumentException("argument array is null");
     int n = a.length;
+    RandomEngine random = engine();
     for (int i = 0; i < n; i++) {
-      int r = i + uniform(n-i);     // between i and n-1
+      int r = i + random.nextInt(n-i);     // between i and n-1
       double temp = a[i];
       a[i] = a[r];
       a[r] = temp;
@@ -432,8 +576,9 @@ public final class StdRandom {
   public static void shuffle(int[] a) {
     if (a == null) throw new IllegalArgumentException("argument array is null");
     int n = a.length;
+    RandomEngine random = engine();
     for (int i = 0; i < n; i++) {
-      int r = i + uniform(n-i);     // between i and n-1
+      int r = i + random.nextInt(n-i);     // between i and n-1
       int temp = a[i];
       a[i] = a[r];
       a[r] = temp;
@@ -449,8 +594,9 @@ public final class StdRandom {
   public static void shuffle(char[] a) {
     if (a == null) throw new IllegalArgumentException("argument array is null");
     int n = a.length;
+    RandomEngine random = engine();
     for (int i = 0; i < n; i++) {
-      int r = i + uniform(n-i);     // between i and n-1
+      int r = i + random.nextInt(n-i);     // between i and n-1
       char temp = a[i];
       a[i] = a[r];
       a[r] = temp;
@@ -472,8 +618,9 @@ public final class StdRandom {
     if (lo < 0 || lo >= hi || hi > a.length) {
       throw new IndexOutOfBoundsException("invalid subarray range: [" + lo + ", " + hi + ")");
     }
+    RandomEngine random = engine();
     for (int i = lo; i < hi; i++) {
-      int r = i + uniform(hi-i);     // between i and hi-1
+      int r = i + random.nextInt(hi-i);     // between i and hi-1
       Object temp = a[i];
       a[i] = a[r];
       a[r] = temp;
@@ -494,8 +641,9 @@ public final class StdRandom {
     if (lo < 0 || lo >= hi || hi > a.length) {
       throw new IndexOutOfBoundsException("invalid subarray range: [" + lo + ", " + hi + ")");
     }
+    RandomEngine random = engine();
     for (int i = lo; i < hi; i++) {
-      int r = i + uniform(hi-i);     // between i and hi-1
+      int r = i + random.nextInt(hi-i);     // between i and hi-1
       double temp = a[i];
       a[i] = a[r];
       a[r] = temp;
@@ -516,14 +664,39 @@ public final class StdRandom {
     if (lo < 0 || lo >= hi || hi > a.length) {
       throw new IndexOutOfBoundsException("invalid subarray range: [" + lo + ", " + hi + ")");
     }
+    RandomEngine random = engine();
     for (int i = lo; i < hi; i++) {
-      int r = i + uniform(hi-i);     // between i and hi-1
+      int r = i + random.nextInt(hi-i);     // between i and hi-1
       int temp = a[i];
       a[i] = a[r];
       a[r] = temp;
     }
   }
 
+  /**
+   * Rearranges the elements of the specified array in uniformly random order,
+   * using several threads for large arrays; see {@link ParallelShuffle}.
+   * The order depends only on the seed and the calling thread's stream.
+   *
+   * @param  a the array to shuffle
+   * @throws IllegalArgumentException if {@code a} is {@code null}
+   */
+  public static void parallelShuffle(Object[] a) {
+    ParallelShuffle.shuffle(a, engine().split());
+  }
+
+  /**
+   * Rearranges the elements of the specified array in uniformly random order,
+   * using several threads for large arrays; see {@link ParallelShuffle}.
+   * The order depends only on the seed and the calling thread's stream.
+   *
+   * @param  a the array to shuffle
+   * @throws IllegalArgumentException if {@code a} is {@code null}
+   */
+  public static void parallelShuffle(int[] a) {
+    ParallelShuffle.shuffle(a, engine().split());
+  }
+
   /**
    * Returns a uniformly random permutation of <em>n</em> elements
    *
@@ -542,7 +715,9 @@ public final class StdRandom {
   }
 
   /**
-   * Returns a uniformly random permutation of <em>k</em> of <em>n</em> elements
+   * Returns a uniformly random permutation of <em>k</em> of <em>n</em> elements.
+   * Takes time proportional to <em>k</em> (1 + log(<em>n</em>/<em>k</em>)),
+   * by reservoir sampling with skips; see {@link Reservoir}.
    *
    * @param  n number of elements
    * @param  k number of elements to select
@@ -554,15 +729,13 @@ public final class StdRandom {
   public static int[] permutation(int n, int k) {
     if (n < 0) throw new IllegalArgumentException("argument is negative");
     if (k < 0 || k > n) throw new IllegalArgumentException("k must be between 0 and n");
-    int[] perm = new int[k];
-    for (int i = 0; i < k; i++) {
-      int r = uniform(i+1);    // between 0 and i
+    RandomEngine random = engine();
+    int[] perm = Reservoir.sample(n, k, random);
+    for (int i = k - 1; i > 0; i--) {
+      int r = random.nextInt(i+1);    // between 0 and i
+      int temp = perm[i];
       perm[i] = perm[r];
-      perm[r] = i;
-    }
-    for (int i = k; i < n; i++) {
-      int r = uniform(i+1);    // between 0 and i
-      if (r < k) perm[r] = i;
+      perm[r] = temp;
     }
     return perm;
   }
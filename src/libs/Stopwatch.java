@@ -5,7 +5,8 @@ package libs;
  *  Execution:    java Stopwatch n
  *  Dependencies: none
  *
- *  A utility class to measure the running time (wall clock) of a program.
+ *  A utility class to measure the running time (wall clock) of a program,
+ *  with the nanosecond resolution of System.nanoTime().
  *
  *  % java8 Stopwatch 100000000
  *  6.666667e+11  0.5820 seconds
@@ -18,7 +19,11 @@ package libs;
  *  the time that elapses between the start and end of a
  *  programming task (wall-clock time).
  *
- *  See {@link StopwatchCPU} for a version that measures CPU time.
+ *  The time comes from {@link System#nanoTime()}, which, unlike
+ *  {@link System#currentTimeMillis()}, has nanosecond resolution and does
+ *  not jump when the system clock is adjusted.
+ *  See {@link StopwatchCPU} for a version that measures CPU time, and
+ *  {@link Timer} for recording the distribution of many measurements.
  *  For additional documentation,
  *  see <a href="http://algs4.cs.princeton.edu/14analysis">Section 1.4</a> of
  *  <i>Algorithms, 4th Edition</i> by Robert Sedgewick and Kevin Wayne.
@@ -30,24 +35,34 @@ package libs;
 
 public class Stopwatch {
 
+  private static final double NANOSECONDS_PER_SECOND = 1000000000;
+
   private final long start;
 
   /**
    * Initializes a new stopwatch.
    */
   public Stopwatch() {
-    start = System.currentTimeMillis();
+    start = System.nanoTime();
   }
 
 
   /**
-   * Returns the elapsed CPU time (in seconds) since the stopwatch was created.
+   * Returns the elapsed time (in seconds) since the stopwatch was created.
    *
-   * @return elapsed CPU time (in seconds) since the stopwatch was created
+   * @return elapsed time (in seconds) since the stopwatch was created
    */
   public double elapsedTime() {
-    long now = System.currentTimeMillis();
-    return (now - start) / 1000.0;
+    return elapsedNanos() / NANOSECONDS_PER_SECOND;
+  }
+
+  /**
+   * Returns the elapsed time (in nanoseconds) since the stopwatch was created.
+   *
+   * @return elapsed time (in nanoseconds) since the stopwatch was created
+   */
+  public long elapsedNanos() {
+    return System.nanoTime() - start;
   }
 
 
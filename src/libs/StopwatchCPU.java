@@ -6,11 +6,13 @@ package libs;
  *  Dependencies: none
  *
  *  A version of Stopwatch.java that measures CPU time on a single
- *  core or processor (instead of wall clock time).
+ *  core or processor (instead of wall clock time), and the memory
+ *  allocated, by the current thread.
  *
  *  % java8 StopwatchCPU 100000000
  *  6.666667e+11 (1.05 seconds)
  *  6.666667e+11 (7.50 seconds)
+ *  100000 doubles (800056 bytes allocated)
  *
  ******************************************************************************/
 
@@ -20,6 +22,13 @@ import java.lang.management.ManagementFactory;
 /**
  *  The {@code StopwatchCPU} data type is for measuring
  *  the CPU time used during a programming task.
+ *  <p>
+ *  Both the CPU time, in nanoseconds, and the number of bytes allocated
+ *  are those of the thread that created the stopwatch, as counted by the
+ *  JVM's {@link ThreadMXBean}; call {@link #elapsedTime()},
+ *  {@link #elapsedNanos()} and {@link #allocatedBytes()} from that thread.
+ *  The allocation counter is an extension of the HotSpot JVM, and
+ *  {@link #allocatedBytes()} returns -1 where it is not available.
  *
  *  See {@link Stopwatch} for a version that measures wall-clock time
  *  (the real time that elapses).
@@ -34,12 +43,14 @@ public class StopwatchCPU {
 
   private final ThreadMXBean threadTimer;
   private final long start;
+  private final long allocated;      // bytes allocated by the thread before, or -1
 
   /**
    * Initializes a new stopwatch.
    */
   public StopwatchCPU() {
     threadTimer = ManagementFactory.getThreadMXBean();
+    allocated = allocated(threadTimer);
     start = threadTimer.getCurrentThreadCpuTime();
   }
 
@@ -49,8 +60,36 @@ public class StopwatchCPU {
    * @return elapsed CPU time (in seconds) since the stopwatch was created
    */
   public double elapsedTime() {
-    long now = threadTimer.getCurrentThreadCpuTime();
-    return (now - start) / NANOSECONDS_PER_SECOND;
+    return elapsedNanos() / NANOSECONDS_PER_SECOND;
+  }
+
+  /**
+   * Returns the elapsed CPU time (in nanoseconds) since the stopwatch was created.
+   *
+   * @return elapsed CPU time (in nanoseconds) since the stopwatch was created
+   */
+  public long elapsedNanos() {
+    return threadTimer.getCurrentThreadCpuTime() - start;
+  }
+
+  /**
+   * Returns the number of bytes allocated on the heap by the current thread
+   * since the stopwatch was created.
+   *
+   * @return the number of bytes allocated since the stopwatch was created,
+   *         or -1 if the JVM does not count them
+   */
+  public long allocatedBytes() {
+    if (allocated < 0) return -1;
+    return allocated(threadTimer) - allocated;
+  }
+
+  // the number of bytes allocated by the current thread, or -1 if unknown
+  private static long allocated(ThreadMXBean threads) {
+    if (!(threads instanceof com.sun.management.ThreadMXBean)) return -1;
+    com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+    if (!hotspot.isThreadAllocatedMemorySupported() || !hotspot.isThreadAllocatedMemoryEnabled()) return -1;
+    return hotspot.getCurrentThreadAllocatedBytes();
   }
 
   /**
@@ -84,5 +123,10 @@ public class StopwatchCPU {
     }
     double time2 = timer2.elapsedTime();
     StdOut.printf("%e (%.2f seconds)\n", sum2, time2);
+
+    // allocation of an array of n/1000 doubles
+    StopwatchCPU timer3 = new StopwatchCPU();
+    double[] a = new double[n / 1000];
+    StdOut.printf("%d doubles (%d bytes allocated)\n", a.length, timer3.allocatedBytes());
   }
 }
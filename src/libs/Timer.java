@@ -0,0 +1,180 @@
+package libs;
+
+/******************************************************************************
+ *  Compilation:  javac Timer.java
+ *  Execution:    java Timer n
+ *  Dependencies: Histogram.java StdRandom.java StdOut.java
+ *
+ *  Records the latencies of an operation, from any number of threads,
+ *  into a histogram of nanoseconds.
+ *
+ *  % java Timer 1000000
+ *  shuffle 100: n = 1000000  min = 330  mean = 593.2  p50 = 543  p99 = 803  p999 = 1967  max = 11683985
+ *
+ ******************************************************************************/
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ *  The {@code Timer} class measures the latency of an operation each time it
+ *  runs, in nanoseconds of {@link System#nanoTime()}, and summarizes them with
+ *  a {@link Histogram}: count, mean, median, 99th and 99.9th percentiles.
+ *  <p>
+ *  The lightest way to use it is
+ *  <pre>
+ *     long start = System.nanoTime();
+ *     ...
+ *     timer.record(System.nanoTime() - start);
+ *  </pre>
+ *  or {@link #recordSince(long) timer.recordSince(start)}; {@link #time(Runnable)}
+ *  and {@link #time(Supplier)} time a lambda. Recording allocates nothing and
+ *  takes no lock: each thread records into a histogram of its own, and
+ *  {@link #snapshot()} adds them up. A snapshot taken while other threads are
+ *  recording may miss their latest values. The histogram of every thread that
+ *  has recorded is kept as long as the timer.
+ */
+public class Timer {
+  private final String name;
+  private final int precision;
+  private final ThreadLocal<Histogram> local;
+  private final CopyOnWriteArrayList<Histogram> histograms = new CopyOnWriteArrayList<Histogram>();
+
+  /**
+   * Initializes a timer with histograms of precision 7.
+   *
+   * @param name the name of the timed operation
+   */
+  public Timer(String name) {
+    this(name, 7);
+  }
+
+  /**
+   * Initializes a timer with histograms of the given precision.
+   *
+   * @param  name the name of the timed operation
+   * @param  precision the number of bits of precision; see {@link Histogram}
+   * @throws IllegalArgumentException unless {@code 1 <= precision <= 16}
+   */
+  public Timer(String name, int precision) {
+    if (precision < 1 || precision > 16) throw new IllegalArgumentException("precision must be between 1 and 16");
+    this.name = name;
+    this.precision = precision;
+    this.local = ThreadLocal.withInitial(() -> {
+      Histogram histogram = new Histogram(this.precision);
+      histograms.add(histogram);
+      return histogram;
+    });
+  }
+
+  /**
+   * Returns the name of the timed operation.
+   *
+   * @return the name of the timed operation
+   */
+  public String name() {
+    return name;
+  }
+
+  /**
+   * Records a latency.
+   *
+   * @param  nanos the latency, in nanoseconds
+   * @throws IllegalArgumentException if {@code nanos} is negative
+   */
+  public void record(long nanos) {
+    local.get().record(nanos);
+  }
+
+  /**
+   * Records the latency from {@code start}, a value of {@link System#nanoTime()}, to now.
+   *
+   * @param  start the start time, in nanoseconds
+   * @return the latency, in nanoseconds
+   */
+  public long recordSince(long start) {
+    long nanos = System.nanoTime() - start;
+    local.get().record(Math.max(0, nanos));
+    return nanos;
+  }
+
+  /**
+   * Runs an operation and records its latency.
+   *
+   * @param operation the operation
+   */
+  public void time(Runnable operation) {
+    long start = System.nanoTime();
+    try {
+      operation.run();
+    }
+    finally {
+      recordSince(start);
+    }
+  }
+
+  /**
+   * Runs an operation, records its latency and returns its result.
+   *
+   * @param  <T> the type of the result
+   * @param  operation the operation
+   * @return the result of the operation
+   */
+  public <T> T time(Supplier<T> operation) {
+    long start = System.nanoTime();
+    try {
+      return operation.get();
+    }
+    finally {
+      recordSince(start);
+    }
+  }
+
+  /**
+   * Returns a new histogram of the latencies recorded so far by all threads.
+   *
+   * @return a histogram of the latencies, in nanoseconds
+   */
+  public Histogram snapshot() {
+    Histogram total = new Histogram(precision);
+    for (Histogram histogram : histograms)
+      total.add(histogram);
+    return total;
+  }
+
+  /**
+   * Removes the latencies recorded so far. Values recorded by other threads
+   * during the reset may or may not be removed.
+   */
+  public void reset() {
+    for (Histogram histogram : histograms)
+      histogram.reset();
+  }
+
+  /**
+   * Returns the name and a summary of the latencies, in nanoseconds.
+   *
+   * @return the name and a summary of the latencies
+   */
+  public String toString() {
+    return name + ": " + snapshot();
+  }
+
+  /**
+   * Unit tests the {@code Timer} data type.
+   * Times <em>n</em> shuffles of an array of 100 integers.
+   *
+   * @param args the command-line arguments
+   */
+  public static void main(String[] args) {
+    int n = Integer.parseInt(args[0]);
+    int[] a = new int[100];
+    Timer timer = new Timer("shuffle 100");
+    for (int i = 0; i < n; i++) {
+      long start = System.nanoTime();
+      StdRandom.shuffle(a);
+      timer.recordSince(start);
+    }
+    StdOut.println(timer);
+  }
+}
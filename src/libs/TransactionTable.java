@@ -0,0 +1,641 @@
+package libs;
+
+/******************************************************************************
+ *  Compilation:  javac TransactionTable.java
+ *  Execution:    java TransactionTable m < input.txt
+ *  Dependencies: Transaction.java StdOut.java
+ *
+ *  A table of commercial transactions stored column by column in
+ *  primitive arrays, with a parser that reads them directly from bytes.
+ *
+ *  % more tinyBatch.txt
+ *  Turing      6/17/1990   644.08
+ *  vonNeumann  3/26/2002  4121.85
+ *  Dijkstra    8/22/2007  2678.40
+ *  ...
+ *
+ *  % java TransactionTable 5 < tinyBatch.txt
+ *  16 transactions, 5 customers
+ *  Turing     Fri Jan 11 00:00:00 UTC 2002    66.10
+ *  Turing     Sun Jun 17 00:00:00 UTC 1990   644.08
+ *  Dijkstra   Sun Sep 10 00:00:00 UTC 2000   708.95
+ *  Dijkstra   Sat Nov 18 00:00:00 UTC 1995   837.42
+ *  Hoare      Tue Aug 12 00:00:00 UTC 2003  1025.70
+ *
+ ******************************************************************************/
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ *  The {@code TransactionTable} class represents a growing table of
+ *  commercial transactions, each with a customer name, date, and amount,
+ *  as in {@link Transaction}.
+ *  <p>
+ *  Instead of one object per transaction, the table keeps three columns:
+ *  the customer as an {@code int} id into a dictionary that holds each
+ *  distinct name once, the date as an {@code int} number of days since
+ *  1/1/1970, and the amount as a {@code double}. A row costs 16 bytes.
+ *  <p>
+ *  {@link #parse(byte[], int, int)} and {@link #read(InputStream)} read lines
+ *  of the form NAME M/D/YYYY AMOUNT, the format of
+ *  {@link Transaction#Transaction(String)}, straight from the bytes: dates and
+ *  amounts are converted in place, and a name is looked up in the dictionary
+ *  by its bytes, so a string is created only the first time a customer is seen.
+ *  Amounts with at most 15 significant digits are converted exactly by a fast
+ *  path; others by {@link Double#parseDouble(String)}.
+ *  <p>
+ *  {@link #order(Column)} computes a stable sorted order of the rows by a
+ *  column with an LSD radix sort of 64-bit keys, in linear time;
+ *  {@link #sort(Column)} rearranges the rows in that order; and
+ *  {@link #smallest(Column, int)} and {@link #largest(Column, int)} find the
+ *  <em>k</em> first or last rows of that order with a binary heap of size
+ *  <em>k</em>, in time proportional to <em>n</em> log <em>k</em>.
+ *  Customers are ordered by name, as in {@link Transaction.WhoOrder}.
+ */
+public class TransactionTable {
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  /**
+   * The columns of a transaction table.
+   */
+  public enum Column { WHO, WHEN, AMOUNT }
+
+  private int[] who = new int[16];          // customer ids
+  private int[] when = new int[16];         // days since 1/1/1970
+  private double[] amount = new double[16];
+  private int n;                            // number of rows
+
+  private String[] names = new String[16];  // names[id] is the name of customer id
+  private byte[][] bytes = new byte[16][];  // bytes[id] is its UTF-8 encoding
+  private int[] hashes = new int[16];       // hashes[id] is the hash of bytes[id]
+  private int[] slots = new int[32];        // open addressing table of id + 1, or 0 if empty
+  private int customers;                    // number of distinct customers
+
+  /**
+   * Initializes an empty table.
+   */
+  public TransactionTable() { }
+
+  /**
+   * Returns the number of transactions in this table.
+   *
+   * @return the number of transactions in this table
+   */
+  public int size() {
+    return n;
+  }
+
+  /**
+   * Returns the number of distinct customers in this table.
+   *
+   * @return the number of distinct customers in this table
+   */
+  public int customers() {
+    return customers;
+  }
+
+  /**
+   * Returns the name of a customer.
+   *
+   * @param  id the customer id
+   * @return the name of customer {@code id}
+   * @throws IllegalArgumentException unless {@code 0 <= id < customers()}
+   */
+  public String customer(int id) {
+    if (id < 0 || id >= customers) throw new IllegalArgumentException("customer id " + id + " is not between 0 and " + (customers-1));
+    return names[id];
+  }
+
+  /**
+   * Returns the name of the customer of transaction {@code i}.
+   *
+   * @param  i the row
+   * @return the name of the customer of transaction {@code i}
+   * @throws IllegalArgumentException unless {@code 0 <= i < size()}
+   */
+  public String who(int i) {
+    validateRow(i);
+    return names[who[i]];
+  }
+
+  /**
+   * Returns the customer id of transaction {@code i}.
+   *
+   * @param  i the row
+   * @return the customer id of transaction {@code i}
+   * @throws IllegalArgumentException unless {@code 0 <= i < size()}
+   */
+  public int whoId(int i) {
+    validateRow(i);
+    return who[i];
+  }
+
+  /**
+   * Returns the date of transaction {@code i}, as a number of days since 1/1/1970.
+   *
+   * @param  i the row
+   * @return the date of transaction {@code i}, as in {@link LocalDate#toEpochDay()}
+   * @throws IllegalArgumentException unless {@code 0 <= i < size()}
+   */
+  public int when(int i) {
+    validateRow(i);
+    return when[i];
+  }
+
+  /**
+   * Returns the amount of transaction {@code i}.
+   *
+   * @param  i the row
+   * @return the amount of transaction {@code i}
+   * @throws IllegalArgumentException unless {@code 0 <= i < size()}
+   */
+  public double amount(int i) {
+    validateRow(i);
+    return amount[i];
+  }
+
+  /**
+   * Returns transaction {@code i} as a {@link Transaction}, dated midnight
+   * in the default time zone, as {@link Transaction#Transaction(String)} dates it.
+   *
+   * @param  i the row
+   * @return transaction {@code i}
+   * @throws IllegalArgumentException unless {@code 0 <= i < size()}
+   */
+  public Transaction transaction(int i) {
+    validateRow(i);
+    long millis = LocalDate.ofEpochDay(when[i]).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    return new Transaction(names[who[i]], new Date(millis), amount[i]);
+  }
+
+  private void validateRow(int i) {
+    if (i < 0 || i >= n) throw new IllegalArgumentException("row " + i + " is not between 0 and " + (n-1));
+  }
+
+  /**
+   * Adds a transaction.
+   *
+   * @param  who the person involved in the transaction
+   * @param  when the date of the transaction, as a number of days since 1/1/1970
+   * @param  amount the amount of the transaction
+   * @throws IllegalArgumentException if {@code who} is {@code null}
+   * @throws IllegalArgumentException if {@code amount}
+   *         is {@code Double.NaN}, {@code Double.POSITIVE_INFINITY},
+   *         or {@code Double.NEGATIVE_INFINITY}
+   */
+  public void add(String who, int when, double amount) {
+    if (who == null) throw new IllegalArgumentException("name is null");
+    byte[] b = who.getBytes(StandardCharsets.UTF_8);
+    append(intern(b, 0, b.length), when, amount);
+  }
+
+  /**
+   * Adds a transaction, dated by its day in the default time zone.
+   *
+   * @param  transaction the transaction
+   * @throws IllegalArgumentException if {@code transaction} is {@code null}
+   */
+  public void add(Transaction transaction) {
+    if (transaction == null) throw new IllegalArgumentException("transaction is null");
+    LocalDate date = transaction.when().toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    add(transaction.who(), (int) date.toEpochDay(), transaction.amount());
+  }
+
+  private void append(int id, int day, double value) {
+    if (Double.isNaN(value) || Double.isInfinite(value))
+      throw new IllegalArgumentException("Amount cannot be NaN or infinite");
+    if (n == who.length) {
+      who = Arrays.copyOf(who, 2*n);
+      when = Arrays.copyOf(when, 2*n);
+      amount = Arrays.copyOf(amount, 2*n);
+    }
+    who[n] = id;
+    when[n] = day;
+    amount[n] = value;
+    n++;
+  }
+
+  // the id of the customer whose name is encoded by b[lo..hi-1], adding it if new
+  private int intern(byte[] b, int lo, int hi) {
+    int hash = 0;
+    for (int i = lo; i < hi; i++)
+      hash = 31*hash + b[i];
+    hash ^= hash >>> 16;
+    int mask = slots.length - 1;
+    for (int s = hash & mask; slots[s] != 0; s = (s + 1) & mask) {
+      int id = slots[s] - 1;
+      if (hashes[id] == hash && Arrays.equals(bytes[id], 0, bytes[id].length, b, lo, hi)) return id;
+    }
+
+    int id = customers++;
+    if (id == names.length) {
+      names = Arrays.copyOf(names, 2*id);
+      bytes = Arrays.copyOf(bytes, 2*id);
+      hashes = Arrays.copyOf(hashes, 2*id);
+    }
+    bytes[id] = Arrays.copyOfRange(b, lo, hi);
+    names[id] = new String(b, lo, hi - lo, StandardCharsets.UTF_8);
+    hashes[id] = hash;
+    if (2*customers > slots.length) rehash(2*slots.length);
+    else {
+      int s = hash & mask;
+      while (slots[s] != 0) s = (s + 1) & mask;
+      slots[s] = id + 1;
+    }
+    return id;
+  }
+
+  private void rehash(int capacity) {
+    slots = new int[capacity];
+    int mask = capacity - 1;
+    for (int id = 0; id < customers; id++) {
+      int s = hashes[id] & mask;
+      while (slots[s] != 0) s = (s + 1) & mask;
+      slots[s] = id + 1;
+    }
+  }
+
+  /**
+   * Reads transactions, one per line, from an input stream until it ends,
+   * and returns a table of them. The stream is not closed.
+   *
+   * @param  in the input stream
+   * @return a table of the transactions
+   * @throws IllegalArgumentException if {@code in} is {@code null}
+   * @throws IllegalArgumentException if a line is not a transaction
+   * @throws IOException if an I/O error occurs
+   */
+  public static TransactionTable read(InputStream in) throws IOException {
+    if (in == null) throw new IllegalArgumentException("input stream is null");
+    TransactionTable table = new TransactionTable();
+    byte[] buf = new byte[BUFFER_SIZE];
+    int length = 0;   // bytes in buf[0..length-1], none of them a complete line
+    int r;
+    while ((r = in.read(buf, length, buf.length - length)) >= 0) {
+      int end = length + r;
+      int last = end - 1;
+      while (last >= length && buf[last] != '\n') last--;
+      int start = 0;
+      if (last >= length) {
+        table.parse(buf, 0, last + 1);
+        start = last + 1;
+      }
+      // keep the unfinished line
+      length = end - start;
+      System.arraycopy(buf, start, buf, 0, length);
+      if (length == buf.length) buf = Arrays.copyOf(buf, 2*buf.length);
+    }
+    table.parse(buf, 0, length);
+    return table;
+  }
+
+  /**
+   * Adds the transactions in {@code b[offset..offset+length-1]}, one per line
+   * of the form NAME M/D/YYYY AMOUNT, with the fields separated by spaces or
+   * tabs. Blank lines are skipped. The bytes are read in place.
+   *
+   * @param  b the bytes, UTF-8 text
+   * @param  offset the index of the first byte
+   * @param  length the number of bytes
+   * @return the number of transactions added
+   * @throws IllegalArgumentException if the range is not within {@code b}
+   * @throws IllegalArgumentException if a line is not a transaction; the
+   *         transactions of the lines before it are added
+   */
+  public int parse(byte[] b, int offset, int length) {
+    if (offset < 0 || length < 0 || offset + length > b.length)
+      throw new IllegalArgumentException("invalid range " + offset + " + " + length);
+    int end = offset + length;
+    int rows = n;
+    int lo = offset;
+    while (lo < end) {
+      int hi = lo;
+      while (hi < end && b[hi] != '\n') hi++;
+      parseLine(b, lo, hi);
+      lo = hi + 1;
+    }
+    return n - rows;
+  }
+
+  // parses the line b[lo..hi-1], which contains no newline
+  private void parseLine(byte[] b, int lo, int hi) {
+    int i = skipBlanks(b, lo, hi);
+    if (i == hi) return;
+
+    int nameEnd = tokenEnd(b, i, hi);
+    int nameStart = i;
+    i = skipBlanks(b, nameEnd, hi);
+
+    int dateStart = i;
+    int dateEnd = tokenEnd(b, i, hi);
+    i = skipBlanks(b, dateEnd, hi);
+
+    int amountStart = i;
+    int amountEnd = tokenEnd(b, i, hi);
+    if (skipBlanks(b, amountEnd, hi) != hi || amountStart == amountEnd)
+      throw invalid(b, lo, hi, "expected NAME M/D/YYYY AMOUNT");
+
+    int day = parseDate(b, dateStart, dateEnd);
+    if (day == Integer.MIN_VALUE) throw invalid(b, lo, hi, "invalid date");
+    double value = parseAmount(b, amountStart, amountEnd);
+    if (Double.isNaN(value)) throw invalid(b, lo, hi, "invalid amount");
+    if (Double.isInfinite(value)) throw invalid(b, lo, hi, "Amount cannot be NaN or infinite");
+    append(intern(b, nameStart, nameEnd), day, value);
+  }
+
+  private static boolean isBlank(byte c) {
+    return c == ' ' || c == '\t' || c == '\r';
+  }
+
+  private static int skipBlanks(byte[] b, int i, int hi) {
+    while (i < hi && isBlank(b[i])) i++;
+    return i;
+  }
+
+  private static int tokenEnd(byte[] b, int i, int hi) {
+    while (i < hi && !isBlank(b[i])) i++;
+    return i;
+  }
+
+  private static IllegalArgumentException invalid(byte[] b, int lo, int hi, String message) {
+    String line = new String(b, lo, hi - lo, StandardCharsets.UTF_8).trim();
+    return new IllegalArgumentException(message + ": \"" + line + "\"");
+  }
+
+  // the date M/D/YYYY in b[lo..hi-1] as days since 1/1/1970, or Integer.MIN_VALUE if invalid
+  private static int parseDate(byte[] b, int lo, int hi) {
+    int month = 0, day = 0, year = 0;
+    int field = 0;      // 0 for month, 1 for day, 2 for year
+    int digits = 0;     // digits of the current field
+    for (int i = lo; i < hi; i++) {
+      int c = b[i];
+      if (c == '/') {
+        if (digits == 0 || ++field == 3) return Integer.MIN_VALUE;
+        digits = 0;
+      }
+      else if (c >= '0' && c <= '9' && digits < 6) {
+        if      (field == 0) month = 10*month + (c - '0');
+        else if (field == 1) day   = 10*day   + (c - '0');
+        else                 year  = 10*year  + (c - '0');
+        digits++;
+      }
+      else return Integer.MIN_VALUE;
+    }
+    if (field != 2 || digits == 0) return Integer.MIN_VALUE;
+    if (month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)) return Integer.MIN_VALUE;
+    return epochDay(year, month, day);
+  }
+
+  private static int daysInMonth(int year, int month) {
+    if (month == 2) return (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+    return (month == 4 || month == 6 || month == 9 || month == 11) ? 30 : 31;
+  }
+
+  // days from 1/1/1970 to the given date of the proleptic Gregorian calendar (Hinnant's days_from_civil)
+  private static int epochDay(int year, int month, int day) {
+    int y = month <= 2 ? year - 1 : year;
+    int era = Math.floorDiv(y, 400);
+    int yoe = y - 400*era;                                          // [0, 399]
+    int doy = (153*(month > 2 ? month - 3 : month + 9) + 2)/5 + day - 1;    // [0, 365]
+    int doe = 365*yoe + yoe/4 - yoe/100 + doy;                      // [0, 146096]
+    return 146097*era + doe - 719468;
+  }
+
+  // exactly representable powers of ten
+  private static final double[] POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+    1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  // the amount in b[lo..hi-1], or NaN if it is not a number
+  private static double parseAmount(byte[] b, int lo, int hi) {
+    int i = lo;
+    boolean negative = false;
+    if (b[i] == '-' || b[i] == '+') negative = b[i++] == '-';
+    long significand = 0;
+    int digits = 0;       // significant digits
+    int fraction = 0;     // digits after the point
+    boolean point = false;
+    boolean any = false;
+    for (; i < hi; i++) {
+      int c = b[i];
+      if (c == '.' && !point) point = true;
+      else if (c >= '0' && c <= '9') {
+        any = true;
+        if (significand == 0 && c == '0' && !point) continue;
+        significand = 10*significand + (c - '0');
+        if (significand != 0) digits++;
+        if (point) fraction++;
+        if (digits > 15 || fraction > 22) return parseSlowly(b, lo, hi);
+      }
+      else return parseSlowly(b, lo, hi);
+    }
+    if (!any) return Double.NaN;
+    // both are exact, so the quotient is correctly rounded
+    double value = significand / POWERS_OF_TEN[fraction];
+    return negative ? -value : value;
+  }
+
+  private static double parseSlowly(byte[] b, int lo, int hi) {
+    try {
+      return Double.parseDouble(new String(b, lo, hi - lo, StandardCharsets.US_ASCII));
+    }
+    catch (NumberFormatException e) {
+      return Double.NaN;
+    }
+  }
+
+  // the sort key of row i, with the order of the column as unsigned longs
+  private long key(Column column, int i, int[] rank) {
+    switch (column) {
+      case WHO:  return rank[who[i]];
+      case WHEN: return (long) when[i] - Integer.MIN_VALUE;
+      default:
+        long bits = Double.doubleToLongBits(amount[i]);
+        return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+    }
+  }
+
+  // rank[id] is the position of the name of customer id in sorted order, if needed
+  private int[] ranks(Column column) {
+    if (column != Column.WHO) return null;
+    String[] sorted = Arrays.copyOf(names, customers);
+    Arrays.sort(sorted);
+    int[] rank = new int[customers];
+    for (int id = 0; id < customers; id++)
+      rank[id] = Arrays.binarySearch(sorted, names[id]);
+    return rank;
+  }
+
+  /**
+   * Returns the rows of this table in ascending order of a column; rows with
+   * equal values keep their order.
+   *
+   * @param  column the column
+   * @return the row indices {@code 0} through {@code size()-1}, sorted by {@code column}
+   * @throws IllegalArgumentException if {@code column} is {@code null}
+   */
+  public int[] order(Column column) {
+    if (column == null) throw new IllegalArgumentException("column is null");
+    int[] rank = ranks(column);
+    long[] keys = new long[n];
+    int[] rows = new int[n];
+    for (int i = 0; i < n; i++) {
+      keys[i] = key(column, i, rank);
+      rows[i] = i;
+    }
+
+    // LSD radix sort on the bytes of the keys, skipping bytes that are all equal
+    long[] keysAux = new long[n];
+    int[] rowsAux = new int[n];
+    int[] count = new int[257];
+    for (int shift = 0; shift < 64; shift += 8) {
+      Arrays.fill(count, 0);
+      for (int i = 0; i < n; i++)
+        count[(int) (keys[i] >>> shift & 0xFF) + 1]++;
+      if (n == 0 || count[(int) (keys[0] >>> shift & 0xFF) + 1] == n) continue;
+      for (int r = 0; r < 256; r++)
+        count[r+1] += count[r];
+      for (int i = 0; i < n; i++) {
+        int d = count[(int) (keys[i] >>> shift & 0xFF)]++;
+        keysAux[d] = keys[i];
+        rowsAux[d] = rows[i];
+      }
+      long[] k = keys; keys = keysAux; keysAux = k;
+      int[] r = rows; rows = rowsAux; rowsAux = r;
+    }
+    return rows;
+  }
+
+  /**
+   * Rearranges the rows of this table in ascending order of a column; rows
+   * with equal values keep their order.
+   *
+   * @param  column the column
+   * @throws IllegalArgumentException if {@code column} is {@code null}
+   */
+  public void sort(Column column) {
+    int[] order = order(column);
+    int[] w = new int[who.length];
+    int[] d = new int[when.length];
+    double[] a = new double[amount.length];
+    for (int i = 0; i < n; i++) {
+      w[i] = who[order[i]];
+      d[i] = when[order[i]];
+      a[i] = amount[order[i]];
+    }
+    who = w;
+    when = d;
+    amount = a;
+  }
+
+  /**
+   * Returns the {@code k} rows that come first in ascending order of a column,
+   * in that order, breaking ties by row index.
+   *
+   * @param  column the column
+   * @param  k the number of rows
+   * @return the first min({@code k}, {@code size()}) rows in ascending order of {@code column}
+   * @throws IllegalArgumentException if {@code column} is {@code null} or {@code k < 0}
+   */
+  public int[] smallest(Column column, int k) {
+    return select(column, k, 0);
+  }
+
+  /**
+   * Returns the {@code k} rows that come first in descending order of a column,
+   * in that order, breaking ties by row index.
+   *
+   * @param  column the column
+   * @param  k the number of rows
+   * @return the first min({@code k}, {@code size()}) rows in descending order of {@code column}
+   * @throws IllegalArgumentException if {@code column} is {@code null} or {@code k < 0}
+   */
+  public int[] largest(Column column, int k) {
+    return select(column, k, -1);
+  }
+
+  // the k rows with the smallest keys (flipped by xor with flip), in order, with a max-heap of size k
+  private int[] select(Column column, int k, long flip) {
+    if (column == null) throw new IllegalArgumentException("column is null");
+    if (k < 0) throw new IllegalArgumentException("k is negative: " + k);
+    k = Math.min(k, n);
+    int[] rank = ranks(column);
+    long[] keys = new long[k+1];   // heap-ordered, 1-based
+    int[] rows = new int[k+1];
+    int size = 0;
+    for (int i = 0; i < n; i++) {
+      long key = key(column, i, rank) ^ flip;
+      if (size < k) {
+        keys[++size] = key;
+        rows[size] = i;
+        swim(keys, rows, size);
+      }
+      else if (k > 0 && Long.compareUnsigned(key, keys[1]) < 0) {
+        keys[1] = key;
+        rows[1] = i;
+        sink(keys, rows, 1, size);
+      }
+    }
+
+    // remove the maximum until empty, filling the result from the back
+    int[] result = new int[k];
+    while (size > 0) {
+      result[size-1] = rows[1];
+      keys[1] = keys[size];
+      rows[1] = rows[size];
+      sink(keys, rows, 1, --size);
+    }
+    return result;
+  }
+
+  // is entry i after entry j: larger key, or equal key and larger row?
+  private static boolean after(long[] keys, int[] rows, int i, int j) {
+    int cmp = Long.compareUnsigned(keys[i], keys[j]);
+    return cmp > 0 || (cmp == 0 && rows[i] > rows[j]);
+  }
+
+  private static void swim(long[] keys, int[] rows, int k) {
+    while (k > 1 && after(keys, rows, k, k/2)) {
+      exch(keys, rows, k, k/2);
+      k = k/2;
+    }
+  }
+
+  private static void sink(long[] keys, int[] rows, int k, int size) {
+    while (2*k <= size) {
+      int j = 2*k;
+      if (j < size && after(keys, rows, j+1, j)) j++;
+      if (!after(keys, rows, j, k)) break;
+      exch(keys, rows, k, j);
+      k = j;
+    }
+  }
+
+  private static void exch(long[] keys, int[] rows, int i, int j) {
+    long key = keys[i]; keys[i] = keys[j]; keys[j] = key;
+    int row = rows[i]; rows[i] = rows[j]; rows[j] = row;
+  }
+
+  /**
+   * Unit tests the {@code TransactionTable} data type.
+   * Reads transactions from standard input and prints the <em>m</em> with the
+   * smallest amounts, in ascending order.
+   *
+   * @param  args the command-line arguments
+   * @throws IOException if an I/O error occurs
+   */
+  public static void main(String[] args) throws IOException {
+    int m = Integer.parseInt(args[0]);
+    TransactionTable table = read(System.in);
+    StdOut.println(table.size() + " transactions, " + table.customers() + " customers");
+    for (int i : table.smallest(Column.AMOUNT, m))
+      StdOut.println(table.transaction(i));
+  }
+}
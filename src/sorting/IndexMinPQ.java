@@ -0,0 +1,213 @@
+package sorting;
+
+import java.util.NoSuchElementException;
+
+/**
+ * The {@code IndexMinPQ} class represents an indexed priority queue of
+ * {@code double} keys. Each key is associated with an integer index
+ * between 0 and {@code maxN-1}, which is used to change or look up its key.
+ * This implementation uses a binary heap of indices along with an array
+ * from indices to heap positions, and stores the keys unboxed.
+ * The <em>insert</em>, <em>delete-the-minimum</em> and <em>decrease-key</em>
+ * operations take logarithmic time.
+ * The <em>min</em>, <em>contains</em>, <em>key-of</em>, <em>size</em>, and
+ * <em>is-empty</em> operations take constant time. The <em>clear</em> operation
+ * takes time proportional to the number of keys on the priority queue.
+ */
+public class IndexMinPQ {
+  private final int maxN;      // maximum number of elements on PQ
+  private int n;               // number of elements on PQ
+  private final int[] pq;      // binary heap using 1-based indexing
+  private final int[] qp;      // inverse of pq: qp[pq[i]] = pq[qp[i]] = i, or -1 if absent
+  private final double[] keys; // keys[i] = priority of i
+
+  /**
+   * Initializes an empty indexed priority queue with indices between {@code 0}
+   * and {@code maxN - 1}.
+   *
+   * @param  maxN the keys on this priority queue are index from {@code 0}
+   *         {@code maxN - 1}
+   * @throws IllegalArgumentException if {@code maxN < 0}
+   */
+  public IndexMinPQ(int maxN) {
+    if (maxN < 0) throw new IllegalArgumentException("maxN must be nonnegative");
+    this.maxN = maxN;
+    n = 0;
+    keys = new double[maxN];
+    pq = new int[maxN + 1];
+    qp = new int[maxN];
+    for (int i = 0; i < maxN; i++)
+      qp[i] = -1;
+  }
+
+  /**
+   * Returns true if this priority queue is empty.
+   *
+   * @return {@code true} if this priority queue is empty;
+   *         {@code false} otherwise
+   */
+  public boolean isEmpty() {
+    return n == 0;
+  }
+
+  /**
+   * Returns the number of keys on this priority queue.
+   *
+   * @return the number of keys on this priority queue
+   */
+  public int size() {
+    return n;
+  }
+
+  /**
+   * Is {@code i} an index on this priority queue?
+   *
+   * @param  i an index
+   * @return {@code true} if {@code i} is an index on this priority queue;
+   *         {@code false} otherwise
+   * @throws IllegalArgumentException unless {@code 0 <= i < maxN}
+   */
+  public boolean contains(int i) {
+    validateIndex(i);
+    return qp[i] != -1;
+  }
+
+  /**
+   * Associates key with index {@code i}.
+   *
+   * @param  i an index
+   * @param  key the key to associate with index {@code i}
+   * @throws IllegalArgumentException unless {@code 0 <= i < maxN}
+   * @throws IllegalArgumentException if there already is an item associated
+   *         with index {@code i}
+   */
+  public void insert(int i, double key) {
+    validateIndex(i);
+    if (qp[i] != -1) throw new IllegalArgumentException("index is already in the priority queue");
+    n++;
+    qp[i] = n;
+    pq[n] = i;
+    keys[i] = key;
+    swim(n);
+  }
+
+  /**
+   * Returns an index associated with a minimum key.
+   *
+   * @return an index associated with a minimum key
+   * @throws NoSuchElementException if this priority queue is empty
+   */
+  public int minIndex() {
+    if (n == 0) throw new NoSuchElementException("Priority queue underflow");
+    return pq[1];
+  }
+
+  /**
+   * Returns a minimum key.
+   *
+   * @return a minimum key
+   * @throws NoSuchElementException if this priority queue is empty
+   */
+  public double minKey() {
+    if (n == 0) throw new NoSuchElementException("Priority queue underflow");
+    return keys[pq[1]];
+  }
+
+  /**
+   * Removes a minimum key and returns its associated index.
+   *
+   * @return an index associated with a minimum key
+   * @throws NoSuchElementException if this priority queue is empty
+   */
+  public int delMin() {
+    if (n == 0) throw new NoSuchElementException("Priority queue underflow");
+    int min = pq[1];
+    exch(1, n--);
+    sink(1);
+    qp[min] = -1;        // delete
+    return min;
+  }
+
+  /**
+   * Returns the key associated with index {@code i}.
+   *
+   * @param  i the index of the key to return
+   * @return the key associated with index {@code i}
+   * @throws IllegalArgumentException unless {@code 0 <= i < maxN}
+   * @throws NoSuchElementException no key is associated with index {@code i}
+   */
+  public double keyOf(int i) {
+    validateIndex(i);
+    if (qp[i] == -1) throw new NoSuchElementException("index is not in the priority queue");
+    return keys[i];
+  }
+
+  /**
+   * Decrease the key associated with index {@code i} to the specified value.
+   *
+   * @param  i the index of the key to decrease
+   * @param  key decrease the key associated with index {@code i} to this key
+   * @throws IllegalArgumentException unless {@code 0 <= i < maxN}
+   * @throws IllegalArgumentException if {@code key >= keyOf(i)}
+   * @throws NoSuchElementException no key is associated with index {@code i}
+   */
+  public void decreaseKey(int i, double key) {
+    validateIndex(i);
+    if (qp[i] == -1) throw new NoSuchElementException("index is not in the priority queue");
+    if (keys[i] <= key)
+      throw new IllegalArgumentException("Calling decreaseKey() with a key not strictly less than the key in the priority queue");
+    keys[i] = key;
+    swim(qp[i]);
+  }
+
+  /**
+   * Removes all keys from this priority queue.
+   */
+  public void clear() {
+    for (int k = 1; k <= n; k++)
+      qp[pq[k]] = -1;
+    n = 0;
+  }
+
+  private void validateIndex(int i) {
+    if (i < 0) throw new IllegalArgumentException("index is negative: " + i);
+    if (i >= maxN) throw new IllegalArgumentException("index >= capacity: " + i);
+  }
+
+  /***************************************************************************
+   * Helper functions to restore the heap invariant.
+   ***************************************************************************/
+
+  private void swim(int k) {
+    while (k > 1 && greater(k/2, k)) {
+      exch(k, k/2);
+      k = k/2;
+    }
+  }
+
+  private void sink(int k) {
+    while (2*k <= n) {
+      int j = 2*k;
+      if (j < n && greater(j, j+1)) j++;
+      if (!greater(k, j)) break;
+      exch(k, j);
+      k = j;
+    }
+  }
+
+  /***************************************************************************
+   * Helper functions for compares and swaps.
+   ***************************************************************************/
+  private boolean greater(int i, int j) {
+    return keys[pq[i]] > keys[pq[j]];
+  }
+
+  private void exch(int i, int j) {
+    int swap = pq[i];
+    pq[i] = pq[j];
+    pq[j] = swap;
+    qp[pq[i]] = i;
+    qp[pq[j]] = j;
+  }
+
+}
@@ -11,7 +11,7 @@ public class Quick3way {
    * @param a the array to be sorted
    */
   public static void sort(Comparable[] a) {
-    StdRandom.shuffle(a);
+    StdRandom.parallelShuffle(a);
     sort(a, 0, a.length - 1);
   }
 
@@ -1,15 +1,24 @@
 package sorting;
 
+import libs.Histogram;
 import libs.StdIn;
 import libs.StdOut;
 import libs.StdRandom;
 import libs.Stopwatch;
+import libs.StopwatchCPU;
+import libs.Timer;
 
 import java.util.Arrays;
 
 public class SortCompare {
 
   public static double time(String alg, Double[] a) {
+    return time(alg, a, null, null);
+  }
+
+  // Sorts a with alg, recording the elapsed nanoseconds in timer and the bytes allocated in allocated, if not null.
+  public static double time(String alg, Double[] a, Timer timer, Histogram allocated) {
+    StopwatchCPU cpu = new StopwatchCPU();
     Stopwatch sw = new Stopwatch();
     if      (alg.equals("Selection"))       Selection.sort(a); //N2
     else if (alg.equals("Insertion"))       Insertion.sort(a); //N2
@@ -21,18 +30,27 @@ public class SortCompare {
     else if (alg.equals("Heap"))            Heap.sort(a); //NLgN
     else if (alg.equals("System"))          Arrays.sort(a);
     else throw new IllegalArgumentException("Invalid algorithm: " + alg);
-    return sw.elapsedTime();
+    long nanos = sw.elapsedNanos();
+    long bytes = cpu.allocatedBytes();
+    if (timer != null) timer.record(nanos);
+    if (allocated != null && bytes >= 0) allocated.record(bytes);
+    return nanos / 1e9;
   }
 
   // Use alg to sort trials random arrays of length n.
   public static double timeRandomInput(String alg, int n, int trials)  {
+    return timeRandomInput(alg, n, trials, null, null);
+  }
+
+  // Use alg to sort trials random arrays of length n, recording each trial in timer and allocated.
+  public static double timeRandomInput(String alg, int n, int trials, Timer timer, Histogram allocated)  {
     double total = 0.0;
     Double[] a = new Double[n];
     // Perform one experiment (generate and sort an array).
     for (int t = 0; t < trials; t++) {
       for (int i = 0; i < n; i++)
         a[i] = StdRandom.uniform(0.0, 1.0);
-      total += time(alg, a);
+      total += time(alg, a, timer, allocated);
     }
     return total;
   }
@@ -56,11 +74,23 @@ public class SortCompare {
     int n = StdIn.readInt();
     int trials = StdIn.readInt();
 
-    double time1 = timeRandomInput(alg1, n, trials);
-    double time2 = timeRandomInput(alg2, n, trials);
+    Timer timer1 = new Timer(alg1);
+    Timer timer2 = new Timer(alg2);
+    Histogram allocated1 = new Histogram();
+    Histogram allocated2 = new Histogram();
+    double time1 = timeRandomInput(alg1, n, trials, timer1, allocated1);
+    double time2 = timeRandomInput(alg2, n, trials, timer2, allocated2);
 
     StdOut.printf("For %d random Doubles\n    %s is", n, alg1);
     StdOut.printf(" %.1f times faster than %s\n", time2/time1, alg2);
+
+    // distribution of the time of a trial, in nanoseconds, and bytes allocated by the sort
+    StdOut.println("    " + timer1);
+    StdOut.println("    " + timer2);
+    if (allocated1.count() > 0) {
+      StdOut.printf("    %s allocates %.0f bytes per sort\n", alg1, allocated1.mean());
+      StdOut.printf("    %s allocates %.0f bytes per sort\n", alg2, allocated2.mean());
+    }
   }
 
 